@@ -0,0 +1,295 @@
+package main.java.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import main.java.model.classes.BinderModel;
+import main.java.model.classes.CardModel;
+import main.java.model.classes.CollectionModel;
+import main.java.model.classes.DeckModel;
+import main.java.model.classes.ValueRanking;
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
+
+/**
+ * `ModelBenchmarks` measures the model's hot paths at collection sizes from a thousand cards upward,
+ * so that a slowdown in the model layer shows up as a number before it shows up in the UI.
+ * <p>
+ * The benchmarks run under JMH, each in a forked JVM, warmed up and then measured over timed iterations.
+ * All data is generated from a fixed seed, so two runs on the same machine and JVM measure exactly the
+ * same work. Usage, from the repository root:
+ * <pre>
+ *   mvn -B install -DskipTests
+ *   mvn -B -f benchmarks/pom.xml package
+ *   java -jar benchmarks/target/benchmarks.jar [JMH options]
+ *     ModelBenchmarks.addCard            only run benchmarks matching this pattern
+ *     -p size=1000,10000                 collection sizes; 10000000 needs about -jvmArgs -Xmx8g
+ *     -prof gc                           also report bytes allocated per operation (gc.alloc.rate.norm)
+ *     -rf csv -rff results.csv           also write the results as CSV
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class ModelBenchmarks {
+
+    private static final Rarity[] RARITIES = Rarity.values();
+    private static final Variant[] VARIANTS = Variant.values();
+
+    /**
+     * Number of precomputed inputs each benchmark cycles through.
+     */
+    private static final int PROBES = 4096;
+
+    private static final long SEED = 42;
+
+    // ----- State -----
+
+    /**
+     * A collection of `size` distinct cards, with precomputed probes into it.
+     */
+    @State(Scope.Thread)
+    public static class Populated {
+        @Param({"1000", "10000", "100000", "1000000"})
+        public int size;
+
+        CollectionModel collection;
+        Random random;
+        final CardModel[] cards = new CardModel[PROBES];
+        final CardModel[] lookalikes = new CardModel[PROBES];
+        final String[] names = new String[PROBES];
+        int next;
+        int nextNew;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            random = new Random(SEED);
+            collection = newCollection(size, random);
+            nextNew = size;
+            for (int i = 0; i < PROBES; i++) {
+                CardModel card = randomCard(collection, size, random);
+                cards[i] = card;
+                lookalikes[i] = new CardModel(randomCase(card.getName(), random), card.getRarity(), card.getVariant(), card.getBaseValue());
+                names[i] = randomCase(cardName(random.nextInt(size)), random);
+            }
+        }
+
+        int nextProbe() {
+            return next++ & (PROBES - 1);
+        }
+    }
+
+    /**
+     * A collection whose value ranking is built, so every amount change also moves the card in it.
+     */
+    @State(Scope.Thread)
+    public static class Ranked extends Populated {
+        ValueRanking ranking;
+
+        @Setup(Level.Trial)
+        public void rank() {
+            ranking = collection.getValueRanking();
+        }
+    }
+
+    /**
+     * Pairs of cards of which half match; the others differ only in variant, the last field compared.
+     * The cost does not depend on the collection size, so only the smallest is run.
+     */
+    @State(Scope.Thread)
+    public static class Pairs {
+        final CardModel[] left = new CardModel[PROBES];
+        final CardModel[] right = new CardModel[PROBES];
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(SEED);
+            CollectionModel collection = newCollection(1_000, random);
+            for (int i = 0; i < PROBES; i++) {
+                CardModel card = randomCard(collection, 1_000, random);
+                Variant variant = random.nextBoolean() || !card.getRarity().allowsVariants() ? card.getVariant()
+                        : (card.getVariant() == Variant.NORMAL ? Variant.ALT_ART : Variant.NORMAL);
+                left[i] = card;
+                right[i] = new CardModel(randomCase(card.getName(), random), card.getRarity(), variant, card.getBaseValue());
+            }
+        }
+    }
+
+    /**
+     * A full binder of twenty cards. Its value is kept as a running total, so the size is fixed.
+     */
+    @State(Scope.Thread)
+    public static class FullBinder {
+        BinderModel binder;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(SEED);
+            CollectionModel collection = newCollection(1_000, random);
+            binder = new BinderModel("Benchmark");
+            while (binder.getTotalCardCount() < 20) {
+                binder.addCardB(randomCard(collection, 1_000, random));
+            }
+        }
+    }
+
+    /**
+     * A binder of twenty cards ready to be sold. What the previous call sold is put back before each call,
+     * outside the timed region, so every call sells from a collection of the same size.
+     */
+    @State(Scope.Thread)
+    public static class BinderForSale extends Populated {
+        BinderModel binder;
+        final List<CardModel> sold = new ArrayList<>();
+
+        @Setup(Level.Invocation)
+        public void fill() {
+            for (CardModel card : sold) {
+                collection.putCard(card.getName(), card.getRarity(), card.getVariant(), card.getBaseValue(), card.getAmount());
+            }
+            sold.clear();
+            binder = new BinderModel("Benchmark");
+            while (binder.getTotalCardCount() < 20) {
+                CardModel card = randomCard(collection, size, random);
+                if (binder.addCardB(card)) {
+                    CardModel copy = new CardModel(card.getName(), card.getRarity(), card.getVariant(), card.getBaseValue());
+                    copy.setAmount(card.getAmount());
+                    sold.add(copy);
+                }
+            }
+        }
+    }
+
+    /**
+     * A deck of nine cards and a tenth card to add, so each call checks the most entries before adding.
+     */
+    @State(Scope.Thread)
+    public static class NineCardDeck {
+        CollectionModel collection;
+        Random random;
+        DeckModel deck;
+        CardModel card;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            random = new Random(SEED);
+            collection = newCollection(1_000, random);
+        }
+
+        @Setup(Level.Invocation)
+        public void fill() {
+            deck = new DeckModel("Benchmark");
+            while (deck.getCards().size() < 9) {
+                deck.addCard(randomCard(collection, 1_000, random));
+            }
+            do {
+                card = randomCard(collection, 1_000, random);
+            } while (deck.getCards().contains(card));
+        }
+    }
+
+    // ----- Benchmarks -----
+
+    @Benchmark
+    public boolean addCardNew(Populated state) {
+        return state.collection.addCard(new CardModel(cardName(state.nextNew++), Rarity.COMMON, Variant.INVALID, 1.0));
+    }
+
+    @Benchmark
+    public boolean addCardDuplicate(Populated state) {
+        return state.collection.addCard(state.lookalikes[state.nextProbe()]);
+    }
+
+    @Benchmark
+    public boolean cardMatches(Pairs state) {
+        int i = state.next++ & (PROBES - 1);
+        return state.left[i].matches(state.right[i]);
+    }
+
+    @Benchmark
+    public CardModel findCardInCollection(Populated state) {
+        return CollectionModel.findCardInCollection(state.collection, state.names[state.nextProbe()]);
+    }
+
+    @Benchmark
+    public List<CardModel> rankingTop100(Ranked state) {
+        return state.ranking.top(100);
+    }
+
+    @Benchmark
+    public int rankingRankOf(Ranked state) {
+        return state.ranking.rankOf(state.cards[state.nextProbe()]);
+    }
+
+    @Benchmark
+    public double addCardAmountRanked(Ranked state) {
+        // Alternate adding and taking away a copy, so amounts stay put across iterations
+        int i = state.next++;
+        return state.collection.addCardAmount(state.cards[i & (PROBES - 1)], (i & PROBES) == 0 ? 1 : -1);
+    }
+
+    @Benchmark
+    public double binderTotalValue(FullBinder state) {
+        return state.binder.getTotalValue();
+    }
+
+    @Benchmark
+    public long sellBinder(BinderForSale state) {
+        return state.binder.sellBinder(state.collection);
+    }
+
+    @Benchmark
+    public boolean deckAddCard(NineCardDeck state) {
+        return state.deck.addCard(state.card);
+    }
+
+    // ----- Data -----
+
+    /**
+     * Fills a collection with `size` distinct cards with random rarities, variants, values and amounts.
+     */
+    private static CollectionModel newCollection(int size, Random random) {
+        CollectionModel collection = new CollectionModel();
+        for (int i = 0; i < size; i++) {
+            Rarity rarity = RARITIES[random.nextInt(RARITIES.length)];
+            Variant variant = rarity.allowsVariants() ? VARIANTS[1 + random.nextInt(VARIANTS.length - 1)] : Variant.INVALID;
+            double value = (25 + random.nextInt(40_000)) / 100.0;
+            collection.putCard(cardName(i), rarity, variant, value, 1 + random.nextInt(5));
+        }
+        return collection;
+    }
+
+    private static String cardName(int i) {
+        return "Card " + i;
+    }
+
+    /**
+     * Returns a name differing from `name` only in case, the way users type names back in.
+     */
+    private static String randomCase(String name, Random random) {
+        return random.nextBoolean() ? name.toUpperCase(Locale.ROOT) : name.toLowerCase(Locale.ROOT);
+    }
+
+    private static CardModel randomCard(CollectionModel collection, int size, Random random) {
+        return CollectionModel.findCardInCollection(collection, cardName(random.nextInt(size)));
+    }
+}
@@ -1,12 +1,51 @@
 package main.java;
 
 import main.java.controller.MainController;
+import main.java.metrics.Metrics;
+import main.java.model.MainModel;
+import main.java.model.persistence.PersistenceManager;
+import main.java.service.InventoryServer;
+import main.java.utilities.Log;
+import main.java.utilities.StartupTimeline;
+
+import java.io.IOException;
+import java.nio.file.Path;
 
 import javax.swing.SwingUtilities;
 
 public class Main {
 
+    /**
+     * The port the headless server listens on unless `--port` or `tcis.server.port` says otherwise.
+     */
+    private static final int DEFAULT_PORT = 8080;
+
+    /**
+     * Starts the Swing application, or with `--headless [--port N]` serves the inventory
+     * over HTTP/JSON with an {@link InventoryServer} instead.
+     */
     public static void main(String args[]) {
+        StartupTimeline.mark("main");
+        Metrics.startReporting();
+        boolean headless = false;
+        int port = Integer.getInteger("tcis.server.port", DEFAULT_PORT);
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--headless")) {
+                headless = true;
+            } else if (args[i].equals("--port") && i + 1 < args.length) {
+                try {
+                    port = Integer.parseInt(args[++i]);
+                } catch (NumberFormatException e) {
+                    Log.error("Main", "invalid port \"{}\".", args[i]);
+                    System.exit(2);
+                }
+            }
+        }
+
+        if (headless) {
+            runHeadless(port);
+            return;
+        }
 
         SwingUtilities.invokeLater(
             new Runnable() {
@@ -16,5 +55,45 @@ public class Main {
                 }
             }
         );
-    }     
-}
\ No newline at end of file
+    }
+
+    /**
+     * Restores the inventory and serves it until the process is stopped. Unlike the window, the server
+     * refuses to run without persistence, since terminals would otherwise lose every sale on restart.
+     */
+    private static void runHeadless(int port) {
+        MainModel mainModel = new MainModel();
+        Path dataDirectory = PersistenceManager.defaultDirectory();
+        PersistenceManager persistenceManager;
+        InventoryServer server;
+        try {
+            persistenceManager = PersistenceManager.open(dataDirectory, mainModel);
+        } catch (IOException e) {
+            Log.error("Main", "saved inventory could not be loaded from {}: {}", dataDirectory, e.getMessage());
+            System.exit(1);
+            return;
+        }
+        try {
+            server = new InventoryServer(mainModel, port);
+        } catch (IOException e) {
+            Log.error("Main", "could not listen on port {}: {}", port, e.getMessage());
+            closeQuietly(persistenceManager);
+            System.exit(1);
+            return;
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            closeQuietly(persistenceManager);
+        }, "inventory-shutdown"));
+        server.start();
+    }
+
+    private static void closeQuietly(PersistenceManager persistenceManager) {
+        try {
+            persistenceManager.close();
+        } catch (IOException e) {
+            Log.error("Main", "failed to close persistence: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package main.java.controller;
+
+import java.awt.event.ActionListener;
+
+import main.java.metrics.Counter;
+import main.java.metrics.Metrics;
+
+/**
+ * Actions counts the user's actions in the application's metrics, as `actions.<name>`, and remembers which
+ * action is being handled so the {@link CommandBus} can time the command it submits under the same name.
+ * Only used on the event dispatch thread.
+ */
+final class Actions {
+
+    /**
+     * The name of the action being handled, or `null` outside any action.
+     */
+    private static String current;
+
+    private Actions() {
+    }
+
+    /**
+     * Wraps a listener so each action it handles is counted.
+     *
+     * @param name     The action, such as `collection.addCard`.
+     * @param listener The listener handling it.
+     * @return The counting listener.
+     */
+    static ActionListener counted(String name, ActionListener listener) {
+        Counter counter = Metrics.counter("actions." + name);
+        return e -> {
+            counter.increment();
+            String outer = current;
+            current = name;
+            try {
+                listener.actionPerformed(e);
+            } finally {
+                current = outer;
+            }
+        };
+    }
+
+    /**
+     * Returns the action being handled, or `null` outside any action.
+     */
+    static String current() {
+        return current;
+    }
+}
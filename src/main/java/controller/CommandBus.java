@@ -0,0 +1,270 @@
+package main.java.controller;
+
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.swing.JOptionPane;
+import javax.swing.ProgressMonitor;
+import javax.swing.SwingUtilities;
+
+import main.java.metrics.Metrics;
+import main.java.metrics.Timer;
+import main.java.utilities.Log;
+import main.java.utilities.Threads;
+
+/**
+ * The {@code CommandBus} runs model mutations off the Swing event dispatch thread (EDT), so that
+ * selling, trading or importing many cards does not freeze the window.
+ * <p>
+ * Controllers gather input with dialogs on the EDT as before, then {@link #submit submit} the model work
+ * as a {@link Command}. Commands run one at a time, in the order they were submitted, on a single worker
+ * thread, so two clicks can never interleave their changes. The worker is a virtual thread when the
+ * {@code tcis.commands.virtualThreads} system property is {@code true} and the runtime supports them,
+ * and an ordinary daemon thread otherwise.
+ * <p>
+ * View updates caused by a command, whether model listener callbacks or the command's own result handler,
+ * go through {@link #refreshLater(Object, Runnable)}. Updates are run on the EDT in the order they were
+ * posted, and an update posted under the same key as one still pending replaces it, so a command that
+ * changes a card a thousand times repaints it once, after the other updates posted meanwhile.
+ * <p>
+ * Each command is timed in the application's metrics as `commands.<action>`, after the {@link Actions action}
+ * that submitted it, and the time it waited behind earlier commands as `commands.queued`.
+ */
+public class CommandBus {
+
+    /**
+     * A unit of model work run on the command thread.
+     *
+     * @param <R> the type of result handed back to the EDT
+     */
+    @FunctionalInterface
+    public interface Command<R> {
+
+        /**
+         * Performs the model work. Must not touch Swing components.
+         *
+         * @param progress reports how far the command has got, and whether the user cancelled it
+         * @return the result passed to the success handler on the EDT
+         * @throws Exception if the command fails; the user is shown its message
+         */
+        R execute(Progress progress) throws Exception;
+    }
+
+    /**
+     * Lets a long-running {@link Command} report progress. A progress dialog appears only once
+     * the command has run long enough for the user to notice.
+     */
+    public interface Progress {
+
+        /**
+         * Reports how much of the command is done.
+         *
+         * @param done  the units of work completed
+         * @param total the total units of work
+         * @param note  a short description of the current step
+         */
+        void update(int done, int total, String note);
+
+        /**
+         * Returns whether the user has pressed Cancel on the progress dialog. A command that checks it
+         * should stop as soon as it can leave the model consistent, by throwing a {@link CancellationException}.
+         *
+         * @return {@code true} if the command should stop
+         */
+        boolean isCancelled();
+    }
+
+    /**
+     * How long commands wait behind earlier ones before they start.
+     */
+    private static final Timer QUEUED = Metrics.timer("commands.queued");
+
+    /**
+     * The single thread that runs commands, in submission order.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * View updates waiting to run on the EDT, keyed for coalescing, in the order they were posted.
+     */
+    private Map<Object, Runnable> pendingRefreshes = new LinkedHashMap<>();
+
+    /**
+     * Whether a flush of {@code pendingRefreshes} is already queued on the EDT.
+     */
+    private boolean flushScheduled;
+
+    /**
+     * Constructs a {@code CommandBus} and starts its command thread.
+     */
+    public CommandBus() {
+        this.executor = Executors.newSingleThreadExecutor(createThreadFactory());
+    }
+
+    /**
+     * Creates the factory for the command thread: a virtual thread factory if requested and available,
+     * otherwise a factory for a named daemon thread.
+     *
+     * @return the thread factory for the command thread
+     */
+    private static ThreadFactory createThreadFactory() {
+        if (Boolean.getBoolean("tcis.commands.virtualThreads")) {
+            ThreadFactory virtual = Threads.virtualThreadFactory();
+            if (virtual != null) {
+                return virtual;
+            }
+            Log.info("CommandBus", "virtual threads are not available, using a platform thread.");
+        }
+        return Threads.daemonThreadFactory("command-bus", false);
+    }
+
+    /**
+     * Submits a command to run after every command submitted before it. Must be called on the EDT.
+     * <p>
+     * When the command finishes, {@code onSuccess} runs on the EDT after every view update the command
+     * caused. If it fails, the error is logged and shown in a dialog over {@code parent}; if it is
+     * cancelled, nothing more happens.
+     *
+     * @param parent      the component progress and error dialogs are shown over
+     * @param description a short description of the command, such as "Selling binder"
+     * @param command     the model work to run
+     * @param onSuccess   receives the command's result on the EDT
+     * @param <R>         the type of the command's result
+     */
+    public <R> void submit(Component parent, String description, Command<R> command, Consumer<R> onSuccess) {
+        ProgressMonitor monitor = new ProgressMonitor(parent, description, "", 0, 100);
+        monitor.setMillisToDecideToPopup(250);
+        monitor.setMillisToPopup(500);
+        MonitoredProgress progress = new MonitoredProgress(monitor);
+        Timer timer = Metrics.timer("commands." + (Actions.current() != null ? Actions.current() : "other"));
+        long submitted = QUEUED.start();
+
+        executor.execute(() -> {
+            QUEUED.stop(submitted);
+            long start = timer.start();
+            try {
+                R result = command.execute(progress);
+                refreshLater(new Object(), () -> {
+                    monitor.close();
+                    onSuccess.accept(result);
+                });
+            } catch (CancellationException e) {
+                Log.info("CommandBus", "{} cancelled.", description);
+                refreshLater(new Object(), monitor::close);
+            } catch (Exception | Error e) {
+                Log.error("CommandBus", description + " failed", e);
+                refreshLater(new Object(), () -> {
+                    monitor.close();
+                    JOptionPane.showMessageDialog(parent, description + " failed:\n" + e.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                });
+            } finally {
+                timer.stop(start);
+            }
+        });
+    }
+
+    /**
+     * Posts a view update to run on the EDT. If an update posted under the same key has not run yet,
+     * it is dropped and this one runs after every other pending update instead. Use a fresh
+     * {@code new Object()} as the key for updates that must never be skipped, such as inserting or
+     * removing a row. Called on the EDT, the pending updates and this one run straight away.
+     *
+     * @param key    identifies what the update refreshes, such as the card whose cell it repaints
+     * @param update the view update
+     */
+    public void refreshLater(Object key, Runnable update) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            flushRefreshes();
+            update.run();
+            return;
+        }
+        synchronized (this) {
+            pendingRefreshes.remove(key);
+            pendingRefreshes.put(key, update);
+            if (flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        }
+        SwingUtilities.invokeLater(this::flushRefreshes);
+    }
+
+    /**
+     * Runs every pending view update on the EDT, in the order they were posted.
+     */
+    private void flushRefreshes() {
+        List<Runnable> updates;
+        synchronized (this) {
+            if (pendingRefreshes.isEmpty()) {
+                flushScheduled = false;
+                return;
+            }
+            updates = new ArrayList<>(pendingRefreshes.values());
+            pendingRefreshes = new LinkedHashMap<>();
+            flushScheduled = false;
+        }
+        for (Runnable update : updates) {
+            try {
+                update.run();
+            } catch (RuntimeException e) {
+                // One broken update must not hold back the ones queued after it
+                Log.error("CommandBus", "view update failed", e);
+            }
+        }
+    }
+
+    /**
+     * Stops accepting commands and waits briefly for those already submitted to finish,
+     * so that their changes reach the model before it is saved.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                Log.warn("CommandBus", "commands still running at shutdown.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Forwards a command's progress to a {@link ProgressMonitor} on the EDT, and its Cancel button back.
+     */
+    private final class MonitoredProgress implements Progress {
+        private final ProgressMonitor monitor;
+        private volatile boolean cancelled;
+
+        MonitoredProgress(ProgressMonitor monitor) {
+            this.monitor = monitor;
+        }
+
+        @Override
+        public void update(int done, int total, String note) {
+            int percent = total <= 0 ? 0 : (int) Math.min(100, (long) done * 100 / total);
+            refreshLater(this, () -> {
+                if (monitor.isCanceled()) {
+                    cancelled = true;
+                    return;
+                }
+                monitor.setNote(note);
+                monitor.setProgress(percent);
+            });
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -2,10 +2,20 @@ package main.java.controller;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
 
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
 
 import main.java.model.MainModel;
+import main.java.model.persistence.PersistenceManager;
+import main.java.utilities.Log;
+import main.java.utilities.StartupTimeline;
+import main.java.utilities.Threads;
 import main.java.view.MainView;
 import main.java.view.collection_views.ManageCollectionView;
 import main.java.view.deck_views.ManageDecksView;
@@ -45,25 +55,152 @@ public class MainController {
      */
     private ManageDeckController manageDeckController;
 
+    /**
+     * Keeps the main model durable between runs, or {@code null} if the data directory could not be opened.
+     */
+    private PersistenceManager persistenceManager;
+
+    /**
+     * Runs model mutations off the event dispatch thread and posts the resulting view updates back to it.
+     */
+    private final CommandBus commandBus;
+
     /**
      * Constructs a {@code MainController}.
      * <p>
-     * Initializes the model and view, creates sub-controllers, wires up all necessary listeners,
-     * and updates the initial money display.
+     * Initializes the model and view, restores any saved inventory, wires up the main menu, and
+     * updates the initial money display. Sub-controllers are created when their screen is first shown.
      */
     public MainController() {
         this.mainView = new MainView("Trading Card Inventory System");
         this.mainModel = new MainModel();
+        this.persistenceManager = openPersistence();
+        this.commandBus = new CommandBus();
 
-        // Instantiate sub-controllers
-        this.manageCollectionController = new ManageCollectionController(mainModel, mainView, this);
-        this.manageDeckController = new ManageDeckController(mainModel, mainView, this);
-        this.manageBinderController = new ManageBinderController(mainModel, mainView, this);
-
+        // Sub-controllers and their screens are built when first shown, or by the pre-warm below
         setupAllViewListeners();
+        // Money can change on the command thread, so the display follows the model rather than the callers
+        mainModel.addMoneyListener(money -> commandBus.refreshLater(mainModel,
+            () -> mainView.updatePlayerMoneyDisplay(mainModel.getMoneyCents())));
 
         // Initialize UI with current money value
-        mainView.updatePlayerMoneyDisplay(mainModel.getMoney());
+        mainView.updatePlayerMoneyDisplay(mainModel.getMoneyCents());
+
+        // Ready once the events queued so far, such as the first paint, have been handled
+        SwingUtilities.invokeLater(() -> {
+            StartupTimeline.mark(StartupTimeline.READY);
+            prewarmScreens();
+        });
+    }
+
+    /**
+     * Returns the collection controller, building it and its screen on first use.
+     */
+    private ManageCollectionController getManageCollectionController() {
+        if (manageCollectionController == null) {
+            manageCollectionController = new ManageCollectionController(mainModel, mainView, this);
+            mainView.getManageCollectionView().setBackButtonActionListener(Actions.counted("menu.back", new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    backButtonPressed();
+                }
+            }));
+        }
+        return manageCollectionController;
+    }
+
+    /**
+     * Returns the binder controller, building it and its screen on first use.
+     */
+    private ManageBinderController getManageBinderController() {
+        if (manageBinderController == null) {
+            manageBinderController = new ManageBinderController(mainModel, mainView, this);
+            mainView.getManageBindersView().setBackButtonActionListener(Actions.counted("menu.back", new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    backButtonPressed();
+                }
+            }));
+        }
+        return manageBinderController;
+    }
+
+    /**
+     * Returns the deck controller, building it and its screen on first use.
+     */
+    private ManageDeckController getManageDeckController() {
+        if (manageDeckController == null) {
+            manageDeckController = new ManageDeckController(mainModel, mainView, this);
+            mainView.getManageDecksView().setBackButtonActionListener(Actions.counted("menu.back", new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    backButtonPressed();
+                }
+            }));
+        }
+        return manageDeckController;
+    }
+
+    /**
+     * Builds the screens the user has not opened yet while the main menu is idle, so the first visit to each
+     * is instant. The screen classes are loaded on a background thread, then each screen is built in its own
+     * turn on the event dispatch thread so input is handled in between. Turned off by setting the
+     * `tcis.ui.prewarm` system property to `false`.
+     */
+    private void prewarmScreens() {
+        if (!Boolean.parseBoolean(System.getProperty("tcis.ui.prewarm", "true"))) {
+            return;
+        }
+        Threads.daemonThreadFactory("ui-prewarm", false).newThread(() -> {
+            // Load the screen classes, and the Swing classes they extend, off the event dispatch thread
+            for (String screen : new String[] {"main.java.view.collection_views.ManageCollectionView",
+                    "main.java.view.binder_views.ManageBindersView", "main.java.view.deck_views.ManageDecksView"}) {
+                try {
+                    Class.forName(screen, false, MainController.class.getClassLoader());
+                } catch (ClassNotFoundException e) {
+                    Log.warn("MainController", "could not pre-load {}: {}", screen, e.getMessage());
+                }
+            }
+            Deque<Runnable> steps = new ArrayDeque<>(List.<Runnable>of(
+                this::getManageCollectionController,
+                this::getManageBinderController,
+                this::getManageDeckController));
+            SwingUtilities.invokeLater(new Runnable() {
+                @Override
+                public void run() {
+                    steps.poll().run();
+                    if (!steps.isEmpty()) {
+                        SwingUtilities.invokeLater(this);
+                    } else {
+                        StartupTimeline.mark("screens pre-warmed");
+                        Log.info("MainController", "screens pre-warmed at {} ms",
+                            StartupTimeline.elapsedMillis("screens pre-warmed"));
+                    }
+                }
+            });
+        }).start();
+    }
+
+    /**
+     * Restores the main model from the data directory and starts journaling its changes.
+     * The directory is {@link PersistenceManager#defaultDirectory()}. If it cannot be opened,
+     * the application runs without saving and the user is told so.
+     *
+     * @return the persistence manager, or {@code null} if persistence is unavailable
+     */
+    private PersistenceManager openPersistence() {
+        Path dataDirectory = PersistenceManager.defaultDirectory();
+        try {
+            return PersistenceManager.open(dataDirectory, mainModel);
+        } catch (IOException e) {
+            mainView.showMessageDialog(
+                "Saved inventory could not be loaded from " + dataDirectory + ":\n" + e.getMessage()
+                    + "\nChanges made in this session will not be saved.",
+                "Persistence Error",
+                JOptionPane.ERROR_MESSAGE
+            );
+            return null;
+        }
     }
 
     /**
@@ -80,55 +217,35 @@ public class MainController {
      */
     private void setupMainMenuViewListeners() {
         // Main menu navigation buttons
-        mainView.getMainMenuView().setManageBindersButtonActionListener(new ActionListener() {
+        mainView.getMainMenuView().setManageBindersButtonActionListener(Actions.counted("menu.manageBinders", new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
                 manageBindersButtonPressed();
             }
-        });
+        }));
 
-        mainView.getMainMenuView().setManageDecksButtonActionListener(new ActionListener() {
+        mainView.getMainMenuView().setManageDecksButtonActionListener(Actions.counted("menu.manageDecks", new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
                 manageDecksButtonPressed();
             }
-        });
+        }));
 
-        mainView.getMainMenuView().setManageCollectionButtonActionListener(new ActionListener() {
+        mainView.getMainMenuView().setManageCollectionButtonActionListener(Actions.counted("menu.manageCollection", new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
                 manageCollectionButtonPressed();
             }
-        });
+        }));
 
-        mainView.getMainMenuView().setQuitButtonActionListener(new ActionListener() {
+        mainView.getMainMenuView().setQuitButtonActionListener(Actions.counted("menu.quit", new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
                 quitButtonPressed();
             }
-        });
-
-        // Back buttons in sub-views
-        mainView.getManageCollectionView().setBackButtonActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                backButtonPressed();
-            }
-        });
-
-        mainView.getManageDecksView().setBackButtonActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                backButtonPressed();
-            }
-        });
+        }));
 
-        mainView.getManageBindersView().setBackButtonActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                backButtonPressed();
-            }
-        });
+        // The back buttons of the other screens are wired as each screen is built
     }
 
     // --- Navigation Action Methods ---
@@ -137,7 +254,8 @@ public class MainController {
      * Displays the binders management panel in the main view.
      */
     public void manageBindersButtonPressed() {
-        System.out.println("Manage Binders Button Pressed");
+        Log.debug("MainController", "Manage Binders button pressed.");
+        getManageBinderController();
         mainView.showPanel(mainView.getManageBindersViewString());
     }
 
@@ -145,7 +263,8 @@ public class MainController {
      * Displays the decks management panel in the main view.
      */
     public void manageDecksButtonPressed() {
-        System.out.println("Manage Deck Button Pressed");
+        Log.debug("MainController", "Manage Decks button pressed.");
+        getManageDeckController();
         mainView.showPanel(mainView.getManageDecksViewString());
     }
 
@@ -154,9 +273,10 @@ public class MainController {
      * to reflect the latest data from the model.
      */
     public void manageCollectionButtonPressed() {
-        System.out.println("Manage Collection Button Pressed");
+        Log.debug("MainController", "Manage Collection button pressed.");
+        ManageCollectionController controller = getManageCollectionController();
         mainView.showPanel(mainView.getManageCollectionViewString());
-        manageCollectionController.refreshCardDisplay();
+        controller.refreshCardDisplay();
     }
 
     /**
@@ -172,6 +292,14 @@ public class MainController {
         );
 
         if (choice == JOptionPane.YES_OPTION) {
+            commandBus.shutdown();
+            if (persistenceManager != null) {
+                try {
+                    persistenceManager.close();
+                } catch (IOException e) {
+                    Log.error("MainController", "failed to close persistence: {}", e.getMessage());
+                }
+            }
             System.exit(0);
         }
     }
@@ -184,12 +312,21 @@ public class MainController {
     }
 
     /**
-     * Updates the player's money in the model and refreshes the displayed value in the view.
+     * Updates the player's money in the model. The displayed value follows through a money listener,
+     * on the event dispatch thread, once for any number of changes in between.
+     *
+     * @param moneyCents the new money value to be set, in cents
+     */
+    public void setMoneyCents(long moneyCents) {
+        mainModel.setMoneyCents(moneyCents);
+    }
+
+    /**
+     * Returns the bus that sub-controllers submit their model work to.
      *
-     * @param money the new money value to be set
+     * @return the application's {@link CommandBus}
      */
-    public void setMoney(double money) {
-        mainModel.setMoney(money);
-        mainView.updatePlayerMoneyDisplay(money);
+    public CommandBus getCommandBus() {
+        return commandBus;
     }
-}
\ No newline at end of file
+}
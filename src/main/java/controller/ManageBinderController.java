@@ -2,10 +2,12 @@ package main.java.controller;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 
 import javax.swing.JOptionPane;
 
 import main.java.model.MainModel;
+import main.java.model.ModelTransaction;
 import main.java.model.classes.BinderModel;
 import main.java.model.classes.CardModel;
 import main.java.model.classes.CollectionModel;
@@ -15,6 +17,8 @@ import main.java.model.classes.PauperBinder;
 import main.java.model.classes.RaresBinder;
 import main.java.model.enums.Rarity;
 import main.java.model.enums.Variant;
+import main.java.model.events.ModelChangeListener;
+import main.java.utilities.Money;
 import main.java.view.BinderView;
 import main.java.view.MainView;
 import main.java.view.binder_views.ManageBindersView;
@@ -52,21 +56,61 @@ public class ManageBinderController {
 
         manageBindersView = mainView.getManageBindersView();
         setupListeners();
+        setupModelListener();
+        refreshBinderDisplay();
+    }
+
+    /**
+     * Subscribes to binder change events from the {@link MainModel} so that only the
+     * affected {@link BinderView} is added, removed or refreshed after each action.
+     */
+    private void setupModelListener() {
+        mainModel.addBinderChangeListener(new ModelChangeListener<BinderModel>() {
+            @Override
+            public void added(BinderModel binder) {
+                mainController.getCommandBus().refreshLater(new Object(), () -> manageBindersView.addBinder(binder));
+            }
+
+            @Override
+            public void removed(BinderModel binder) {
+                mainController.getCommandBus().refreshLater(new Object(), () -> manageBindersView.removeBinder(binder));
+            }
+
+            @Override
+            public void changed(BinderModel binder) {
+                mainController.getCommandBus().refreshLater(binder, () -> manageBindersView.updateBinder(binder));
+            }
+        });
     }
 
     /** Sets up all the listeners for UI actions related to binders. */
     private void setupListeners() {
-        manageBindersView.setCreateBinderButtonActionListener(e -> createBinderButtonPressed());
-        manageBindersView.setDeleteBinderButtonActionListener(e -> deleteBinderButtonPressed());
-        manageBindersView.setViewBinderButtonActionListener(e -> viewBinderButtonPressed());
-        manageBindersView.setAddRemoveCardButtonActionListener(e -> addRemoveCardToBinderButtonPressed());
-        manageBindersView.setTradeCardButtonActionListener(e -> tradeCardButtonPressed());
-        manageBindersView.setSellBinderButtonActionListener(e -> sellBinderButtonPressed());
+        manageBindersView.setCreateBinderButtonActionListener(Actions.counted("binders.create", e -> createBinderButtonPressed()));
+        manageBindersView.setDeleteBinderButtonActionListener(Actions.counted("binders.delete", e -> deleteBinderButtonPressed()));
+        manageBindersView.setViewBinderButtonActionListener(Actions.counted("binders.view", e -> viewBinderButtonPressed()));
+        manageBindersView.setAddRemoveCardButtonActionListener(Actions.counted("binders.addRemoveCard", e -> addRemoveCardToBinderButtonPressed()));
+        manageBindersView.setTradeCardButtonActionListener(Actions.counted("binders.trade", e -> tradeCardButtonPressed()));
+        manageBindersView.setSellBinderButtonActionListener(Actions.counted("binders.sell", e -> sellBinderButtonPressed()));
+        manageBindersView.setSearchListener(query -> manageBindersView.setFilter(searchFilter(query)));
+    }
+
+    /**
+     * Returns the test shown binders must pass for a search: their name, or a card in them, contains it.
+     *
+     * @param query The search text.
+     * @return The test, or `null` for a blank search, which shows every binder.
+     */
+    private static Predicate<BinderModel> searchFilter(String query) {
+        if (query.isBlank()) {
+            return null;
+        }
+        String foldedQuery = CollectionModel.foldName(query);
+        return binder -> binder.matchesSearch(foldedQuery);
     }
 
-    /** Refreshes the display of binders and updates selection state. */
+    /** Rebuilds the display of all binders and installs the selection handler. */
     private void refreshBinderDisplay() {
-        manageBindersView.displayBinders(mainModel.getBinders(), e -> {
+        manageBindersView.displayBinders(mainModel.getBinders(), Actions.counted("binders.select", e -> {
             BinderView clickedView = (BinderView) e.getSource();
 
             for (BinderController controller : manageBindersView.getBinderControllers()) {
@@ -76,7 +120,7 @@ public class ManageBinderController {
                     manageBindersView.setSelectedBinder(controller.getBinderModel());
                 }
             }
-        });
+        }));
     }
     /** Handles the action when the user chooses to sell a binder. */
 	private void sellBinderButtonPressed() {
@@ -100,39 +144,15 @@ public class ManageBinderController {
 
         if (confirm != JOptionPane.YES_OPTION) return;
 
-        double totalValue = 0.0;
-        CollectionModel collection = mainModel.getCollectionModel();
-
-        for (CardModel cardInBinder : selected.getCards()) {
-            totalValue += cardInBinder.getValue();
-
-            // Check if this card still exists in collection with amount == 0
-            CardModel inCollection = collection.getMatchingCard(cardInBinder);
-            if (inCollection != null && inCollection.getAmount() == 0) {
-                collection.removeCard(inCollection);
-            }
-        }
-
-        // Apply binder's custom sell multiplier
-        totalValue *= selected.getSellMultiplier();
-
-        // Update user balance
-        double currentMoney = mainModel.getMoney();
-        mainModel.setMoney(currentMoney + totalValue);
-        mainController.setMoney(mainModel.getMoney());
-
-        // Remove binder and its cards
-        selected.getCards().clear();
-        mainModel.getBinders().remove(selected);
-
-        JOptionPane.showMessageDialog(
-            manageBindersView,
-            "Binder sold for $" + String.format("%.2f", totalValue),
-            "Binder Sold",
-            JOptionPane.INFORMATION_MESSAGE
-        );
-
-        refreshBinderDisplay();
+        // Value with the binder's custom sell multiplier applied; the binder, its cards and the money change together
+        mainController.getCommandBus().submit(manageBindersView, "Selling binder",
+            progress -> mainModel.beginBulkSale().addBinder(selected).execute().getProceedsCents(),
+            totalValue -> JOptionPane.showMessageDialog(
+                manageBindersView,
+                "Binder sold for " + Money.format(totalValue),
+                "Binder Sold",
+                JOptionPane.INFORMATION_MESSAGE
+            ));
 	}
     /** Handles trading a card from a binder with a new card. */
 	private void tradeCardButtonPressed() {
@@ -215,37 +235,30 @@ public class ManageBinderController {
             return;
         }
 
-        // --- Perform the trade ---
+        // --- Perform the trade on the command bus, as one transaction ---
+        mainController.getCommandBus().submit(manageBindersView, "Trading " + cardToTrade.getName(),
+            progress -> {
+                ModelTransaction transaction = mainModel.beginTransaction();
 
-        // 1. Remove one copy of the old card from the binder
-        selectedBinder.removeCard(cardToTrade.getName());
+                // 1. Remove one copy of the old card from the binder
+                transaction.removeFromBinder(selectedBinder, cardToTrade);
 
-        // 2. Adjust collection for the traded-away card
-        CardModel collectionMatch = CollectionModel.findCardInCollection(mainModel.getCollectionModel(), cardToTrade.getName());
-        if (collectionMatch != null && collectionMatch.matches(cardToTrade)) {
-            double currentAmount = collectionMatch.getAmount();
-            if (currentAmount > 1) {
-                collectionMatch.setAmount(currentAmount - 1);
-            } else {
-                mainModel.getCollectionModel().removeCard(collectionMatch); // remove if now 0
-            }
-        }
+                // 2. Take the traded-away card out of the collection; an entry with no copies left is removed
+                CardModel collectionMatch = mainModel.getCollectionModel().getMatchingCard(cardToTrade);
+                if (collectionMatch != null) {
+                    transaction.removeFromCollection(collectionMatch, Math.min(1, collectionMatch.getAmount()));
+                }
 
-        // 3. Add the new card to the binder
-        selectedBinder.addCardB(newCard);
+                // 3. Add the new card to the binder
+                transaction.addToBinder(selectedBinder, newCard);
 
-        // 4. If new card doesn't exist in collection, add with amount 0
-        CardModel match = CollectionModel.findCardInCollection(mainModel.getCollectionModel(), newCard.getName());
-        boolean existsInCollection = match != null && match.matches(newCard);
+                // 4. If new card doesn't exist in collection, add with amount 0 (seen but not owned)
+                transaction.addToCollection(newCard, 0);
 
-        if (!existsInCollection) {
-            CardModel seenCard = new CardModel(newCard.getName(), newCard.getRarity(), newCard.getVariant(), newCard.getBaseValue());
-            seenCard.setAmount(0); // seen but not owned
-            mainModel.getCollectionModel().addCard(seenCard);
-        }
-
-        JOptionPane.showMessageDialog(manageBindersView, "Card traded successfully!", "Trade Complete", JOptionPane.INFORMATION_MESSAGE);
-        refreshBinderDisplay();
+                transaction.commit();
+                return null;
+            },
+            ignored -> JOptionPane.showMessageDialog(manageBindersView, "Card traded successfully!", "Trade Complete", JOptionPane.INFORMATION_MESSAGE));
 	}
     /** Handles adding or removing a card from the selected binder. */
 	private void addRemoveCardToBinderButtonPressed() {
@@ -308,16 +321,22 @@ public class ManageBinderController {
                 return;
             }
 
-            selectedBinder.addCardB(chosenCard);
-            chosenCard.setAmount(chosenCard.getAmount() - 1);
+            if (!selectedBinder.addCardB(chosenCard)) {
+                JOptionPane.showMessageDialog(manageBindersView, "Binder is already full (max 20 cards).", "Binder Full", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+            collection.setCardAmount(chosenCard, chosenCard.getAmount() - 1);
             JOptionPane.showMessageDialog(manageBindersView, "Card added to binder.", "Success", JOptionPane.INFORMATION_MESSAGE);
 
         } else { // Remove
-            selectedBinder.removeCard(chosenCard.getName());
+            if (!selectedBinder.removeCard(chosenCard.getName())) {
+                JOptionPane.showMessageDialog(manageBindersView, "Card not found in binder.", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
 
             CardModel existingInCollection = CollectionModel.findCardInCollection(collection, chosenCard.getName());
             if (existingInCollection != null && existingInCollection.matches(chosenCard)) {
-                existingInCollection.setAmount(existingInCollection.getAmount() + 1);
+                collection.setCardAmount(existingInCollection, existingInCollection.getAmount() + 1);
             } else {
                 CardModel copy = new CardModel(chosenCard.getName(), chosenCard.getRarity(), chosenCard.getVariant(), chosenCard.getBaseValue());
                 copy.setAmount(1);
@@ -327,7 +346,7 @@ public class ManageBinderController {
             JOptionPane.showMessageDialog(manageBindersView, "Card removed from binder.", "Success", JOptionPane.INFORMATION_MESSAGE);
         }
 
-        refreshBinderDisplay();
+        mainModel.fireBinderChanged(selectedBinder);
 	}
     /** Displays the contents of the selected binder in a dialog. */
 	private void viewBinderButtonPressed() {
@@ -338,26 +357,26 @@ public class ManageBinderController {
         }
 
         StringBuilder binderContents = new StringBuilder("Binder: " + selected.getName() + "\n\nCards:\n");
-        double totalValue = 0.0;
+        long totalValue = 0;
 
         if (selected.getCards().isEmpty()) {
             binderContents.append("No cards in this binder.");
         } else {
             for (CardModel card : selected.getCards()) {
                 double amount = card.getAmount(); // how many copies of this card
-                double value = card.getValue();
-                double subtotal = value * amount;
+                long value = card.getValueCents();
+                long subtotal = card.getTotalPriceCents();
                 totalValue += subtotal;
 
                 binderContents.append("- Name: ").append(card.getName()).append("\n")
                             .append("  Rarity: ").append(card.getRarity()).append("\n")
                             .append("  Variant: ").append(card.getVariant()).append("\n")
                             .append("  Copies: ").append(amount).append("\n")
-                            .append("  Value each: $").append(String.format("%.2f", value)).append("\n")
-                            .append("  Total value: $").append(String.format("%.2f", subtotal)).append("\n\n");
+                            .append("  Value each: ").append(Money.format(value)).append("\n")
+                            .append("  Total value: ").append(Money.format(subtotal)).append("\n\n");
             }
 
-            binderContents.append("Total Binder Value: $").append(String.format("%.2f", totalValue));
+            binderContents.append("Total Binder Value: ").append(Money.format(totalValue));
         }
 
         JOptionPane.showMessageDialog(manageBindersView, binderContents.toString(), "View Binder", JOptionPane.INFORMATION_MESSAGE);
@@ -384,14 +403,11 @@ public class ManageBinderController {
         // Move all cards back to the collection
         selectedBinder.getCards().forEach(card -> mainModel.getCollectionModel().addCard(card));
 
-        // Remove binder from model
-        mainModel.getBinders().remove(selectedBinder);
+        // Remove binder from model; the view drops its BinderView in response
+        mainModel.removeBinder(selectedBinder);
 
         // Show confirmation
         JOptionPane.showMessageDialog(manageBindersView, "Binder deleted and cards returned to collection.", "Binder Deleted", JOptionPane.INFORMATION_MESSAGE);
-
-        // Refresh the view
-        refreshBinderDisplay();
 	}
     /** Creates a new binder based on user input. */
 	private void createBinderButtonPressed() {
@@ -450,8 +466,7 @@ public class ManageBinderController {
                 return;
         }
 
-        mainModel.getBinders().add(newBinder);
+        mainModel.addBinder(newBinder);
         JOptionPane.showMessageDialog(manageBindersView, "Binder created successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-        refreshBinderDisplay();
     }
 }
@@ -1,16 +1,32 @@
 package main.java.controller;
 
+import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
+import javax.swing.ProgressMonitor;
+import javax.swing.SwingWorker;
+import javax.swing.filechooser.FileNameExtensionFilter;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
+import main.java.metrics.Metrics;
+import main.java.metrics.Timer;
 import main.java.model.MainModel;
 import main.java.model.classes.CardModel;
+import main.java.model.classes.CardQuery;
+import main.java.model.classes.CollectionModel;
+import main.java.model.events.ModelChangeListener;
+import main.java.model.persistence.CardImporter;
 import main.java.model.enums.Rarity;
 import main.java.model.enums.Variant;
+import main.java.utilities.Log;
+import main.java.utilities.Money;
+import main.java.utilities.Threads;
 
 import main.java.view.MainView;
 import main.java.view.collection_views.AddCardView;
@@ -46,6 +62,22 @@ public class ManageCollectionController {
      */
     private final ManageCollectionView manageCollectionView;
 
+    /**
+     * The most cards shown for a search. A search matching more shows the first ones found,
+     * since nobody scrolls through thousands of partial matches.
+     */
+    private static final int SEARCH_RESULT_LIMIT = 1000;
+
+    /**
+     * How long rebuilding the card grid for the current search and filters takes on the event dispatch thread.
+     */
+    private static final Timer REFRESH_TIMER = Metrics.timer("views.collection.refresh");
+
+    /**
+     * Whether the collection's name index has been requested, so it is built once, in the background.
+     */
+    private boolean nameSearchPrepared;
+
     /**
      * Constructs a new `ManageCollectionController`.
      * Initializes the controller with references to the main model, main view, and main controller.
@@ -63,6 +95,65 @@ public class ManageCollectionController {
         this.manageCollectionView = mainView.getManageCollectionView();
 
         setupListeners();
+        setupModelListener();
+    }
+
+    /**
+     * Subscribes to change events from the card {@link CollectionModel} so that the
+     * {@link ManageCollectionView} is patched one card at a time, instead of being
+     * rebuilt with {@link #refreshCardDisplay()} after every change.
+     * Updates go through the {@link CommandBus}, so changes made by commands reach the view
+     * on the event dispatch thread and repeated changes to one card repaint it once.
+     */
+    private void setupModelListener() {
+        CommandBus commandBus = mainController.getCommandBus();
+        mainModel.getCollectionModel().addChangeListener(new ModelChangeListener<CardModel>() {
+            @Override
+            public void added(CardModel card) {
+                commandBus.refreshLater(new Object(), () -> {
+                    if (!manageCollectionView.getSearchText().isBlank() || buildFilter() != null) {
+                        // The new card may not match, and search results are not in plain name order, so run the search again
+                        refreshCardDisplay();
+                        return;
+                    }
+                    manageCollectionView.insertCard(card);
+                    updateActionButtons();
+                });
+            }
+
+            @Override
+            public void removed(CardModel card) {
+                commandBus.refreshLater(new Object(), () -> {
+                    manageCollectionView.removeCard(card);
+                    updateActionButtons();
+                });
+            }
+
+            @Override
+            public void changed(CardModel card) {
+                commandBus.refreshLater(card, () -> {
+                    if (buildFilter() != null) {
+                        // A new amount or value may take the card in or out of the filter
+                        commandBus.refreshLater(manageCollectionView, () -> refreshCardDisplay());
+                        return;
+                    }
+                    manageCollectionView.updateCard(card);
+                });
+            }
+
+            @Override
+            public void batchApplied(List<CardModel> addedCards, List<CardModel> changedCards) {
+                // A bulk import can touch thousands of cards, so rebuild the display once
+                commandBus.refreshLater(manageCollectionView, () -> refreshCardDisplay());
+            }
+        });
+    }
+
+    /**
+     * Enables or disables the action buttons depending on whether any cards are displayed.
+     */
+    private void updateActionButtons() {
+        manageCollectionView.setEnableActionButtons(manageCollectionView.getDisplayedCardCount() > 0);
     }
 
     /**
@@ -72,36 +163,48 @@ public class ManageCollectionController {
      */
     private void setupListeners() {
         // Listener for the "Add New Card" button
-        manageCollectionView.setAddCardButtonActionListener(new ActionListener() {
+        manageCollectionView.setAddCardButtonActionListener(Actions.counted("collection.addCard", new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
                 addCardButtonPressed();
             }
-        });
+        }));
+
+        // Listener for the "Import Cards" button
+        manageCollectionView.setImportCardsButtonActionListener(Actions.counted("collection.importCards", new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                importCardsButtonPressed();
+            }
+        }));
 
         // Listener for the "Modify Card Amount" button
-        manageCollectionView.setModifyCardCountButtonActionListener(new ActionListener() {
+        manageCollectionView.setModifyCardCountButtonActionListener(Actions.counted("collection.modifyCardCount", new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
                 modifyCardCountButtonPressed();
             }
-        });
+        }));
 
         // Listener for the "View Card Details" button
-        manageCollectionView.setViewCardDetailsButtonActionListener(new ActionListener() {
+        manageCollectionView.setViewCardDetailsButtonActionListener(Actions.counted("collection.viewCardDetails", new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
                 viewCardDetailsButtonPressed();
             }
-        });
+        }));
 
         // Listener for the "Sell Card" button
-        manageCollectionView.setSellCardButtonActionListener(new ActionListener() {
+        manageCollectionView.setSellCardButtonActionListener(Actions.counted("collection.sellCard", new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
                 sellCardButtonPressed();
             }
-        });
+        }));
+
+        // Filter the grid as the user types; a search answers in well under a millisecond
+        manageCollectionView.setSearchListener(query -> refreshCardDisplay());
+        manageCollectionView.setFilterListener(() -> refreshCardDisplay());
 
         // The "Back to Main Menu" button listener is handled in MainController,
         // ensuring centralized navigation control.
@@ -110,24 +213,93 @@ public class ManageCollectionController {
     /**
      * Refreshes the display of cards in the {@link ManageCollectionView}.
      * This method is called by the {@link MainController} when the "Manage Collection" screen is shown,
-     * and also by this controller after any operation that changes the collection data (e.g., add, modify, sell).
+     * Individual changes made afterwards (e.g., add, modify, sell) are applied through the collection's change events.
      * It fetches the latest card data from the model, updates the view, and
      * enables/disables action buttons based on whether the collection is empty.
+     * While the search box holds text, only the cards whose names contain it are shown, and while a
+     * filter is set, only the cards matching it, found through {@link CollectionModel#findCards(CardQuery)}.
      */
     public void refreshCardDisplay() {
-        List<CardModel> currentCards = mainModel.getCollectionModel().getCardsSortedByName();
+        long start = REFRESH_TIMER.start();
+        try {
+            CollectionModel collection = mainModel.getCollectionModel();
+            if (!nameSearchPrepared) {
+                nameSearchPrepared = true;
+                // Only the name index: the attribute index is built by the first filter, and building it
+                // now would materialize every card of a collection that may only ever be browsed
+                Threads.daemonThreadFactory("collection-indexes", false)
+                        .newThread(collection::prepareNameSearch).start();
+            }
 
-        manageCollectionView.displayCards(currentCards, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                // When a card view is clicked, its CardModel is passed as the source
-                CardModel clickedCard = (CardModel) e.getSource();
-                manageCollectionView.setSelectedCard(clickedCard); // Update the selected card in the view
+            ActionListener selectionListener = Actions.counted("collection.select", new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    // When a card view is clicked, its CardModel is passed as the source
+                    CardModel clickedCard = (CardModel) e.getSource();
+                    manageCollectionView.setSelectedCard(clickedCard); // Update the selected card in the view
+                }
+            });
+            String query = manageCollectionView.getSearchText();
+            CardQuery filter = buildFilter();
+            if (filter != null) {
+                if (!query.isBlank()) {
+                    filter = filter.and(CardQuery.nameContains(query));
+                }
+                manageCollectionView.setNoCardsMessage("No cards match the filters.");
+                manageCollectionView.displayCards(collection.findCards(filter), selectionListener);
+            } else if (query.isBlank()) {
+                // Read the grid a page at a time as it scrolls, rather than the whole collection up front
+                manageCollectionView.setNoCardsMessage("No cards in your collection. Add some!");
+                manageCollectionView.displayCardPages(collection::getCardsSortedByName, selectionListener);
+            } else {
+                manageCollectionView.setNoCardsMessage("No cards match \"" + query.trim() + "\".");
+                manageCollectionView.displayCards(collection.searchByName(query, SEARCH_RESULT_LIMIT), selectionListener);
             }
-        });
-        // Enable/disable action buttons based on whether there are cards in the collection
-        boolean isCollectionEmpty = currentCards.isEmpty();
-        manageCollectionView.setEnableActionButtons(!isCollectionEmpty);
+            // Enable/disable action buttons based on whether there are cards in the collection
+            updateActionButtons();
+        } finally {
+            REFRESH_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Builds the query for the rarity, variant, value and amount filters set in the view.
+     * A value or amount that is not a number is ignored until the user finishes typing it.
+     *
+     * @return The combined {@link CardQuery}, or `null` if no filter is set.
+     */
+    private CardQuery buildFilter() {
+        CardQuery filter = null;
+        if (manageCollectionView.getRarityFilter() != null) {
+            filter = CardQuery.rarity(manageCollectionView.getRarityFilter());
+        }
+        if (manageCollectionView.getVariantFilter() != null) {
+            filter = both(filter, CardQuery.variant(manageCollectionView.getVariantFilter()));
+        }
+        Double minValue = parseBound(manageCollectionView.getMinValueText());
+        Double maxValue = parseBound(manageCollectionView.getMaxValueText());
+        if (minValue != null || maxValue != null) {
+            filter = both(filter, CardQuery.valueCentsBetween(
+                minValue == null ? Long.MIN_VALUE : Money.toCents(minValue),
+                maxValue == null ? Long.MAX_VALUE : Money.toCents(maxValue)));
+        }
+        Double minAmount = parseBound(manageCollectionView.getMinAmountText());
+        if (minAmount != null) {
+            filter = both(filter, CardQuery.amountBetween(minAmount, Double.MAX_VALUE));
+        }
+        return filter;
+    }
+
+    private static CardQuery both(CardQuery first, CardQuery second) {
+        return first == null ? second : first.and(second);
+    }
+
+    private static Double parseBound(String text) {
+        try {
+            return text.isBlank() ? null : Double.parseDouble(text.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 
     // --- Action methods for ManageCollectionView buttons ---
@@ -137,10 +309,10 @@ public class ManageCollectionController {
      * This method prompts the user for new card details using an {@link AddCardView} dialog.
      * It validates the input, creates a new {@link CardModel}, and attempts to add it to the
      * user's collection via the {@link MainModel}. It provides feedback to the user
-     * and refreshes the card display.
+     * and the collection's change events update the view.
      */
     private void addCardButtonPressed() {
-        System.out.println("ManageCollectionController: 'Add Card' action received.");
+        Log.debug("ManageCollectionController", "'Add Card' action received.");
 
         AddCardView addCardView = new AddCardView(); // Create the dialog view
 
@@ -185,10 +357,102 @@ public class ManageCollectionController {
             } else {
                 JOptionPane.showMessageDialog(manageCollectionView, "Existing card amount updated!", "Success", JOptionPane.INFORMATION_MESSAGE);
             }
-            refreshCardDisplay(); // Update the view to show changes
+            // The view is updated through the collection's change events
         } else {
-            System.out.println("ManageCollectionController: Add Card operation cancelled.");
+            Log.debug("ManageCollectionController", "Add Card operation cancelled.");
+        }
+    }
+
+    /**
+     * Handles the action when the "Import Cards" button is pressed.
+     * The user picks a CSV or JSON card list, which is parsed and validated by a {@link CardImporter}
+     * on a background thread while a progress monitor shows how far it has read. The merged cards are
+     * then added to the collection in one batch by a command on the {@link CommandBus}, so the view
+     * refreshes once, and a summary of the import and its throughput is shown.
+     */
+    private void importCardsButtonPressed() {
+        Log.debug("ManageCollectionController", "'Import Cards' action received.");
+
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Import Cards");
+        fileChooser.setFileFilter(new FileNameExtensionFilter("Card lists (*.csv, *.json)", "csv", "json"));
+        if (fileChooser.showOpenDialog(manageCollectionView) != JFileChooser.APPROVE_OPTION) {
+            Log.debug("ManageCollectionController", "Import Cards operation cancelled.");
+            return;
+        }
+
+        Path path = fileChooser.getSelectedFile().toPath();
+        ProgressMonitor progressMonitor = new ProgressMonitor(manageCollectionView,
+                "Importing " + path.getFileName(), "", 0, 100);
+        progressMonitor.setMillisToDecideToPopup(200);
+
+        new SwingWorker<CardImporter.Result, String>() {
+            @Override
+            protected CardImporter.Result doInBackground() throws IOException {
+                return CardImporter.importFile(path, (rowsRead, bytesRead, totalBytes) -> {
+                    if (totalBytes > 0) {
+                        setProgress((int) Math.min(100, bytesRead * 100 / totalBytes));
+                    }
+                    publish(rowsRead + " rows read");
+                });
+            }
+
+            @Override
+            protected void process(List<String> notes) {
+                if (progressMonitor.isCanceled()) {
+                    cancel(true);
+                    return;
+                }
+                progressMonitor.setNote(notes.get(notes.size() - 1));
+                progressMonitor.setProgress(getProgress());
+            }
+
+            @Override
+            protected void done() {
+                progressMonitor.close();
+                if (isCancelled()) {
+                    Log.debug("ManageCollectionController", "Import Cards operation cancelled.");
+                    return;
+                }
+                CardImporter.Result result;
+                try {
+                    result = get();
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    Log.warn("ManageCollectionController", "import failed: {}", cause.getMessage());
+                    JOptionPane.showMessageDialog(manageCollectionView, "Could not import the file:\n" + cause.getMessage(), "Import Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+
+                mainController.getCommandBus().submit(manageCollectionView, "Adding imported cards",
+                    progress -> mainModel.getCollectionModel().addCards(result.getCards()),
+                    newEntries -> showImportSummary(result, newEntries));
+            }
+        }.execute();
+    }
+
+    /**
+     * Shows the outcome of an import once its cards have been added to the collection.
+     *
+     * @param result     what the {@link CardImporter} read
+     * @param newEntries the number of cards that were new to the collection
+     */
+    private void showImportSummary(CardImporter.Result result, int newEntries) {
+        StringBuilder summary = new StringBuilder();
+        summary.append("Rows read: ").append(result.getRowsRead()).append('\n');
+        summary.append("New cards added: ").append(newEntries).append('\n');
+        summary.append("Existing cards updated: ").append(result.getCards().size() - newEntries).append('\n');
+        summary.append("Duplicate rows merged: ").append(result.getRowsMerged()).append('\n');
+        summary.append("Rows rejected: ").append(result.getRowsRejected()).append('\n');
+        summary.append(String.format("Throughput: %.0f rows/s", result.getRowsPerSecond()));
+        for (String error : result.getErrors()) {
+            summary.append('\n').append(error);
+        }
+        if (result.getErrors().size() < result.getRowsRejected()) {
+            summary.append("\n...");
         }
+        int messageType = result.getRowsRejected() > 0 ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE;
+        JOptionPane.showMessageDialog(manageCollectionView, summary.toString(), "Import Complete", messageType);
     }
 
     /**
@@ -197,10 +461,10 @@ public class ManageCollectionController {
      * a {@link ModifyCardAmountView} dialog to allow the user to change the amount
      * of the selected card. It updates the card's amount in the model and, if the amount
      * drops to zero or less, removes the card entirely from the collection.
-     * The card display is then refreshed.
+     * Only the affected card is then updated in the view.
      */
     private void modifyCardCountButtonPressed() {
-        System.out.println("ManageCollectionController: 'Modify Card Count' action received.");
+        Log.debug("ManageCollectionController", "'Modify Card Count' action received.");
         CardModel selectedCard = manageCollectionView.getSelectedCard(); // Get the currently selected CardModel
 
         if (selectedCard == null) {
@@ -217,18 +481,18 @@ public class ManageCollectionController {
             );
 
             if (result == JOptionPane.OK_OPTION) {
-                System.out.println("ManageCollectionController: Card count value modified");
-                // Update the amount of the selected card
-                selectedCard.setAmount(selectedCard.getAmount() + modifyCardAmountView.getNewValue());
+                Log.debug("ManageCollectionController", "Card count value modified.");
+                // Update the amount of the selected card; the collection notifies the view
+                CollectionModel collection = mainModel.getCollectionModel();
+                collection.setCardAmount(selectedCard, selectedCard.getAmount() + modifyCardAmountView.getNewValue());
 
                 // If amount drops to 0 or less, remove the card from the collection
                 if (selectedCard.getAmount() <= 0) {
-                    mainModel.getCollectionModel().removeCard(selectedCard);
+                    collection.removeCard(selectedCard);
                     JOptionPane.showMessageDialog(manageCollectionView, "Card removed from collection as amount reached 0 or less.", "Card Removed", JOptionPane.INFORMATION_MESSAGE);
                 }
-                refreshCardDisplay(); // Update the view to reflect changes
             } else {
-                System.out.println("ManageCollectionController: Modify card count cancelled.");
+                Log.debug("ManageCollectionController", "Modify card count cancelled.");
             }
         }
     }
@@ -240,7 +504,7 @@ public class ManageCollectionController {
      * into a string and displays it in an informational dialog to the user.
      */
     private void viewCardDetailsButtonPressed() {
-        System.out.println("ManageCollectionController: 'View Card Details' action received.");
+        Log.debug("ManageCollectionController", "'View Card Details' action received.");
         CardModel selectedCard = manageCollectionView.getSelectedCard(); // Get the currently selected CardModel
 
         if (selectedCard == null) {
@@ -252,12 +516,12 @@ public class ManageCollectionController {
                 "Name    : %s\n" +
                 "Rarity  : %s\n" +
                 "Variant : %s\n" +
-                "Value   : $%.2f\n" +
+                "Value   : %s\n" +
                 "Amount  : %.0f",
                 selectedCard.getName(),
                 selectedCard.getRarity(),
                 selectedCard.getVariant(),
-                selectedCard.getValue(),
+                Money.format(selectedCard.getValueCents()),
                 selectedCard.getAmount()
             );
             JOptionPane.showMessageDialog(manageCollectionView, details, "Card Details", JOptionPane.INFORMATION_MESSAGE);
@@ -270,10 +534,11 @@ public class ManageCollectionController {
      * a {@link SellCardView} dialog to allow the user to specify how many units of the
      * selected card they wish to sell. It validates the sell amount, updates the user's
      * money in the {@link MainModel}, reduces the card's amount, and removes the card
-     * entirely from the collection if its amount drops to zero. The card display is then refreshed.
+     * entirely from the collection if its amount drops to zero. The model changes run on the {@link CommandBus};
+     * only the affected card is then updated in the view.
      */
     private void sellCardButtonPressed() {
-        System.out.println("ManageCollectionController: 'Sell Card' action received.");
+        Log.debug("ManageCollectionController", "'Sell Card' action received.");
 
         CardModel selectedCard = manageCollectionView.getSelectedCard();
 
@@ -302,21 +567,18 @@ public class ManageCollectionController {
                     return;
                 }
 
-                // Update player money
-                mainController.setMoney(mainModel.getMoney() + selectedCard.getTotalPrice((int) amountToSell)); // Cast to int if getTotalPrice expects int
-
-                // Reduce card amount
-                selectedCard.setAmount(currentAmount - amountToSell);
-
-                // Remove card if amount drops to zero
-                if (selectedCard.getAmount() == 0) {
-                    mainModel.getCollectionModel().removeCard(selectedCard);
-                    JOptionPane.showMessageDialog(manageCollectionView, "Card removed from collection as amount reached 0.", "Card Removed", JOptionPane.INFORMATION_MESSAGE);
-                    System.out.println("ManageCollectionController: Card Removed (amount reached 0).");
-                }
-                refreshCardDisplay(); // Update the view to reflect changes
+                mainController.getCommandBus().submit(manageCollectionView, "Selling " + selectedCard.getName(), progress -> {
+                    // Update player money and reduce card amount together; the card is removed if its amount drops to zero
+                    mainModel.beginBulkSale().addCard(selectedCard, amountToSell).execute();
+                    return mainModel.getCollectionModel().getMatchingCard(selectedCard) == null;
+                }, removed -> {
+                    if (removed) {
+                        JOptionPane.showMessageDialog(manageCollectionView, "Card removed from collection as amount reached 0.", "Card Removed", JOptionPane.INFORMATION_MESSAGE);
+                        Log.debug("ManageCollectionController", "Card removed (amount reached 0).");
+                    }
+                });
             } else {
-                System.out.println("ManageCollectionController: Sell Card operation cancelled.");
+                Log.debug("ManageCollectionController", "Sell Card operation cancelled.");
             }
         }
     }
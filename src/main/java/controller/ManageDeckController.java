@@ -5,6 +5,9 @@ import main.java.model.classes.CardModel;
 import main.java.model.classes.DeckModel;
 import main.java.model.classes.SellableDeckModel;
 import main.java.model.classes.CollectionModel;
+import main.java.model.events.ModelChangeListener;
+import main.java.utilities.Log;
+import main.java.utilities.Money;
 import main.java.view.MainView;
 import main.java.view.deck_views.CreateDeckView;
 import main.java.view.deck_views.ManageDecksView;
@@ -14,6 +17,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * The `ManageDeckController` is a sub-controller responsible for handling all user interactions
@@ -58,6 +62,37 @@ public class ManageDeckController {
         this.manageDecksView = mainView.getManageDecksView();
 
         setupListeners();
+        setupModelListener();
+        refreshDeckDisplay();
+    }
+
+    /**
+     * Subscribes to deck change events from the {@link MainModel}, so that each action
+     * adds, removes or refreshes only the affected deck view rather than rebuilding them all.
+     */
+    private void setupModelListener() {
+        mainModel.addDeckChangeListener(new ModelChangeListener<DeckModel>() {
+            @Override
+            public void added(DeckModel deck) {
+                mainController.getCommandBus().refreshLater(new Object(), () -> {
+                    manageDecksView.addDeck(deck);
+                    manageDecksView.setEnableActionButtons(true);
+                });
+            }
+
+            @Override
+            public void removed(DeckModel deck) {
+                mainController.getCommandBus().refreshLater(new Object(), () -> {
+                    manageDecksView.removeDeck(deck);
+                    manageDecksView.setEnableActionButtons(!mainModel.getDecks().isEmpty());
+                });
+            }
+
+            @Override
+            public void changed(DeckModel deck) {
+                mainController.getCommandBus().refreshLater(deck, () -> manageDecksView.updateDeck(deck));
+            }
+        });
     }
     
     /**
@@ -66,16 +101,31 @@ public class ManageDeckController {
      * action methods within this controller.
      */
     private void setupListeners() {
-        System.out.println("ManageDeckController: Setup Listeners");
-        manageDecksView.setCreateDeckButtonActionListener(e -> createDeckButtonPressed());
-        manageDecksView.setDeleteDeckButtonActionListener(e -> deleteDeckButtonPressed());
-        manageDecksView.setViewDeckButtonActionListener(e -> viewDeckButtonPressed());
-        manageDecksView.setAddRemoveCardButtonActionListener(e -> addRemoveCardToDeckButtonPressed());
-        manageDecksView.setSellDeckButtonActionListener(e -> sellDeckButtonPressed());
+        Log.debug("ManageDeckController", "Setup listeners.");
+        manageDecksView.setCreateDeckButtonActionListener(Actions.counted("decks.create", e -> createDeckButtonPressed()));
+        manageDecksView.setDeleteDeckButtonActionListener(Actions.counted("decks.delete", e -> deleteDeckButtonPressed()));
+        manageDecksView.setViewDeckButtonActionListener(Actions.counted("decks.view", e -> viewDeckButtonPressed()));
+        manageDecksView.setAddRemoveCardButtonActionListener(Actions.counted("decks.addRemoveCard", e -> addRemoveCardToDeckButtonPressed()));
+        manageDecksView.setSellDeckButtonActionListener(Actions.counted("decks.sell", e -> sellDeckButtonPressed()));
+        manageDecksView.setSearchListener(query -> manageDecksView.setFilter(searchFilter(query)));
+    }
+
+    /**
+     * Returns the test shown decks must pass for a search: their name, or a card in them, contains it.
+     *
+     * @param query The search text.
+     * @return The test, or `null` for a blank search, which shows every deck.
+     */
+    private static Predicate<DeckModel> searchFilter(String query) {
+        if (query.isBlank()) {
+            return null;
+        }
+        String foldedQuery = CollectionModel.foldName(query);
+        return deck -> deck.matchesSearch(foldedQuery);
     }
 
     /**
-     * Refreshes the display of decks in the {@link ManageDecksView}.
+     * Rebuilds the display of all decks in the {@link ManageDecksView}.
      * This method retrieves the current list of decks from the {@link MainModel},
      * updates the view to reflect these decks, and sets up a selection listener
      * for individual deck views. It also dynamically enables or disables action buttons
@@ -84,13 +134,13 @@ public class ManageDeckController {
     public void refreshDeckDisplay() {
         List<DeckModel> currentDecks = mainModel.getDecks();
 
-        manageDecksView.displayDecks(currentDecks, new ActionListener() {
+        manageDecksView.displayDecks(currentDecks, Actions.counted("decks.select", new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
                 DeckModel selected = (DeckModel) e.getSource();
                 manageDecksView.setSelectedDeck(selected);
             }
-        });
+        }));
 
         boolean isEmpty = currentDecks.isEmpty();
         manageDecksView.setEnableActionButtons(!isEmpty);
@@ -103,7 +153,7 @@ public class ManageDeckController {
      * and the deck display is refreshed.
      */
     private void createDeckButtonPressed() {
-        System.out.println("ManageDeckController: Create Deck Button Action Recieved");
+        Log.debug("ManageDeckController", "Create Deck button action received.");
         CreateDeckView createDeckView = new CreateDeckView();
 
         int result = JOptionPane.showConfirmDialog(
@@ -122,12 +172,17 @@ public class ManageDeckController {
                 return;
             }
 
+            boolean duplicate = mainModel.getDecks().stream().anyMatch(d -> d.getName().equalsIgnoreCase(name.trim()));
+            if (duplicate) {
+                JOptionPane.showMessageDialog(manageDecksView, "A deck with that name already exists.", "Duplicate Name", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+
             DeckModel newDeck = createDeckView.getDeckType();
 
-            mainModel.getDecks().add(newDeck);
+            mainModel.addDeck(newDeck);
 
             JOptionPane.showMessageDialog(manageDecksView, "Deck created successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
-            refreshDeckDisplay();
         }
     }
 
@@ -157,7 +212,7 @@ public class ManageDeckController {
         for (CardModel deckCard : selected.getCards()) {
             CardModel existing = CollectionModel.findCardInCollection(collection, deckCard.getName());
             if (existing != null && existing.matches(deckCard)) {
-                existing.setAmount(existing.getAmount() + 1);
+                collection.setCardAmount(existing, existing.getAmount() + 1);
             } else {
                 CardModel copy = new CardModel(deckCard.getName(), deckCard.getRarity(), deckCard.getVariant(), deckCard.getBaseValue());
                 copy.setAmount(1);
@@ -165,9 +220,8 @@ public class ManageDeckController {
             }
         }
 
-        mainModel.getDecks().remove(selected);
+        mainModel.removeDeck(selected);
         JOptionPane.showMessageDialog(manageDecksView, "Deck deleted and cards returned to collection.", "Success", JOptionPane.INFORMATION_MESSAGE);
-        refreshDeckDisplay();
     }
     }
 
@@ -184,22 +238,22 @@ public class ManageDeckController {
         }
 
         StringBuilder deckContents = new StringBuilder("Deck: " + selected.getName() + "\n\nCards:\n");
-        double totalValue = 0.0;
+        long totalValue = 0;
 
         if (selected.getCards().isEmpty()) {
             deckContents.append("No cards in this deck.");
         } else {
             for (CardModel card : selected.getCards()) {
-                double value = card.getBaseValue();
+                long value = card.getBaseValueCents();
                 totalValue += value;
 
                 deckContents.append("- Name: ").append(card.getName()).append("\n")
                             .append("  Rarity: ").append(card.getRarity()).append("\n")
                             .append("  Variant: ").append(card.getVariant()).append("\n")
-                            .append("  Value: $").append(String.format("%.2f", value)).append("\n\n");
+                            .append("  Value: ").append(Money.format(value)).append("\n\n");
             }
 
-            deckContents.append("Total Deck Value: $").append(String.format("%.2f", totalValue));
+            deckContents.append("Total Deck Value: ").append(Money.format(totalValue));
         }
 
         JOptionPane.showMessageDialog(manageDecksView, deckContents.toString(), "View Deck", JOptionPane.INFORMATION_MESSAGE);
@@ -267,14 +321,14 @@ public class ManageDeckController {
             }
 
             selectedDeck.getCards().add(chosenCard);
-            chosenCard.setAmount(chosenCard.getAmount() - 1);
+            collection.setCardAmount(chosenCard, chosenCard.getAmount() - 1);
             JOptionPane.showMessageDialog(manageDecksView, "Card added to deck.", "Success", JOptionPane.INFORMATION_MESSAGE);
         } else { // Remove
             selectedDeck.getCards().remove(chosenCard);
 
             CardModel existingInCollection = CollectionModel.findCardInCollection(collection, chosenCard.getName());
             if (existingInCollection != null && existingInCollection.matches(chosenCard)) {
-                existingInCollection.setAmount(existingInCollection.getAmount() + 1);
+                collection.setCardAmount(existingInCollection, existingInCollection.getAmount() + 1);
             } else {
                 // Card no longer in collection; add it back with amount 1
                 CardModel copy = new CardModel(chosenCard.getName(), chosenCard.getRarity(), chosenCard.getVariant(), chosenCard.getBaseValue());
@@ -285,7 +339,7 @@ public class ManageDeckController {
             JOptionPane.showMessageDialog(manageDecksView, "Card removed from deck.", "Success", JOptionPane.INFORMATION_MESSAGE);
         }
 
-        refreshDeckDisplay();
+        mainModel.fireDeckChanged(selectedDeck);
     }
 
     /**
@@ -316,45 +370,15 @@ public class ManageDeckController {
 
         if (confirm != JOptionPane.YES_OPTION) return;
 
-        double totalValue = 0.0;
-        CollectionModel collection = mainModel.getCollectionModel();
-
-
-        // Calculate the total value of all cards contained within the deck.
-        // The cards are permanently consumed by selling the deck.
-        // Their handling in the main collection (reduction of amount or removal) is assumed
-        // to have occurred when they were initially moved into the deck.
-        for (CardModel cardInDeck : selected.getCards()) {
-            totalValue += cardInDeck.getValue();
-
-            // This block processes how cards in the sold deck affect the main collection.
-            // If a card from the collection was moved into this deck, and it was the last copy,
-            // this ensures it's fully removed from the collection's records if it still exists there with amount 0.
-            CardModel inCollection = collection.getMatchingCard(cardInDeck);
-            if (inCollection != null) {
-                if (inCollection.getAmount() == 0) {
-                    collection.removeCard(inCollection);
-                }
-                // If amount > 0, do nothing — card is still owned outside the deck
-            }
-        }
-
-        // Add money
-        double currentMoney = mainModel.getMoney();
-        mainModel.setMoney(currentMoney + totalValue);
-        mainController.setMoney(mainModel.getMoney());
-
-        // Remove deck
-        selected.getCards().clear();
-        mainModel.getDecks().remove(selected);
-
-        JOptionPane.showMessageDialog(
-            manageDecksView,
-            "Deck sold for $" + String.format("%.2f", totalValue),
-            "Deck Sold",
-            JOptionPane.INFORMATION_MESSAGE
-        );
-
-        refreshDeckDisplay();
+        // The deck's cards are permanently consumed by selling it; collection entries left with
+        // no copies are dropped, and the money is paid, all together
+        mainController.getCommandBus().submit(manageDecksView, "Selling deck",
+            progress -> mainModel.beginBulkSale().addDeck(selected).execute().getProceedsCents(),
+            totalValue -> JOptionPane.showMessageDialog(
+                manageDecksView,
+                "Deck sold for " + Money.format(totalValue),
+                "Deck Sold",
+                JOptionPane.INFORMATION_MESSAGE
+            ));
     }
 }
@@ -0,0 +1,40 @@
+package main.java.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A count of events, such as how often a button was pressed. Incrementing never locks, and
+ * threads incrementing at once do not contend on a single value.
+ */
+public final class Counter implements CounterMXBean {
+
+    private final LongAdder count = new LongAdder();
+
+    Counter() {
+    }
+
+    /**
+     * Counts one event.
+     */
+    public void increment() {
+        if (Metrics.ENABLED) {
+            count.increment();
+        }
+    }
+
+    /**
+     * Counts several events at once.
+     *
+     * @param events The number of events.
+     */
+    public void add(long events) {
+        if (Metrics.ENABLED) {
+            count.add(events);
+        }
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,12 @@
+package main.java.metrics;
+
+/**
+ * The JMX view of a {@link Counter}.
+ */
+public interface CounterMXBean {
+
+    /**
+     * Returns the number of events counted since the application started.
+     */
+    long getCount();
+}
@@ -0,0 +1,146 @@
+package main.java.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The distribution of a non-negative quantity, such as the number of cards in a sale.
+ * <p>
+ * Values below 16 get a bucket each. Above that, every power of two is split into eight buckets, so a
+ * percentile is reported within one eighth of the true value whatever the scale. Recording never
+ * allocates or locks: it is one array increment plus two adders.
+ */
+public class Histogram implements HistogramMXBean {
+
+    private static final int EXACT = 16;
+    private static final int SUB_BUCKETS = 8;
+    private static final int BUCKETS = EXACT + (63 - 4) * SUB_BUCKETS;
+
+    private final String unit;
+    private final double unitSize;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram() {
+        this("", 1);
+    }
+
+    /**
+     * @param unit     The unit figures are reported in.
+     * @param unitSize How many recorded values make one reported unit.
+     */
+    Histogram(String unit, double unitSize) {
+        this.unit = unit;
+        this.unitSize = unitSize;
+    }
+
+    /**
+     * Records one value.
+     *
+     * @param value The value; negative values count as 0.
+     */
+    public void record(long value) {
+        if (!Metrics.ENABLED) {
+            return;
+        }
+        value = Math.max(0, value);
+        buckets.incrementAndGet(bucket(value));
+        count.increment();
+        total.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    @Override
+    public String getUnit() {
+        return unit;
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public double getMean() {
+        long events = count.sum();
+        return events == 0 ? 0 : total.sum() / (double) events / unitSize;
+    }
+
+    @Override
+    public double getP50() {
+        return percentile(0.50);
+    }
+
+    @Override
+    public double getP90() {
+        return percentile(0.90);
+    }
+
+    @Override
+    public double getP99() {
+        return percentile(0.99);
+    }
+
+    @Override
+    public double getMax() {
+        return max.get() / unitSize;
+    }
+
+    /**
+     * Returns the value below which the given fraction of the recorded values fall: the upper
+     * edge of the bucket the percentile lies in, or the largest value if that is smaller.
+     *
+     * @param fraction Between 0 and 1, such as 0.99.
+     * @return The value, in the reported unit, or 0 if nothing was recorded.
+     */
+    public double percentile(double fraction) {
+        long[] counts = new long[BUCKETS];
+        long events = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            events += counts[i];
+        }
+        if (events == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * events));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get()) / unitSize;
+            }
+        }
+        return max.get() / unitSize;
+    }
+
+    /**
+     * Returns the bucket of a value: the value itself below {@link #EXACT}, then eight per power of two.
+     */
+    static int bucket(long value) {
+        if (value < EXACT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+        return EXACT + (exponent - 4) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Returns the largest value in a bucket.
+     */
+    static long upperBound(int bucket) {
+        if (bucket < EXACT) {
+            return bucket;
+        }
+        int exponent = (bucket - EXACT) / SUB_BUCKETS + 4;
+        long sub = (bucket - EXACT) % SUB_BUCKETS;
+        long width = 1L << (exponent - 3);
+        return ((SUB_BUCKETS + sub) << (exponent - 3)) + width - 1;
+    }
+}
@@ -0,0 +1,24 @@
+package main.java.metrics;
+
+/**
+ * The JMX view of a {@link Histogram} or {@link Timer}. Every figure is in the unit given by {@link #getUnit()}.
+ */
+public interface HistogramMXBean {
+
+    /**
+     * Returns the unit of the other figures, such as "us" for a timer.
+     */
+    String getUnit();
+
+    long getCount();
+
+    double getMean();
+
+    double getP50();
+
+    double getP90();
+
+    double getP99();
+
+    double getMax();
+}
@@ -0,0 +1,92 @@
+package main.java.metrics;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import main.java.utilities.Log;
+import main.java.utilities.Threads;
+
+/**
+ * Metrics gives access to the application's {@link MetricsRegistry}, which counts controller actions and
+ * times model operations, such as adding a card or selling a binder, so it can be seen where time goes under
+ * real use.
+ * <p>
+ * {@link #startReporting()} exposes the metrics through JMX and prints a report of them every
+ * `tcis.metrics.reportSeconds` seconds (60 by default, 0 for never), skipping reports in which nothing changed.
+ * Setting the `tcis.metrics` system property to `false` turns recording off entirely.
+ */
+public final class Metrics {
+
+    /**
+     * Whether metrics are recorded. Being a constant, a disabled check costs nothing once compiled.
+     */
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("tcis.metrics", "true"));
+
+    private static final long DEFAULT_REPORT_SECONDS = 60;
+
+    private static final MetricsRegistry REGISTRY = new MetricsRegistry();
+
+    private static ScheduledExecutorService reporter;
+    private static long lastReportedEvents;
+
+    private Metrics() {
+    }
+
+    /**
+     * Returns the application's registry.
+     */
+    public static MetricsRegistry registry() {
+        return REGISTRY;
+    }
+
+    /**
+     * Returns the counter with a name, creating it on first use.
+     */
+    public static Counter counter(String name) {
+        return REGISTRY.counter(name);
+    }
+
+    /**
+     * Returns the timer with a name, creating it on first use.
+     */
+    public static Timer timer(String name) {
+        return REGISTRY.timer(name);
+    }
+
+    /**
+     * Returns the histogram with a name, creating it on first use.
+     */
+    public static Histogram histogram(String name) {
+        return REGISTRY.histogram(name);
+    }
+
+    /**
+     * Starts the background thread that exposes the metrics through JMX and prints the periodic report.
+     * Starting the platform MBean server takes a while, so it is done on that thread rather than the caller's.
+     * Does nothing if already started, or if recording is turned off.
+     */
+    public static synchronized void startReporting() {
+        if (reporter != null || !ENABLED) {
+            return;
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(Threads.daemonThreadFactory("metrics", false));
+        reporter.execute(REGISTRY::exposeThroughJmx);
+        long seconds = Long.getLong("tcis.metrics.reportSeconds", DEFAULT_REPORT_SECONDS);
+        if (seconds > 0) {
+            reporter.scheduleWithFixedDelay(Metrics::printReport, seconds, seconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Prints the report, unless nothing has happened since the last one.
+     */
+    private static void printReport() {
+        long events = REGISTRY.totalEvents();
+        if (events == lastReportedEvents) {
+            return;
+        }
+        lastReportedEvents = events;
+        Log.info("Metrics", "report\n{}", REGISTRY.report());
+    }
+}
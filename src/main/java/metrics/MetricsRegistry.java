@@ -0,0 +1,147 @@
+package main.java.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import main.java.utilities.Log;
+
+/**
+ * MetricsRegistry holds the application's metrics by name, such as `collection.add` or `actions.binders.trade`.
+ * Asking for a name returns the same metric every time, so classes look theirs up once and keep it in a
+ * static field.
+ * <p>
+ * Once {@link #exposeThroughJmx()} has been called, every metric, present or future, is also registered with
+ * the platform MBean server as `tcis:type=Counter,name=...`, `tcis:type=Timer,name=...` or
+ * `tcis:type=Histogram,name=...`, where JConsole or VisualVM can watch it.
+ */
+public final class MetricsRegistry {
+
+    private static final String DOMAIN = "tcis";
+
+    private final Map<String, Object> metrics = new ConcurrentHashMap<>();
+    private volatile MBeanServer server;
+
+    /**
+     * Returns the counter with a name, creating it on first use.
+     *
+     * @throws IllegalArgumentException If the name belongs to a metric of another kind.
+     */
+    public Counter counter(String name) {
+        return get(name, Counter.class);
+    }
+
+    /**
+     * Returns the timer with a name, creating it on first use.
+     *
+     * @throws IllegalArgumentException If the name belongs to a metric of another kind.
+     */
+    public Timer timer(String name) {
+        return get(name, Timer.class);
+    }
+
+    /**
+     * Returns the histogram with a name, creating it on first use.
+     *
+     * @throws IllegalArgumentException If the name belongs to a metric of another kind.
+     */
+    public Histogram histogram(String name) {
+        return get(name, Histogram.class);
+    }
+
+    /**
+     * Registers every metric with the platform MBean server, and every metric created from now on as it is created.
+     */
+    public void exposeThroughJmx() {
+        if (server != null) {
+            return;
+        }
+        server = ManagementFactory.getPlatformMBeanServer();
+        for (Map.Entry<String, Object> metric : metrics.entrySet()) {
+            register(metric.getKey(), metric.getValue());
+        }
+    }
+
+    /**
+     * Returns the total number of events counted or recorded by every metric, which changes whenever
+     * anything has happened.
+     */
+    public long totalEvents() {
+        long events = 0;
+        for (Object metric : metrics.values()) {
+            events += metric instanceof Counter ? ((Counter) metric).getCount() : ((Histogram) metric).getCount();
+        }
+        return events;
+    }
+
+    /**
+     * Describes every metric that has seen an event, one per line in name order, such as
+     * <pre>
+     * collection.add                    count 1200  mean 1.9 us  p50 1.6 us  p90 2.8 us  p99 12.0 us  max 310.4 us
+     * </pre>
+     *
+     * @return The report, or an empty string if nothing has happened yet.
+     */
+    public String report() {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, Object> entry : new TreeMap<>(metrics).entrySet()) {
+            Object metric = entry.getValue();
+            if (metric instanceof Counter) {
+                long count = ((Counter) metric).getCount();
+                if (count > 0) {
+                    out.append(String.format(Locale.ROOT, "%-40s count %d%n", entry.getKey(), count));
+                }
+                continue;
+            }
+            Histogram histogram = (Histogram) metric;
+            if (histogram.getCount() > 0) {
+                String unit = histogram.getUnit().isEmpty() ? "" : " " + histogram.getUnit();
+                out.append(String.format(Locale.ROOT, "%-40s count %d  mean %.1f%s  p50 %.1f%s  p90 %.1f%s  p99 %.1f%s  max %.1f%s%n",
+                        entry.getKey(), histogram.getCount(), histogram.getMean(), unit, histogram.getP50(), unit,
+                        histogram.getP90(), unit, histogram.getP99(), unit, histogram.getMax(), unit));
+            }
+        }
+        return out.toString();
+    }
+
+    private <M> M get(String name, Class<M> kind) {
+        Object metric = metrics.get(name);
+        if (metric == null) {
+            metric = metrics.computeIfAbsent(name, key -> newMetric(key, kind));
+        }
+        if (metric.getClass() != kind) {
+            throw new IllegalArgumentException("Metric " + name + " is a " + metric.getClass().getSimpleName()
+                    + ", not a " + kind.getSimpleName() + ".");
+        }
+        return kind.cast(metric);
+    }
+
+    private Object newMetric(String name, Class<?> kind) {
+        Object metric = kind == Counter.class ? new Counter() : kind == Timer.class ? new Timer() : new Histogram();
+        if (server != null) {
+            register(name, metric);
+        }
+        return metric;
+    }
+
+    private void register(String name, Object metric) {
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=" + metric.getClass().getSimpleName()
+                    + ",name=" + ObjectName.quote(name));
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(metric, objectName);
+            }
+        } catch (InstanceAlreadyExistsException e) {
+            // Registered by the thread that exposed the registry while this metric was being created
+        } catch (JMException e) {
+            Log.warn("MetricsRegistry", "could not register {} with JMX: {}", name, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package main.java.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * A {@link Histogram} of how long an operation takes. Durations are recorded in nanoseconds and
+ * reported in microseconds:
+ * <pre>
+ * long start = timer.start();
+ * try {
+ *     ...
+ * } finally {
+ *     timer.stop(start);
+ * }
+ * </pre>
+ * Timing costs two reads of {@link System#nanoTime()} and a histogram update, a few tens of nanoseconds.
+ */
+public final class Timer extends Histogram {
+
+    Timer() {
+        super("us", 1000.0);
+    }
+
+    /**
+     * Marks the start of an operation.
+     *
+     * @return The start time to pass to {@link #stop(long)}.
+     */
+    public long start() {
+        return Metrics.ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time since an operation started.
+     *
+     * @param start The value returned by {@link #start()}.
+     */
+    public void stop(long start) {
+        if (Metrics.ENABLED) {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Runs an operation and records how long it took, whether or not it threw.
+     *
+     * @param operation The operation.
+     * @return Its result.
+     */
+    public <T> T time(Supplier<T> operation) {
+        long start = start();
+        try {
+            return operation.get();
+        } finally {
+            stop(start);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package main.java.model;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import main.java.metrics.Histogram;
+import main.java.metrics.Metrics;
+import main.java.metrics.Timer;
+import main.java.model.classes.BinderModel;
+import main.java.model.classes.CardModel;
+import main.java.model.classes.CollectionModel;
+import main.java.model.classes.DeckModel;
+
+/**
+ * A `BulkSale` sells any selection of collection cards, binders and decks together.
+ * <p>
+ * The proceeds are worked out in one pass over the selection: each card at its value times the quantity
+ * sold, each binder at {@link BinderModel#getSellValueCents()} (its sell multiplier applied), and each deck
+ * at its total value. Everything sold is then removed, and the proceeds paid, by a single
+ * {@link ModelTransaction}, so the sale happens in full or not at all, and a command running it
+ * on the {@link main.java.controller.CommandBus} refreshes the view once.
+ * <p>
+ * As when selling them one at a time, binders and decks take their cards with them, and collection entries
+ * of their cards with no copies left are dropped.
+ */
+public class BulkSale {
+
+    /**
+     * Time taken to price and to carry out sales, and the number of copies each sale sold,
+     * in the application's metrics.
+     */
+    private static final Timer QUOTE_TIMER = Metrics.timer("sale.quote");
+    private static final Timer EXECUTE_TIMER = Metrics.timer("sale.execute");
+    private static final Histogram SOLD_COPIES = Metrics.histogram("sale.execute.copies");
+
+    private final MainModel mainModel;
+
+    /**
+     * The collection cards to sell and how many copies of each, in the order they were added.
+     */
+    private final Map<CardModel, Double> cards = new LinkedHashMap<>();
+
+    private final Set<BinderModel> binders = new LinkedHashSet<>();
+    private final Set<DeckModel> decks = new LinkedHashSet<>();
+
+    /**
+     * The outcome of a completed sale.
+     */
+    public static final class Receipt {
+        private final long proceedsCents;
+        private final long copiesSold;
+        private final int bindersSold;
+        private final int decksSold;
+
+        private Receipt(long proceedsCents, long copiesSold, int bindersSold, int decksSold) {
+            this.proceedsCents = proceedsCents;
+            this.copiesSold = copiesSold;
+            this.bindersSold = bindersSold;
+            this.decksSold = decksSold;
+        }
+
+        /**
+         * @return The money paid for everything sold, in cents.
+         */
+        public long getProceedsCents() {
+            return proceedsCents;
+        }
+
+        /**
+         * @return The number of card copies sold, counting those in binders and decks.
+         */
+        public long getCopiesSold() {
+            return copiesSold;
+        }
+
+        public int getBindersSold() {
+            return bindersSold;
+        }
+
+        public int getDecksSold() {
+            return decksSold;
+        }
+    }
+
+    /**
+     * Creates an empty sale. Usually obtained with {@link MainModel#beginBulkSale()}.
+     *
+     * @param mainModel The model whose cards, binders and decks are sold.
+     */
+    public BulkSale(MainModel mainModel) {
+        this.mainModel = mainModel;
+    }
+
+    /**
+     * Adds copies of a collection card to the sale. Adding the same card again adds to its quantity.
+     *
+     * @param card     A card in the collection.
+     * @param quantity The number of copies to sell; must be positive.
+     * @return This sale.
+     * @throws IllegalArgumentException If the quantity is not positive.
+     */
+    public BulkSale addCard(CardModel card, double quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("The quantity of " + card.getName() + " to sell must be positive.");
+        }
+        cards.merge(card, quantity, Double::sum);
+        return this;
+    }
+
+    /**
+     * Adds a binder, and every card in it, to the sale.
+     *
+     * @param binder A binder of the model.
+     * @return This sale.
+     * @throws IllegalArgumentException If the binder's type cannot be sold.
+     */
+    public BulkSale addBinder(BinderModel binder) {
+        if (!binder.isSellable()) {
+            throw new IllegalArgumentException("Binder " + binder.getName() + " cannot be sold.");
+        }
+        binders.add(binder);
+        return this;
+    }
+
+    /**
+     * Adds a deck, and every card in it, to the sale.
+     *
+     * @param deck A deck of the model.
+     * @return This sale.
+     * @throws IllegalArgumentException If the deck's type cannot be sold.
+     */
+    public BulkSale addDeck(DeckModel deck) {
+        if (!deck.isSellable()) {
+            throw new IllegalArgumentException("Deck " + deck.getName() + " cannot be sold.");
+        }
+        decks.add(deck);
+        return this;
+    }
+
+    /**
+     * Returns what the sale would pay now, without selling anything.
+     *
+     * @return The proceeds, in cents.
+     */
+    public long quoteCents() {
+        long start = QUOTE_TIMER.start();
+        long proceeds = stage(null, null);
+        QUOTE_TIMER.stop(start);
+        return proceeds;
+    }
+
+    /**
+     * Sells everything in the sale and pays the proceeds, all at once.
+     *
+     * @return The {@link Receipt} for the sale.
+     * @throws IllegalStateException If something in the sale can no longer be sold, such as more copies of a
+     *                               card than the collection holds or a binder already sold. Nothing is sold.
+     */
+    public Receipt execute() {
+        long start = EXECUTE_TIMER.start();
+        ModelTransaction transaction = mainModel.beginTransaction();
+        long[] copies = new long[1];
+        long proceeds = stage(transaction, copies);
+        transaction.addMoney(proceeds).commit();
+        EXECUTE_TIMER.stop(start);
+        SOLD_COPIES.record(copies[0]);
+        return new Receipt(proceeds, copies[0], binders.size(), decks.size());
+    }
+
+    /**
+     * Prices the sale in one pass and, if given a transaction, stages every removal on it.
+     *
+     * @param transaction The transaction to stage removals on, or `null` to only price the sale.
+     * @param copies      Receives the number of copies sold, or `null`.
+     * @return The proceeds, in cents.
+     */
+    private long stage(ModelTransaction transaction, long[] copies) {
+        CollectionModel collection = mainModel.getCollectionModel();
+        long proceeds = 0;
+        long copyCount = 0;
+
+        for (Map.Entry<CardModel, Double> entry : cards.entrySet()) {
+            CardModel card = entry.getKey();
+            double quantity = entry.getValue();
+            proceeds += card.getTotalPriceCents((long) quantity);
+            copyCount += (long) quantity;
+            if (transaction != null) {
+                transaction.removeFromCollection(card, quantity);
+            }
+        }
+
+        for (BinderModel binder : binders) {
+            synchronized (binder) {
+                // Value with the binder's custom sell multiplier applied
+                proceeds += binder.getSellValueCents();
+                copyCount += binder.getTotalCardCount();
+                if (transaction != null) {
+                    dropEmptyEntries(transaction, collection, binder.getCards());
+                }
+            }
+            if (transaction != null) {
+                transaction.removeBinder(binder);
+            }
+        }
+
+        for (DeckModel deck : decks) {
+            synchronized (deck) {
+                proceeds += deck.getTotalValueCents();
+                copyCount += deck.getCards().size();
+                if (transaction != null) {
+                    dropEmptyEntries(transaction, collection, deck.getCards());
+                }
+            }
+            if (transaction != null) {
+                transaction.removeDeck(deck);
+            }
+        }
+
+        if (copies != null) {
+            copies[0] = copyCount;
+        }
+        return proceeds;
+    }
+
+    /**
+     * Stages removing the collection entries of sold cards that have no copies left outside the binder or deck.
+     */
+    private static void dropEmptyEntries(ModelTransaction transaction, CollectionModel collection, Iterable<CardModel> sold) {
+        for (CardModel card : sold) {
+            CardModel inCollection = collection.getMatchingCard(card);
+            if (inCollection != null && inCollection.getAmount() == 0) {
+                transaction.removeFromCollection(inCollection, 0);
+            }
+        }
+    }
+}
@@ -2,24 +2,58 @@ package main.java.model;
 
 import main.java.model.classes.CollectionModel;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
 
+import main.java.metrics.Metrics;
+import main.java.metrics.Timer;
 import main.java.model.classes.BinderModel;
+import main.java.model.classes.CardTotals;
 import main.java.model.classes.DeckModel;
+import main.java.model.events.ModelChangeListener;
+import main.java.model.events.TransactionListener;
+import main.java.utilities.Money;
 
+/**
+ * Holds the player's collection, binders, decks and money.
+ * The lists of binders and decks and the listener lists are copy-on-write and the balance is atomic,
+ * so they can be read and changed from worker threads while the UI iterates them.
+ */
 public class MainModel {
+    private static final Timer NET_WORTH_TIMER = Metrics.timer("portfolio.netWorth");
+
     /*
      * 
      */
     private CollectionModel collectionModel;
     /*
-     * 
+     * The player's balance, in cents.
+     */
+    private final AtomicLong moneyCents = new AtomicLong();
+    /*
+     * Held while the balance changes and its listeners are told, so listeners see the
+     * balances in the order they were set; the journal records each one as the new balance.
+     * A ModelTransaction holds it from checking the balance to changing it.
+     */
+    final Object moneyLock = new Object();
+
+    private volatile List<BinderModel> binders = new CopyOnWriteArrayList<>();
+    private volatile List<DeckModel> decks = new CopyOnWriteArrayList<>();
+
+    /*
+     * Running totals of the collection, binders and decks together. Each part's own totals
+     * are attached to it, so every change to a part adjusts it too.
      */
-    private double money;
+    private final CardTotals portfolioTotals = new CardTotals();
 
-    private List<BinderModel> binders = new ArrayList<>();
-    private List<DeckModel> decks = new ArrayList<>();
+    private final List<ModelChangeListener<BinderModel>> binderListeners = new CopyOnWriteArrayList<>();
+    private final List<ModelChangeListener<DeckModel>> deckListeners = new CopyOnWriteArrayList<>();
+    private final List<DoubleConsumer> moneyListeners = new CopyOnWriteArrayList<>();
+    private final List<LongConsumer> moneyCentsListeners = new CopyOnWriteArrayList<>();
+    private final List<TransactionListener> transactionListeners = new CopyOnWriteArrayList<>();
 
     /**
      * Constructor for MainModel.
@@ -27,7 +61,7 @@ public class MainModel {
      */
     public MainModel() {
         this.collectionModel = new CollectionModel();
-        money = 0.0;
+        collectionModel.getTotals().attachTo(portfolioTotals);
     }
 
     /**
@@ -40,11 +74,133 @@ public class MainModel {
     }
 
     public void setMoney(double money) {
-        this.money = money;
+        setMoneyCents(Money.toCents(money));
+    }
+
+    /**
+     * Sets the player's balance in cents and notifies the money listeners.
+     * @param moneyCents The new balance, in cents.
+     */
+    public void setMoneyCents(long moneyCents) {
+        synchronized (moneyLock) {
+            this.moneyCents.set(moneyCents);
+            fireMoneyChanged(moneyCents);
+        }
+    }
+
+    /**
+     * Atomically adds to the player's balance and notifies the money listeners.
+     * Unlike reading the balance and calling {@link #setMoneyCents(long)}, no concurrent
+     * change to the balance can be lost in between.
+     * @param deltaCents The amount to add, in cents; negative to take money away.
+     * @return The new balance, in cents.
+     */
+    public long addMoneyCents(long deltaCents) {
+        synchronized (moneyLock) {
+            long updated = moneyCents.addAndGet(deltaCents);
+            fireMoneyChanged(updated);
+            return updated;
+        }
+    }
+
+    private void fireMoneyChanged(long moneyCents) {
+        for (LongConsumer listener : moneyCentsListeners) {
+            listener.accept(moneyCents);
+        }
+        double money = Money.toDollars(moneyCents);
+        for (DoubleConsumer listener : moneyListeners) {
+            listener.accept(money);
+        }
+    }
+
+    /**
+     * Registers a listener notified with the new balance whenever the money is set.
+     * Notifications arrive in the order the balance changed, one at a time.
+     * @param listener The listener to register.
+     */
+    public void addMoneyListener(DoubleConsumer listener) {
+        moneyListeners.add(listener);
+    }
+
+    /**
+     * Registers a listener notified with the new balance in cents whenever the money is set,
+     * for listeners that must keep the exact amount, such as the journal.
+     * Notifications arrive in the order the balance changed, one at a time.
+     * @param listener The listener to register.
+     */
+    public void addMoneyCentsListener(LongConsumer listener) {
+        moneyCentsListeners.add(listener);
     }
 
     public double getMoney() {
-        return money;
+        return Money.toDollars(moneyCents.get());
+    }
+
+    /**
+     * Returns the player's balance in cents.
+     * @return The balance, in cents.
+     */
+    public long getMoneyCents() {
+        return moneyCents.get();
+    }
+
+    /**
+     * Registers a listener told when each transaction over this model starts and finishes committing.
+     * @param listener The listener to register.
+     */
+    public void addTransactionListener(TransactionListener listener) {
+        transactionListeners.add(listener);
+    }
+
+    void fireTransactionStarted() {
+        for (TransactionListener listener : transactionListeners) {
+            listener.transactionStarted();
+        }
+    }
+
+    void fireTransactionFinished() {
+        for (TransactionListener listener : transactionListeners) {
+            listener.transactionFinished();
+        }
+    }
+
+    /**
+     * Starts a transaction that stages changes to the collection, binders, decks and money
+     * and then applies all of them or none.
+     * @return A new {@link ModelTransaction} over this model.
+     */
+    public ModelTransaction beginTransaction() {
+        return new ModelTransaction(this);
+    }
+
+    /**
+     * Starts a sale of any selection of collection cards, binders and decks,
+     * priced in one pass and applied as one transaction.
+     * @return A new, empty {@link BulkSale} over this model.
+     */
+    public BulkSale beginBulkSale() {
+        return new BulkSale(this);
+    }
+
+    /**
+     * Returns the running totals of the whole portfolio: the collection, binders and decks.
+     * @return The portfolio's {@link CardTotals}; read-only for callers.
+     */
+    public CardTotals getPortfolioTotals() {
+        return portfolioTotals;
+    }
+
+    /**
+     * Returns the value of every card held in the collection, binders and decks, in O(1).
+     * @return The portfolio's net worth, in cents.
+     */
+    public long getNetWorthCents() {
+        long start = NET_WORTH_TIMER.start();
+        try {
+            return portfolioTotals.getValueCents();
+        } finally {
+            NET_WORTH_TIMER.stop(start);
+        }
     }
 
     public List<DeckModel> getDecks() {
@@ -52,7 +208,13 @@ public class MainModel {
     }
 
     public void setDecks(List<DeckModel> decks) {
-        this.decks = decks;
+        for (DeckModel deck : this.decks) {
+            deck.getTotals().detach();
+        }
+        this.decks = new CopyOnWriteArrayList<>(decks);
+        for (DeckModel deck : decks) {
+            deck.getTotals().attachTo(portfolioTotals);
+        }
     }
 
     // New getters/setters for binders
@@ -61,6 +223,130 @@ public class MainModel {
     }
 
     public void setBinders(List<BinderModel> binders) {
-        this.binders = binders;
+        for (BinderModel binder : this.binders) {
+            binder.getTotals().detach();
+        }
+        this.binders = new CopyOnWriteArrayList<>(binders);
+        for (BinderModel binder : binders) {
+            binder.getTotals().attachTo(portfolioTotals);
+        }
+    }
+
+    // --- Binder and deck changes, published to registered listeners ---
+
+    /**
+     * Registers a listener notified when binders are added, removed or changed.
+     * @param listener The listener to register.
+     */
+    public void addBinderChangeListener(ModelChangeListener<BinderModel> listener) {
+        binderListeners.add(listener);
+    }
+
+    /**
+     * Adds a binder and notifies binder listeners.
+     * @param binder The binder to add.
+     */
+    public void addBinder(BinderModel binder) {
+        binders.add(binder);
+        binder.getTotals().attachTo(portfolioTotals);
+        for (ModelChangeListener<BinderModel> listener : binderListeners) {
+            listener.added(binder);
+        }
+    }
+
+    /**
+     * Removes a binder and notifies binder listeners if it was present.
+     * @param binder The binder to remove.
+     */
+    public void removeBinder(BinderModel binder) {
+        if (binders.remove(binder)) {
+            binder.getTotals().detach();
+            for (ModelChangeListener<BinderModel> listener : binderListeners) {
+                listener.removed(binder);
+            }
+        }
+    }
+
+    /**
+     * Puts a binder at the given position while restoring saved state, replacing the binder there
+     * or appending if the position is one past the end. Listeners are not notified.
+     * @param index  The position of the binder.
+     * @param binder The binder to put.
+     */
+    public void restoreBinder(int index, BinderModel binder) {
+        if (index < binders.size()) {
+            binders.set(index, binder).getTotals().detach();
+        } else {
+            binders.add(binder);
+        }
+        binder.getTotals().attachTo(portfolioTotals);
+    }
+
+    /**
+     * Notifies binder listeners that the contents of a binder have changed.
+     * @param binder The binder that changed.
+     */
+    public void fireBinderChanged(BinderModel binder) {
+        for (ModelChangeListener<BinderModel> listener : binderListeners) {
+            listener.changed(binder);
+        }
+    }
+
+    /**
+     * Registers a listener notified when decks are added, removed or changed.
+     * @param listener The listener to register.
+     */
+    public void addDeckChangeListener(ModelChangeListener<DeckModel> listener) {
+        deckListeners.add(listener);
+    }
+
+    /**
+     * Adds a deck and notifies deck listeners.
+     * @param deck The deck to add.
+     */
+    public void addDeck(DeckModel deck) {
+        decks.add(deck);
+        deck.getTotals().attachTo(portfolioTotals);
+        for (ModelChangeListener<DeckModel> listener : deckListeners) {
+            listener.added(deck);
+        }
+    }
+
+    /**
+     * Removes a deck and notifies deck listeners if it was present.
+     * @param deck The deck to remove.
+     */
+    public void removeDeck(DeckModel deck) {
+        if (decks.remove(deck)) {
+            deck.getTotals().detach();
+            for (ModelChangeListener<DeckModel> listener : deckListeners) {
+                listener.removed(deck);
+            }
+        }
+    }
+
+    /**
+     * Puts a deck at the given position while restoring saved state, replacing the deck there
+     * or appending if the position is one past the end. Listeners are not notified.
+     * @param index The position of the deck.
+     * @param deck  The deck to put.
+     */
+    public void restoreDeck(int index, DeckModel deck) {
+        if (index < decks.size()) {
+            decks.set(index, deck).getTotals().detach();
+        } else {
+            decks.add(deck);
+        }
+        deck.getTotals().attachTo(portfolioTotals);
+    }
+
+    /**
+     * Notifies deck listeners that the contents of a deck have changed.
+     * @param deck The deck that changed.
+     */
+    public void fireDeckChanged(DeckModel deck) {
+        for (ModelChangeListener<DeckModel> listener : deckListeners) {
+            listener.changed(deck);
+        }
     }
 }
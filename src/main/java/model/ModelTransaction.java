@@ -0,0 +1,669 @@
+package main.java.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import main.java.metrics.Metrics;
+import main.java.metrics.Timer;
+import main.java.model.classes.BinderModel;
+import main.java.model.classes.CardKey;
+import main.java.model.classes.CardModel;
+import main.java.model.classes.CollectionModel;
+import main.java.model.classes.DeckModel;
+import main.java.utilities.Log;
+import main.java.utilities.Money;
+
+/**
+ * A `ModelTransaction` stages a set of changes to the collection, binders, decks and money,
+ * such as the several steps of a trade, and then makes them all or none of them.
+ * <p>
+ * Staging only records what to do. {@link #commit()} first checks every staged change against the
+ * current state in one pass, with the changes to each card, binder and the balance added up, so a
+ * transaction that would take more copies than exist or overfill a binder fails before anything is
+ * touched. It then applies the changes in a single pass, remembering how to undo each one; if applying
+ * one fails regardless, the ones already applied are undone in reverse order and the failure is rethrown.
+ * The copies taken out of the collection, and out of each binder, are applied as one bulk removal, so
+ * entries that run out of copies are dropped together rather than one by one.
+ * <p>
+ * Transactions over the same collection commit one at a time, so two trades running on different
+ * threads cannot both spend the same card. Everything a transaction reads or changes is also locked
+ * against every other writer from the check to the last change: the binders and decks it touches,
+ * the balance, and the collection with the cards it touches, through
+ * {@link CollectionModel#runExclusively(java.util.Collection, Runnable)}. Other writers therefore see
+ * the state before the commit or after it, never in between. Listeners see the individual changes as
+ * they are applied, and their reversal if the transaction is rolled back. A transaction over the whole
+ * model also tells the model's {@link main.java.model.events.TransactionListener}s when it starts and
+ * finishes, with every notification it causes in between, so the journal can record it as one unit.
+ * <p>
+ * A transaction is used once: stage changes, then call {@link #commit()}.
+ */
+public class ModelTransaction {
+
+    /**
+     * Time taken to validate and apply a transaction, such as a trade, in the application's metrics.
+     */
+    private static final Timer COMMIT_TIMER = Metrics.timer("transaction.commit");
+
+    /**
+     * The model whose binders, decks and money are changed, or `null` for a collection-only transaction.
+     */
+    private final MainModel mainModel;
+
+    private final CollectionModel collection;
+
+    /**
+     * Staged collection changes, one per card, in the order each card was first staged.
+     */
+    private final Map<CardKey, CollectionChange> collectionChanges = new LinkedHashMap<>();
+
+    /**
+     * Staged binder changes, one per binder, in the order each binder was first staged.
+     */
+    private final Map<BinderModel, BinderChange> binderChanges = new LinkedHashMap<>();
+
+    private final Set<BinderModel> removedBinders = new LinkedHashSet<>();
+    private final Set<DeckModel> removedDecks = new LinkedHashSet<>();
+
+    private long moneyDeltaCents;
+
+    private boolean committed;
+
+    /**
+     * Creates a transaction over the whole model. Usually obtained with {@link MainModel#beginTransaction()}.
+     *
+     * @param mainModel The model to change.
+     */
+    public ModelTransaction(MainModel mainModel) {
+        this.mainModel = mainModel;
+        this.collection = mainModel.getCollectionModel();
+    }
+
+    /**
+     * Creates a transaction over a collection and binders only, for callers without a {@link MainModel}.
+     * Staging money, binder removal or deck changes on it fails.
+     *
+     * @param collection The collection to change.
+     */
+    public ModelTransaction(CollectionModel collection) {
+        this.mainModel = null;
+        this.collection = collection;
+    }
+
+    // --- Staging ---
+
+    /**
+     * Stages adding copies of a card to the collection, creating its entry if there is none.
+     * Adding zero copies records a card as seen but not owned.
+     *
+     * @param card   The card to add; only its identity and base value are used.
+     * @param amount The number of copies to add, zero or more.
+     * @return This transaction.
+     */
+    public ModelTransaction addToCollection(CardModel card, double amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Cannot add a negative amount of " + card.getName() + ".");
+        }
+        collectionChange(card).delta += amount;
+        return this;
+    }
+
+    /**
+     * Stages taking copies of a card out of the collection. The entry must exist and hold enough copies
+     * when the transaction commits; if none are left afterwards, the entry is removed.
+     *
+     * @param card   The card to take; only its identity is used.
+     * @param amount The number of copies to take, zero or more. Zero just removes an entry with no copies left.
+     * @return This transaction.
+     */
+    public ModelTransaction removeFromCollection(CardModel card, double amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Cannot remove a negative amount of " + card.getName() + ".");
+        }
+        CollectionChange change = collectionChange(card);
+        change.delta -= amount;
+        change.removeWhenEmpty = true;
+        return this;
+    }
+
+    /**
+     * Stages taking copies of a card out of the collection while keeping its entry, even with no copies left,
+     * as moving a card into a binder or deck does. The entry must hold enough copies when the transaction commits.
+     *
+     * @param card   The card to take; only its identity is used.
+     * @param amount The number of copies to take, zero or more.
+     * @return This transaction.
+     */
+    public ModelTransaction takeFromCollection(CardModel card, double amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Cannot take a negative amount of " + card.getName() + ".");
+        }
+        collectionChange(card).delta -= amount;
+        return this;
+    }
+
+    /**
+     * Stages adding one copy of a card to a binder, as {@link BinderModel#addCardB(CardModel)} would.
+     *
+     * @param binder The binder to add to.
+     * @param card   The card to add.
+     * @return This transaction.
+     */
+    public ModelTransaction addToBinder(BinderModel binder, CardModel card) {
+        binderChange(binder).added.add(card);
+        return this;
+    }
+
+    /**
+     * Stages taking one copy of a card out of a binder, as {@link BinderModel#removeCardB(CardModel)} would.
+     *
+     * @param binder The binder to take from.
+     * @param card   The card to take.
+     * @return This transaction.
+     */
+    public ModelTransaction removeFromBinder(BinderModel binder, CardModel card) {
+        return removeFromBinder(binder, card, 1);
+    }
+
+    /**
+     * Stages taking copies of a card out of a binder. The binder must hold enough copies when the
+     * transaction commits; if none are left afterwards, the entry is removed.
+     *
+     * @param binder The binder to take from.
+     * @param card   The card to take; only its identity is used.
+     * @param copies The number of copies to take, zero or more.
+     * @return This transaction.
+     */
+    public ModelTransaction removeFromBinder(BinderModel binder, CardModel card, int copies) {
+        if (copies < 0) {
+            throw new IllegalArgumentException("Cannot remove a negative amount of " + card.getName() + ".");
+        }
+        BinderChange change = binderChange(binder);
+        change.removed.merge(card.getKey(), (double) copies, Double::sum);
+        change.removedCards.putIfAbsent(card.getKey(), card);
+        change.removedCopies += copies;
+        return this;
+    }
+
+    /**
+     * Stages removing a binder and emptying it, as when it is sold.
+     *
+     * @param binder The binder to remove.
+     * @return This transaction.
+     */
+    public ModelTransaction removeBinder(BinderModel binder) {
+        requireMainModel("remove a binder");
+        removedBinders.add(binder);
+        return this;
+    }
+
+    /**
+     * Stages removing a deck and emptying it, as when it is sold.
+     *
+     * @param deck The deck to remove.
+     * @return This transaction.
+     */
+    public ModelTransaction removeDeck(DeckModel deck) {
+        requireMainModel("remove a deck");
+        removedDecks.add(deck);
+        return this;
+    }
+
+    /**
+     * Stages a change to the player's balance. The balance may not end up negative.
+     *
+     * @param deltaCents The amount to add, in cents; negative to spend.
+     * @return This transaction.
+     */
+    public ModelTransaction addMoney(long deltaCents) {
+        requireMainModel("change the balance");
+        moneyDeltaCents += deltaCents;
+        return this;
+    }
+
+    private void requireMainModel(String action) {
+        if (mainModel == null) {
+            throw new IllegalStateException("A collection-only transaction cannot " + action + ".");
+        }
+    }
+
+    private CollectionChange collectionChange(CardModel card) {
+        return collectionChanges.computeIfAbsent(card.getKey(), key -> new CollectionChange(card));
+    }
+
+    private BinderChange binderChange(BinderModel binder) {
+        return binderChanges.computeIfAbsent(binder, b -> new BinderChange());
+    }
+
+    // --- Commit ---
+
+    /**
+     * Checks the staged changes against the current state, then applies all of them.
+     *
+     * @throws IllegalStateException If a staged change is not possible, or the transaction was already
+     *                               committed. Nothing has been changed.
+     * @throws RuntimeException      If applying a change failed. The changes already applied have been undone.
+     */
+    public void commit() {
+        long start = COMMIT_TIMER.start();
+        boolean started = false;
+        try {
+            synchronized (collection) {
+                if (committed) {
+                    throw new IllegalStateException("The transaction has already been committed.");
+                }
+                committed = true;
+                if (mainModel != null) {
+                    mainModel.fireTransactionStarted();
+                    started = true;
+                }
+                // Binders and decks, then the balance, then the collection and its cards: the model's lock order
+                List<Object> monitors = new ArrayList<>(binderChanges.keySet());
+                monitors.addAll(removedBinders);
+                monitors.addAll(removedDecks);
+                if (mainModel != null) {
+                    monitors.add(mainModel.moneyLock);
+                }
+                try {
+                    inMonitors(monitors, 0, () -> collection.runExclusively(collectionChanges.keySet(), this::validateAndApply));
+                } finally {
+                    fireBindersChanged();
+                }
+            }
+        } finally {
+            if (started) {
+                // Another thread may be delivering the collection's changes; wait for them to reach the listeners
+                collection.flushEvents();
+                mainModel.fireTransactionFinished();
+            }
+            COMMIT_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Runs an action holding the given monitors, taken in list order.
+     */
+    private static void inMonitors(List<Object> monitors, int from, Runnable action) {
+        if (from == monitors.size()) {
+            action.run();
+            return;
+        }
+        synchronized (monitors.get(from)) {
+            inMonitors(monitors, from + 1, action);
+        }
+    }
+
+    /**
+     * Checks the staged changes and applies them, undoing the applied ones if one fails.
+     * Called with everything the transaction touches locked.
+     */
+    private void validateAndApply() {
+        List<Step> steps = validate();
+        List<Step> applied = new ArrayList<>(steps.size());
+        try {
+            for (Step step : steps) {
+                step.apply();
+                applied.add(step);
+            }
+        } catch (RuntimeException e) {
+            for (int i = applied.size() - 1; i >= 0; i--) {
+                try {
+                    applied.get(i).undo();
+                } catch (RuntimeException undoFailure) {
+                    e.addSuppressed(undoFailure);
+                }
+            }
+            Log.warn("ModelTransaction", "rolled back after failure: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Checks every staged change against the current state and turns each into a step to apply.
+     * Binder removals come before additions, so a binder can be emptied and refilled in one transaction.
+     * Called with everything the transaction touches locked, so the state checked is the state changed.
+     */
+    private List<Step> validate() {
+        List<Step> steps = new ArrayList<>();
+
+        CollectionRemovalStep removal = new CollectionRemovalStep();
+        for (CollectionChange change : collectionChanges.values()) {
+            CardModel existing = collection.getMatchingCard(change.template);
+            double current = existing == null ? 0 : existing.getAmount();
+            if (change.removeWhenEmpty && existing == null) {
+                throw new IllegalStateException(change.template.getName() + " is not in the collection.");
+            }
+            if (current + change.delta < 0) {
+                throw new IllegalStateException("The collection only has " + (long) current + " of "
+                    + change.template.getName() + ".");
+            }
+            if (change.removeWhenEmpty && change.delta <= 0) {
+                removal.take(existing, -change.delta);
+            } else {
+                steps.add(new CollectionStep(change, existing));
+            }
+        }
+        if (!removal.quantities.isEmpty()) {
+            steps.add(removal);
+        }
+
+        for (Map.Entry<BinderModel, BinderChange> entry : binderChanges.entrySet()) {
+            BinderModel binder = entry.getKey();
+            BinderChange change = entry.getValue();
+            if (removedBinders.contains(binder)) {
+                throw new IllegalStateException("Binder " + binder.getName() + " is changed and removed in the same transaction.");
+            }
+            for (Map.Entry<CardKey, Double> take : change.removed.entrySet()) {
+                if (countInBinder(binder, take.getKey()) < take.getValue()) {
+                    throw new IllegalStateException("Binder " + binder.getName() + " does not hold enough copies of the card to remove.");
+                }
+            }
+            for (CardModel card : change.added) {
+                if (!binder.isCardAllowed(card)) {
+                    throw new IllegalStateException(card.getName() + " is not allowed in binder " + binder.getName() + ".");
+                }
+            }
+            if (binder.getTotalCardCount() - change.removedCopies + change.added.size() > BinderModel.MAX_CARDS) {
+                throw new IllegalStateException("Binder " + binder.getName() + " would hold more than "
+                    + BinderModel.MAX_CARDS + " cards.");
+            }
+            if (!change.removed.isEmpty()) {
+                steps.add(new BinderRemovalStep(binder, change));
+            }
+            for (CardModel card : change.added) {
+                steps.add(new BinderAddStep(binder, card));
+            }
+        }
+
+        for (BinderModel binder : removedBinders) {
+            if (!mainModel.getBinders().contains(binder)) {
+                throw new IllegalStateException("Binder " + binder.getName() + " has already been removed.");
+            }
+            steps.add(new RemoveBinderStep(binder));
+        }
+        for (DeckModel deck : removedDecks) {
+            if (!mainModel.getDecks().contains(deck)) {
+                throw new IllegalStateException("Deck " + deck.getName() + " has already been removed.");
+            }
+            steps.add(new RemoveDeckStep(deck));
+        }
+
+        if (moneyDeltaCents != 0) {
+            if (mainModel.getMoneyCents() + moneyDeltaCents < 0) {
+                throw new IllegalStateException("Not enough money: " + Money.format(-moneyDeltaCents)
+                    + " needed, " + Money.format(mainModel.getMoneyCents()) + " available.");
+            }
+            steps.add(new MoneyStep(moneyDeltaCents));
+        }
+        return steps;
+    }
+
+    private static double countInBinder(BinderModel binder, CardKey key) {
+        for (CardModel entry : binder.getCards()) {
+            if (entry.getKey().equals(key)) {
+                return entry.getAmount();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Tells binder listeners about every binder whose contents the transaction touched,
+     * whether it committed or rolled back.
+     */
+    private void fireBindersChanged() {
+        if (mainModel != null) {
+            for (BinderModel binder : binderChanges.keySet()) {
+                mainModel.fireBinderChanged(binder);
+            }
+        }
+    }
+
+    // --- Staged changes and the steps that apply them ---
+
+    /**
+     * The net change to one card in the collection.
+     */
+    private static final class CollectionChange {
+        final CardModel template;
+        double delta;
+        boolean removeWhenEmpty;
+
+        CollectionChange(CardModel template) {
+            this.template = template;
+        }
+    }
+
+    /**
+     * The copies added to and taken from one binder.
+     */
+    private static final class BinderChange {
+        final List<CardModel> added = new ArrayList<>();
+
+        /**
+         * The copies taken of each card, and a card of each identity to put them back with on undo.
+         */
+        final Map<CardKey, Double> removed = new LinkedHashMap<>();
+        final Map<CardKey, CardModel> removedCards = new LinkedHashMap<>();
+        int removedCopies;
+    }
+
+    /**
+     * One validated change, with enough remembered to undo it.
+     */
+    private interface Step {
+        void apply();
+
+        void undo();
+    }
+
+    /**
+     * Adds copies of one card to the collection, creating its entry if there is none.
+     */
+    private final class CollectionStep implements Step {
+        private final CollectionChange change;
+        private CardModel entry;
+        private boolean created;
+
+        /**
+         * @param entry The collection's entry for the card, as found by validation, or `null` if it has none.
+         */
+        CollectionStep(CollectionChange change, CardModel entry) {
+            this.change = change;
+            this.entry = entry;
+        }
+
+        @Override
+        public void apply() {
+            CardModel template = change.template;
+            if (entry == null) {
+                // Added to whatever the collection holds by now, never replacing an entry's amount
+                CardModel copies = new CardModel(template.getName(), template.getRarity(), template.getVariant(),
+                    template.getBaseValue());
+                copies.setAmount(change.delta);
+                created = collection.addCards(List.of(copies)) == 1;
+                entry = collection.getMatchingCard(template);
+            } else if (change.delta != 0) {
+                collection.addCardAmount(entry, change.delta);
+            }
+        }
+
+        @Override
+        public void undo() {
+            if (created) {
+                collection.removeCard(entry);
+            } else if (change.delta != 0) {
+                collection.addCardAmount(entry, -change.delta);
+            }
+        }
+    }
+
+    /**
+     * Takes the copies of every card the transaction removes from the collection with one
+     * {@link CollectionModel#removeCards(Map)}, which drops the emptied entries together.
+     */
+    private final class CollectionRemovalStep implements Step {
+        private final Map<CardKey, Double> quantities = new LinkedHashMap<>();
+        private final List<CardModel> entries = new ArrayList<>();
+        private double[] amountsBefore;
+
+        /**
+         * @param entry  The collection's entry for the card, as found by validation.
+         * @param copies The number of copies to take, zero to just drop the entry if it has none left.
+         */
+        void take(CardModel entry, double copies) {
+            quantities.put(entry.getKey(), copies);
+            entries.add(entry);
+        }
+
+        @Override
+        public void apply() {
+            amountsBefore = new double[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                amountsBefore[i] = entries.get(i).getAmount();
+            }
+            collection.removeCards(quantities);
+        }
+
+        @Override
+        public void undo() {
+            for (int i = 0; i < entries.size(); i++) {
+                CardModel entry = entries.get(i);
+                double copies = quantities.get(entry.getKey());
+                if (amountsBefore[i] - copies <= 0) {
+                    // The emptied entry was dropped; bring back the same instance binders and views hold
+                    entry.setAmount(amountsBefore[i]);
+                    collection.restoreCard(entry);
+                } else if (copies != 0) {
+                    collection.addCardAmount(entry, copies);
+                }
+            }
+        }
+    }
+
+    private static final class BinderAddStep implements Step {
+        private final BinderModel binder;
+        private final CardModel card;
+
+        BinderAddStep(BinderModel binder, CardModel card) {
+            this.binder = binder;
+            this.card = card;
+        }
+
+        @Override
+        public void apply() {
+            if (!binder.addCardB(card)) {
+                throw new IllegalStateException("Binder " + binder.getName() + " refused " + card.getName() + ".");
+            }
+        }
+
+        @Override
+        public void undo() {
+            binder.removeCardB(card);
+        }
+    }
+
+    /**
+     * Takes every copy the transaction removes from one binder with one {@link BinderModel#removeCards(Map)}.
+     */
+    private static final class BinderRemovalStep implements Step {
+        private final BinderModel binder;
+        private final BinderChange change;
+
+        BinderRemovalStep(BinderModel binder, BinderChange change) {
+            this.binder = binder;
+            this.change = change;
+        }
+
+        @Override
+        public void apply() {
+            if (!binder.removeCards(change.removed)) {
+                throw new IllegalStateException("Binder " + binder.getName() + " does not hold enough copies of the card to remove.");
+            }
+        }
+
+        @Override
+        public void undo() {
+            for (Map.Entry<CardKey, Double> take : change.removed.entrySet()) {
+                CardModel card = change.removedCards.get(take.getKey());
+                for (int i = 0; i < take.getValue(); i++) {
+                    binder.addCardB(card);
+                }
+            }
+        }
+    }
+
+    private final class RemoveBinderStep implements Step {
+        private final BinderModel binder;
+        private List<CardModel> cards;
+
+        RemoveBinderStep(BinderModel binder) {
+            this.binder = binder;
+        }
+
+        @Override
+        public void apply() {
+            synchronized (binder) {
+                cards = new ArrayList<>(binder.getCards());
+                binder.getCards().clear();
+            }
+            mainModel.removeBinder(binder);
+        }
+
+        @Override
+        public void undo() {
+            synchronized (binder) {
+                binder.getCards().addAll(cards);
+            }
+            // Put back at the end, which is also where replaying the journal puts it
+            mainModel.addBinder(binder);
+        }
+    }
+
+    private final class RemoveDeckStep implements Step {
+        private final DeckModel deck;
+        private List<CardModel> cards;
+
+        RemoveDeckStep(DeckModel deck) {
+            this.deck = deck;
+        }
+
+        @Override
+        public void apply() {
+            synchronized (deck) {
+                cards = new ArrayList<>(deck.getCards());
+                deck.getCards().clear();
+            }
+            mainModel.removeDeck(deck);
+        }
+
+        @Override
+        public void undo() {
+            synchronized (deck) {
+                deck.getCards().addAll(cards);
+            }
+            mainModel.addDeck(deck);
+        }
+    }
+
+    private final class MoneyStep implements Step {
+        private final long deltaCents;
+
+        MoneyStep(long deltaCents) {
+            this.deltaCents = deltaCents;
+        }
+
+        @Override
+        public void apply() {
+            mainModel.addMoneyCents(deltaCents);
+        }
+
+        @Override
+        public void undo() {
+            mainModel.addMoneyCents(-deltaCents);
+        }
+    }
+}
@@ -1,19 +1,45 @@
 package main.java.model.classes;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 
+import main.java.metrics.Metrics;
+import main.java.metrics.Timer;
+import main.java.model.ModelTransaction;
+import main.java.utilities.Money;
+
 
 /**
  * The `Binder` class represents a physical or digital binder used to store a collection of {@link CardModel} objects.
  * A binder has a name and a fixed capacity (maximum of 20 cards). Unlike a {@link DeckModel}, a binder
  * does not enforce uniqueness of card names; multiple copies of the same card (by name) can be added,
  * but only up to the maximum capacity. It also provides functionality for trading cards with other binders.
+ * <p>
+ * The binder's own methods synchronize on it, so they can be called from several threads.
+ * Code on other threads that walks or changes {@link #getCards()} directly must synchronize on the binder too.
  */
 public class BinderModel {
 
+    /**
+     * The most cards a binder can hold, counting every copy.
+     */
+    public static final int MAX_CARDS = 20;
+
+    /**
+     * Time taken by each kind of change, shared by every binder, in the application's metrics.
+     * A trade is timed from the point the user has chosen both cards.
+     */
+    private static final Timer ADD_TIMER = Metrics.timer("binder.add");
+    private static final Timer REMOVE_TIMER = Metrics.timer("binder.remove");
+    private static final Timer REMOVE_BATCH_TIMER = Metrics.timer("binder.removeBatch");
+    private static final Timer TRADE_TIMER = Metrics.timer("binder.trade");
+    private static final Timer SELL_TIMER = Metrics.timer("binder.sell");
+    private static final Timer VALUE_TIMER = Metrics.timer("binder.value");
+    private static final Timer SELL_VALUE_TIMER = Metrics.timer("binder.sellValue");
+
    /**
      * The name of the binder.
      */
@@ -21,9 +47,20 @@ public class BinderModel {
 
     /**
      * An `ArrayList` to store the {@link CardModel} objects contained within this binder.
+     * Adding or removing entries keeps `totals` up to date.
      */
     protected ArrayList<CardModel> cards;
 
+    /**
+     * Running count and value of the cards in this binder, each entry counted by its amount.
+     */
+    private final CardTotals totals;
+
+    /**
+     * The entries of this binder ordered by total value, kept in step with `cards`.
+     */
+    private final ValueRanking ranking;
+
     protected String typeName;
 
     protected String type;
@@ -35,7 +72,9 @@ public class BinderModel {
      */
     public BinderModel(String name) {
         this.name = name;
-        this.cards = new ArrayList<>();
+        this.totals = new CardTotals();
+        this.ranking = new ValueRanking();
+        this.cards = new TrackedCardList(totals, ranking, true);
         this.typeName = "Non-curated Binder";
         this.type = "trade";
     }
@@ -58,6 +97,58 @@ public class BinderModel {
         return cards;
     }
 
+    /**
+     * Checks whether this binder matches a search: its own name or the name of any card in it contains
+     * the search string, ignoring case.
+     *
+     * @param foldedQuery The search string, folded as by {@link CollectionModel#foldName(String)}.
+     * @return `true` if the binder matches.
+     */
+    public synchronized boolean matchesSearch(String foldedQuery) {
+        if (CollectionModel.foldName(name).contains(foldedQuery)) {
+            return true;
+        }
+        for (CardModel card : cards) {
+            if (card.getKey().nameContains(foldedQuery)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the running totals of this binder: its number of cards and their value,
+     * overall and by rarity and variant.
+     *
+     * @return The binder's {@link CardTotals}; read-only for callers.
+     */
+    public CardTotals getTotals() {
+        return totals;
+    }
+
+    /**
+     * Returns the entries of this binder ranked by total value (value times amount),
+     * for top-N, rank and percentile queries.
+     *
+     * @return The binder's live {@link ValueRanking}; read-only for callers.
+     */
+    public ValueRanking getValueRanking() {
+        return ranking;
+    }
+
+    /**
+     * Changes the amount of a card entry in this binder, keeping the totals in sync.
+     *
+     * @param card   A card entry of this binder.
+     * @param amount The new amount.
+     */
+    private void setEntryAmount(CardModel card, double amount) {
+        totals.add(card, -(long) card.getAmount());
+        card.setAmount(amount);
+        totals.add(card, (long) card.getAmount());
+        ranking.update(card);
+    }
+
     public String getTypeName() {
         return this.typeName;
     }
@@ -74,11 +165,7 @@ public class BinderModel {
      * @return The total count of all cards in the binder.
      */
     public int getTotalCardCount() {
-        int sum = 0;
-        for (CardModel c : cards) {
-            sum += c.getAmount();
-        }
-        return sum;
+        return (int) totals.getCount();
     }
 
     /**
@@ -92,27 +179,29 @@ public class BinderModel {
      * it will be added as 1 if new, or increment an existing card's count by 1.
      * @return `true` if the card was successfully added or its amount was increased, `false` otherwise (binder is full).
      */
-    public boolean addCardB(CardModel card) {
-        int total = getTotalCardCount();
-        if (total >= 20) {
-            System.out.println("Binder is full (max 20 total cards).");
-            return false;
-        }
-        for (CardModel c : cards) {
-            if (c.matches(card)) {
-                if (total + 1 <= 20) {
-                    c.setAmount(c.getAmount() + 1);
-                    System.out.println(card.getName() + " amount increased in binder.");
-                    return true;
+    public synchronized boolean addCardB(CardModel card) {
+        long start = ADD_TIMER.start();
+        try {
+            int total = getTotalCardCount();
+            if (total >= MAX_CARDS) {
+                return false;
+            }
+            for (CardModel c : cards) {
+                if (c.matches(card)) {
+                    if (total + 1 <= MAX_CARDS) {
+                        setEntryAmount(c, c.getAmount() + 1);
+                        return true;
+                    }
+                    // ...else binder is full
                 }
-                // ...else binder is full
             }
+            CardModel newCard = new CardModel(card.getName(), card.getRarity(), card.getVariant(), card.getBaseValue());
+            newCard.setAmount(1);
+            cards.add(newCard);
+            return true;
+        } finally {
+            ADD_TIMER.stop(start);
         }
-        CardModel newCard = new CardModel(card.getName(), card.getRarity(), card.getVariant(), card.getBaseValue());
-        newCard.setAmount(1);
-        cards.add(newCard);
-        System.out.println(newCard.getName() + " added to binder.");
-        return true;
     }
 
     /**
@@ -124,22 +213,96 @@ public class BinderModel {
      * @param name The name of the card to be removed or have its amount decremented.
      * @return `true` if the card was found and its amount was decremented or it was removed, `false` if the card was not found in the binder.
      */
-    public boolean removeCard(String name) {
-        for (int i = 0; i < cards.size(); i++) {
-            if (cards.get(i).getName().equalsIgnoreCase(name)) {
-                CardModel card = cards.get(i);
-                if (card.getAmount() > 1) {
-                    card.setAmount(card.getAmount() - 1);
-                    System.out.println("Decreased amount of " + card.getName() + " in binder.");
-                } else {
-                    cards.remove(i);
-                    System.out.println("Card removed from binder.");
+    public synchronized boolean removeCard(String name) {
+        long start = REMOVE_TIMER.start();
+        try {
+            for (int i = 0; i < cards.size(); i++) {
+                if (cards.get(i).getName().equalsIgnoreCase(name)) {
+                    CardModel card = cards.get(i);
+                    if (card.getAmount() > 1) {
+                        setEntryAmount(card, card.getAmount() - 1);
+                    } else {
+                        cards.remove(i);
+                    }
+                    return true;
                 }
-                return true;
             }
+            return false;
+        } finally {
+            REMOVE_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Removes one copy of a card from the binder, identified by its name, rarity and variant
+     * (as determined by {@link CardModel#matches(CardModel)}), unlike {@link #removeCard(String)},
+     * which takes the first card with the name. The entry is removed when its last copy is.
+     *
+     * @param card The card to remove one copy of.
+     * @return `true` if a copy was removed, `false` if the binder holds no matching card.
+     */
+    public synchronized boolean removeCardB(CardModel card) {
+        long start = REMOVE_TIMER.start();
+        try {
+            for (int i = 0; i < cards.size(); i++) {
+                CardModel entry = cards.get(i);
+                if (entry.matches(card)) {
+                    if (entry.getAmount() > 1) {
+                        setEntryAmount(entry, entry.getAmount() - 1);
+                    } else {
+                        cards.remove(i);
+                    }
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            REMOVE_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Takes copies of several cards out of the binder at once, such as every card of a sale.
+     * The quantities are checked in one pass over the binder, so either every copy is taken or none is;
+     * the amounts are then decreased in a second pass, and the entries left with no copies are dropped
+     * together in a single compaction of the list, instead of one scan and removal per copy.
+     *
+     * @param quantities The number of copies to take of each card, by identity. Every card must be in the binder.
+     * @return `true` if the copies were taken, `false` if the binder lacks a card or holds too few copies of it,
+     * in which case nothing has been changed.
+     */
+    public synchronized boolean removeCards(Map<CardKey, Double> quantities) {
+        long start = REMOVE_BATCH_TIMER.start();
+        try {
+            int found = 0;
+            for (CardModel entry : cards) {
+                Double quantity = quantities.get(entry.getKey());
+                if (quantity != null) {
+                    if (quantity < 0 || entry.getAmount() < quantity) {
+                        return false;
+                    }
+                    found++;
+                }
+            }
+            if (found < quantities.size()) {
+                return false;
+            }
+
+            boolean emptied = false;
+            for (CardModel entry : cards) {
+                Double quantity = quantities.get(entry.getKey());
+                if (quantity != null && quantity > 0) {
+                    setEntryAmount(entry, entry.getAmount() - quantity);
+                    emptied |= entry.getAmount() <= 0;
+                }
+            }
+            if (emptied) {
+                cards.removeIf(entry -> entry.getAmount() <= 0);
+            }
+            return true;
+        } finally {
+            REMOVE_BATCH_TIMER.stop(start);
         }
-        System.out.println("Card not found.");
-        return false;
     }
 
    /**
@@ -154,8 +317,10 @@ public class BinderModel {
             return;
         }
         System.out.println("=== " + name + "'s Binder ===");
-        Collections.sort(cards, Comparator.comparing(CardModel::getName));
-        for (CardModel card : cards) {
+        // Binders hold at most 20 cards, so sorting a copy here is cheap
+        List<CardModel> sortedCards = new ArrayList<>(cards);
+        sortedCards.sort(Comparator.comparing(CardModel::getName, String.CASE_INSENSITIVE_ORDER));
+        for (CardModel card : sortedCards) {
             System.out.printf("%s x%.0f (%s, %s) - $%.2f\n",
                 card.getName(), card.getAmount(), card.getRarity(), card.getVariant(), card.getValue());
         }
@@ -205,44 +370,62 @@ public class BinderModel {
                 return;
             }
         }
-        this.removeCard(myCard.getName()); 
-        boolean stillInBinder = false;
-        for (CardModel c : this.cards) {
-            if (c.getName().equalsIgnoreCase(myCard.getName())) {
-                stillInBinder = true;
-            }
+        // Stage every step and apply them together, so a failure midway cannot leave half a trade
+        ModelTransaction transaction = new ModelTransaction(collection);
+        transaction.removeFromBinder(this, myCard);
+        CardModel collectionCard = collection.getMatchingCard(myCard);
+        if (myCard.getAmount() <= 1 && collectionCard != null) {
+            // The last copy leaves the binder, so it leaves the collection too
+            transaction.removeFromCollection(collectionCard, Math.min(1, collectionCard.getAmount()));
         }
-        if(!stillInBinder){
-            collection.removeCardByName(myCard.getName());
+        // The received card is recorded in the collection, but its copy lives in the binder
+        transaction.addToCollection(newCard, 0);
+        transaction.addToBinder(this, newCard);
+        long start = TRADE_TIMER.start();
+        try {
+            transaction.commit();
+            System.out.println("Trade complete.");
+        } catch (IllegalStateException e) {
+            System.out.println("Trade failed: " + e.getMessage());
+        } finally {
+            TRADE_TIMER.stop(start);
         }
-        collection.addCard(newCard);
-
-        CardModel newCardC = CollectionModel.findCardInCollection(collection, newCard.getName());
-        newCardC.setAmount(newCardC.getAmount()-1);
-        this.addCardB(newCardC);
     }
 
-    public void sellBinder(CollectionModel collection) {
-        if (cards.isEmpty()) {
-            System.out.println("Sell Binder is empty. Nothing to sell.");
-            return;
-        }
-
-        double bValue = 0.0;
-        ArrayList<CardModel> cardsCopy = new ArrayList<>(cards); // avoid concurrent modification
-
-        for (CardModel binderCard : cardsCopy) {
-            double amount = binderCard.getAmount();
-            bValue += binderCard.getValue() * amount;
-
-            // Remove from binder one by one
-            for (int i = 0; i < amount; i++) {
-                this.removeCard(binderCard.getName());
-                collection.removeCardByName(binderCard.getName());
+    /**
+     * Sells every card in this binder from the console, taking the sold copies out of the collection too.
+     * The binder and collection are changed by one {@link ModelTransaction}, priced and staged in a single
+     * pass over the binder and applied as one bulk removal from each, instead of one name lookup and
+     * removal per copy.
+     *
+     * @param collection The main {@link CollectionModel} the sold copies are taken from.
+     * @return The total value sold, in cents, or `-1` if the binder was empty.
+     */
+    public long sellBinder(CollectionModel collection) {
+        long start = SELL_TIMER.start();
+        try {
+            ModelTransaction transaction = new ModelTransaction(collection);
+            long bValue = 0;
+            synchronized (this) {
+                if (cards.isEmpty()) {
+                    return -1;
+                }
+                for (CardModel binderCard : cards) {
+                    double amount = binderCard.getAmount();
+                    bValue += binderCard.getTotalPriceCents((long) amount);
+                    transaction.removeFromBinder(this, binderCard, (int) amount);
+                    CardModel inCollection = collection.getMatchingCard(binderCard);
+                    if (inCollection != null) {
+                        transaction.removeFromCollection(inCollection, Math.min(amount, inCollection.getAmount()));
+                    }
+                }
             }
+            // Committed outside this binder's lock, since transactions lock the collection before any binder
+            transaction.commit();
+            return bValue;
+        } finally {
+            SELL_TIMER.stop(start);
         }
-
-        System.out.printf("All cards sold from binder \"%s\". Total value: $%.2f%n", this.getName(), bValue);
     }
 
     public boolean isSellable() {
@@ -250,7 +433,21 @@ public class BinderModel {
     }
 
     public double getTotalValue() {
-        return cards.stream().mapToDouble(card -> card.getTotalPrice()).sum();
+        return Money.toDollars(getTotalValueCents());
+    }
+
+    /**
+     * Returns the combined value of every card in this binder, in cents.
+     *
+     * @return The sum of each card's value times its amount, in cents.
+     */
+    public long getTotalValueCents() {
+        long start = VALUE_TIMER.start();
+        try {
+            return totals.getValueCents();
+        } finally {
+            VALUE_TIMER.stop(start);
+        }
     }
 
     public boolean isCardAllowed(CardModel card) {
@@ -262,7 +459,35 @@ public class BinderModel {
     }
 
     public double getSellMultiplier() {
-        return 1.0; // Default multiplier for most binders
+        return getSellMultiplierPercent() / 100.0;
+    }
+
+    /**
+     * Returns the multiplier applied to this binder's value when it is sold, in percent.
+     *
+     * @return The sell multiplier in percent, 100 by default.
+     */
+    public int getSellMultiplierPercent() {
+        return 100; // Default multiplier for most binders
+    }
+
+    /**
+     * Returns what this binder sells for: the value of one copy of each card,
+     * with {@link #getSellMultiplierPercent()} applied, in cents.
+     *
+     * @return The sale price of this binder, in cents.
+     */
+    public synchronized long getSellValueCents() {
+        long start = SELL_VALUE_TIMER.start();
+        try {
+            long total = 0;
+            for (CardModel card : cards) {
+                total += card.getValueCents();
+            }
+            return Money.scale(total, getSellMultiplierPercent(), 100);
+        } finally {
+            SELL_VALUE_TIMER.stop(start);
+        }
     }
 
 
@@ -370,8 +595,14 @@ public class BinderModel {
                     String cardName = scanner.nextLine();
                     CardModel cardToAdd = CollectionModel.findCardInCollection(collection, cardName);
                     if (cardToAdd != null && cardToAdd.getAmount() >= 1) {
-                        binder.addCardB(cardToAdd);
-                        cardToAdd.setAmount(cardToAdd.getAmount() - 1);
+                        if (!binder.isCardAllowed(cardToAdd)) {
+                            System.out.println("This card does not meet the binder's restrictions.");
+                        } else if (binder.addCardB(cardToAdd)) {
+                            collection.setCardAmount(cardToAdd, cardToAdd.getAmount() - 1);
+                            System.out.println(cardToAdd.getName() + " added to binder.");
+                        } else {
+                            System.out.println("Binder is full (max " + MAX_CARDS + " total cards).");
+                        }
                     } else {
                         System.out.println("Card not found or no copies left.");
                     }
@@ -390,8 +621,11 @@ public class BinderModel {
                     if (b.removeCard(removeCard)) {
                         CardModel dummy = CollectionModel.findCardInCollection(collection, removeCard);
                         if (dummy != null) {
-                            dummy.setAmount(dummy.getAmount() + 1);
+                            collection.setCardAmount(dummy, dummy.getAmount() + 1);
                         }
+                        System.out.println("Card removed from binder.");
+                    } else {
+                        System.out.println("Card not found.");
                     }
                     break;
                 case '6':
@@ -427,7 +661,12 @@ public class BinderModel {
                         break;
                     }
                     
-                    sBinder.sellBinder(collection);
+                    long proceeds = sBinder.sellBinder(collection);
+                    if (proceeds < 0) {
+                        System.out.println("Sell Binder is empty. Nothing to sell.");
+                        break;
+                    }
+                    System.out.printf("All cards sold from binder \"%s\". Total value: %s%n", sBinder.getName(), Money.format(proceeds));
                     binders.remove(sBinder);
                     System.out.println("Sell Binder \"" + sBinder.getName() + "\" has been removed after selling all cards.");
                     break;
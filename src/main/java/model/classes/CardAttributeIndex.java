@@ -0,0 +1,230 @@
+package main.java.model.classes;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
+
+/**
+ * Bitmap and range indexes over the cards of a {@link CollectionModel}, used to answer a {@link CardQuery}
+ * without testing every card.
+ * <p>
+ * Every card gets a small integer slot. There is one {@link BitSet} of slots per {@link Rarity} and per
+ * {@link Variant}, so "Legendary and Alt Art" is the AND of two bitmaps, and the slots are also grouped
+ * by value in a sorted map, so a value range only visits the cards inside it. The slots of a removed card
+ * are reused by the next card added.
+ * <p>
+ * Amounts change far more often than anything else, under the collection's stripe locks rather than its
+ * structure lock, so they are not indexed; {@link CardQuery#amountBetween(double, double)} tests the cards
+ * the other conditions leave.
+ * <p>
+ * The index is not thread-safe; the collection only uses it while holding its structure lock.
+ */
+final class CardAttributeIndex {
+
+    /**
+     * The slots of the cards sharing one value, in no particular order.
+     */
+    private static final class Slots {
+        private int[] slots = new int[2];
+        private int size;
+    }
+
+    private final Map<CardKey, Integer> slotsByKey;
+    private CardModel[] cards;
+    private final BitSet live = new BitSet();
+    private int liveCount;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+
+    private final BitSet[] byRarity = newBitSets(Rarity.values().length);
+    private final BitSet[] byVariant = newBitSets(Variant.values().length);
+
+    /**
+     * The slots grouped by the value, in cents, they were indexed under, with each slot's
+     * value and position in its group so it can be moved or removed without a search.
+     */
+    private final NavigableMap<Long, Slots> byValue = new TreeMap<>();
+    private long[] indexedValues;
+    private int[] positions;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param expectedCards The number of cards about to be added, so the tables are sized once.
+     */
+    CardAttributeIndex(int expectedCards) {
+        int capacity = Math.max(64, expectedCards);
+        slotsByKey = new HashMap<>(capacity * 4 / 3 + 1);
+        cards = new CardModel[capacity];
+        indexedValues = new long[capacity];
+        positions = new int[capacity];
+    }
+
+    /**
+     * Adds a card to the index, unless a card with the same key is already in it.
+     *
+     * @param card The card, as held by the collection.
+     */
+    void add(CardModel card) {
+        if (slotsByKey.containsKey(card.getKey())) {
+            return;
+        }
+        int slot = freeCount > 0 ? freeSlots[--freeCount] : slotCount++;
+        if (slot == cards.length) {
+            cards = Arrays.copyOf(cards, slot * 2);
+            indexedValues = Arrays.copyOf(indexedValues, slot * 2);
+            positions = Arrays.copyOf(positions, slot * 2);
+        }
+        cards[slot] = card;
+        slotsByKey.put(card.getKey(), slot);
+        live.set(slot);
+        liveCount++;
+        if (card.getRarity() != null) {
+            byRarity[card.getRarity().ordinal()].set(slot);
+        }
+        if (card.getVariant() != null) {
+            byVariant[card.getVariant().ordinal()].set(slot);
+        }
+        addToValue(slot, card.getValueCents());
+    }
+
+    /**
+     * Removes a card from the index.
+     *
+     * @param card The card, as held by the collection.
+     */
+    void remove(CardModel card) {
+        Integer slot = slotsByKey.remove(card.getKey());
+        if (slot == null) {
+            return;
+        }
+        live.clear(slot);
+        liveCount--;
+        for (BitSet bits : byRarity) {
+            bits.clear(slot);
+        }
+        for (BitSet bits : byVariant) {
+            bits.clear(slot);
+        }
+        removeFromValue(slot);
+        cards[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Moves a card whose value has changed to its new place in the value index.
+     *
+     * @param card The card, as held by the collection.
+     */
+    void valueChanged(CardModel card) {
+        Integer slot = slotsByKey.get(card.getKey());
+        if (slot != null && indexedValues[slot] != card.getValueCents()) {
+            removeFromValue(slot);
+            addToValue(slot, card.getValueCents());
+        }
+    }
+
+    /**
+     * Returns the number of cards in the index.
+     */
+    int size() {
+        return liveCount;
+    }
+
+    /**
+     * Returns the card in a slot.
+     */
+    CardModel card(int slot) {
+        return cards[slot];
+    }
+
+    /**
+     * Returns the slots of every card; callers must not change it.
+     */
+    BitSet all() {
+        return live;
+    }
+
+    /**
+     * Returns the slots of the cards of a rarity; callers must not change it.
+     */
+    BitSet withRarity(Rarity rarity) {
+        return byRarity[rarity.ordinal()];
+    }
+
+    /**
+     * Returns the slots of the cards of a variant; callers must not change it.
+     */
+    BitSet withVariant(Variant variant) {
+        return byVariant[variant.ordinal()];
+    }
+
+    /**
+     * Returns the slots of the cards whose value lies in a range. Given a set of slots to consider, the
+     * value of each is checked instead, which is cheaper than walking a range wider than the set.
+     *
+     * @param minCents The lowest value, in cents, inclusive.
+     * @param maxCents The highest value, in cents, inclusive.
+     * @param within   The slots to consider, or `null` for every card. Not changed.
+     * @return A new set of slots the caller may change.
+     */
+    BitSet valueBetween(long minCents, long maxCents, BitSet within) {
+        BitSet result = new BitSet();
+        if (minCents > maxCents) {
+            return result;
+        }
+        if (within != null) {
+            for (int slot = within.nextSetBit(0); slot >= 0; slot = within.nextSetBit(slot + 1)) {
+                if (indexedValues[slot] >= minCents && indexedValues[slot] <= maxCents) {
+                    result.set(slot);
+                }
+            }
+            return result;
+        }
+        for (Slots group : byValue.subMap(minCents, true, maxCents, true).values()) {
+            for (int i = 0; i < group.size; i++) {
+                result.set(group.slots[i]);
+            }
+        }
+        return result;
+    }
+
+    private void addToValue(int slot, long valueCents) {
+        Slots group = byValue.computeIfAbsent(valueCents, value -> new Slots());
+        if (group.size == group.slots.length) {
+            group.slots = Arrays.copyOf(group.slots, group.size * 2);
+        }
+        positions[slot] = group.size;
+        group.slots[group.size++] = slot;
+        indexedValues[slot] = valueCents;
+    }
+
+    private void removeFromValue(int slot) {
+        Slots group = byValue.get(indexedValues[slot]);
+        // Move the group's last slot into the removed one's place
+        int last = group.slots[--group.size];
+        group.slots[positions[slot]] = last;
+        positions[last] = positions[slot];
+        if (group.size == 0) {
+            byValue.remove(indexedValues[slot]);
+        }
+    }
+
+    private static BitSet[] newBitSets(int count) {
+        BitSet[] bitSets = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            bitSets[i] = new BitSet();
+        }
+        return bitSets;
+    }
+}
@@ -0,0 +1,97 @@
+package main.java.model.classes;
+
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
+
+/**
+ * A `CardColumns` is a read-only, column-oriented table of card data that a
+ * {@link CollectionModel} can hold without creating a {@link CardModel} per row.
+ * Rows must be ordered by case-folded name (see {@link CollectionModel#foldName(String)}),
+ * so that a name can be found with a binary search.
+ * The collection materializes a row into a {@link CardModel} the first time it is accessed.
+ */
+public interface CardColumns {
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return The number of cards in the table.
+     */
+    int size();
+
+    /**
+     * Returns the name of the card in the given row.
+     *
+     * @param index The row.
+     * @return The card's name.
+     */
+    String getName(int index);
+
+    /**
+     * Returns the rarity of the card in the given row.
+     *
+     * @param index The row.
+     * @return The card's {@link Rarity}.
+     */
+    Rarity getRarity(int index);
+
+    /**
+     * Returns the variant of the card in the given row.
+     *
+     * @param index The row.
+     * @return The card's {@link Variant}.
+     */
+    Variant getVariant(int index);
+
+    /**
+     * Returns the base value of the card in the given row, in cents.
+     *
+     * @param index The row.
+     * @return The card's base value in cents, before the variant multiplier.
+     */
+    long getBaseValueCents(int index);
+
+    /**
+     * Returns the count and value of every row, each counted by its amount.
+     * The default implementation scans the table; stores that keep the totals should override it.
+     *
+     * @return New {@link CardTotals} over the whole table.
+     */
+    default CardTotals getTotals() {
+        CardTotals totals = new CardTotals();
+        for (int i = 0; i < size(); i++) {
+            long copies = (long) getAmount(i);
+            Variant variant = getVariant(i);
+            totals.add(getRarity(i), variant, copies, copies * variant.applyTo(getBaseValueCents(i)));
+        }
+        return totals;
+    }
+
+    /**
+     * Returns the amount of the card in the given row.
+     *
+     * @param index The row.
+     * @return The card's amount.
+     */
+    double getAmount(int index);
+
+    /**
+     * Returns the first row whose case-folded name is not less than the given key.
+     *
+     * @param foldedName A case-folded card name.
+     * @return The first matching row, or {@link #size()} if every row sorts before the key.
+     */
+    default int lowerBound(String foldedName) {
+        int low = 0;
+        int high = size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (CollectionModel.foldName(getName(mid)).compareTo(foldedName) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
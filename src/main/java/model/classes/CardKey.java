@@ -0,0 +1,105 @@
+package main.java.model.classes;
+
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
+
+/**
+ * A `CardKey` is the identity of a card: its case-folded name, its {@link Rarity} and its {@link Variant}.
+ * Two cards are the same card, as far as {@link CardModel#matches(CardModel)} is concerned, exactly when
+ * their keys are equal, so a key can stand in for a card in maps and sets shared by the collection,
+ * binders and decks.
+ * <p>
+ * Keys are immutable and fold the name and compute the hash once, when created. Comparing two keys
+ * checks the cached hashes and the enum references first, and only compares the folded names, without
+ * any case conversion, when those already agree. {@link CardModel} caches its key, so repeated
+ * matching against the same cards allocates nothing.
+ */
+public final class CardKey {
+
+    private final String foldedName;
+    private final Rarity rarity;
+    private final Variant variant;
+    private final int hash;
+
+    private CardKey(String foldedName, Rarity rarity, Variant variant) {
+        this.foldedName = foldedName;
+        this.rarity = rarity;
+        this.variant = variant;
+        this.hash = (foldedName.hashCode() * 31 + ordinal(rarity)) * 31 + ordinal(variant);
+    }
+
+    private static int ordinal(Enum<?> constant) {
+        return constant == null ? -1 : constant.ordinal();
+    }
+
+    /**
+     * Creates the key of a card.
+     *
+     * @param name    The card's name, in any case.
+     * @param rarity  The card's {@link Rarity}.
+     * @param variant The card's {@link Variant}.
+     * @return The key identifying that card.
+     */
+    public static CardKey of(String name, Rarity rarity, Variant variant) {
+        return new CardKey(CollectionModel.foldName(name), rarity, variant);
+    }
+
+    /**
+     * Returns the card's name folded as by {@link CollectionModel#foldName(String)}.
+     *
+     * @return The case-folded name.
+     */
+    public String getFoldedName() {
+        return foldedName;
+    }
+
+    /**
+     * Checks whether the card's name contains a search string, ignoring case.
+     *
+     * @param foldedQuery The search string, folded as by {@link CollectionModel#foldName(String)}.
+     * @return `true` if the folded name contains it.
+     */
+    public boolean nameContains(String foldedQuery) {
+        return foldedName.contains(foldedQuery);
+    }
+
+    public Rarity getRarity() {
+        return rarity;
+    }
+
+    public Variant getVariant() {
+        return variant;
+    }
+
+    /**
+     * Returns whether the other key has the same name, ignoring case, whatever its rarity and variant.
+     *
+     * @param other The key to compare with.
+     * @return `true` if both keys name the same card.
+     */
+    public boolean sameName(CardKey other) {
+        return foldedName == other.foldedName || foldedName.equals(other.foldedName);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CardKey)) {
+            return false;
+        }
+        CardKey other = (CardKey) o;
+        return hash == other.hash && rarity == other.rarity && variant == other.variant && sameName(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return foldedName + " (" + rarity + ", " + variant + ")";
+    }
+}
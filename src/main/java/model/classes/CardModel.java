@@ -5,6 +5,7 @@ import java.util.Scanner;
 
 import main.java.model.enums.Rarity;
 import main.java.model.enums.Variant;
+import main.java.utilities.Money;
 
 /**
  * The `Card` class represents a collectible card with attributes such as name, rarity,
@@ -33,10 +34,10 @@ public class CardModel {
     private Variant variant;
 
     /**
-     * The monetary base value of a single card. This value is before any
-     * variant-specific multipliers are applied by {@link #getValue()}.
+     * The monetary base value of a single card, in cents. This value is before any
+     * variant-specific multipliers are applied by {@link #getValueCents()}.
      */
-    private double value;
+    private long valueCents;
 
     /**
      * The quantity or amount of this specific card. This amount can differ across
@@ -44,6 +45,18 @@ public class CardModel {
      */
     private double amount;
 
+    /**
+     * The card's identity, computed from its name, rarity and variant on first use
+     * and discarded whenever one of them changes.
+     */
+    private CardKey key;
+
+    /**
+     * When the card joined the {@link CollectionModel} holding it, relative to that collection's
+     * other cards, so the collection can list its cards in the order they were added.
+     */
+    private long arrival;
+
     /**
      * Constructs a new `Card` object with specified properties.
      * The amount of the card is initialized to 1 by default.
@@ -58,7 +71,7 @@ public class CardModel {
         this.name = name;
         this.rarity = rarity;
         this.variant = variant;
-        this.value = value;
+        this.valueCents = Money.toCents(value);
         this.amount = 1;
     }
 
@@ -148,14 +161,44 @@ public class CardModel {
 
     /**
      * Checks if this `Card` object matches another `Card` object based on
-     * its name, rarity, and variant (case-insensitive).
+     * its name, rarity, and variant (case-insensitive), by comparing their cached {@link CardKey}s.
      *
      * @param other The other `Card` object to compare against.
      * @return `true` if the name, rarity, and variant of both cards are the same (ignoring case),
      * `false` otherwise.
      */
     public boolean matches(CardModel other) {
-        return this.name.equalsIgnoreCase(other.name) && this.rarity.toString().equalsIgnoreCase(other.rarity.toString()) && this.variant.toString().equalsIgnoreCase(other.variant.toString());
+        return getKey().equals(other.getKey());
+    }
+
+    /**
+     * Returns the identity of this card: its case-folded name, rarity and variant.
+     * The key is computed once and reused until the name, rarity or variant changes.
+     *
+     * @return The {@link CardKey} of this card.
+     */
+    public CardKey getKey() {
+        CardKey current = key;
+        if (current == null) {
+            current = CardKey.of(getName(), getRarity(), getVariant());
+            key = current;
+        }
+        return current;
+    }
+
+    /**
+     * Discards the cached key after the name, rarity or variant has changed.
+     */
+    void invalidateKey() {
+        key = null;
+    }
+
+    long getArrival() {
+        return arrival;
+    }
+
+    void setArrival(long arrival) {
+        this.arrival = arrival;
     }
 
     /**
@@ -165,6 +208,7 @@ public class CardModel {
      */
     public void setName(String name) {
         this.name = name;
+        invalidateKey();
     }
 
     /**
@@ -183,6 +227,7 @@ public class CardModel {
      */
     public void setRarity(Rarity rarity) {
         this.rarity = rarity;
+        invalidateKey();
     }
 
     /**
@@ -201,6 +246,7 @@ public class CardModel {
      */
     public void setVariant(Variant variant) {
         this.variant = variant;
+        invalidateKey();
     }
 
     /**
@@ -219,7 +265,16 @@ public class CardModel {
      * @param value The new monetary base value for the card.
      */
     public void setValue(double value) {
-        this.value = value;
+        setValueCents(Money.toCents(value));
+    }
+
+    /**
+     * Sets the monetary base value of the card in cents.
+     *
+     * @param valueCents The new monetary base value for the card, in cents.
+     */
+    public void setValueCents(long valueCents) {
+        this.valueCents = valueCents;
     }
 
     /**
@@ -228,7 +283,16 @@ public class CardModel {
      * @return The current monetary value of the card.
      */
     public double getBaseValue() {
-        return this.value;
+        return Money.toDollars(getBaseValueCents());
+    }
+
+    /**
+     * Returns the monetary base value of the card in cents.
+     *
+     * @return The current monetary base value of the card, in cents.
+     */
+    public long getBaseValueCents() {
+        return this.valueCents;
     }
 
     /**
@@ -238,7 +302,17 @@ public class CardModel {
      * @return The current monetary value of the card, including variant multiplier.
      */
     public double getValue() {
-        return this.value * variant.getMultiplier();
+        return Money.toDollars(getValueCents());
+    }
+
+    /**
+     * Returns the monetary value of the card in cents, with the {@link Variant}'s
+     * multiplier applied exactly.
+     *
+     * @return The current monetary value of the card, including variant multiplier, in cents.
+     */
+    public long getValueCents() {
+        return getVariant().applyTo(getBaseValueCents());
     }
 
     /**
@@ -260,10 +334,29 @@ public class CardModel {
     }
     
     public double getTotalPrice(double amount) {
-        return getValue() * amount;
+        return Money.toDollars(getTotalPriceCents((long) amount));
     }
 
     public double getTotalPrice() {
-        return getValue() * this.amount;
+        return Money.toDollars(getTotalPriceCents());
+    }
+
+    /**
+     * Returns the value of the given number of copies of this card, in cents.
+     *
+     * @param amount The number of copies.
+     * @return The total value of the copies, in cents.
+     */
+    public long getTotalPriceCents(long amount) {
+        return getValueCents() * amount;
+    }
+
+    /**
+     * Returns the value of all copies of this card, in cents.
+     *
+     * @return The card's value times its amount, in cents.
+     */
+    public long getTotalPriceCents() {
+        return getTotalPriceCents((long) getAmount());
     }
 }
\ No newline at end of file
@@ -0,0 +1,265 @@
+package main.java.model.classes;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A trigram index over the distinct case-folded card names of a {@link CollectionModel},
+ * used to find the names containing a search string without testing every name.
+ * <p>
+ * Every name gets a small integer id, and every three-character run of it (trigram) lists the ids of the
+ * names containing it, in ascending order. A name contains a query only if it contains all of the
+ * query's trigrams, so intersecting their lists gives a short list of candidates to check. The trigrams
+ * are packed into `long`s and kept in a primitive hash table, so indexing a million names does not box
+ * a key per trigram.
+ * <p>
+ * Removing a name only marks its id dead, so removal does not have to search the lists; a name that
+ * comes back reuses its id. Once dead ids outnumber live ones, the index is rebuilt from the live names.
+ * <p>
+ * The index is not thread-safe; the collection only uses it while holding its structure lock.
+ */
+final class CardNameIndex {
+
+    /**
+     * The length of the character runs indexed.
+     */
+    static final int GRAM = 3;
+
+    /**
+     * An open-addressing hash table from trigram to the slot of its list in `lists`.
+     * Keys are never removed, so a slot holding `EMPTY` ends a probe.
+     */
+    private long[] keys = new long[1024];
+    private int[] slots = new int[1024];
+    private int keyCount;
+    private static final long EMPTY = -1;
+
+    /**
+     * The lists of name ids, one per trigram, each in ascending order, and their lengths.
+     */
+    private int[][] lists = new int[256][];
+    private int[] listSizes = new int[256];
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] names = new String[64];
+    private int nameCount;
+    private final BitSet live = new BitSet();
+    private int liveCount;
+
+    CardNameIndex() {
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Adds a name to the index, or brings a removed one back.
+     *
+     * @param foldedName A case-folded card name.
+     */
+    void add(String foldedName) {
+        Integer existing = ids.get(foldedName);
+        if (existing != null) {
+            if (!live.get(existing)) {
+                live.set(existing);
+                liveCount++;
+            }
+            return;
+        }
+        int id = nameCount++;
+        if (id == names.length) {
+            names = Arrays.copyOf(names, id * 2);
+        }
+        names[id] = foldedName;
+        ids.put(foldedName, id);
+        live.set(id);
+        liveCount++;
+        for (int i = 0; i + GRAM <= foldedName.length(); i++) {
+            addToList(listFor(trigram(foldedName, i), true), id);
+        }
+    }
+
+    /**
+     * Removes a name from the index.
+     *
+     * @param foldedName A case-folded card name.
+     */
+    void remove(String foldedName) {
+        Integer id = ids.get(foldedName);
+        if (id == null || !live.get(id)) {
+            return;
+        }
+        live.clear(id);
+        liveCount--;
+        if (nameCount - liveCount > liveCount && nameCount > 1024) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Returns the number of names in the index.
+     */
+    int size() {
+        return liveCount;
+    }
+
+    /**
+     * Returns the name with the given id.
+     */
+    String name(int id) {
+        return names[id];
+    }
+
+    /**
+     * Returns the live names that contain every trigram of the query, which includes every name that
+     * contains the query itself. Callers must still check each candidate.
+     *
+     * @param foldedQuery A case-folded search string of at least {@link #GRAM} characters.
+     * @return The ids of the candidate names, in ascending order.
+     */
+    int[] candidates(String foldedQuery) {
+        int grams = foldedQuery.length() - GRAM + 1;
+        int[] queryLists = new int[grams];
+        for (int i = 0; i < grams; i++) {
+            queryLists[i] = listFor(trigram(foldedQuery, i), false);
+            if (queryLists[i] < 0) {
+                return new int[0];
+            }
+        }
+        // Start from the shortest list so the running intersection is small from the outset
+        int shortest = 0;
+        for (int i = 1; i < grams; i++) {
+            if (listSizes[queryLists[i]] < listSizes[queryLists[shortest]]) {
+                shortest = i;
+            }
+        }
+        int[] first = lists[queryLists[shortest]];
+        int[] result = new int[listSizes[queryLists[shortest]]];
+        int size = 0;
+        for (int i = 0; i < result.length; i++) {
+            if (live.get(first[i])) {
+                result[size++] = first[i];
+            }
+        }
+        for (int i = 0; i < grams && size > 0; i++) {
+            if (i != shortest && queryLists[i] != queryLists[shortest]) {
+                size = intersect(result, size, lists[queryLists[i]], listSizes[queryLists[i]]);
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Keeps the first `size` ids of `result` that also appear in the first `otherSize` ids of `other`, in place.
+     * Binary-searches `other` from the last match on, so a short `result` costs little against a long list.
+     *
+     * @return The number of ids kept.
+     */
+    private static int intersect(int[] result, int size, int[] other, int otherSize) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < size && from < otherSize; i++) {
+            int found = Arrays.binarySearch(other, from, otherSize, result[i]);
+            if (found >= 0) {
+                result[kept++] = result[i];
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Finds the list of a trigram, optionally creating an empty one.
+     *
+     * @return The list's slot, or -1 if there is none and `create` is `false`.
+     */
+    private int listFor(long trigram, boolean create) {
+        int mask = keys.length - 1;
+        int index = Long.hashCode(trigram * 0x9E3779B97F4A7C15L) & mask;
+        while (keys[index] != EMPTY) {
+            if (keys[index] == trigram) {
+                return slots[index];
+            }
+            index = (index + 1) & mask;
+        }
+        if (!create) {
+            return -1;
+        }
+        int slot = keyCount++;
+        keys[index] = trigram;
+        slots[index] = slot;
+        if (slot == lists.length) {
+            lists = Arrays.copyOf(lists, slot * 2);
+            listSizes = Arrays.copyOf(listSizes, slot * 2);
+        }
+        lists[slot] = new int[4];
+        if (keyCount * 2 > keys.length) {
+            growTable();
+        }
+        return slot;
+    }
+
+    private void growTable() {
+        long[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new long[oldKeys.length * 2];
+        slots = new int[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int index = Long.hashCode(oldKeys[i] * 0x9E3779B97F4A7C15L) & mask;
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                slots[index] = oldSlots[i];
+            }
+        }
+    }
+
+    private void addToList(int slot, int id) {
+        int size = listSizes[slot];
+        int[] list = lists[slot];
+        // A name repeating a trigram is listed once
+        if (size > 0 && list[size - 1] == id) {
+            return;
+        }
+        if (size == list.length) {
+            list = lists[slot] = Arrays.copyOf(list, size * 2);
+        }
+        list[size] = id;
+        listSizes[slot] = size + 1;
+    }
+
+    /**
+     * Re-indexes the live names under fresh ids, dropping the dead ones.
+     */
+    private void rebuild() {
+        String[] liveNames = new String[liveCount];
+        int count = 0;
+        for (int id = live.nextSetBit(0); id >= 0; id = live.nextSetBit(id + 1)) {
+            liveNames[count++] = names[id];
+        }
+        ids.clear();
+        keys = new long[1024];
+        Arrays.fill(keys, EMPTY);
+        slots = new int[1024];
+        keyCount = 0;
+        lists = new int[256][];
+        listSizes = new int[256];
+        names = new String[Math.max(64, liveNames.length)];
+        nameCount = 0;
+        live.clear();
+        liveCount = 0;
+        for (String name : liveNames) {
+            add(name);
+        }
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+}
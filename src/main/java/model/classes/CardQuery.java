@@ -0,0 +1,291 @@
+package main.java.model.classes;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
+
+/**
+ * A condition on the cards of a {@link CollectionModel}, such as "Legendary Alt Art cards worth over $50",
+ * answered by {@link CollectionModel#findCards(CardQuery)}.
+ * <p>
+ * Queries are built from the static factories and combined with {@link #and(CardQuery)} and
+ * {@link #or(CardQuery)}:
+ * <pre>
+ * CardQuery.rarity(Rarity.LEGENDARY)
+ *     .and(CardQuery.variant(Variant.ALT_ART))
+ *     .and(CardQuery.valueCentsBetween(5001, Long.MAX_VALUE))
+ * </pre>
+ * Rarity and variant conditions are answered from bitmaps and value conditions from a sorted index, both
+ * kept in the collection's {@link CardAttributeIndex}. Amount and name conditions are tested card by card.
+ * An AND answers its cheaper term first and hands the result to the other, so a tested condition combined
+ * with an indexed one only looks at the cards the index leaves. Queries are immutable.
+ */
+public abstract class CardQuery {
+
+    /**
+     * How the condition is answered, cheapest first: from a bitmap, from the value index,
+     * or by testing the cards one by one.
+     */
+    static final int BITMAP = 0;
+    static final int RANGE = 1;
+    static final int TESTED = 2;
+
+    private CardQuery() {
+    }
+
+    /**
+     * Returns the slots of the matching cards among `within`.
+     *
+     * @param index  The index to answer from.
+     * @param within The slots to consider, or `null` for every card. Not changed.
+     * @return A new set of slots the caller may change.
+     */
+    abstract BitSet select(CardAttributeIndex index, BitSet within);
+
+    /**
+     * Returns how the condition is answered, one of {@link #BITMAP}, {@link #RANGE} or {@link #TESTED};
+     * for a combination, how its most expensive term is.
+     */
+    abstract int cost();
+
+    /**
+     * Returns a query matching every card.
+     */
+    public static CardQuery any() {
+        return new CardQuery() {
+            @Override
+            BitSet select(CardAttributeIndex index, BitSet within) {
+                return (BitSet) (within == null ? index.all() : within).clone();
+            }
+
+            @Override
+            int cost() {
+                return BITMAP;
+            }
+
+            @Override
+            public String toString() {
+                return "any";
+            }
+        };
+    }
+
+    /**
+     * Returns a query matching the cards of any of the given rarities.
+     *
+     * @param rarities The rarities to match.
+     */
+    public static CardQuery rarity(Rarity... rarities) {
+        Rarity[] copy = rarities.clone();
+        return new CardQuery() {
+            @Override
+            BitSet select(CardAttributeIndex index, BitSet within) {
+                BitSet result = new BitSet();
+                for (Rarity rarity : copy) {
+                    result.or(index.withRarity(rarity));
+                }
+                return restrict(result, index, within);
+            }
+
+            @Override
+            int cost() {
+                return BITMAP;
+            }
+
+            @Override
+            public String toString() {
+                return "rarity in " + Arrays.toString(copy);
+            }
+        };
+    }
+
+    /**
+     * Returns a query matching the cards of any of the given variants.
+     *
+     * @param variants The variants to match.
+     */
+    public static CardQuery variant(Variant... variants) {
+        Variant[] copy = variants.clone();
+        return new CardQuery() {
+            @Override
+            BitSet select(CardAttributeIndex index, BitSet within) {
+                BitSet result = new BitSet();
+                for (Variant variant : copy) {
+                    result.or(index.withVariant(variant));
+                }
+                return restrict(result, index, within);
+            }
+
+            @Override
+            int cost() {
+                return BITMAP;
+            }
+
+            @Override
+            public String toString() {
+                return "variant in " + Arrays.toString(copy);
+            }
+        };
+    }
+
+    /**
+     * Returns a query matching the cards whose value, as given by {@link CardModel#getValueCents()},
+     * lies in a range.
+     *
+     * @param minCents The lowest value, in cents, inclusive.
+     * @param maxCents The highest value, in cents, inclusive.
+     */
+    public static CardQuery valueCentsBetween(long minCents, long maxCents) {
+        return new CardQuery() {
+            @Override
+            BitSet select(CardAttributeIndex index, BitSet within) {
+                return index.valueBetween(minCents, maxCents, within);
+            }
+
+            @Override
+            int cost() {
+                return RANGE;
+            }
+
+            @Override
+            public String toString() {
+                return "value in [" + minCents + ", " + maxCents + "] cents";
+            }
+        };
+    }
+
+    /**
+     * Returns a query matching the cards whose amount lies in a range.
+     *
+     * @param min The lowest amount, inclusive.
+     * @param max The highest amount, inclusive.
+     */
+    public static CardQuery amountBetween(double min, double max) {
+        return new CardQuery() {
+            @Override
+            BitSet select(CardAttributeIndex index, BitSet within) {
+                BitSet candidates = within == null ? index.all() : within;
+                BitSet result = new BitSet();
+                for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                    double amount = index.card(slot).getAmount();
+                    if (amount >= min && amount <= max) {
+                        result.set(slot);
+                    }
+                }
+                return result;
+            }
+
+            @Override
+            int cost() {
+                return TESTED;
+            }
+
+            @Override
+            public String toString() {
+                return "amount in [" + min + ", " + max + "]";
+            }
+        };
+    }
+
+    /**
+     * Returns a query matching the cards whose name contains a search string, ignoring case.
+     *
+     * @param text The search string.
+     */
+    public static CardQuery nameContains(String text) {
+        String foldedQuery = CollectionModel.foldName(text);
+        return new CardQuery() {
+            @Override
+            BitSet select(CardAttributeIndex index, BitSet within) {
+                BitSet candidates = within == null ? index.all() : within;
+                BitSet result = new BitSet();
+                for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                    if (index.card(slot).getKey().nameContains(foldedQuery)) {
+                        result.set(slot);
+                    }
+                }
+                return result;
+            }
+
+            @Override
+            int cost() {
+                return TESTED;
+            }
+
+            @Override
+            public String toString() {
+                return "name contains \"" + foldedQuery + "\"";
+            }
+        };
+    }
+
+    /**
+     * Returns a query matching the cards that match both this query and another.
+     *
+     * @param other The other query.
+     */
+    public CardQuery and(CardQuery other) {
+        // The cheaper term goes first, so the other only looks at what it leaves
+        List<CardQuery> terms = other.cost() < cost() ? List.of(other, this) : List.of(this, other);
+        int cost = Math.max(cost(), other.cost());
+        return new CardQuery() {
+            @Override
+            BitSet select(CardAttributeIndex index, BitSet within) {
+                BitSet result = terms.get(0).select(index, within);
+                if (!result.isEmpty()) {
+                    result = terms.get(1).select(index, result);
+                }
+                return result;
+            }
+
+            @Override
+            int cost() {
+                return cost;
+            }
+
+            @Override
+            public String toString() {
+                return "(" + terms.get(0) + " and " + terms.get(1) + ")";
+            }
+        };
+    }
+
+    /**
+     * Returns a query matching the cards that match this query, another, or both.
+     *
+     * @param other The other query.
+     */
+    public CardQuery or(CardQuery other) {
+        CardQuery first = this;
+        int cost = Math.max(cost(), other.cost());
+        return new CardQuery() {
+            @Override
+            BitSet select(CardAttributeIndex index, BitSet within) {
+                BitSet result = first.select(index, within);
+                result.or(other.select(index, within));
+                return result;
+            }
+
+            @Override
+            int cost() {
+                return cost;
+            }
+
+            @Override
+            public String toString() {
+                return "(" + first + " or " + other + ")";
+            }
+        };
+    }
+
+    /**
+     * Keeps the slots of `result` that are also in `within`, or in the index if `within` is `null`.
+     */
+    private static BitSet restrict(BitSet result, CardAttributeIndex index, BitSet within) {
+        result.and(within == null ? index.all() : within);
+        return result;
+    }
+}
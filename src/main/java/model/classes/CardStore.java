@@ -0,0 +1,284 @@
+package main.java.model.classes;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
+
+/**
+ * The `CardStore` class holds card data as parallel primitive arrays, one row per card,
+ * instead of one {@link CardModel} object per card. Names are interned into a shared table
+ * and referenced by id, rarity and variant are stored as byte ordinals, the base value as
+ * whole cents and the amount as an `int`.
+ * <p>
+ * Rows are accessed through {@link StoredCardModel} views, which a {@link CollectionModel}
+ * hands out wherever a {@link CardModel} is expected. When a card leaves the collection its view is
+ * detached and its row released for the next card added, so the store stays as large as the
+ * collection rather than growing with every sale or undo. A reader on another thread may still be
+ * reading the row through the detached view, so each row carries a generation, advanced when it is
+ * released: a view checks after reading that its row's generation has not moved, and otherwise
+ * falls back to its own copy, the same way a seqlock reader retries. A name is dropped from the name
+ * table when no row uses it any more, and its id is given to the next new name.
+ * <p>
+ * The columns are split into fixed-size chunks, so growing the store adds chunks instead of
+ * copying rows: a value written to a row is never lost to a concurrent copy. The collection adds
+ * and releases rows while holding its structure lock and writes a row's amount and value while
+ * holding that card's stripe lock, so rows can be read and written from several threads. Names
+ * may also change through a view, so the name table has its own lock.
+ */
+final class CardStore {
+
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final Rarity[] RARITIES = Rarity.values();
+    private static final Variant[] VARIANTS = Variant.values();
+
+    private static final VarHandle GENERATIONS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    /**
+     * The columns of one chunk of consecutive rows.
+     */
+    private static final class Chunk {
+        final int[] nameIds = new int[CHUNK_SIZE];
+        final byte[] rarities = new byte[CHUNK_SIZE];
+        final byte[] variants = new byte[CHUNK_SIZE];
+        final long[] valueCents = new long[CHUNK_SIZE];
+        final int[] amounts = new int[CHUNK_SIZE];
+        final int[] generations = new int[CHUNK_SIZE];
+    }
+
+    /**
+     * Distinct names, indexed by name id, with the number of rows using each. The array is only
+     * replaced by a larger copy, so a name id read from any row is always in range. Changed under
+     * the lock of `nameIds`.
+     */
+    private volatile String[] names = new String[16];
+    private int[] nameUses = new int[16];
+    private int nameCount;
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private int[] freeNameIds = new int[16];
+    private int freeNameCount;
+
+    private volatile Chunk[] chunks = new Chunk[0];
+
+    /**
+     * Number of rows ever allocated; rows at or above this index are unused.
+     */
+    private int rowCount;
+
+    /**
+     * Released rows waiting to be reused, most recently released last.
+     */
+    private int[] freeRows = new int[16];
+    private int freeRowCount;
+
+    /**
+     * Stores a card and returns its row.
+     *
+     * @param name           The card's name.
+     * @param rarity         The card's {@link Rarity}.
+     * @param variant        The card's {@link Variant}.
+     * @param baseValueCents The card's base value, in cents.
+     * @param amount         The card's amount.
+     * @return The row now holding the card.
+     */
+    int add(String name, Rarity rarity, Variant variant, long baseValueCents, double amount) {
+        int row;
+        if (freeRowCount > 0) {
+            row = freeRows[--freeRowCount];
+        } else {
+            if (rowCount == chunks.length * CHUNK_SIZE) {
+                grow();
+            }
+            row = rowCount++;
+        }
+        Chunk chunk = chunk(row);
+        synchronized (nameIds) {
+            chunk.nameIds[row & CHUNK_MASK] = useName(name);
+        }
+        setRarity(row, rarity);
+        setVariant(row, variant);
+        setBaseValueCents(row, baseValueCents);
+        setAmount(row, amount);
+        return row;
+    }
+
+    /**
+     * Adds one chunk. Existing chunks are shared with the new directory, not copied.
+     */
+    private void grow() {
+        Chunk[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+        grown[chunks.length] = new Chunk();
+        chunks = grown;
+    }
+
+    private Chunk chunk(int row) {
+        return chunks[row >>> CHUNK_SHIFT];
+    }
+
+    /**
+     * Releases a row whose view has been detached, so the next card added can reuse it. The row's
+     * generation is advanced before anything else is written to it, so a view still reading the row
+     * notices the change through {@link #isCurrent(int, int)}.
+     *
+     * @param row A row returned by {@link #add} and not released since.
+     */
+    void release(int row) {
+        Chunk chunk = chunk(row);
+        GENERATIONS.getAndAdd(chunk.generations, row & CHUNK_MASK, 1);
+        // Keep the next card's writes to the row from being seen before the new generation
+        VarHandle.storeStoreFence();
+        synchronized (nameIds) {
+            dropName(chunk.nameIds[row & CHUNK_MASK]);
+        }
+        if (freeRowCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, freeRows.length * 2);
+        }
+        freeRows[freeRowCount++] = row;
+    }
+
+    /**
+     * Returns the current generation of a row, for a new view of it to remember.
+     */
+    int generation(int row) {
+        return (int) GENERATIONS.getVolatile(chunk(row).generations, row & CHUNK_MASK);
+    }
+
+    /**
+     * Returns whether a row still holds the card a view was created for, after the view has read
+     * from it. If not, the row was released and whatever the view read must be discarded.
+     *
+     * @param row        The row read.
+     * @param generation The generation of the row when the view was created.
+     * @return `true` if the values read belong to the view's card.
+     */
+    boolean isCurrent(int row, int generation) {
+        // Order the reads of the row before the read of its generation
+        VarHandle.acquireFence();
+        return generation(row) == generation;
+    }
+
+    /**
+     * Returns the number of rows holding cards, released rows excluded.
+     */
+    int size() {
+        return rowCount - freeRowCount;
+    }
+
+    /**
+     * Returns the number of rows allocated so far, the most the store has ever held at once.
+     */
+    int capacityUsed() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the number of distinct names in use.
+     */
+    int nameCount() {
+        synchronized (nameIds) {
+            return nameIds.size();
+        }
+    }
+
+    String getName(int row) {
+        int[] ids = chunk(row).nameIds;
+        while (true) {
+            int id = ids[row & CHUNK_MASK];
+            String name = names[id];
+            VarHandle.acquireFence();
+            // A null name means the id was just freed: either the row was released, which the caller's
+            // generation check catches, or the card was renamed, and reading again finds its new name
+            if (name != null || ids[row & CHUNK_MASK] == id) {
+                return name;
+            }
+        }
+    }
+
+    void setName(int row, String name) {
+        Chunk chunk = chunk(row);
+        synchronized (nameIds) {
+            int previous = chunk.nameIds[row & CHUNK_MASK];
+            chunk.nameIds[row & CHUNK_MASK] = useName(name);
+            dropName(previous);
+        }
+    }
+
+    /**
+     * Returns the id of a name, adding it to the table if no row uses it yet, and counts one more use.
+     * Called with the lock of `nameIds` held.
+     */
+    private int useName(String name) {
+        Integer id = nameIds.get(name);
+        if (id == null) {
+            String[] table = names;
+            if (freeNameCount > 0) {
+                id = freeNameIds[--freeNameCount];
+            } else {
+                id = nameCount++;
+                if (id == table.length) {
+                    table = Arrays.copyOf(table, table.length * 2);
+                    nameUses = Arrays.copyOf(nameUses, table.length);
+                }
+            }
+            table[id] = name;
+            names = table;
+            nameIds.put(name, id);
+        }
+        nameUses[id]++;
+        return id;
+    }
+
+    /**
+     * Counts one use of a name less, freeing its id once no row uses it. Called with the lock of
+     * `nameIds` held.
+     */
+    private void dropName(int id) {
+        if (--nameUses[id] == 0) {
+            nameIds.remove(names[id]);
+            names[id] = null;
+            if (freeNameCount == freeNameIds.length) {
+                freeNameIds = Arrays.copyOf(freeNameIds, freeNameIds.length * 2);
+            }
+            freeNameIds[freeNameCount++] = id;
+        }
+    }
+
+    Rarity getRarity(int row) {
+        return RARITIES[chunk(row).rarities[row & CHUNK_MASK]];
+    }
+
+    void setRarity(int row, Rarity rarity) {
+        chunk(row).rarities[row & CHUNK_MASK] = (byte) rarity.ordinal();
+    }
+
+    Variant getVariant(int row) {
+        return VARIANTS[chunk(row).variants[row & CHUNK_MASK]];
+    }
+
+    void setVariant(int row, Variant variant) {
+        chunk(row).variants[row & CHUNK_MASK] = (byte) variant.ordinal();
+    }
+
+    long getBaseValueCents(int row) {
+        return chunk(row).valueCents[row & CHUNK_MASK];
+    }
+
+    void setBaseValueCents(int row, long baseValueCents) {
+        chunk(row).valueCents[row & CHUNK_MASK] = baseValueCents;
+    }
+
+    double getAmount(int row) {
+        return chunk(row).amounts[row & CHUNK_MASK];
+    }
+
+    void setAmount(int row, double amount) {
+        chunk(row).amounts[row & CHUNK_MASK] = (int) amount;
+    }
+}
@@ -0,0 +1,182 @@
+package main.java.model.classes;
+
+import java.util.Arrays;
+
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
+
+/**
+ * The `CardTotals` class keeps running aggregates over a group of cards: the number of copies
+ * and their combined value in cents, overall and broken down by {@link Rarity} and {@link Variant}.
+ * <p>
+ * The owning container ({@link CollectionModel}, {@link BinderModel} or {@link DeckModel}) adjusts
+ * its totals on every mutation, so reading them is O(1). Totals can be attached to a parent,
+ * which then also receives every adjustment; the {@link main.java.model.MainModel} uses this to
+ * keep a portfolio-wide total. Callers outside the owning container should only read them.
+ * <p>
+ * Every method is synchronized, so totals can be adjusted and read from several threads.
+ * Adjustments are forwarded from child to parent while holding the child's lock, never the
+ * other way round, so nested totals cannot deadlock.
+ */
+public final class CardTotals {
+
+    private long count;
+    private long valueCents;
+    private final long[] countByRarity = new long[Rarity.values().length];
+    private final long[] valueCentsByRarity = new long[Rarity.values().length];
+    private final long[] countByVariant = new long[Variant.values().length];
+    private final long[] valueCentsByVariant = new long[Variant.values().length];
+
+    /**
+     * The totals that also receive every adjustment made to these, or `null`.
+     */
+    private CardTotals parent;
+
+    /**
+     * Adds copies of cards with the given rarity and variant to the totals.
+     * Pass negative amounts to remove them.
+     *
+     * @param rarity     The rarity of the copies.
+     * @param variant    The variant of the copies.
+     * @param copies     The number of copies to add.
+     * @param valueCents The combined value of those copies, in cents.
+     */
+    public synchronized void add(Rarity rarity, Variant variant, long copies, long valueCents) {
+        this.count += copies;
+        this.valueCents += valueCents;
+        countByRarity[rarity.ordinal()] += copies;
+        valueCentsByRarity[rarity.ordinal()] += valueCents;
+        countByVariant[variant.ordinal()] += copies;
+        valueCentsByVariant[variant.ordinal()] += valueCents;
+        if (parent != null) {
+            parent.add(rarity, variant, copies, valueCents);
+        }
+    }
+
+    /**
+     * Adds the given number of copies of a card, at its current value.
+     *
+     * @param card   The card.
+     * @param copies The number of copies to add, negative to remove.
+     */
+    synchronized void add(CardModel card, long copies) {
+        add(card.getRarity(), card.getVariant(), copies, copies * card.getValueCents());
+    }
+
+    /**
+     * Adds or subtracts every aggregate of another set of totals.
+     *
+     * @param other The totals to merge.
+     * @param sign  1 to add, -1 to subtract.
+     */
+    synchronized void merge(CardTotals other, int sign) {
+        count += sign * other.count;
+        valueCents += sign * other.valueCents;
+        for (int i = 0; i < countByRarity.length; i++) {
+            countByRarity[i] += sign * other.countByRarity[i];
+            valueCentsByRarity[i] += sign * other.valueCentsByRarity[i];
+        }
+        for (int i = 0; i < countByVariant.length; i++) {
+            countByVariant[i] += sign * other.countByVariant[i];
+            valueCentsByVariant[i] += sign * other.valueCentsByVariant[i];
+        }
+        if (parent != null) {
+            parent.merge(other, sign);
+        }
+    }
+
+    /**
+     * Resets every aggregate to zero, removing the current amounts from the parent.
+     */
+    synchronized void clear() {
+        if (parent != null) {
+            parent.merge(this, -1);
+        }
+        count = 0;
+        valueCents = 0;
+        Arrays.fill(countByRarity, 0);
+        Arrays.fill(valueCentsByRarity, 0);
+        Arrays.fill(countByVariant, 0);
+        Arrays.fill(valueCentsByVariant, 0);
+    }
+
+    /**
+     * Makes these totals part of a parent's: the current amounts are added to the parent,
+     * and later adjustments are forwarded to it. Any previous parent is detached first.
+     *
+     * @param newParent The parent totals.
+     */
+    public synchronized void attachTo(CardTotals newParent) {
+        detach();
+        parent = newParent;
+        parent.merge(this, 1);
+    }
+
+    /**
+     * Removes these totals from their parent, if they have one.
+     */
+    public synchronized void detach() {
+        if (parent != null) {
+            parent.merge(this, -1);
+            parent = null;
+        }
+    }
+
+    /**
+     * Returns the total number of copies.
+     *
+     * @return The number of copies counted.
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the combined value of every copy.
+     *
+     * @return The total value, in cents.
+     */
+    public synchronized long getValueCents() {
+        return valueCents;
+    }
+
+    /**
+     * Returns the number of copies of the given rarity.
+     *
+     * @param rarity The rarity.
+     * @return The number of copies with that rarity.
+     */
+    public synchronized long getCount(Rarity rarity) {
+        return countByRarity[rarity.ordinal()];
+    }
+
+    /**
+     * Returns the combined value of the copies of the given rarity.
+     *
+     * @param rarity The rarity.
+     * @return The value of the copies with that rarity, in cents.
+     */
+    public synchronized long getValueCents(Rarity rarity) {
+        return valueCentsByRarity[rarity.ordinal()];
+    }
+
+    /**
+     * Returns the number of copies of the given variant.
+     *
+     * @param variant The variant.
+     * @return The number of copies with that variant.
+     */
+    public synchronized long getCount(Variant variant) {
+        return countByVariant[variant.ordinal()];
+    }
+
+    /**
+     * Returns the combined value of the copies of the given variant.
+     *
+     * @param variant The variant.
+     * @return The value of the copies with that variant, in cents.
+     */
+    public synchronized long getValueCents(Variant variant) {
+        return valueCentsByVariant[variant.ordinal()];
+    }
+}
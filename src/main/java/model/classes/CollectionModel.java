@@ -1,33 +1,717 @@
 package main.java.model.classes;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import main.java.metrics.Histogram;
+import main.java.metrics.Metrics;
+import main.java.metrics.Timer;
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
+import main.java.model.events.ModelChangeListener;
+import main.java.utilities.Money;
 
 /**
  * The `CollectionModel` class manages a collection of {@link CardModel} objects.
  * It provides functionalities to add cards, display the collection,
  * modify card counts, view individual card details, find specific cards,
  * and remove cards.
- * {@link CardModel} instances are stored internally in an `ArrayList`.
+ * {@link CardModel} instances are indexed by case-folded card name in a hash map, so that lookups
+ * by name do not need to scan the collection, and in a skip list over the same keys, so that the
+ * cards can be walked in name order without re-sorting.
+ * <p>
+ * A collection restored from disk may also hold "cold" cards in a {@link CardColumns} table.
+ * A cold card becomes a {@link CardModel} in the indexes above the first time it is
+ * looked up, so restoring a large collection does not create an object per card up front.
+ * Cards the collection creates itself, whether materialized from cold rows or stored with
+ * {@link #putCard(String, Rarity, Variant, double, double)}, are kept in a primitive
+ * {@link CardStore} and handed out as flyweight {@link CardModel} views over it.
+ * <p>
+ * Names can also be searched by any part of them with {@link #searchByName(String, int)}, which keeps
+ * a {@link CardNameIndex} of every name once it is first used, and filtered by rarity, variant, value and
+ * amount with {@link #findCards(CardQuery)}, which keeps a {@link CardAttributeIndex} the same way.
+ * {@link #getValueRanking()} likewise keeps the cards ordered by total value once first asked for.
+ * <p>
+ * The collection can be used from several threads at once:
+ * <ul>
+ *   <li>Lookups and name-ordered iteration read concurrent maps whose buckets are never modified
+ *       in place, so they take no lock and iteration is weakly consistent: it never fails, and
+ *       reflects some of the changes made while it runs.</li>
+ *   <li>Adding and removing cards, and materializing cold rows, hold the structure lock.</li>
+ *   <li>Changing a card's amount or value holds one of {@value #LOCK_STRIPES} stripe locks chosen by
+ *       the card's {@link CardKey}, so updates to different cards proceed in parallel while each
+ *       read-modify-write of one card is atomic. The structure lock is always taken before a stripe,
+ *       and a change to several cards at once takes their stripes in ascending index order.
+ *       {@link #runExclusively(Collection, Runnable)} holds both across a caller's whole change.</li>
+ *   <li>Listeners are called after the locks are released, in the order the changes were made,
+ *       on whichever thread is delivering events at the time. They may read or change the collection.</li>
+ * </ul>
  */
 public class CollectionModel {
+
+    /**
+     * Number of stripe locks guarding card amounts and values. A power of two.
+     */
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * Time taken by each kind of change and query, shared by every collection, in the application's metrics.
+     */
+    private static final Timer ADD_TIMER = Metrics.timer("collection.add");
+    private static final Timer PUT_TIMER = Metrics.timer("collection.put");
+    private static final Timer ADD_BATCH_TIMER = Metrics.timer("collection.addBatch");
+    private static final Histogram ADD_BATCH_SIZES = Metrics.histogram("collection.addBatch.cards");
+    private static final Timer CHANGE_AMOUNT_TIMER = Metrics.timer("collection.changeAmount");
+    private static final Timer REMOVE_TIMER = Metrics.timer("collection.remove");
+    private static final Timer REMOVE_BATCH_TIMER = Metrics.timer("collection.removeBatch");
+    private static final Histogram REMOVE_BATCH_SIZES = Metrics.histogram("collection.removeBatch.cards");
+    private static final Timer FIND_TIMER = Metrics.timer("collection.find");
+
+    /**
+     * An index of the {@link CardModel} objects in this collection, keyed by case-folded name.
+     * Each bucket holds the entries sharing that name (differing only in rarity or variant).
+     * Buckets are immutable and replaced on every change, so readers never see one half-updated.
+     */
+    private final Map<String, List<CardModel>> cardsByName;
+
+    /**
+     * The same buckets as `cardsByName`, ordered by case-folded name.
+     * A bucket is inserted here when its first card is added and dropped when its last card is removed,
+     * so name-ordered iteration never has to sort the collection.
+     */
+    private final NavigableMap<String, List<CardModel>> sortedCardsByName;
+
+    /**
+     * The number of cards in the indexes.
+     */
+    private volatile int materializedCount;
+
+    /**
+     * Listeners notified when cards are added to, removed from, or changed within this collection.
+     */
+    private final List<ModelChangeListener<CardModel>> listeners;
+
+    /**
+     * Changes waiting to be delivered to the listeners, in the order they were made.
+     */
+    private final Queue<Consumer<ModelChangeListener<CardModel>>> pendingEvents;
+
+    /**
+     * Held by the thread delivering `pendingEvents`, so that events are delivered one at a time and in order.
+     */
+    private final ReentrantLock dispatchLock;
+
+    /**
+     * Guards structural changes: the indexes, the store's rows and the cold table.
+     */
+    private final ReentrantLock structureLock;
+
+    /**
+     * Guard the amount and base value of the cards whose keys hash to them.
+     */
+    private final Object[] stripes;
+
+    /**
+     * Cards not yet materialized into the indexes, ordered by case-folded name, or `null` if there are none.
+     */
+    private volatile CardColumns coldCards;
+
+    /**
+     * The rows of `coldCards` that have already been materialized into the indexes.
+     */
+    private BitSet promotedColdRows;
+
+    /**
+     * The number of rows set in `promotedColdRows`.
+     */
+    private int promotedColdCount;
+
+    /**
+     * Primitive storage backing the cards this collection creates itself.
+     */
+    private final CardStore store;
+
+    /**
+     * The arrival given to the next card added, so {@link #getCards()} can list cards in the order they
+     * were added. Cold rows count as having arrived first, in row order. Guarded by the structure lock.
+     */
+    private long nextArrival;
+
+    /**
+     * Running count and value of every card in the collection, cold or materialized,
+     * each counted by its amount.
+     */
+    private final CardTotals totals;
+
+    /**
+     * A trigram index over the names of every card, cold or materialized, for {@link #searchByName(String, int)}.
+     * Built by the first search and kept up to date as names come and go; `null` until then.
+     * Guarded by the structure lock.
+     */
+    private CardNameIndex nameIndex;
+
+    /**
+     * Bitmap and value indexes over every card, for {@link #findCards(CardQuery)}.
+     * Built by the first query and kept up to date as cards come and go; `null` until then.
+     * Guarded by the structure lock.
+     */
+    private CardAttributeIndex attributeIndex;
+
     /**
-     * An `ArrayList` to store the {@link CardModel} objects in this collection.
-     * Each {@link CardModel} represents a unique card type (name, rarity, variant)
-     * and holds its current amount.
+     * Every card ordered by total value, for {@link #getValueRanking()}. Built by the first call and then
+     * updated on every change of a card's amount or price; `null` until then. Amounts change under the
+     * stripe locks alone, so the field is volatile and the ranking guards itself.
      */
-    private List<CardModel> cards;
+    private volatile ValueRanking valueRanking;
 
     /**
      * Constructs a new, empty `CollectionModel` of cards.
-     * Initializes the internal `ArrayList` to store cards, ensuring the collection
-     * starts with no cards.
+     * Initializes the internal indexes, ensuring the collection starts with no cards.
      */
     public CollectionModel() {
-        cards = new ArrayList<>();
+        cardsByName = new ConcurrentHashMap<>();
+        sortedCardsByName = new ConcurrentSkipListMap<>();
+        listeners = new CopyOnWriteArrayList<>();
+        pendingEvents = new ConcurrentLinkedQueue<>();
+        dispatchLock = new ReentrantLock();
+        structureLock = new ReentrantLock();
+        stripes = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        store = new CardStore();
+        totals = new CardTotals();
+    }
+
+    /**
+     * Returns the running totals of this collection: the number of copies owned and their value,
+     * overall and by rarity and variant. They are adjusted on every change, so reading them is O(1).
+     *
+     * @return The collection's {@link CardTotals}; read-only for callers.
+     */
+    public CardTotals getTotals() {
+        return totals;
+    }
+
+    /**
+     * Registers a listener to be notified of cards being added, removed or changed.
+     *
+     * @param listener The {@link ModelChangeListener} to register.
+     */
+    public void addChangeListener(ModelChangeListener<CardModel> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a previously registered listener.
+     *
+     * @param listener The {@link ModelChangeListener} to remove.
+     */
+    public void removeChangeListener(ModelChangeListener<CardModel> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Queues a change for the listeners. Called while holding the lock that guarded the change,
+     * so that changes to the same card are queued in the order they were made.
+     *
+     * @param event Calls the listener method describing the change.
+     */
+    private void queueEvent(Consumer<ModelChangeListener<CardModel>> event) {
+        pendingEvents.add(event);
+    }
+
+    /**
+     * Delivers queued changes to the listeners. Called after releasing every lock.
+     * If another thread is already delivering, it also delivers the changes queued by this one;
+     * if this thread is, because a listener changed the collection, the outer delivery continues
+     * with the new changes once the current one has reached every listener.
+     */
+    private void dispatchEvents() {
+        if (dispatchLock.isHeldByCurrentThread() || structureLock.isHeldByCurrentThread()) {
+            // Listeners are never called with the collection locked; whoever holds it delivers on release
+            return;
+        }
+        while (!pendingEvents.isEmpty() && dispatchLock.tryLock()) {
+            try {
+                deliverPending();
+            } finally {
+                dispatchLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Delivers every change queued so far to the listeners before returning, waiting for a delivery in
+     * progress on another thread to finish first. Does nothing when called from a listener or with the
+     * collection locked, where the delivery in progress or the release of the lock delivers them instead.
+     */
+    public void flushEvents() {
+        if (dispatchLock.isHeldByCurrentThread() || structureLock.isHeldByCurrentThread()) {
+            return;
+        }
+        dispatchLock.lock();
+        try {
+            deliverPending();
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    /**
+     * Delivers queued changes until the queue is empty. Called holding `dispatchLock`.
+     */
+    private void deliverPending() {
+        Consumer<ModelChangeListener<CardModel>> event;
+        while ((event = pendingEvents.poll()) != null) {
+            for (ModelChangeListener<CardModel> listener : listeners) {
+                event.accept(listener);
+            }
+        }
+    }
+
+    /**
+     * Returns the stripe lock guarding a card's amount and value.
+     */
+    private Object stripeFor(CardModel card) {
+        return stripes[stripeIndex(card)];
+    }
+
+    private static int stripeIndex(CardModel card) {
+        return stripeIndex(card.getKey());
+    }
+
+    private static int stripeIndex(CardKey key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1);
+    }
+
+    /**
+     * Sets the amount of a card while holding its stripe, keeping the totals in sync.
+     */
+    private void applyAmount(CardModel card, double amount) {
+        totals.add(card, -(long) card.getAmount());
+        card.setAmount(amount);
+        totals.add(card, (long) card.getAmount());
+        rerank(card);
+    }
+
+    /**
+     * Moves a card to its place in the value ranking, if there is one, after its amount or price changed.
+     */
+    private void rerank(CardModel card) {
+        ValueRanking ranking = valueRanking;
+        if (ranking != null) {
+            ranking.update(card);
+        }
+    }
+
+    /**
+     * Sets the amount of a card in this collection and notifies listeners of the change.
+     * If the card is no longer in the collection, only the card object itself is changed.
+     *
+     * @param card   The card whose amount changes.
+     * @param amount The new amount of the card.
+     */
+    public void setCardAmount(CardModel card, double amount) {
+        long start = CHANGE_AMOUNT_TIMER.start();
+        try {
+            synchronized (stripeFor(card)) {
+                if (!isIndexed(card)) {
+                    card.setAmount(amount);
+                    return;
+                }
+                applyAmount(card, amount);
+                queueEvent(listener -> listener.changed(card));
+            }
+            dispatchEvents();
+        } finally {
+            CHANGE_AMOUNT_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Atomically adds to the amount of a card in this collection and notifies listeners of the change.
+     * Unlike reading the amount and calling {@link #setCardAmount(CardModel, double)}, no concurrent
+     * update to the same card can be lost in between.
+     *
+     * @param card  The card whose amount changes.
+     * @param delta The number of copies to add, negative to take copies away.
+     * @return The card's new amount.
+     */
+    public double addCardAmount(CardModel card, double delta) {
+        long start = CHANGE_AMOUNT_TIMER.start();
+        try {
+            double amount;
+            synchronized (stripeFor(card)) {
+                amount = card.getAmount() + delta;
+                if (!isIndexed(card)) {
+                    card.setAmount(amount);
+                    return card.getAmount();
+                }
+                applyAmount(card, amount);
+                amount = card.getAmount();
+                queueEvent(listener -> listener.changed(card));
+            }
+            dispatchEvents();
+            return amount;
+        } finally {
+            CHANGE_AMOUNT_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Folds a card name into the key used by the name index.
+     * Two names that are equal ignoring case fold to the same key.
+     *
+     * @param name The card name to fold.
+     * @return The case-folded key for the name.
+     */
+    public static String foldName(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Attaches a table of cold cards to this empty collection. The rows are materialized
+     * lazily, one name at a time, as the collection is used.
+     *
+     * @param columns The cards to hold, ordered by case-folded name.
+     * @throws IllegalStateException If the collection already holds cards.
+     */
+    public void attachColdCards(CardColumns columns) {
+        structureLock.lock();
+        try {
+            if (materializedCount > 0 || coldCards != null) {
+                throw new IllegalStateException("Cold cards can only be attached to an empty collection.");
+            }
+            if (columns.size() > 0) {
+                totals.merge(columns.getTotals(), 1);
+                promotedColdRows = new BitSet(columns.size());
+                promotedColdCount = 0;
+                coldCards = columns;
+                nextArrival = columns.size();
+                nameIndex = null;
+                attributeIndex = null;
+                valueRanking = null;
+            }
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the table of cold cards that have not all been materialized yet.
+     *
+     * @return The attached {@link CardColumns}, or `null` if every card is materialized.
+     */
+    public CardColumns getColdCards() {
+        return coldCards;
+    }
+
+    /**
+     * A consistent picture of the whole collection, taken by {@link #snapshotContents()}:
+     * the cold table, which of its rows are materialized, and copies of the materialized cards.
+     */
+    public static final class Contents {
+        private final CardColumns coldCards;
+        private final BitSet promotedColdRows;
+        private final List<CardModel> materializedCards;
+
+        private Contents(CardColumns coldCards, BitSet promotedColdRows, List<CardModel> materializedCards) {
+            this.coldCards = coldCards;
+            this.promotedColdRows = promotedColdRows;
+            this.materializedCards = materializedCards;
+        }
+
+        /**
+         * @return The cold table, or `null` if every card was materialized.
+         */
+        public CardColumns getColdCards() {
+            return coldCards;
+        }
+
+        /**
+         * @return The rows of the cold table that are also in {@link #getMaterializedCards()}.
+         */
+        public BitSet getPromotedColdRows() {
+            return promotedColdRows;
+        }
+
+        /**
+         * @return New {@link CardModel} objects equal to the materialized cards, in name order.
+         */
+        public List<CardModel> getMaterializedCards() {
+            return materializedCards;
+        }
+    }
+
+    /**
+     * Takes a picture of the collection without materializing any cold rows. No card is added,
+     * removed or materialized while it is taken, so every card appears exactly once; amounts changed
+     * concurrently may or may not be reflected. The result can safely be read from another thread.
+     *
+     * @return The collection's {@link Contents}.
+     */
+    public Contents snapshotContents() {
+        structureLock.lock();
+        try {
+            List<CardModel> copies = new ArrayList<>(materializedCount);
+            for (List<CardModel> bucket : sortedCardsByName.values()) {
+                for (CardModel card : bucket) {
+                    CardModel copy = new CardModel(card.getName(), card.getRarity(), card.getVariant(), 0);
+                    copy.setValueCents(card.getBaseValueCents());
+                    copy.setAmount(card.getAmount());
+                    copies.add(copy);
+                }
+            }
+            BitSet promoted = coldCards == null ? new BitSet() : (BitSet) promotedColdRows.clone();
+            return new Contents(coldCards, promoted, copies);
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    /**
+     * Materializes one cold row into the collection, without notifying listeners,
+     * since the card was already part of the collection. Called with the structure lock held.
+     *
+     * @param row The row of `coldCards` to materialize.
+     */
+    private void promoteColdRow(int row) {
+        if (!promotedColdRows.get(row)) {
+            promotedColdRows.set(row);
+            promotedColdCount++;
+            index(newStoredCard(coldCards.getName(row), coldCards.getRarity(row), coldCards.getVariant(row),
+                coldCards.getBaseValueCents(row), coldCards.getAmount(row)), row);
+        }
+    }
+
+    /**
+     * Materializes every cold row whose name folds to the given key.
+     *
+     * @param key A case-folded card name.
+     */
+    private void promoteColdName(String key) {
+        if (coldCards == null) {
+            return;
+        }
+        structureLock.lock();
+        try {
+            if (coldCards == null) {
+                return;
+            }
+            for (int row = coldCards.lowerBound(key); row < coldCards.size()
+                    && foldName(coldCards.getName(row)).equals(key); row++) {
+                promoteColdRow(row);
+            }
+            releaseColdCardsIfPromoted();
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    /**
+     * Materializes the first `limit` cold rows at or after the given key, plus any further rows
+     * sharing the last one's name, so the name index holds every card of the first `limit` in order.
+     *
+     * @param key   A case-folded card name, or `null` to start from the first row.
+     * @param limit The number of unmaterialized rows to materialize.
+     */
+    private void promoteColdSlice(String key, int limit) {
+        if (coldCards == null) {
+            return;
+        }
+        structureLock.lock();
+        try {
+            if (coldCards == null) {
+                return;
+            }
+            int row = key == null ? 0 : coldCards.lowerBound(key);
+            String lastKey = null;
+            for (int promoted = 0; row < coldCards.size() && promoted < limit; row++) {
+                if (!promotedColdRows.get(row)) {
+                    promoteColdRow(row);
+                    promoted++;
+                    lastKey = foldName(coldCards.getName(row));
+                }
+            }
+            for (; lastKey != null && row < coldCards.size() && foldName(coldCards.getName(row)).equals(lastKey); row++) {
+                promoteColdRow(row);
+            }
+            releaseColdCardsIfPromoted();
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    /**
+     * Materializes every remaining cold row.
+     */
+    private void promoteAllColdRows() {
+        if (coldCards == null) {
+            return;
+        }
+        structureLock.lock();
+        try {
+            if (coldCards == null) {
+                return;
+            }
+            for (int row = promotedColdRows.nextClearBit(0); row < coldCards.size(); row = promotedColdRows.nextClearBit(row + 1)) {
+                promoteColdRow(row);
+            }
+            releaseColdCardsIfPromoted();
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    /**
+     * Drops the cold table once every row in it has been materialized.
+     */
+    private void releaseColdCardsIfPromoted() {
+        if (coldCards != null && promotedColdCount == coldCards.size()) {
+            coldCards = null;
+            promotedColdRows = null;
+        }
+    }
+
+    /**
+     * Creates a flyweight card backed by a new row of `store`. Called with the structure lock held.
+     */
+    private CardModel newStoredCard(String name, Rarity rarity, Variant variant, long baseValueCents, double amount) {
+        return new StoredCardModel(store, store.add(name, rarity, variant, baseValueCents, amount));
+    }
+
+    /**
+     * Registers a card in the name indexes, counts it in the totals and queues an event
+     * announcing it. Called with the structure lock held.
+     *
+     * @param card The {@link CardModel} to store.
+     */
+    private void indexAndAdd(CardModel card) {
+        // The caller may already be changing the card's amount through setCardAmount
+        synchronized (stripeFor(card)) {
+            index(card, nextArrival++);
+            totals.add(card, (long) card.getAmount());
+            queueEvent(listener -> listener.added(card));
+        }
+    }
+
+    /**
+     * Registers a card in the name indexes. Called with the structure lock held.
+     *
+     * @param card    The {@link CardModel} to store.
+     * @param arrival The card's place in the order cards were added, for {@link #getCards()}.
+     */
+    private void index(CardModel card, long arrival) {
+        // Set before the card is published in the indexes, so lock-free readers see it
+        card.setArrival(arrival);
+        String key = card.getKey().getFoldedName();
+        List<CardModel> bucket = cardsByName.get(key);
+        List<CardModel> updated;
+        if (bucket == null) {
+            updated = Collections.singletonList(card);
+        } else {
+            updated = new ArrayList<>(bucket.size() + 1);
+            updated.addAll(bucket);
+            updated.add(card);
+            updated = Collections.unmodifiableList(updated);
+        }
+        cardsByName.put(key, updated);
+        sortedCardsByName.put(key, updated);
+        materializedCount++;
+        if (bucket == null && nameIndex != null) {
+            nameIndex.add(key);
+        }
+        if (attributeIndex != null) {
+            attributeIndex.add(card);
+        }
+        rerank(card);
+    }
+
+    /**
+     * Returns whether this exact card instance is in the name index.
+     */
+    private boolean isIndexed(CardModel card) {
+        List<CardModel> bucket = cardsByName.get(card.getKey().getFoldedName());
+        if (bucket != null) {
+            for (CardModel indexed : bucket) {
+                if (indexed == card) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes a card from the name indexes and the totals, and queues an event announcing it.
+     * Called with the structure lock held.
+     *
+     * @param card The exact {@link CardModel} instance to remove.
+     * @return `true` if the card was present in the collection.
+     */
+    private boolean unindexAndRemove(CardModel card) {
+        String key = card.getKey().getFoldedName();
+        synchronized (stripeFor(card)) {
+            List<CardModel> bucket = cardsByName.get(key);
+            if (bucket == null || !bucket.contains(card)) {
+                return false;
+            }
+            List<CardModel> updated = new ArrayList<>(bucket.size());
+            for (CardModel indexed : bucket) {
+                if (indexed != card) {
+                    updated.add(indexed);
+                }
+            }
+            if (updated.isEmpty()) {
+                cardsByName.remove(key);
+                sortedCardsByName.remove(key);
+                if (nameIndex != null) {
+                    nameIndex.remove(key);
+                }
+            } else {
+                updated = Collections.unmodifiableList(updated);
+                cardsByName.put(key, updated);
+                sortedCardsByName.put(key, updated);
+            }
+            materializedCount--;
+            if (attributeIndex != null) {
+                attributeIndex.remove(card);
+            }
+            ValueRanking ranking = valueRanking;
+            if (ranking != null) {
+                ranking.remove(card);
+            }
+            totals.add(card, -(long) card.getAmount());
+            if (card instanceof StoredCardModel) {
+                // Binders, decks and views may still hold the card, so give it its own copy of the row
+                int row = ((StoredCardModel) card).detach();
+                if (row >= 0) {
+                    store.release(row);
+                }
+            }
+            queueEvent(listener -> listener.removed(card));
+            return true;
+        }
     }
 
     /**
@@ -38,7 +722,15 @@ public class CollectionModel {
      * @return The number of distinct card types in the collection.
      */
     public int getCardCount() {
-        return cards.size();
+        if (coldCards == null) {
+            return materializedCount;
+        }
+        structureLock.lock();
+        try {
+            return coldCards == null ? materializedCount : materializedCount + coldCards.size() - promotedColdCount;
+        } finally {
+            structureLock.unlock();
+        }
     }
 
     /**
@@ -54,32 +746,170 @@ public class CollectionModel {
      * existing card's amount was incremented.
      */
     public boolean addCard(CardModel nCard) {
-        for (CardModel card : cards) {
-            if (card.matches(nCard)) {
-                card.setAmount(card.getAmount() + 1);
-                System.out.println("Duplicate found. Amount increased.");
-                return false;
+        long start = ADD_TIMER.start();
+        try {
+            boolean newEntry;
+            structureLock.lock();
+            try {
+                CardModel card = getMatchingCard(nCard);
+                newEntry = card == null;
+                if (newEntry) {
+                    indexAndAdd(nCard);
+                } else {
+                    synchronized (stripeFor(card)) {
+                        applyAmount(card, card.getAmount() + 1);
+                        queueEvent(listener -> listener.changed(card));
+                    }
+                }
+            } finally {
+                structureLock.unlock();
+            }
+            dispatchEvents();
+            return newEntry;
+        } finally {
+            ADD_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Stores a card with the given amount, replacing the base value and amount of a matching
+     * entry if there is one. Unlike {@link #addCard(CardModel)}, the card is kept in the
+     * collection's primitive store rather than as a caller-supplied object, which is the
+     * cheaper way to load many cards.
+     *
+     * @param name      The card's name.
+     * @param rarity    The card's {@link Rarity}.
+     * @param variant   The card's {@link Variant}.
+     * @param baseValue The card's base value.
+     * @param amount    The card's amount.
+     * @return The {@link CardModel} for the card in this collection.
+     */
+    public CardModel putCard(String name, Rarity rarity, Variant variant, double baseValue, double amount) {
+        long start = PUT_TIMER.start();
+        try {
+            CardModel card;
+            structureLock.lock();
+            try {
+                CardModel existing = getMatchingCard(CardKey.of(name, rarity, variant));
+                if (existing != null) {
+                    synchronized (stripeFor(existing)) {
+                        totals.add(existing, -(long) existing.getAmount());
+                        existing.setValue(baseValue);
+                        existing.setAmount(amount);
+                        if (attributeIndex != null) {
+                            attributeIndex.valueChanged(existing);
+                        }
+                        rerank(existing);
+                        totals.add(existing, (long) existing.getAmount());
+                        queueEvent(listener -> listener.changed(existing));
+                    }
+                    card = existing;
+                } else {
+                    card = newStoredCard(name, rarity, variant, Money.toCents(baseValue), amount);
+                    indexAndAdd(card);
+                }
+            } finally {
+                structureLock.unlock();
+            }
+            dispatchEvents();
+            return card;
+        } finally {
+            PUT_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Adds a batch of cards to the collection, such as the result of a bulk import.
+     * Each card that matches an existing entry (as determined by {@link CardModel#matches(CardModel)})
+     * increases that entry's amount by its own amount; the others are stored as new entries in the
+     * collection's primitive store. Listeners are notified once, after the whole batch is applied.
+     *
+     * @param batch The cards to add. Their amounts give the number of copies of each.
+     * @return The number of cards that were added as new distinct entries.
+     */
+    public int addCards(List<CardModel> batch) {
+        long start = ADD_BATCH_TIMER.start();
+        try {
+            ADD_BATCH_SIZES.record(batch.size());
+            List<CardModel> added = new ArrayList<>();
+            List<CardModel> changed = new ArrayList<>();
+            structureLock.lock();
+            try {
+                for (CardModel incoming : batch) {
+                    CardModel existing = getMatchingCard(incoming);
+                    if (existing != null) {
+                        synchronized (stripeFor(existing)) {
+                            applyAmount(existing, existing.getAmount() + incoming.getAmount());
+                        }
+                        changed.add(existing);
+                    } else {
+                        CardModel card = newStoredCard(incoming.getName(), incoming.getRarity(), incoming.getVariant(),
+                                incoming.getBaseValueCents(), incoming.getAmount());
+                        index(card, nextArrival++);
+                        totals.add(card, (long) card.getAmount());
+                        added.add(card);
+                    }
+                }
+                if (!added.isEmpty() || !changed.isEmpty()) {
+                    queueEvent(listener -> listener.batchApplied(added, changed));
+                }
+            } finally {
+                structureLock.unlock();
+            }
+            dispatchEvents();
+            return added.size();
+        } finally {
+            ADD_BATCH_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Puts a card that was removed from this collection back as the same instance, in its old place in
+     * the order cards were added, so binders, decks and views still holding it see it return. If a matching
+     * entry has been added since, that entry's amount is increased by the card's amount instead.
+     *
+     * @param card The removed {@link CardModel}, carrying the amount it should return with.
+     * @return `true` if the card itself was put back, `false` if its copies were added to a matching entry.
+     */
+    public boolean restoreCard(CardModel card) {
+        boolean restored;
+        structureLock.lock();
+        try {
+            CardModel existing = getMatchingCard(card);
+            restored = existing == null;
+            if (restored) {
+                synchronized (stripeFor(card)) {
+                    index(card, card.getArrival());
+                    totals.add(card, (long) card.getAmount());
+                    queueEvent(listener -> listener.added(card));
+                }
+            } else {
+                synchronized (stripeFor(existing)) {
+                    applyAmount(existing, existing.getAmount() + card.getAmount());
+                    queueEvent(listener -> listener.changed(existing));
+                }
             }
+        } finally {
+            structureLock.unlock();
         }
-        cards.add(nCard);
-        return true;
+        dispatchEvents();
+        return restored;
     }
 
     /**
      * Displays all cards currently in the collection to the console.
-     * {@link CardModel} instances are sorted alphabetically by name before being displayed.
+     * {@link CardModel} instances are displayed alphabetically by name.
      * If the collection is empty, a corresponding message is printed.
      * The output format for each card is "CardName xAmount".
      */
     public void displayCollection() {
-        if (cards.isEmpty()) {
+        List<CardModel> sortedCards = getCardsSortedByName();
+        if (sortedCards.isEmpty()) {
             System.out.println("Collection is empty.");
             return;
         }
         System.out.println("\nYour Collection:");
-        // Sort cards by name for consistent display
-        Collections.sort(cards, Comparator.comparing(CardModel::getName));
-        for (CardModel c : cards) {
+        for (CardModel c : sortedCards) {
             System.out.printf("%s x%.0f\n", c.getName(), c.getAmount());
         }
     }
@@ -97,23 +927,24 @@ public class CollectionModel {
      */
     @Deprecated
     public void modifyCardCount(Scanner scanner) {
-        if (cards.isEmpty()) {
+        List<CardModel> sortedCards = getCardsSortedByName();
+        if (sortedCards.isEmpty()) {
             System.out.println("No cards to modify.");
             return;
         }
 
         System.out.println("Choose a card to modify:");
-        for (int i = 0; i < cards.size(); i++) {
-            System.out.printf("%d - %s x%.0f\n", i + 1, cards.get(i).getName(), cards.get(i).getAmount());
+        for (int i = 0; i < sortedCards.size(); i++) {
+            System.out.printf("%d - %s x%.0f\n", i + 1, sortedCards.get(i).getName(), sortedCards.get(i).getAmount());
         }
 
         int choice = scanner.nextInt() - 1; // Adjust for 0-based indexing
-        if (choice < 0 || choice >= cards.size()) {
+        if (choice < 0 || choice >= sortedCards.size()) {
             System.out.println("Invalid choice.");
             return;
         }
 
-        CardModel selected = cards.get(choice);
+        CardModel selected = sortedCards.get(choice);
         System.out.print("Enter amount to increase/decrease (+/-): ");
         double change = scanner.nextDouble();
         scanner.nextLine(); // Consume newline
@@ -123,14 +954,13 @@ public class CollectionModel {
             System.out.println("Amount cannot go below 0. Set to 0.");
             newAmount = 0;
         }
-        selected.setAmount(newAmount);
+        setCardAmount(selected, newAmount);
         System.out.println("Updated amount: " + (int)newAmount);
     }
 
     /**
      * Displays the detailed properties of a specific card found by its name to the console.
-     * It iterates through the collection and displays details of the first card found
-     * that matches the given name (case-insensitive).
+     * It displays details of the first card found that matches the given name (case-insensitive).
      *
      * @param name The name of the card whose details are to be viewed. Case-insensitive.
      * @deprecated This method is primarily for console-based interaction and
@@ -138,104 +968,600 @@ public class CollectionModel {
      */
     @Deprecated
     public void viewCardDetails(String name) {
-        for (CardModel card : cards) {
-            if (card.getName().equalsIgnoreCase(name)) {
-                System.out.println("=== Card Details ===");
-                System.out.println("Name   : " + card.getName());
-                System.out.println("Rarity : " + card.getRarity());
-                System.out.println("Variant: " + card.getVariant());
-                System.out.printf("Value  : $%.2f\n", card.getValue());
-                System.out.println("Amount : " + (int)card.getAmount());
-                return;
-            }
+        CardModel card = findCardInCollection(this, name);
+        if (card == null) {
+            System.out.println("Card not found in collection.");
+            return;
         }
-        System.out.println("Card not found in collection.");
+        System.out.println("=== Card Details ===");
+        System.out.println("Name   : " + card.getName());
+        System.out.println("Rarity : " + card.getRarity());
+        System.out.println("Variant: " + card.getVariant());
+        System.out.printf("Value  : $%.2f\n", card.getValue());
+        System.out.println("Amount : " + (int)card.getAmount());
     }
 
 
     /**
-     * Retrieves a list of all cards in the collection, sorted alphabetically by name.
-     * The internal order of the collection (`cards` field) remains unchanged.
+     * Retrieves a list of all cards in the collection, sorted alphabetically by name (case-insensitive).
+     * The list is read straight off the ordered name index, so no sorting takes place.
      *
      * @return A new, sorted `List` containing all {@link CardModel} objects from the collection.
      */
     public List<CardModel> getCardsSortedByName() {
-        List<CardModel> sortedCards = new ArrayList<>(cards); // Create a new, mutable copy
+        promoteAllColdRows();
+        List<CardModel> sortedCards = new ArrayList<>(materializedCount);
+        for (List<CardModel> bucket : sortedCardsByName.values()) {
+            sortedCards.addAll(bucket);
+        }
+        return sortedCards;
+    }
+
+    /**
+     * Retrieves a slice of the collection in name order, starting at the first card whose name
+     * is equal to or after `fromName` (case-insensitive) and containing at most `limit` cards.
+     * The cost is proportional to the size of the slice, not the size of the collection.
+     *
+     * @param fromName The name to start from, or `null` to start from the first card.
+     * @param limit    The maximum number of cards to return.
+     * @return A new `List` containing up to `limit` {@link CardModel} objects in name order.
+     */
+    public List<CardModel> getCardsSortedByName(String fromName, int limit) {
+        promoteColdSlice(fromName == null ? null : foldName(fromName), limit);
+        List<CardModel> slice = new ArrayList<>(Math.max(0, Math.min(limit, materializedCount)));
+        NavigableMap<String, List<CardModel>> view = fromName == null
+            ? sortedCardsByName
+            : sortedCardsByName.tailMap(foldName(fromName), true);
+        for (List<CardModel> bucket : view.values()) {
+            for (CardModel card : bucket) {
+                if (slice.size() >= limit) {
+                    return slice;
+                }
+                slice.add(card);
+            }
+        }
+        return slice;
+    }
+
+    /**
+     * Returns every card in the collection, in name order, for walking the collection without copying it,
+     * for example to value it on a worker thread. Iteration is weakly consistent: it never fails
+     * because of concurrent changes, returns each card present throughout at most once, and may or
+     * may not return cards added or removed while it runs. Any cold cards are materialized first.
+     *
+     * @return A live, read-only view of the collection's cards.
+     */
+    public Iterable<CardModel> iterateCardsByName() {
+        promoteAllColdRows();
+        return () -> new Iterator<CardModel>() {
+            private final Iterator<List<CardModel>> buckets = sortedCardsByName.values().iterator();
+            private Iterator<CardModel> bucket = Collections.emptyIterator();
 
-        Collections.sort(sortedCards, new Comparator<CardModel>() {
             @Override
-            public int compare(CardModel card1, CardModel card2) {
-                // Compare card names case-insensitively
-                return card1.getName().compareToIgnoreCase(card2.getName());
+            public boolean hasNext() {
+                while (!bucket.hasNext() && buckets.hasNext()) {
+                    bucket = buckets.next().iterator();
+                }
+                return bucket.hasNext();
             }
-        });
 
-        return sortedCards;
+            @Override
+            public CardModel next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return bucket.next();
+            }
+        };
     }
 
     /**
-     * Returns the internal `ArrayList` of {@link CardModel} objects managed by this collection.
-     * This provides direct access to the underlying list of cards.
+     * Returns a snapshot of the {@link CardModel} objects in this collection, in the order they
+     * were added, as the collection's own list used to hold them. A card removed and added again
+     * counts as added last; cards restored from a snapshot count as added first, in name order.
+     * Changes to the returned list do not affect the collection; add and remove cards through
+     * this class instead. Use {@link #getCardsSortedByName()} for name order.
+     *
+     * Any cold cards are materialized first.
      *
-     * @return The `ArrayList` containing all cards in the collection.
+     * @return A new `List` containing all cards in the collection.
      */
     public List<CardModel> getCards() {
+        List<CardModel> cards = getCardsSortedByName();
+        cards.sort(Comparator.comparingLong(CardModel::getArrival));
         return cards;
     }
 
+    /**
+     * Finds the cards whose names contain the query, ignoring case, for search-as-you-type.
+     * Cards whose names start with the query come first, then the other matches, each group in name order.
+     * <p>
+     * The names starting with the query are read off the ordered name index. The others are found with a
+     * trigram index over every name, built by the first search and then kept up to date as cards are added
+     * and removed, so a search checks a few candidate names rather than the whole collection. Queries
+     * shorter than three characters, and queries matching a large share of the names, walk the names in
+     * order instead and stop once `limit` cards are found. Only the matched cold cards are materialized.
+     *
+     * @param query The text to search for. A blank query returns the first `limit` cards.
+     * @param limit The maximum number of cards to return.
+     * @return A new `List` of at most `limit` matching {@link CardModel} objects.
+     */
+    public List<CardModel> searchByName(String query, int limit) {
+        String key = foldName(query);
+        if (key.isBlank()) {
+            return getCardsSortedByName(null, limit);
+        }
+        structureLock.lock();
+        try {
+            List<String> matchedNames = new ArrayList<>();
+            NameCursor names = new NameCursor(key);
+            for (String name = names.next(); name != null && name.startsWith(key) && matchedNames.size() < limit; name = names.next()) {
+                matchedNames.add(name);
+            }
+
+            int wanted = limit - matchedNames.size();
+            if (wanted > 0 && key.length() < CardNameIndex.GRAM) {
+                matchedNames.addAll(scanNames(key, wanted, Integer.MAX_VALUE));
+            } else if (wanted > 0) {
+                int[] candidates = nameIndex().candidates(key);
+                List<String> found = null;
+                if ((long) candidates.length * candidates.length > (long) wanted * nameIndex.size()) {
+                    // So many names match that walking them in order should find a page sooner than checking
+                    // every candidate; give up and check them after all if it takes as many steps
+                    found = scanNames(key, wanted, candidates.length);
+                }
+                if (found == null) {
+                    found = firstMatches(candidates, key, wanted);
+                }
+                matchedNames.addAll(found);
+            }
+
+            List<CardModel> matches = new ArrayList<>();
+            for (String name : matchedNames) {
+                promoteColdName(name);
+                List<CardModel> bucket = cardsByName.get(name);
+                if (bucket != null) {
+                    for (CardModel card : bucket) {
+                        if (matches.size() < limit) {
+                            matches.add(card);
+                        }
+                    }
+                }
+            }
+            return matches;
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    /**
+     * Builds the name index used by {@link #searchByName(String, int)} now, rather than on the first search.
+     * Building it for a million names takes about a second, so a screen with a search box can call this
+     * on a background thread when it is first shown and keep the first keystroke fast.
+     */
+    public void prepareNameSearch() {
+        structureLock.lock();
+        try {
+            nameIndex();
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    /**
+     * Builds the index used by {@link #findCards(CardQuery)} now, rather than on the first query,
+     * materializing any cold cards. Like {@link #prepareNameSearch()}, this is meant for a background thread.
+     */
+    public void prepareCardQueries() {
+        structureLock.lock();
+        try {
+            attributeIndex();
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    /**
+     * Finds the cards matching a {@link CardQuery}, such as every Legendary Alt Art card worth over $50.
+     * <p>
+     * The query is answered from bitmaps of the cards of each rarity and variant and from an index of the
+     * cards by value, built by the first query and then kept up to date as cards are added, removed and
+     * repriced, so only the matching cards are visited. Amount and name conditions are tested on the cards
+     * the indexed conditions leave. The first query materializes any cold cards.
+     *
+     * @param query The condition the cards must meet.
+     * @return A new `List` of the matching {@link CardModel} objects, in name order.
+     */
+    public List<CardModel> findCards(CardQuery query) {
+        long start = FIND_TIMER.start();
+        try {
+            List<CardModel> matches;
+            structureLock.lock();
+            try {
+                CardAttributeIndex index = attributeIndex();
+                BitSet slots = query.select(index, null);
+                matches = new ArrayList<>(slots.cardinality());
+                for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+                    matches.add(index.card(slot));
+                }
+            } finally {
+                structureLock.unlock();
+            }
+            matches.sort(Comparator.comparing(card -> card.getKey().getFoldedName()));
+            return matches;
+        } finally {
+            FIND_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Returns the cards of this collection ranked by total value (value times amount), for top-N, rank and
+     * percentile queries that do not sort the collection. The ranking is built by the first call, which
+     * materializes any cold cards, and from then on follows every change to the collection.
+     *
+     * @return The live {@link ValueRanking} of this collection; read-only for callers.
+     */
+    public ValueRanking getValueRanking() {
+        ValueRanking ranking = valueRanking;
+        if (ranking != null) {
+            return ranking;
+        }
+        structureLock.lock();
+        try {
+            if (valueRanking == null) {
+                promoteAllColdRows();
+                ranking = new ValueRanking();
+                // Publish before filling, so amount changes made meanwhile reach it; they wait on its lock until it is full
+                synchronized (ranking) {
+                    valueRanking = ranking;
+                    List<CardModel> cards = new ArrayList<>(materializedCount);
+                    for (List<CardModel> bucket : sortedCardsByName.values()) {
+                        cards.addAll(bucket);
+                    }
+                    ranking.rebuild(cards);
+                }
+            }
+            return valueRanking;
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    /**
+     * Counts the cards matching a {@link CardQuery}, as {@link #findCards(CardQuery)} would find them,
+     * without listing them.
+     *
+     * @param query The condition the cards must meet.
+     * @return The number of distinct cards matching it.
+     */
+    public int countCards(CardQuery query) {
+        structureLock.lock();
+        try {
+            return query.select(attributeIndex(), null).cardinality();
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    /**
+     * Walks the names in order for those containing, but not starting with, the key.
+     * Called with the structure lock held.
+     *
+     * @param key    A case-folded search string.
+     * @param wanted The number of names to find.
+     * @param budget The number of names to look at before giving up.
+     * @return Up to `wanted` names in order, or `null` if the budget ran out first.
+     */
+    private List<String> scanNames(String key, int wanted, int budget) {
+        List<String> found = new ArrayList<>();
+        NameCursor names = new NameCursor(null);
+        int steps = 0;
+        for (String name = names.next(); name != null && found.size() < wanted; name = names.next()) {
+            if (++steps > budget) {
+                return null;
+            }
+            if (!name.startsWith(key) && name.contains(key)) {
+                found.add(name);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Checks the candidate names from the name index and keeps the first `wanted` in order that contain,
+     * but do not start with, the key, using a bounded heap rather than sorting every match.
+     * Called with the structure lock held.
+     */
+    private List<String> firstMatches(int[] candidates, String key, int wanted) {
+        PriorityQueue<String> last = new PriorityQueue<>(Collections.reverseOrder());
+        for (int id : candidates) {
+            String name = nameIndex.name(id);
+            if (!name.startsWith(key) && name.contains(key)) {
+                if (last.size() < wanted) {
+                    last.add(name);
+                } else if (name.compareTo(last.peek()) < 0) {
+                    last.poll();
+                    last.add(name);
+                }
+            }
+        }
+        List<String> found = new ArrayList<>(last);
+        Collections.sort(found);
+        return found;
+    }
+
+    /**
+     * Returns the attribute index, building it from every card if this is the first query.
+     * Called with the structure lock held.
+     */
+    private CardAttributeIndex attributeIndex() {
+        if (attributeIndex == null) {
+            promoteAllColdRows();
+            CardAttributeIndex index = new CardAttributeIndex(materializedCount);
+            for (List<CardModel> bucket : sortedCardsByName.values()) {
+                for (CardModel card : bucket) {
+                    index.add(card);
+                }
+            }
+            attributeIndex = index;
+        }
+        return attributeIndex;
+    }
+
+    /**
+     * Returns the name index, building it from every name in the collection if this is the first search.
+     * Called with the structure lock held.
+     */
+    private CardNameIndex nameIndex() {
+        if (nameIndex == null) {
+            CardNameIndex index = new CardNameIndex();
+            NameCursor names = new NameCursor(null);
+            for (String name = names.next(); name != null; name = names.next()) {
+                index.add(name);
+            }
+            nameIndex = index;
+        }
+        return nameIndex;
+    }
+
+    /**
+     * Walks the distinct case-folded names of the collection in order, merging the materialized names
+     * with the cold rows not yet materialized. Used with the structure lock held.
+     */
+    private final class NameCursor {
+        private final Iterator<String> materialized;
+        private String nextMaterialized;
+        private int coldRow;
+        private String nextCold;
+        private String last;
+
+        /**
+         * @param fromKey The case-folded name to start at, or `null` to start at the first name.
+         */
+        NameCursor(String fromKey) {
+            materialized = (fromKey == null ? sortedCardsByName : sortedCardsByName.tailMap(fromKey, true))
+                .keySet().iterator();
+            nextMaterialized = materialized.hasNext() ? materialized.next() : null;
+            coldRow = coldCards == null ? 0 : fromKey == null ? 0 : coldCards.lowerBound(fromKey);
+            nextCold = advanceCold();
+        }
+
+        /**
+         * @return The next name, or `null` after the last one.
+         */
+        String next() {
+            while (nextMaterialized != null || nextCold != null) {
+                String name;
+                if (nextCold == null || (nextMaterialized != null && nextMaterialized.compareTo(nextCold) <= 0)) {
+                    name = nextMaterialized;
+                    nextMaterialized = materialized.hasNext() ? materialized.next() : null;
+                } else {
+                    name = nextCold;
+                    nextCold = advanceCold();
+                }
+                if (!name.equals(last)) {
+                    last = name;
+                    return name;
+                }
+            }
+            return null;
+        }
+
+        private String advanceCold() {
+            if (coldCards == null) {
+                return null;
+            }
+            while (coldRow < coldCards.size()) {
+                int row = coldRow++;
+                if (!promotedColdRows.get(row)) {
+                    return foldName(coldCards.getName(row));
+                }
+            }
+            return null;
+        }
+    }
+
     /**
      * Static helper method to find a specific card within a given collection by its name.
-     * It iterates through the collection's cards and returns the first card that matches
-     * the provided name (case-insensitive).
+     * It returns the first card that matches the provided name (case-insensitive).
      *
      * @param collection The `CollectionModel` object to search within.
      * @param name       The name of the card to find.
      * @return The {@link CardModel} object if found, otherwise `null`.
      */
     public static CardModel findCardInCollection(CollectionModel collection, String name) {
-        for (CardModel c : collection.getCards()) {
-            if (c.getName().equalsIgnoreCase(name)){
-                return c;
-            }
-        }
-        return null;
+        String key = foldName(name);
+        collection.promoteColdName(key);
+        List<CardModel> bucket = collection.cardsByName.get(key);
+        return bucket == null ? null : bucket.get(0);
     }
 
     /**
      * Reduces the amount of a specific card in the collection by one, identified by its name.
      * If the card's amount becomes 0 or less after reduction, the card is removed entirely from the collection.
-     * A message is printed to the console indicating the outcome (amount reduced or card removed).
      *
      * @param name The name of the card to be removed or have its amount reduced. Case-insensitive.
+     * @return The card's remaining amount, `0` if it was removed, or `-1` if no card has the name.
      * @deprecated This method is primarily for console-based interaction and
      * is superseded by GUI-driven removal methods in the controller.
      */
     @Deprecated
-    public void removeCardByName(String name) {
-        for (int i = 0; i < cards.size(); i++) {
-            CardModel card = cards.get(i);
-            if (card.getName().equalsIgnoreCase(name)) {
-                double newAmount = card.getAmount() - 1;
-                if (newAmount <= 0) {
-                    cards.remove(i);
-                    System.out.println("Card removed from collection (amount reached 0).");
-                } else {
-                    card.setAmount(newAmount);
-                    System.out.println("Card amount reduced by 1.");
+    public double removeCardByName(String name) {
+        long start = REMOVE_TIMER.start();
+        try {
+            double remaining = -1;
+            structureLock.lock();
+            try {
+                CardModel card = findCardInCollection(this, name);
+                if (card != null) {
+                    synchronized (stripeFor(card)) {
+                        double newAmount = card.getAmount() - 1;
+                        if (newAmount <= 0) {
+                            unindexAndRemove(card);
+                            remaining = 0;
+                        } else {
+                            remaining = newAmount;
+                            applyAmount(card, newAmount);
+                            queueEvent(listener -> listener.changed(card));
+                        }
+                    }
                 }
-                return; // Exit after finding and processing the first match
+            } finally {
+                structureLock.unlock();
             }
+            dispatchEvents();
+            return remaining;
+        } finally {
+            REMOVE_TIMER.stop(start);
         }
     }
 
     /**
      * Removes a specific {@link CardModel} instance entirely from the collection.
-     * This method directly removes the object reference from the internal list.
      *
      * @param cardModel The {@link CardModel} object to be removed from the collection.
      */
     public void removeCard(CardModel cardModel) {
-        cards.remove(cardModel);
+        long start = REMOVE_TIMER.start();
+        try {
+            structureLock.lock();
+            try {
+                unindexAndRemove(cardModel);
+            } finally {
+                structureLock.unlock();
+            }
+            dispatchEvents();
+        } finally {
+            REMOVE_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Takes copies of several cards out of the collection at once, such as the cards of a sale.
+     * Every card is looked up by its key and checked before anything changes; the amounts are then
+     * decreased in one pass, and the entries left with no copies are removed together in a final
+     * compaction step. The stripe locks of every card are held from the check to the last removal,
+     * so a concurrent change to one of the amounts cannot slip in between. Asking for zero copies of
+     * a card just removes its entry if it has none left. Listeners are notified after the whole batch
+     * is applied.
+     *
+     * @param quantities The number of copies to take of each card, by identity; zero or more each.
+     * @return The number of entries removed because they ran out of copies.
+     * @throws IllegalStateException If a card is not in the collection or has fewer copies than asked for.
+     *                               Nothing has been changed.
+     * @throws IllegalArgumentException If a quantity is negative. Nothing has been changed.
+     */
+    public int removeCards(Map<CardKey, Double> quantities) {
+        long start = REMOVE_BATCH_TIMER.start();
+        try {
+            REMOVE_BATCH_SIZES.record(quantities.size());
+            int[] removed = new int[1];
+            structureLock.lock();
+            try {
+                List<CardModel> entries = new ArrayList<>(quantities.size());
+                BitSet stripeIndexes = new BitSet(LOCK_STRIPES);
+                for (Map.Entry<CardKey, Double> quantity : quantities.entrySet()) {
+                    CardModel card = getMatchingCard(quantity.getKey());
+                    if (card == null) {
+                        throw new IllegalStateException(quantity.getKey().getFoldedName() + " is not in the collection.");
+                    }
+                    if (quantity.getValue() < 0) {
+                        throw new IllegalArgumentException("Cannot remove a negative amount of " + card.getName() + ".");
+                    }
+                    entries.add(card);
+                    stripeIndexes.set(stripeIndex(card));
+                }
+                // Amounts change under the stripes alone, so hold every affected one from the check to the last removal
+                inStripes(stripeIndexes.stream().toArray(), 0, () -> {
+                    for (CardModel card : entries) {
+                        if (card.getAmount() < quantities.get(card.getKey())) {
+                            throw new IllegalStateException("The collection only has " + (long) card.getAmount() + " of "
+                                + card.getName() + ".");
+                        }
+                    }
+                    List<CardModel> emptied = new ArrayList<>();
+                    for (CardModel card : entries) {
+                        double quantity = quantities.get(card.getKey());
+                        if (quantity > 0) {
+                            applyAmount(card, card.getAmount() - quantity);
+                        }
+                        if (card.getAmount() <= 0) {
+                            emptied.add(card);
+                        } else if (quantity > 0) {
+                            queueEvent(listener -> listener.changed(card));
+                        }
+                    }
+                    for (CardModel card : emptied) {
+                        if (unindexAndRemove(card)) {
+                            removed[0]++;
+                        }
+                    }
+                });
+            } finally {
+                structureLock.unlock();
+            }
+            dispatchEvents();
+            return removed[0];
+        } finally {
+            REMOVE_BATCH_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Runs an action while the collection is held still for the cards with the given keys: until it returns,
+     * no other thread can add a card to or remove one from the collection, or change the amount or value
+     * of one of those cards. The action may call any method of this collection. Listeners hear of its
+     * changes once it returns and the locks are released. Used to check and then apply a change spanning
+     * several calls, such as a {@link main.java.model.ModelTransaction}, as one atomic step.
+     *
+     * @param keys   The identities of the cards the action reads or changes, whether or not they are in the collection.
+     * @param action The action to run.
+     */
+    public void runExclusively(Collection<CardKey> keys, Runnable action) {
+        structureLock.lock();
+        try {
+            BitSet stripeIndexes = new BitSet(LOCK_STRIPES);
+            for (CardKey key : keys) {
+                stripeIndexes.set(stripeIndex(key));
+            }
+            inStripes(stripeIndexes.stream().toArray(), 0, action);
+        } finally {
+            structureLock.unlock();
+        }
+        dispatchEvents();
+    }
+
+    /**
+     * Runs an action holding the given stripes, taken in ascending index order.
+     */
+    private void inStripes(int[] stripeIndexes, int from, Runnable action) {
+        if (from == stripeIndexes.length) {
+            action.run();
+            return;
+        }
+        synchronized (stripes[stripeIndexes[from]]) {
+            inStripes(stripeIndexes, from + 1, action);
+        }
     }
 
 
@@ -249,11 +1575,26 @@ public class CollectionModel {
      * @return The matching {@link CardModel} object from the collection, or `null` if no matching card is found.
      */
     public CardModel getMatchingCard(CardModel target) {
-        for (CardModel card : cards) {
-            if (card.matches(target)) {
+        return getMatchingCard(target.getKey());
+    }
+
+    /**
+     * Finds and returns the card in the collection with the given identity.
+     *
+     * @param key The {@link CardKey} of the card to find.
+     * @return The {@link CardModel} with that key, or `null` if the collection has no such card.
+     */
+    public CardModel getMatchingCard(CardKey key) {
+        promoteColdName(key.getFoldedName());
+        List<CardModel> bucket = cardsByName.get(key.getFoldedName());
+        if (bucket == null) {
+            return null;
+        }
+        for (CardModel card : bucket) {
+            if (card.getKey().equals(key)) {
                 return card;
             }
         }
         return null;
     }
-}
\ No newline at end of file
+}
@@ -11,11 +11,8 @@ public class CollectorBinder extends BinderModel{
         this.type = "trade";
     }
 
-    public boolean addCardB(CardModel card) {
-        String rarity = card.getRarity().toString();
-        String variant = card.getVariant().toString();
-        if (!(rarity.equalsIgnoreCase("Rare") || rarity.equalsIgnoreCase("Legendary")) || variant.equalsIgnoreCase("Normal")) {
-            System.out.println("Only Rare/Legendary cards with non-Normal variants can be added to this Collector Binder.");
+    public synchronized boolean addCardB(CardModel card) {
+        if (!isCardAllowed(card)) {
             return false;
         }
         return super.addCardB(card);
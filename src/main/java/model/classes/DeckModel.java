@@ -1,18 +1,32 @@
 package main.java.model.classes;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Scanner;
 
+import main.java.metrics.Metrics;
+import main.java.metrics.Timer;
+import main.java.utilities.Money;
+
 /**
  * The `Deck` class represents a collection of {@link CardModel} objects that form a playable deck.
  * A deck has a name and a limited capacity (maximum of 10 unique cards).
  * It also enforces a rule that only one copy of a specific card (by name) is allowed in the deck.
  * This class provides functionality for managing cards within a deck,
  * as well as a static method for overall deck management (creation, deletion, modification).
+ * <p>
+ * The deck's own methods synchronize on it, so they can be called from several threads.
+ * Code on other threads that walks or changes {@link #getCards()} directly must synchronize on the deck too.
  */
 public class DeckModel {
+    /**
+     * Time taken by each kind of change, shared by every deck, in the application's metrics.
+     */
+    private static final Timer ADD_TIMER = Metrics.timer("deck.add");
+    private static final Timer REMOVE_TIMER = Metrics.timer("deck.remove");
+    private static final Timer VALUE_TIMER = Metrics.timer("deck.value");
+
     /**
      * The name of the deck.
      */
@@ -23,6 +37,12 @@ public class DeckModel {
      */
     protected ArrayList<CardModel> cards;
 
+    /**
+     * Running count and value of the cards in this deck, one copy per entry.
+     * Adding or removing entries keeps it up to date.
+     */
+    private final CardTotals totals;
+
     /**
      * Constructs a new `Deck` with a specified name and initializes an empty list of cards.
      *
@@ -30,7 +50,8 @@ public class DeckModel {
      */
     public DeckModel(String name) {
         this.name = name;
-        this.cards = new ArrayList<>();
+        this.totals = new CardTotals();
+        this.cards = new TrackedCardList(totals, null, false);
     }
 
     /**
@@ -71,6 +92,35 @@ public class DeckModel {
         return cards;
     }
 
+    /**
+     * Checks whether this deck matches a search: its own name or the name of any card in it contains
+     * the search string, ignoring case.
+     *
+     * @param foldedQuery The search string, folded as by {@link CollectionModel#foldName(String)}.
+     * @return `true` if the deck matches.
+     */
+    public synchronized boolean matchesSearch(String foldedQuery) {
+        if (CollectionModel.foldName(name).contains(foldedQuery)) {
+            return true;
+        }
+        for (CardModel card : cards) {
+            if (card.getKey().nameContains(foldedQuery)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the running totals of this deck: its number of cards and their value,
+     * overall and by rarity and variant.
+     *
+     * @return The deck's {@link CardTotals}; read-only for callers.
+     */
+    public CardTotals getTotals() {
+        return totals;
+    }
+
     /**
      * Attempts to add a {@link CardModel} to the deck.
      * A card can only be added if the deck is not already full (max 10 unique cards)
@@ -79,21 +129,23 @@ public class DeckModel {
      * @param card The `Card` object to be added.
      * @return `true` if the card was successfully added, `false` otherwise (deck full or duplicate card name).
      */
-    public boolean addCard(CardModel card) {
-        if (cards.size() >= 10) {
-            System.out.println("Deck is full (max 10 unique cards).");
-            return false;
-        }
-        for (CardModel c : cards) {
-            // Check for unique card name, case-insensitive
-            if (c.getName().equalsIgnoreCase(card.getName())) {
-                System.out.println("Only one copy of this card is allowed in a deck.");
+    public synchronized boolean addCard(CardModel card) {
+        long start = ADD_TIMER.start();
+        try {
+            if (cards.size() >= 10) {
                 return false;
             }
+            for (CardModel c : cards) {
+                // Check for unique card name, case-insensitive
+                if (c.getKey().sameName(card.getKey())) {
+                    return false;
+                }
+            }
+            cards.add(card);
+            return true;
+        } finally {
+            ADD_TIMER.stop(start);
         }
-        cards.add(card);
-        System.out.println(card.getName() + " added to deck.");
-        return true;
     }
 
     /**
@@ -103,16 +155,19 @@ public class DeckModel {
      * @param name The name of the card to be removed.
      * @return `true` if the card was found and removed, `false` if the card was not found in the deck.
      */
-    public boolean removeCard(String name) {
-        for (int i = 0; i < cards.size(); i++) {
-            if (cards.get(i).getName().equalsIgnoreCase(name)) {
-                cards.remove(i);
-                System.out.println("Card removed from deck.");
-                return true;
+    public synchronized boolean removeCard(String name) {
+        long start = REMOVE_TIMER.start();
+        try {
+            for (int i = 0; i < cards.size(); i++) {
+                if (cards.get(i).getName().equalsIgnoreCase(name)) {
+                    cards.remove(i);
+                    return true;
+                }
             }
+            return false;
+        } finally {
+            REMOVE_TIMER.stop(start);
         }
-        System.out.println("Card not found.");
-        return false;
     }
 
     /**
@@ -127,9 +182,10 @@ public class DeckModel {
             return;
         }
         System.out.println("=== " + name + "'s "+ getTypeName() +"===");
-        // Sort cards by name before displaying
-        Collections.sort(cards, Comparator.comparing(CardModel::getName));
-        for (CardModel card : cards) {
+        // Sort a copy by name before displaying; the deck keeps its insertion order
+        List<CardModel> sortedCards = new ArrayList<>(cards);
+        sortedCards.sort(Comparator.comparing(CardModel::getName, String.CASE_INSENSITIVE_ORDER));
+        for (CardModel card : sortedCards) {
             // Displays card details including rarity, variant, and value
             System.out.printf("%s (%s, %s) - $%.2f\n", card.getName(), card.getRarity(), card.getVariant(), card.getValue());
         }
@@ -152,11 +208,21 @@ public class DeckModel {
     }
 
     public double getTotalValue() {
-        double total = 0.0;
-        for (CardModel card : cards) {
-            total += card.getValue();
+        return Money.toDollars(getTotalValueCents());
+    }
+
+    /**
+     * Returns the combined value of one copy of each card in this deck, in cents.
+     *
+     * @return The deck's value in cents.
+     */
+    public long getTotalValueCents() {
+        long start = VALUE_TIMER.start();
+        try {
+            return totals.getValueCents();
+        } finally {
+            VALUE_TIMER.stop(start);
         }
-        return total;
     }
 
     public boolean isSellable() {
@@ -252,8 +318,13 @@ public class DeckModel {
                     if (cardToAdd != null && cardToAdd.getAmount() >= 1) {
                         // Attempt to add card to deck. If successful, decrease amount in collection.
                         if (deck.addCard(cardToAdd)) {
-                            cardToAdd.setAmount(cardToAdd.getAmount() - 1);
+                            collection.setCardAmount(cardToAdd, cardToAdd.getAmount() - 1);
+                            System.out.println(cardToAdd.getName() + " added to deck.");
                             System.out.println("Card \"" + cardToAdd.getName() + "\" quantity in collection reduced by 1.");
+                        } else if (deck.getCards().size() >= 10) {
+                            System.out.println("Deck is full (max 10 unique cards).");
+                        } else {
+                            System.out.println("Only one copy of this card is allowed in a deck.");
                         }
                     } else {
                         System.out.println("Card not found in collection or no copies left.");
@@ -275,9 +346,11 @@ public class DeckModel {
                     if (d.removeCard(removeCardName)) {
                         CardModel cardReturnedToCollection = CollectionModel.findCardInCollection(collection, removeCardName);
                         if (cardReturnedToCollection != null) {
-                            cardReturnedToCollection.setAmount(cardReturnedToCollection.getAmount() + 1);
+                            collection.setCardAmount(cardReturnedToCollection, cardReturnedToCollection.getAmount() + 1);
                             System.out.println("Card \"" + removeCardName + "\" returned to main collection.");
                         }
+                    } else {
+                        System.out.println("Card not found.");
                     }
                     break;
                 case '6':
@@ -300,7 +373,12 @@ public class DeckModel {
                         System.out.println("This is not a Sellable Deck.");
                         break;
                     }
-                    ((SellableDeckModel) sDeck).SellDeck(collection);
+                    long proceeds = ((SellableDeckModel) sDeck).SellDeck(collection);
+                    if (proceeds < 0) {
+                        System.out.println("Sellable deck is empty. Nothing to sell.");
+                        break;
+                    }
+                    System.out.printf("All cards in deck \"%s\" sold. Total value: %s%n", sDeck.getName(), Money.format(proceeds));
                     decks.remove(sDeck);
                     System.out.println("Sellable Deck \"" + sDeck.getName() + "\" has been removed after selling all cards.");
                     break;
@@ -10,10 +10,8 @@ public class LuxuryBinder extends BinderModel{
         this.type = "sell";
     }
 
-    public boolean addCardB(CardModel card) {
-        String variant = card.getVariant().toString();
-        if (variant.equalsIgnoreCase("Normal")) {
-            System.out.println("Only non-Normal variant cards can be added to this Luxury Binder.");
+    public synchronized boolean addCardB(CardModel card) {
+        if (!isCardAllowed(card)) {
             return false;
         }
         return super.addCardB(card);
@@ -30,7 +28,7 @@ public class LuxuryBinder extends BinderModel{
     }
 
     @Override
-    public double getSellMultiplier() {
-        return 1.1;
+    public int getSellMultiplierPercent() {
+        return 110;
     }
 }
@@ -10,10 +10,8 @@ public class PauperBinder extends BinderModel{
         this.type = "sell";
     }
 
-    public boolean addCardB(CardModel card) {
-        String rarity = card.getRarity().toString();
-        if (!rarity.equalsIgnoreCase("Common") && !rarity.equalsIgnoreCase("Uncommon")) {
-            System.out.println("Only Common or Uncommon cards are allowed in a Pauper Binder.");
+    public synchronized boolean addCardB(CardModel card) {
+        if (!isCardAllowed(card)) {
             return false;
         }
         return super.addCardB(card);
@@ -30,7 +28,7 @@ public class PauperBinder extends BinderModel{
     }
 
     @Override
-    public double getSellMultiplier() {
-        return 1.0;
+    public int getSellMultiplierPercent() {
+        return 100;
     }
 }
@@ -10,10 +10,8 @@ public class RaresBinder extends BinderModel{
         this.type = "sell";
     }
 
-    public boolean addCardB(CardModel card) {
-        String rarity = card.getRarity().toString();
-        if (!rarity.equalsIgnoreCase("Rare") && !rarity.equalsIgnoreCase("Legendary")) {
-            System.out.println("Only Rare or Legendary cards are allowed in a Rares Binder.");
+    public synchronized boolean addCardB(CardModel card) {
+        if (!isCardAllowed(card)) {
             return false;
         }
         return super.addCardB(card);
@@ -30,7 +28,7 @@ public class RaresBinder extends BinderModel{
     }
 
     @Override
-    public double getSellMultiplier() {
-        return 1.1;
+    public int getSellMultiplierPercent() {
+        return 110;
     }
 }
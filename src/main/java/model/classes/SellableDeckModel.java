@@ -1,6 +1,8 @@
 package main.java.model.classes;
 
-import java.util.ArrayList;
+import main.java.metrics.Metrics;
+import main.java.metrics.Timer;
+import main.java.model.ModelTransaction;
 
 /**
  * The `SellableDeckModel` class extends {@link DeckModel} to represent a special type of deck
@@ -9,7 +11,12 @@ import java.util.ArrayList;
  * from the main {@link CollectionModel} if they were the last copies).
  */
 public class SellableDeckModel extends DeckModel {
-    
+
+    /**
+     * Time taken to sell a deck, in the application's metrics.
+     */
+    private static final Timer SELL_TIMER = Metrics.timer("deck.sell");
+
     /**
      * Constructs a new `SellableDeckModel` with the specified name.
      * Initializes the deck using the constructor of the superclass {@link DeckModel}.
@@ -21,32 +28,40 @@ public class SellableDeckModel extends DeckModel {
     }
     /**
      * Sells all cards within this sellable deck, permanently removing them from the game
-     * and calculating their total value. The total value is then reported to the console.
-     * This method iterates through a copy of the deck's cards to avoid `ConcurrentModificationException`
-     * during removal. Each card's value is added to a running total, and then the card is
-     * removed from both the deck itself and, if applicable, from the main {@link CollectionModel}
-     * (e.g., if it was the last copy in the player's overall inventory).
+     * and calculating their total value.
+     * One copy of each card is taken out of the main {@link CollectionModel} by a single
+     * {@link ModelTransaction} (removing the entry if it was the last copy in the player's overall
+     * inventory), and the deck is then emptied.
      *
      * @param collection The main {@link CollectionModel} of the player, which may need to be updated
      * if cards from this deck were also present in the main collection and are now being sold.
+     * @return The total value sold, in cents, or `-1` if the deck was empty.
      */
-    public void SellDeck(CollectionModel collection){
-
-        if (cards.isEmpty()) {
-            System.out.println("Sellable deck is empty. Nothing to sell.");
-            return;
-        }
-
-        double dValue = 0.0;
-        ArrayList<CardModel> cardsCopy = new ArrayList<>(cards);
-
-        for (CardModel deckCard : cardsCopy) {
-            dValue += deckCard.getValue();
-
-            this.removeCard(deckCard.getName());
-            collection.removeCardByName(deckCard.getName());
+    public long SellDeck(CollectionModel collection){
+        long start = SELL_TIMER.start();
+        try {
+            ModelTransaction transaction = new ModelTransaction(collection);
+            long dValue;
+            synchronized (this) {
+                if (cards.isEmpty()) {
+                    return -1;
+                }
+                dValue = getTotalValueCents();
+                for (CardModel deckCard : cards) {
+                    CardModel inCollection = collection.getMatchingCard(deckCard);
+                    if (inCollection != null) {
+                        transaction.removeFromCollection(inCollection, Math.min(1, inCollection.getAmount()));
+                    }
+                }
+            }
+            transaction.commit();
+            synchronized (this) {
+                cards.clear();
+            }
+            return dValue;
+        } finally {
+            SELL_TIMER.stop(start);
         }
-        System.out.printf("All cards in deck \"%s\" sold. Total value: $%.2f%n", this.getName(), dValue);
     }
 
     /**
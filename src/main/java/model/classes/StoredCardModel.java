@@ -0,0 +1,172 @@
+package main.java.model.classes;
+
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
+
+/**
+ * A `StoredCardModel` is a flyweight {@link CardModel} whose fields live in a row of a
+ * {@link CardStore}. Reads and writes go straight to the store, so the view itself holds
+ * only a reference and a row number.
+ * <p>
+ * When its card leaves the collection the view is detached: the row's data is copied into
+ * the view's own fields, so binders, decks and controllers that still hold the view keep seeing
+ * a stable card, and the row is released for reuse. The row number is volatile and written only
+ * after the copy, and each accessor reads it once, so a reader on another thread sees either the
+ * row or the complete copy. A reader that read the row number just before the detach may find the
+ * row already reused, so it checks the row's generation after reading and, if the row has moved on,
+ * answers from the copy instead. Writes and the detach are synchronized on the view, so a write is
+ * either copied by the detach or made to the copy, and never lands in a reused row.
+ */
+final class StoredCardModel extends CardModel {
+
+    private final CardStore store;
+
+    /**
+     * The store row backing this view, or -1 once detached.
+     */
+    private volatile int row;
+
+    /**
+     * The generation of the row when this view was created; the row holds this card while it is unchanged.
+     */
+    private final int generation;
+
+    StoredCardModel(CardStore store, int row) {
+        super(null, null, null, 0);
+        this.store = store;
+        this.row = row;
+        this.generation = store.generation(row);
+    }
+
+    /**
+     * Copies the row into this view's own fields and stops reading the store.
+     *
+     * @return The row the view read from, for the caller to release, or -1 if it was already detached.
+     */
+    synchronized int detach() {
+        int current = row;
+        if (current < 0) {
+            return -1;
+        }
+        super.setName(store.getName(current));
+        super.setRarity(store.getRarity(current));
+        super.setVariant(store.getVariant(current));
+        super.setValueCents(store.getBaseValueCents(current));
+        super.setAmount(store.getAmount(current));
+        row = -1;
+        return current;
+    }
+
+    @Override
+    public synchronized void setName(String name) {
+        int current = row;
+        if (current < 0) {
+            super.setName(name);
+        } else {
+            store.setName(current, name);
+            invalidateKey();
+        }
+    }
+
+    @Override
+    public String getName() {
+        int current = row;
+        if (current >= 0) {
+            String name = store.getName(current);
+            if (store.isCurrent(current, generation)) {
+                return name;
+            }
+        }
+        return super.getName();
+    }
+
+    @Override
+    public synchronized void setRarity(Rarity rarity) {
+        int current = row;
+        if (current < 0) {
+            super.setRarity(rarity);
+        } else {
+            store.setRarity(current, rarity);
+            invalidateKey();
+        }
+    }
+
+    @Override
+    public Rarity getRarity() {
+        int current = row;
+        if (current >= 0) {
+            Rarity rarity = store.getRarity(current);
+            if (store.isCurrent(current, generation)) {
+                return rarity;
+            }
+        }
+        return super.getRarity();
+    }
+
+    @Override
+    public synchronized void setVariant(Variant variant) {
+        int current = row;
+        if (current < 0) {
+            super.setVariant(variant);
+        } else {
+            store.setVariant(current, variant);
+            invalidateKey();
+        }
+    }
+
+    @Override
+    public Variant getVariant() {
+        int current = row;
+        if (current >= 0) {
+            Variant variant = store.getVariant(current);
+            if (store.isCurrent(current, generation)) {
+                return variant;
+            }
+        }
+        return super.getVariant();
+    }
+
+    @Override
+    public synchronized void setValueCents(long valueCents) {
+        int current = row;
+        if (current < 0) {
+            super.setValueCents(valueCents);
+        } else {
+            store.setBaseValueCents(current, valueCents);
+        }
+    }
+
+    @Override
+    public long getBaseValueCents() {
+        int current = row;
+        if (current >= 0) {
+            long valueCents = store.getBaseValueCents(current);
+            if (store.isCurrent(current, generation)) {
+                return valueCents;
+            }
+        }
+        return super.getBaseValueCents();
+    }
+
+    @Override
+    public synchronized void setAmount(double amount) {
+        int current = row;
+        if (current < 0) {
+            super.setAmount(amount);
+        } else {
+            store.setAmount(current, amount);
+        }
+    }
+
+    @Override
+    public double getAmount() {
+        int current = row;
+        if (current >= 0) {
+            double amount = store.getAmount(current);
+            if (store.isCurrent(current, generation)) {
+                return amount;
+            }
+        }
+        return super.getAmount();
+    }
+}
@@ -0,0 +1,170 @@
+package main.java.model.classes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A `TrackedCardList` is the card list of a {@link BinderModel} or {@link DeckModel}.
+ * It adjusts the owner's {@link CardTotals} whenever a card is added or removed,
+ * including through `getCards()`, so the owner's valuation never has to rescan the list.
+ * Single-element changes cost O(1); bulk removals recount the list.
+ * A binder's list also keeps its {@link ValueRanking} in step, at O(log n) per change.
+ */
+final class TrackedCardList extends ArrayList<CardModel> {
+    private static final long serialVersionUID = 1L;
+
+    private final CardTotals totals;
+
+    /**
+     * The owner's ranking of its entries by total value, or `null` if it keeps none.
+     */
+    private final ValueRanking ranking;
+
+    /**
+     * `true` if each entry counts as its amount of copies (binders),
+     * `false` if each entry counts as one copy (decks).
+     */
+    private final boolean countAmounts;
+
+    TrackedCardList(CardTotals totals, ValueRanking ranking, boolean countAmounts) {
+        this.totals = totals;
+        this.ranking = ranking;
+        this.countAmounts = countAmounts;
+    }
+
+    /**
+     * Returns the number of copies an entry contributes to the totals.
+     */
+    long copiesOf(CardModel card) {
+        return countAmounts ? (long) card.getAmount() : 1;
+    }
+
+    private void count(CardModel card, int sign) {
+        totals.add(card, sign * copiesOf(card));
+        if (ranking != null) {
+            if (sign > 0) {
+                ranking.update(card);
+            } else {
+                ranking.remove(card);
+            }
+        }
+    }
+
+    private void recount() {
+        totals.clear();
+        for (CardModel card : this) {
+            totals.add(card, copiesOf(card));
+        }
+        if (ranking != null) {
+            ranking.rebuild(this);
+        }
+    }
+
+    @Override
+    public boolean add(CardModel card) {
+        super.add(card);
+        count(card, 1);
+        return true;
+    }
+
+    @Override
+    public void add(int index, CardModel card) {
+        super.add(index, card);
+        count(card, 1);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends CardModel> cards) {
+        for (CardModel card : cards) {
+            count(card, 1);
+        }
+        return super.addAll(cards);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends CardModel> cards) {
+        for (CardModel card : cards) {
+            count(card, 1);
+        }
+        return super.addAll(index, cards);
+    }
+
+    @Override
+    public CardModel set(int index, CardModel card) {
+        CardModel previous = super.set(index, card);
+        count(previous, -1);
+        count(card, 1);
+        return previous;
+    }
+
+    @Override
+    public CardModel remove(int index) {
+        CardModel removed = super.remove(index);
+        count(removed, -1);
+        return removed;
+    }
+
+    @Override
+    public boolean remove(Object card) {
+        int index = indexOf(card);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        totals.clear();
+        if (ranking != null) {
+            ranking.clear();
+        }
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        super.removeRange(fromIndex, toIndex);
+        recount();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super CardModel> filter) {
+        boolean changed = super.removeIf(filter);
+        recount();
+        return changed;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> cards) {
+        boolean changed = super.removeAll(cards);
+        recount();
+        return changed;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> cards) {
+        boolean changed = super.retainAll(cards);
+        recount();
+        return changed;
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<CardModel> operator) {
+        super.replaceAll(operator);
+        recount();
+    }
+
+    /**
+     * Returns a read-only view of a range, since changes through a sublist would bypass the totals.
+     */
+    @Override
+    public List<CardModel> subList(int fromIndex, int toIndex) {
+        return Collections.unmodifiableList(super.subList(fromIndex, toIndex));
+    }
+}
@@ -0,0 +1,386 @@
+package main.java.model.classes;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import main.java.metrics.Metrics;
+import main.java.metrics.Timer;
+
+/**
+ * A `ValueRanking` orders the card entries of a {@link CollectionModel} or {@link BinderModel} by total value,
+ * as given by {@link CardModel#getTotalPriceCents()}, most valuable first.
+ * <p>
+ * The entries are kept in a treap (a binary search tree balanced by random priorities) in which every node
+ * knows the size of its subtree. The owner repositions an entry whenever its amount or price changes, in
+ * O(log n), so the ranking is always current without sorting:
+ * <ul>
+ *   <li>{@link #rankOf(CardModel)} and {@link #valueAtPercentile(double)} walk one path down the tree, in O(log n).</li>
+ *   <li>{@link #top(int)} walks the first `k` entries in order, in O(k + log n).</li>
+ * </ul>
+ * Entries of equal value rank in the order they were first added. Each entry is tracked by identity.
+ * <p>
+ * Every method is synchronized, so the ranking can be read while the owner changes it. Like {@link CardTotals},
+ * it takes no other lock while holding its own, so owners may update it under theirs.
+ */
+public final class ValueRanking {
+    private static final Timer RANK_TIMER = Metrics.timer("ranking.rank");
+    private static final Timer TOP_TIMER = Metrics.timer("ranking.top");
+    private static final Timer AT_RANK_TIMER = Metrics.timer("ranking.atRank");
+    private static final Timer PERCENTILE_TIMER = Metrics.timer("ranking.percentile");
+
+    private static final class Node {
+        private final CardModel card;
+        private final long sequence;
+        private final int priority;
+        private long valueCents;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(CardModel card, long sequence, int priority) {
+            this.card = card;
+            this.sequence = sequence;
+            this.priority = priority;
+        }
+    }
+
+    private final Map<CardModel, Node> nodes = new IdentityHashMap<>();
+    private Node root;
+    private long nextSequence;
+    private int seed = 0x2545F491;
+
+    /**
+     * Adds an entry, or moves it to its place for its current value if it is already ranked.
+     *
+     * @param card The entry.
+     */
+    synchronized void update(CardModel card) {
+        long valueCents = card.getTotalPriceCents();
+        Node node = nodes.get(card);
+        if (node == null) {
+            node = new Node(card, nextSequence++, nextPriority());
+            node.valueCents = valueCents;
+            nodes.put(card, node);
+            root = insert(root, node);
+        } else if (node.valueCents != valueCents) {
+            root = delete(root, node);
+            node.valueCents = valueCents;
+            node.left = null;
+            node.right = null;
+            node.size = 1;
+            root = insert(root, node);
+        }
+    }
+
+    /**
+     * Removes an entry.
+     *
+     * @param card The entry; nothing happens if it is not ranked.
+     */
+    synchronized void remove(CardModel card) {
+        Node node = nodes.remove(card);
+        if (node != null) {
+            root = delete(root, node);
+        }
+    }
+
+    /**
+     * Removes every entry.
+     */
+    synchronized void clear() {
+        nodes.clear();
+        root = null;
+    }
+
+    /**
+     * Replaces every entry with the given ones. Rather than inserting them one by one, sorts them and
+     * builds the tree in a single pass, which is several times faster for a large collection.
+     *
+     * @param cards The entries, each listed once.
+     */
+    synchronized void rebuild(Collection<CardModel> cards) {
+        nodes.clear();
+        Node[] ordered = new Node[cards.size()];
+        int count = 0;
+        for (CardModel card : cards) {
+            Node node = new Node(card, nextSequence++, nextPriority());
+            node.valueCents = card.getTotalPriceCents();
+            nodes.put(card, node);
+            ordered[count++] = node;
+        }
+        Arrays.sort(ordered, 0, count, (a, b) -> a == b ? 0 : precedes(a, b) ? -1 : 1);
+        // Build the tree left to right: each node adopts the lower-priority nodes on the right edge as its left subtree
+        Deque<Node> rightEdge = new ArrayDeque<>();
+        for (int i = 0; i < count; i++) {
+            Node node = ordered[i];
+            Node adopted = null;
+            while (!rightEdge.isEmpty() && rightEdge.peek().priority < node.priority) {
+                adopted = rightEdge.pop();
+            }
+            node.left = adopted;
+            if (!rightEdge.isEmpty()) {
+                rightEdge.peek().right = node;
+            }
+            rightEdge.push(node);
+        }
+        root = rightEdge.peekLast();
+        fixSizes(root);
+    }
+
+    /**
+     * Returns the number of ranked entries.
+     */
+    public synchronized int size() {
+        return size(root);
+    }
+
+    /**
+     * Returns the rank of an entry by total value.
+     *
+     * @param card The entry.
+     * @return Its rank, 1 for the most valuable, or -1 if it is not ranked.
+     */
+    public synchronized int rankOf(CardModel card) {
+        long start = RANK_TIMER.start();
+        try {
+            return rank(card);
+        } finally {
+            RANK_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Returns the most valuable entries, most valuable first.
+     *
+     * @param limit The most entries to return.
+     * @return A new `List` of at most `limit` entries.
+     */
+    public synchronized List<CardModel> top(int limit) {
+        long start = TOP_TIMER.start();
+        try {
+            List<CardModel> result = new ArrayList<>(Math.max(0, Math.min(limit, size(root))));
+            Deque<Node> path = new ArrayDeque<>();
+            Node current = root;
+            while (result.size() < limit && (current != null || !path.isEmpty())) {
+                while (current != null) {
+                    path.push(current);
+                    current = current.left;
+                }
+                Node next = path.pop();
+                result.add(next.card);
+                current = next.right;
+            }
+            return result;
+        } finally {
+            TOP_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Returns the entry at a rank.
+     *
+     * @param rank The rank, 1 for the most valuable.
+     * @return The entry, or `null` if the rank is out of range.
+     */
+    public synchronized CardModel atRank(int rank) {
+        long start = AT_RANK_TIMER.start();
+        try {
+            Node node = select(rank);
+            return node == null ? null : node.card;
+        } finally {
+            AT_RANK_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Returns the percentage of ranked entries worth less than an entry, so the most valuable of
+     * a hundred entries is at the 99th percentile and the least valuable at the 0th.
+     *
+     * @param card The entry.
+     * @return The percentile, from 0 to 100, or -1 if the entry is not ranked.
+     */
+    public synchronized double percentileOf(CardModel card) {
+        long start = PERCENTILE_TIMER.start();
+        try {
+            int rank = rank(card);
+            return rank < 0 ? -1 : 100.0 * (size(root) - rank) / size(root);
+        } finally {
+            PERCENTILE_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Returns the total value at a percentile by the nearest-rank method: the lowest value at least
+     * `percentile` percent of the entries are worth no more than. The 50th percentile is the median
+     * holding and the 100th the most valuable one.
+     *
+     * @param percentile From 0 to 100.
+     * @return The value in cents, or 0 if nothing is ranked.
+     * @throws IllegalArgumentException If the percentile is out of range.
+     */
+    public synchronized long valueAtPercentile(double percentile) {
+        long start = PERCENTILE_TIMER.start();
+        try {
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("Percentile " + percentile + " is not between 0 and 100.");
+            }
+            int count = size(root);
+            if (count == 0) {
+                return 0;
+            }
+            int fromBottom = Math.max(1, (int) Math.ceil(percentile / 100 * count));
+            return select(count - fromBottom + 1).valueCents;
+        } finally {
+            PERCENTILE_TIMER.stop(start);
+        }
+    }
+
+    // ----- Treap -----
+
+    /**
+     * Returns the rank of an entry, or -1 if it is not ranked, walking the path from the root to it.
+     */
+    private int rank(CardModel card) {
+        Node node = nodes.get(card);
+        if (node == null) {
+            return -1;
+        }
+        int before = 0;
+        Node current = root;
+        while (current != node) {
+            if (precedes(node, current)) {
+                current = current.left;
+            } else {
+                before += size(current.left) + 1;
+                current = current.right;
+            }
+        }
+        return before + size(node.left) + 1;
+    }
+
+    /**
+     * Returns whether `a` ranks before `b`: it is worth more, or as much and was added first.
+     */
+    private static boolean precedes(Node a, Node b) {
+        return a.valueCents != b.valueCents ? a.valueCents > b.valueCents : a.sequence < b.sequence;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node fix(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    private static void fixSizes(Node node) {
+        if (node != null) {
+            fixSizes(node.left);
+            fixSizes(node.right);
+            fix(node);
+        }
+    }
+
+    private static Node insert(Node subtree, Node node) {
+        if (subtree == null) {
+            return node;
+        }
+        if (node.priority > subtree.priority) {
+            // The new node belongs above this subtree: split the subtree around it
+            Node[] parts = split(subtree, node);
+            node.left = parts[0];
+            node.right = parts[1];
+            return fix(node);
+        }
+        if (precedes(node, subtree)) {
+            subtree.left = insert(subtree.left, node);
+        } else {
+            subtree.right = insert(subtree.right, node);
+        }
+        return fix(subtree);
+    }
+
+    /**
+     * Splits a subtree into the nodes ranking before `pivot` and those ranking after it.
+     */
+    private static Node[] split(Node subtree, Node pivot) {
+        if (subtree == null) {
+            return new Node[2];
+        }
+        if (precedes(subtree, pivot)) {
+            Node[] parts = split(subtree.right, pivot);
+            subtree.right = parts[0];
+            parts[0] = fix(subtree);
+            return parts;
+        }
+        Node[] parts = split(subtree.left, pivot);
+        subtree.left = parts[1];
+        parts[1] = fix(subtree);
+        return parts;
+    }
+
+    private static Node delete(Node subtree, Node node) {
+        if (subtree == node) {
+            return merge(node.left, node.right);
+        }
+        if (precedes(node, subtree)) {
+            subtree.left = delete(subtree.left, node);
+        } else {
+            subtree.right = delete(subtree.right, node);
+        }
+        return fix(subtree);
+    }
+
+    /**
+     * Joins two subtrees, every node of `first` ranking before every node of `second`.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            return fix(first);
+        }
+        second.left = merge(first, second.left);
+        return fix(second);
+    }
+
+    private Node select(int rank) {
+        if (rank < 1 || rank > size(root)) {
+            return null;
+        }
+        Node current = root;
+        while (true) {
+            int leftSize = size(current.left);
+            if (rank <= leftSize) {
+                current = current.left;
+            } else if (rank == leftSize + 1) {
+                return current;
+            } else {
+                rank -= leftSize + 1;
+                current = current.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the next pseudo-random priority, from an xorshift generator.
+     */
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+}
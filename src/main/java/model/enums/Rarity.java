@@ -45,6 +45,16 @@ public enum Rarity {
         }
     }
 
+    /**
+     * Returns whether cards of this rarity can have a {@link Variant} other than {@link Variant#INVALID}.
+     * Only {@link #RARE} and {@link #LEGENDARY} cards have variants.
+     *
+     * @return `true` if this rarity allows variants.
+     */
+    public boolean allowsVariants() {
+        return this == RARE || this == LEGENDARY;
+    }
+
     /**
      * Returns a user-friendly string representation of the rarity level.
      * This method overrides the default `Object.toString()` method.
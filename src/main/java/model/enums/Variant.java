@@ -1,5 +1,7 @@
 package main.java.model.enums;
 
+import main.java.utilities.Money;
+
 /**
  * Defines the possible visual variants for collectible cards, particularly
  * for those of Rare or Legendary rarity. Each variant has an associated
@@ -9,37 +11,37 @@ public enum Variant {
     /**
      * This variant is just a placeholder for cards with no variants.
      */
-    INVALID(1.0),
+    INVALID(100),
     /**
      * This variant applies no additional multiplier to the card's base value.
      */
-    NORMAL(1.0),
+    NORMAL(100),
     /**
      * This variant increases the card's base value by 50%.
      */
-    EXTENDED_ART(1.5),
+    EXTENDED_ART(150),
     /**
      * This variant increases the card's base value by 100%.
      */
-    FULL_ART(2.0),
+    FULL_ART(200),
     /**
      * This variant significantly increases the card's base value by 200%.
      */
-    ALT_ART(3.0);
+    ALT_ART(300);
 
     /**
-     * The monetary value multiplier associated with this variant.
-     * This multiplier is applied to the card's base value.
+     * The monetary value multiplier associated with this variant, in percent.
+     * Keeping it as an integer lets {@link #applyTo(long)} scale amounts in cents exactly.
      */
-    private final double multiplier;
+    private final int multiplierPercent;
 
     /**
      * Constructs a `Variant` enum constant with a specific value multiplier.
      *
-     * @param multiplier The factor by which a card's base value is increased for this variant.
+     * @param multiplierPercent The factor by which a card's base value is increased for this variant, in percent.
      */
-    Variant(double multiplier) {
-        this.multiplier = multiplier;
+    Variant(int multiplierPercent) {
+        this.multiplierPercent = multiplierPercent;
     }
 
     /**
@@ -48,7 +50,17 @@ public enum Variant {
      * @return The multiplier (e.g., 1.0 for Normal, 1.5 for Extended-art).
      */
     public double getMultiplier() {
-        return multiplier;
+        return multiplierPercent / 100.0;
+    }
+
+    /**
+     * Applies this variant's multiplier to an amount in cents, rounding to the nearest cent.
+     *
+     * @param cents The base amount in cents.
+     * @return The amount with the multiplier applied, in cents.
+     */
+    public long applyTo(long cents) {
+        return Money.scale(cents, multiplierPercent, 100);
     }
 
     /**
@@ -0,0 +1,54 @@
+package main.java.model.events;
+
+import java.util.List;
+
+/**
+ * A `ModelChangeListener` is notified of fine-grained changes to a part of the model,
+ * such as the cards in a {@link main.java.model.classes.CollectionModel} or the binders
+ * and decks held by the {@link main.java.model.MainModel}.
+ * Views use these notifications to patch only the components affected by a change
+ * instead of rebuilding their whole display.
+ *
+ * @param <T> The type of model object being added, removed or changed.
+ */
+public interface ModelChangeListener<T> {
+
+    /**
+     * Called after an item has been added to the model.
+     *
+     * @param item The item that was added.
+     */
+    void added(T item);
+
+    /**
+     * Called after an item has been removed from the model.
+     *
+     * @param item The item that was removed.
+     */
+    void removed(T item);
+
+    /**
+     * Called after the state of an item already in the model has changed,
+     * for example a card's amount or the contents of a binder.
+     *
+     * @param item The item that changed.
+     */
+    void changed(T item);
+
+    /**
+     * Called once after a batch of items has been added or changed together, such as a bulk import.
+     * Listeners that redraw their whole display should override this to refresh once per batch;
+     * by default each item is forwarded to {@link #added(Object)} or {@link #changed(Object)}.
+     *
+     * @param addedItems   The items that were added, in the order they were added.
+     * @param changedItems The items already in the model that changed.
+     */
+    default void batchApplied(List<T> addedItems, List<T> changedItems) {
+        for (T item : addedItems) {
+            added(item);
+        }
+        for (T item : changedItems) {
+            changed(item);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package main.java.model.events;
+
+/**
+ * A `TransactionListener` is told when a {@link main.java.model.ModelTransaction} over the
+ * {@link main.java.model.MainModel} starts and finishes committing. Every change notification
+ * the transaction causes, to any listener, arrives between the two calls, so a listener that
+ * records changes, such as the journal, can keep them together.
+ * <p>
+ * Transactions may overlap with changes made outside any transaction, whose notifications can
+ * also arrive between the two calls.
+ */
+public interface TransactionListener {
+
+    /**
+     * Called before a transaction checks or changes anything.
+     */
+    void transactionStarted();
+
+    /**
+     * Called once every change of the transaction has been notified, whether it committed or
+     * rolled back.
+     */
+    void transactionFinished();
+}
@@ -0,0 +1,635 @@
+package main.java.model.persistence;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import main.java.model.classes.CardKey;
+import main.java.model.classes.CardModel;
+import main.java.model.classes.CollectionModel;
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
+
+/**
+ * The `CardImporter` class reads a card list from a CSV or JSON file so that it can be added to a
+ * {@link CollectionModel} in one batch with {@link CollectionModel#addCards(List)}.
+ * <p>
+ * The file is streamed: rows are parsed and validated in chunks of {@link #CHUNK_SIZE}, progress is
+ * reported after each chunk, and only the merged result is kept in memory. Rows are validated with
+ * the same rules as the "Add New Card" form: a name is required, the value must be a positive number,
+ * and only {@link Rarity#RARE} and {@link Rarity#LEGENDARY} cards may have a {@link Variant}.
+ * Rows for the same card (as determined by {@link CardModel#matches(CardModel)}) are merged by
+ * adding their amounts; the first row's value is kept.
+ * <p>
+ * CSV files need a header row naming the columns `name`, `rarity` and `value`, and optionally
+ * `variant` and `amount`, in any order. JSON files hold an array of objects with the same keys.
+ * Rarities and variants are given by their display names ("Legendary", "Full Art") or constant
+ * names ("FULL_ART"), ignoring case.
+ */
+public final class CardImporter {
+
+    /**
+     * Number of rows parsed between two progress reports.
+     */
+    public static final int CHUNK_SIZE = 10_000;
+
+    /**
+     * Number of rejected rows whose reasons are kept in the {@link Result}.
+     */
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    /**
+     * Receives progress reports while a file is being imported.
+     */
+    public interface ProgressListener {
+
+        /**
+         * Called after each chunk of rows and once more at the end of the file.
+         *
+         * @param rowsRead   The number of rows parsed so far.
+         * @param bytesRead  The number of bytes of the file consumed so far.
+         * @param totalBytes The size of the file in bytes.
+         */
+        void progress(long rowsRead, long bytesRead, long totalBytes);
+    }
+
+    /**
+     * The outcome of an import: the merged cards ready to be added, and what was read to get them.
+     */
+    public static final class Result {
+        private final List<CardModel> cards;
+        private final long rowsRead;
+        private final long rowsRejected;
+        private final List<String> errors;
+        private final long elapsedNanos;
+
+        private Result(List<CardModel> cards, long rowsRead, long rowsRejected, List<String> errors, long elapsedNanos) {
+            this.cards = cards;
+            this.rowsRead = rowsRead;
+            this.rowsRejected = rowsRejected;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Returns the distinct cards read, each with the combined amount of its rows.
+         *
+         * @return The cards to add to the collection.
+         */
+        public List<CardModel> getCards() {
+            return cards;
+        }
+
+        /**
+         * Returns the number of data rows read, valid or not.
+         *
+         * @return The number of rows read.
+         */
+        public long getRowsRead() {
+            return rowsRead;
+        }
+
+        /**
+         * Returns the number of rows that failed validation and were skipped.
+         *
+         * @return The number of rejected rows.
+         */
+        public long getRowsRejected() {
+            return rowsRejected;
+        }
+
+        /**
+         * Returns the number of valid rows that were merged into an earlier row for the same card.
+         *
+         * @return The number of merged rows.
+         */
+        public long getRowsMerged() {
+            return rowsRead - rowsRejected - cards.size();
+        }
+
+        /**
+         * Returns the reasons the first rejected rows were skipped, each prefixed with its row number.
+         *
+         * @return The first twenty error messages at most.
+         */
+        public List<String> getErrors() {
+            return errors;
+        }
+
+        /**
+         * Returns the time spent reading and validating the file.
+         *
+         * @return The elapsed time in nanoseconds.
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Returns the import throughput.
+         *
+         * @return The number of rows read per second.
+         */
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : rowsRead * 1e9 / elapsedNanos;
+        }
+    }
+
+    /**
+     * Thrown while parsing a single row; the row is rejected and the import continues.
+     */
+    private static final class RowException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        RowException(String message) {
+            super(message);
+        }
+    }
+
+    private final ProgressListener listener;
+    private final long totalBytes;
+    private final CountingInputStream input;
+
+    private final Map<CardKey, CardModel> merged = new LinkedHashMap<>();
+    private final List<String> errors = new ArrayList<>();
+    private long rowsRead;
+    private long rowsRejected;
+
+    private CardImporter(InputStream input, long totalBytes, ProgressListener listener) {
+        this.input = new CountingInputStream(input);
+        this.totalBytes = totalBytes;
+        this.listener = listener;
+    }
+
+    /**
+     * Imports a card list, choosing the format from the file extension:
+     * `.json` files are read as JSON and every other file as CSV.
+     *
+     * @param path     The file to import.
+     * @param listener Receives progress reports, or `null`.
+     * @return The merged cards and import statistics.
+     * @throws IOException If the file cannot be read or its structure (not a single row) is malformed.
+     */
+    public static Result importFile(Path path, ProgressListener listener) throws IOException {
+        boolean json = path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json");
+        try (InputStream in = Files.newInputStream(path)) {
+            CardImporter importer = new CardImporter(in, Files.size(path), listener);
+            return json ? importer.readJson() : importer.readCsv();
+        }
+    }
+
+    /**
+     * Imports a CSV card list from a stream.
+     *
+     * @param in         The stream to read; not closed by this method.
+     * @param totalBytes The stream's length for progress reports, or 0 if unknown.
+     * @param listener   Receives progress reports, or `null`.
+     * @return The merged cards and import statistics.
+     * @throws IOException If the stream cannot be read or has no valid header.
+     */
+    public static Result importCsv(InputStream in, long totalBytes, ProgressListener listener) throws IOException {
+        return new CardImporter(in, totalBytes, listener).readCsv();
+    }
+
+    /**
+     * Imports a JSON card list from a stream.
+     *
+     * @param in         The stream to read; not closed by this method.
+     * @param totalBytes The stream's length for progress reports, or 0 if unknown.
+     * @param listener   Receives progress reports, or `null`.
+     * @return The merged cards and import statistics.
+     * @throws IOException If the stream cannot be read or is not an array of objects.
+     */
+    public static Result importJson(InputStream in, long totalBytes, ProgressListener listener) throws IOException {
+        return new CardImporter(in, totalBytes, listener).readJson();
+    }
+
+    /**
+     * Opens a buffered UTF-8 reader over the file, skipping a leading byte order mark.
+     */
+    private Reader newReader() throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+        return reader;
+    }
+
+    // ----- CSV -----
+
+    private Result readCsv() throws IOException {
+        long start = System.nanoTime();
+        Reader reader = newReader();
+        List<String> fields = new ArrayList<>();
+        if (!readCsvRecord(reader, fields)) {
+            throw new IOException("The file is empty.");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            columns.put(fields.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        int nameColumn = requireColumn(columns, "name");
+        int rarityColumn = requireColumn(columns, "rarity");
+        int valueColumn = requireColumn(columns, "value");
+        int variantColumn = columns.getOrDefault("variant", -1);
+        int amountColumn = columns.getOrDefault("amount", -1);
+
+        while (readCsvRecord(reader, fields)) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue; // blank line
+            }
+            acceptRow(field(fields, nameColumn), field(fields, rarityColumn), field(fields, variantColumn),
+                    field(fields, valueColumn), field(fields, amountColumn));
+        }
+        return finish(start);
+    }
+
+    private static int requireColumn(Map<String, Integer> columns, String name) throws IOException {
+        Integer index = columns.get(name);
+        if (index == null) {
+            throw new IOException("The header has no \"" + name + "\" column.");
+        }
+        return index;
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column) : null;
+    }
+
+    /**
+     * Reads one CSV record into `fields`, handling quoted fields with embedded commas,
+     * doubled quotes and line breaks.
+     *
+     * @return `false` at the end of the stream.
+     */
+    private static boolean readCsvRecord(Reader reader, List<String> fields) throws IOException {
+        fields.clear();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int c = reader.read();
+        if (c < 0) {
+            return false;
+        }
+        while (c >= 0) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return true;
+    }
+
+    // ----- JSON -----
+
+    private Result readJson() throws IOException {
+        long start = System.nanoTime();
+        JsonReader json = new JsonReader(newReader());
+        json.expect('[');
+        if (!json.consumeIf(']')) {
+            do {
+                Map<String, String> object = json.readFlatObject();
+                acceptRow(object.get("name"), object.get("rarity"), object.get("variant"),
+                        object.get("value"), object.get("amount"));
+            } while (json.consumeIf(','));
+            json.expect(']');
+        }
+        return finish(start);
+    }
+
+    /**
+     * A minimal streaming reader for an array of flat JSON objects whose values are
+     * strings, numbers, booleans or `null`.
+     */
+    private static final class JsonReader {
+        private final Reader reader;
+        private int peeked = -2;
+
+        JsonReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        private int peek() throws IOException {
+            if (peeked == -2) {
+                peeked = reader.read();
+            }
+            return peeked;
+        }
+
+        private int next() throws IOException {
+            int c = peek();
+            peeked = -2;
+            return c;
+        }
+
+        private void skipWhitespace() throws IOException {
+            while (Character.isWhitespace(peek())) {
+                next();
+            }
+        }
+
+        void expect(char expected) throws IOException {
+            skipWhitespace();
+            int c = next();
+            if (c != expected) {
+                throw new IOException("Malformed JSON: expected '" + expected + "' but found "
+                        + (c < 0 ? "end of file" : "'" + (char) c + "'") + ".");
+            }
+        }
+
+        boolean consumeIf(char expected) throws IOException {
+            skipWhitespace();
+            if (peek() == expected) {
+                next();
+                return true;
+            }
+            return false;
+        }
+
+        Map<String, String> readFlatObject() throws IOException {
+            Map<String, String> object = new HashMap<>();
+            expect('{');
+            if (consumeIf('}')) {
+                return object;
+            }
+            do {
+                skipWhitespace();
+                String key = readString();
+                expect(':');
+                object.put(key.toLowerCase(Locale.ROOT), readScalar());
+            } while (consumeIf(','));
+            expect('}');
+            return object;
+        }
+
+        private String readScalar() throws IOException {
+            skipWhitespace();
+            if (peek() == '"') {
+                return readString();
+            }
+            StringBuilder literal = new StringBuilder();
+            while (peek() >= 0 && peek() != ',' && peek() != '}' && !Character.isWhitespace(peek())) {
+                literal.append((char) next());
+            }
+            String text = literal.toString();
+            if (text.isEmpty()) {
+                throw new IOException("Malformed JSON: expected a value.");
+            }
+            return text.equals("null") ? null : text;
+        }
+
+        private String readString() throws IOException {
+            expect('"');
+            StringBuilder text = new StringBuilder();
+            while (true) {
+                int c = next();
+                if (c < 0) {
+                    throw new IOException("Malformed JSON: unterminated string.");
+                }
+                if (c == '"') {
+                    return text.toString();
+                }
+                if (c != '\\') {
+                    text.append((char) c);
+                    continue;
+                }
+                int escaped = next();
+                switch (escaped) {
+                    case 'n':
+                        text.append('\n');
+                        break;
+                    case 't':
+                        text.append('\t');
+                        break;
+                    case 'r':
+                        text.append('\r');
+                        break;
+                    case 'b':
+                        text.append('\b');
+                        break;
+                    case 'f':
+                        text.append('\f');
+                        break;
+                    case 'u':
+                        char[] hex = new char[4];
+                        for (int i = 0; i < 4; i++) {
+                            hex[i] = (char) next();
+                        }
+                        try {
+                            text.append((char) Integer.parseInt(new String(hex), 16));
+                        } catch (NumberFormatException e) {
+                            throw new IOException("Malformed JSON: bad unicode escape.");
+                        }
+                        break;
+                    default:
+                        if (escaped < 0) {
+                            throw new IOException("Malformed JSON: unterminated string.");
+                        }
+                        text.append((char) escaped);
+                }
+            }
+        }
+    }
+
+    // ----- Validation and merging -----
+
+    /**
+     * Validates one row and merges it into the result, or records why it was rejected.
+     * Reports progress at the end of each chunk.
+     */
+    private void acceptRow(String name, String rarityText, String variantText, String valueText, String amountText) {
+        rowsRead++;
+        try {
+            CardModel card = parseRow(name, rarityText, variantText, valueText, amountText);
+            CardModel existing = merged.get(card.getKey());
+            if (existing == null) {
+                merged.put(card.getKey(), card);
+            } else {
+                existing.setAmount(existing.getAmount() + card.getAmount());
+            }
+        } catch (RowException e) {
+            rowsRejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Row " + rowsRead + ": " + e.getMessage());
+            }
+        }
+        if (rowsRead % CHUNK_SIZE == 0) {
+            reportProgress();
+        }
+    }
+
+    /**
+     * Validates the text fields of a single card, as they would appear in one imported row.
+     * Rarity and variant accept their display or constant names, ignoring case, spaces and underscores;
+     * the variant and amount are optional.
+     *
+     * @param name        The card's name.
+     * @param rarityText  The card's rarity.
+     * @param variantText The card's variant, or `null`.
+     * @param valueText   The card's base value in dollars.
+     * @param amountText  The number of copies, or `null` for one.
+     * @return A new card holding the parsed fields.
+     * @throws IllegalArgumentException If a field is missing or invalid; the message says which.
+     */
+    public static CardModel parseCard(String name, String rarityText, String variantText, String valueText,
+                                      String amountText) {
+        try {
+            return parseRow(name, rarityText, variantText, valueText, amountText);
+        } catch (RowException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
+    private static CardModel parseRow(String name, String rarityText, String variantText, String valueText,
+                                      String amountText) throws RowException {
+        if (name == null || name.trim().isEmpty()) {
+            throw new RowException("Card name cannot be empty.");
+        }
+        Rarity rarity = parseEnum(Rarity.values(), rarityText);
+        if (rarity == null) {
+            throw new RowException("Unknown rarity \"" + rarityText + "\".");
+        }
+
+        Variant variant;
+        boolean variantGiven = variantText != null && !variantText.isBlank();
+        if (rarity.allowsVariants()) {
+            variant = variantGiven ? parseEnum(Variant.values(), variantText) : Variant.NORMAL;
+            if (variant == null || variant == Variant.INVALID) {
+                throw new RowException("Unknown variant \"" + variantText + "\".");
+            }
+        } else {
+            variant = variantGiven ? parseEnum(Variant.values(), variantText) : Variant.INVALID;
+            if (variant != Variant.INVALID) {
+                throw new RowException(rarity + " cards cannot have a variant.");
+            }
+        }
+
+        double value;
+        try {
+            value = Double.parseDouble(valueText == null ? "" : valueText.trim());
+        } catch (NumberFormatException e) {
+            throw new RowException("Invalid value \"" + valueText + "\".");
+        }
+        if (!(value > 0) || Double.isInfinite(value)) {
+            throw new RowException("Value must be a positive number.");
+        }
+
+        int amount = 1;
+        if (amountText != null && !amountText.isBlank()) {
+            try {
+                amount = Integer.parseInt(amountText.trim());
+            } catch (NumberFormatException e) {
+                throw new RowException("Invalid amount \"" + amountText + "\".");
+            }
+            if (amount <= 0) {
+                throw new RowException("Amount must be positive.");
+            }
+        }
+
+        CardModel card = new CardModel(name.trim(), rarity, variant, value);
+        card.setAmount(amount);
+        return card;
+    }
+
+    /**
+     * Finds an enum constant by display name or constant name, ignoring case, spaces and underscores.
+     */
+    private static <E extends Enum<E>> E parseEnum(E[] constants, String text) {
+        if (text == null) {
+            return null;
+        }
+        String wanted = normalize(text);
+        for (E constant : constants) {
+            if (normalize(constant.toString()).equals(wanted) || normalize(constant.name()).equals(wanted)) {
+                return constant;
+            }
+        }
+        return null;
+    }
+
+    private static String normalize(String text) {
+        return text.trim().replace(" ", "").replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private void reportProgress() {
+        if (listener != null) {
+            listener.progress(rowsRead, input.count, totalBytes);
+        }
+    }
+
+    private Result finish(long start) {
+        reportProgress();
+        return new Result(new ArrayList<>(merged.values()), rowsRead, rowsRejected,
+                Collections.unmodifiableList(errors), System.nanoTime() - start);
+    }
+
+    /**
+     * Counts the bytes consumed from the file for progress reports.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
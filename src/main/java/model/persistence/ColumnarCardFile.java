@@ -0,0 +1,290 @@
+package main.java.model.persistence;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import main.java.model.classes.CardColumns;
+import main.java.model.classes.CardModel;
+import main.java.model.classes.CardTotals;
+import main.java.model.classes.CollectionModel;
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
+import main.java.utilities.Money;
+
+/**
+ * The `ColumnarCardFile` class stores a collection's cards column by column, ordered by
+ * case-folded name, and reads them back through a read-only memory mapping.
+ * Opening a file costs the same regardless of how many cards it holds; a card's bytes are
+ * only touched when the {@link CollectionModel} asks for that row.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ *   int magic | int version | int cardCount | int nameCount | int nameBytes
+ *   int[nameCount + 1] nameOffsets    offsets of each distinct name in the name table
+ *   byte[nameBytes]    names          UTF-8, each distinct name stored once
+ *   int[cardCount]     nameIds
+ *   byte[cardCount]    rarities       {@link Rarity} ordinals
+ *   byte[cardCount]    variants       {@link Variant} ordinals
+ *   (padding to a multiple of 8)
+ *   long[cardCount]    baseValues     cents (version 1 stored double dollars)
+ *   double[cardCount]  amounts
+ *   long[rarities][variants][2]       copies and value in cents per rarity and variant (version 3)
+ * </pre>
+ * The totals block lets a collection know its count and value without touching the rows.
+ */
+public final class ColumnarCardFile implements CardColumns {
+
+    private static final int MAGIC = 0x54434343; // "TCCC"
+    private static final int VERSION = 3;
+    private static final int VERSION_DOUBLE_VALUES = 1;
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+
+    private static final Rarity[] RARITIES = Rarity.values();
+    private static final Variant[] VARIANTS = Variant.values();
+    private static final int TOTALS_BYTES = RARITIES.length * VARIANTS.length * 2 * Long.BYTES;
+
+    private final MappedByteBuffer buffer;
+    private final int version;
+    private final boolean doubleValues;
+    private final int cardCount;
+    private final int nameOffsetsPos;
+    private final int namesPos;
+    private final int nameIdsPos;
+    private final int raritiesPos;
+    private final int variantsPos;
+    private final int baseValuesPos;
+    private final int amountsPos;
+    private final int totalsPos;
+
+    private ColumnarCardFile(MappedByteBuffer buffer, int version, int cardCount, int nameCount, int nameBytes) {
+        this.buffer = buffer;
+        this.version = version;
+        this.doubleValues = version == VERSION_DOUBLE_VALUES;
+        this.cardCount = cardCount;
+        this.nameOffsetsPos = HEADER_BYTES;
+        this.namesPos = nameOffsetsPos + (nameCount + 1) * Integer.BYTES;
+        this.nameIdsPos = namesPos + nameBytes;
+        this.raritiesPos = nameIdsPos + cardCount * Integer.BYTES;
+        this.variantsPos = raritiesPos + cardCount;
+        this.baseValuesPos = align8(variantsPos + cardCount);
+        this.amountsPos = baseValuesPos + cardCount * Long.BYTES;
+        this.totalsPos = amountsPos + cardCount * Double.BYTES;
+    }
+
+    private static int align8(int position) {
+        return (position + 7) & ~7;
+    }
+
+    /**
+     * Maps a file written by {@link #write(Path, CardColumns, BitSet, List)}.
+     * Only the header is read; the columns are paged in as rows are accessed.
+     *
+     * @param path The file to map.
+     * @return The mapped cards.
+     * @throws IOException If the file cannot be mapped or is not a card file.
+     */
+    public static ColumnarCardFile map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Unrecognized card file: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int version = buffer.getInt(4);
+            if (buffer.getInt(0) != MAGIC || version < VERSION_DOUBLE_VALUES || version > VERSION) {
+                throw new IOException("Unrecognized card file: " + path);
+            }
+            int cardCount = buffer.getInt(8);
+            int nameCount = buffer.getInt(12);
+            int nameBytes = buffer.getInt(16);
+            ColumnarCardFile file = new ColumnarCardFile(buffer, version, cardCount, nameCount, nameBytes);
+            long expectedSize = file.amountsPos + (long) cardCount * Double.BYTES + (version == VERSION ? TOTALS_BYTES : 0);
+            if (cardCount < 0 || nameCount < 0 || nameBytes < 0 || expectedSize != size) {
+                throw new IOException("Truncated card file: " + path);
+            }
+            return file;
+        }
+    }
+
+    @Override
+    public int size() {
+        return cardCount;
+    }
+
+    @Override
+    public String getName(int index) {
+        int nameId = buffer.getInt(nameIdsPos + index * Integer.BYTES);
+        int start = buffer.getInt(nameOffsetsPos + nameId * Integer.BYTES);
+        int end = buffer.getInt(nameOffsetsPos + (nameId + 1) * Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        buffer.get(namesPos + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Rarity getRarity(int index) {
+        return RARITIES[buffer.get(raritiesPos + index)];
+    }
+
+    @Override
+    public Variant getVariant(int index) {
+        return VARIANTS[buffer.get(variantsPos + index)];
+    }
+
+    @Override
+    public long getBaseValueCents(int index) {
+        int position = baseValuesPos + index * Long.BYTES;
+        return doubleValues ? Money.toCents(buffer.getDouble(position)) : buffer.getLong(position);
+    }
+
+    @Override
+    public double getAmount(int index) {
+        return buffer.getDouble(amountsPos + index * Double.BYTES);
+    }
+
+    /**
+     * Returns the totals stored with the file, or scans the rows of files written before totals were stored.
+     */
+    @Override
+    public CardTotals getTotals() {
+        if (version < VERSION) {
+            return CardColumns.super.getTotals();
+        }
+        CardTotals totals = new CardTotals();
+        int position = totalsPos;
+        for (Rarity rarity : RARITIES) {
+            for (Variant variant : VARIANTS) {
+                long copies = buffer.getLong(position);
+                long valueCents = buffer.getLong(position + Long.BYTES);
+                if (copies != 0 || valueCents != 0) {
+                    totals.add(rarity, variant, copies, valueCents);
+                }
+                position += 2 * Long.BYTES;
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Writes a card file holding the rows of `cold` not set in `skip`, merged with `materialized`.
+     * Both inputs must already be ordered by case-folded name; on equal names the cold rows come first.
+     * The file is forced to disk before this method returns.
+     *
+     * @param path         The file to write, replaced if it exists.
+     * @param cold         Cards still held in columns, or `null` if there are none.
+     * @param skip         Rows of `cold` to leave out because they are also in `materialized`.
+     * @param materialized Cards held as {@link CardModel} objects, in name order.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path path, CardColumns cold, BitSet skip, List<CardModel> materialized) throws IOException {
+        int coldCount = cold == null ? 0 : cold.size();
+        int total = coldCount - (cold == null ? 0 : skip.cardinality()) + materialized.size();
+
+        String[] names = new String[total];
+        byte[] rarities = new byte[total];
+        byte[] variants = new byte[total];
+        long[] baseValues = new long[total];
+        double[] amounts = new double[total];
+        long[][] copiesByKind = new long[RARITIES.length][VARIANTS.length];
+        long[][] valueCentsByKind = new long[RARITIES.length][VARIANTS.length];
+
+        int row = cold == null ? 0 : skip.nextClearBit(0);
+        int next = 0;
+        int out = 0;
+        while (out < total) {
+            boolean takeCold = row < coldCount;
+            if (takeCold && next < materialized.size()) {
+                String coldKey = CollectionModel.foldName(cold.getName(row));
+                takeCold = coldKey.compareTo(CollectionModel.foldName(materialized.get(next).getName())) <= 0;
+            }
+            if (takeCold) {
+                names[out] = cold.getName(row);
+                rarities[out] = (byte) cold.getRarity(row).ordinal();
+                variants[out] = (byte) cold.getVariant(row).ordinal();
+                baseValues[out] = cold.getBaseValueCents(row);
+                amounts[out] = cold.getAmount(row);
+                row = skip.nextClearBit(row + 1);
+            } else {
+                CardModel card = materialized.get(next++);
+                names[out] = card.getName();
+                rarities[out] = (byte) card.getRarity().ordinal();
+                variants[out] = (byte) card.getVariant().ordinal();
+                baseValues[out] = card.getBaseValueCents();
+                amounts[out] = card.getAmount();
+            }
+            long copies = (long) amounts[out];
+            copiesByKind[rarities[out]][variants[out]] += copies;
+            valueCentsByKind[rarities[out]][variants[out]] += copies * VARIANTS[variants[out]].applyTo(baseValues[out]);
+            out++;
+        }
+
+        // Intern names so that entries differing only in rarity or variant share one copy
+        Map<String, Integer> nameIds = new HashMap<>();
+        int[] ids = new int[total];
+        int[] offsets = new int[total + 1];
+        byte[][] encoded = new byte[total][];
+        int nameBytes = 0;
+        for (int i = 0; i < total; i++) {
+            Integer id = nameIds.get(names[i]);
+            if (id == null) {
+                id = nameIds.size();
+                nameIds.put(names[i], id);
+                encoded[id] = names[i].getBytes(StandardCharsets.UTF_8);
+                offsets[id] = nameBytes;
+                nameBytes += encoded[id].length;
+            }
+            ids[i] = id;
+        }
+        int nameCount = nameIds.size();
+        offsets[nameCount] = nameBytes;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            data.writeInt(MAGIC);
+            data.writeInt(VERSION);
+            data.writeInt(total);
+            data.writeInt(nameCount);
+            data.writeInt(nameBytes);
+            for (int i = 0; i <= nameCount; i++) {
+                data.writeInt(offsets[i]);
+            }
+            for (int i = 0; i < nameCount; i++) {
+                data.write(encoded[i]);
+            }
+            for (int i = 0; i < total; i++) {
+                data.writeInt(ids[i]);
+            }
+            data.write(rarities);
+            data.write(variants);
+            for (int pad = data.size(); pad % 8 != 0; pad++) {
+                data.writeByte(0);
+            }
+            for (int i = 0; i < total; i++) {
+                data.writeLong(baseValues[i]);
+            }
+            for (int i = 0; i < total; i++) {
+                data.writeDouble(amounts[i]);
+            }
+            for (int r = 0; r < RARITIES.length; r++) {
+                for (int v = 0; v < VARIANTS.length; v++) {
+                    data.writeLong(copiesByKind[r][v]);
+                    data.writeLong(valueCentsByKind[r][v]);
+                }
+            }
+            data.flush();
+            channel.force(true);
+        }
+    }
+}
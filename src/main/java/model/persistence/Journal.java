@@ -0,0 +1,212 @@
+package main.java.model.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+import main.java.utilities.Log;
+
+/**
+ * The `Journal` class is an append-only file of model mutations (a write-ahead log).
+ * Each record is framed as:
+ * <pre>
+ *   int length | byte type | byte[length] payload | int crc32(type + payload)
+ * </pre>
+ * A record is written with a single channel write, so {@link #append(byte, byte[])} costs about as
+ * much as copying it to the operating system. When `syncRecords` is set, records are forced to disk
+ * by a background thread in groups: one sync covers every record appended while the previous sync
+ * ran, so callers such as the event dispatch thread never wait for the disk and a burst of changes
+ * costs a few syncs rather than one each. Replay stops quietly at the first truncated or corrupt
+ * record, which is where a crash mid-write would leave the file.
+ */
+public class Journal implements Closeable {
+
+    /**
+     * Receives the records of a journal during {@link #replay(Path, RecordHandler)}.
+     */
+    public interface RecordHandler {
+        /**
+         * Handles one record.
+         *
+         * @param type    The record type byte.
+         * @param payload A stream over the record's payload.
+         * @throws IOException If the payload is malformed.
+         */
+        void handle(byte type, DataInputStream payload) throws IOException;
+    }
+
+    /*
+     * Bytes of framing around each payload: length, type and checksum.
+     */
+    private static final int FRAME_OVERHEAD = Integer.BYTES + 1 + Integer.BYTES;
+
+    /*
+     * Upper bound on a payload; a larger length can only come from a corrupt frame.
+     */
+    private static final int MAX_PAYLOAD = 16 * 1024 * 1024;
+
+    private final Path path;
+    private final FileChannel channel;
+
+    /*
+     * Runs the group syncs, or `null` if records are not synced as they are appended.
+     */
+    private final ExecutorService syncer;
+
+    /*
+     * Set while a sync is queued and has not started, so appends meanwhile join it rather than queue their own.
+     */
+    private final AtomicBoolean syncQueued = new AtomicBoolean();
+
+    /**
+     * Opens a journal file for appending, creating it if needed.
+     *
+     * @param path        The journal file.
+     * @param syncRecords `true` to force records to disk in the background soon after they are appended.
+     * @throws IOException If the file cannot be opened.
+     */
+    public Journal(Path path, boolean syncRecords) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.syncer = !syncRecords ? null : Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tcis-journal-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the path of the journal file.
+     *
+     * @return The journal file.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Appends one record to the end of the journal. With `syncRecords` set, the record is forced to
+     * disk by the next group sync, without waiting for it here.
+     *
+     * @param type    The record type byte.
+     * @param payload The record payload.
+     * @throws IOException If the record cannot be written.
+     */
+    public synchronized void append(byte type, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_OVERHEAD + payload.length);
+        frame.putInt(payload.length);
+        frame.put(type);
+        frame.put(payload);
+        frame.putInt((int) crc.getValue());
+        frame.flip();
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+        if (syncer != null && syncQueued.compareAndSet(false, true)) {
+            syncer.execute(this::syncAppended);
+        }
+    }
+
+    /**
+     * Forces every record appended so far to disk, as one group. Runs on the sync thread.
+     */
+    private void syncAppended() {
+        // Cleared first, so a record appended during the force queues the next group
+        syncQueued.set(false);
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            Log.error("Journal", "failed to sync {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Forces any appended records to disk before returning.
+     *
+     * @throws IOException If the file cannot be synced.
+     */
+    public void sync() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Finishes any group sync in progress, forces the remaining records to disk and closes the file.
+     *
+     * @throws IOException If the file cannot be synced or closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (syncer != null) {
+            syncer.shutdown();
+            try {
+                syncer.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            channel.force(false);
+        }
+        channel.close();
+    }
+
+    /**
+     * Reads every intact record of a journal file in order.
+     * A missing file has no records. Reading stops at the first truncated or corrupt record.
+     *
+     * @param path    The journal file to read.
+     * @param handler The handler receiving each record.
+     * @return The number of records replayed.
+     * @throws IOException If the file cannot be read or a handler fails.
+     */
+    public static int replay(Path path, RecordHandler handler) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        int count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            while (true) {
+                int length;
+                byte type;
+                byte[] payload;
+                int storedCrc;
+                try {
+                    length = in.readInt();
+                    if (length < 0 || length > MAX_PAYLOAD) {
+                        break;
+                    }
+                    type = in.readByte();
+                    payload = new byte[length];
+                    in.readFully(payload);
+                    storedCrc = in.readInt();
+                } catch (EOFException e) {
+                    break; // Torn write at the tail
+                }
+                CRC32 crc = new CRC32();
+                crc.update(type);
+                crc.update(payload);
+                if ((int) crc.getValue() != storedCrc) {
+                    break;
+                }
+                handler.handle(type, new DataInputStream(new ByteArrayInputStream(payload)));
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,288 @@
+package main.java.model.persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
+import main.java.model.MainModel;
+import main.java.model.classes.BinderModel;
+import main.java.model.classes.CardModel;
+import main.java.model.classes.CollectionModel;
+import main.java.model.classes.CollectorBinder;
+import main.java.model.classes.DeckModel;
+import main.java.model.classes.LuxuryBinder;
+import main.java.model.classes.PauperBinder;
+import main.java.model.classes.RaresBinder;
+import main.java.model.classes.SellableDeckModel;
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
+
+/**
+ * The `ModelCodec` class converts the parts of a {@link MainModel} to and from a compact
+ * binary form. It is shared by the snapshot file and the journal records written by
+ * {@link PersistenceManager}, so both use the same layout for cards, binders and decks.
+ * <p>
+ * Rarity and variant are stored as single-byte enum ordinals; names use modified UTF-8.
+ */
+public final class ModelCodec {
+
+    private ModelCodec() {
+    }
+
+    /**
+     * Writes a card's identity, base value and amount.
+     *
+     * @param out  The output to write to.
+     * @param card The card to write.
+     * @throws IOException If the output cannot be written.
+     */
+    public static void writeCard(DataOutput out, CardModel card) throws IOException {
+        writeCardKey(out, card);
+        out.writeDouble(card.getBaseValue());
+        out.writeDouble(card.getAmount());
+    }
+
+    /**
+     * Reads a card written by {@link #writeCard(DataOutput, CardModel)}.
+     *
+     * @param in The input to read from.
+     * @return A new {@link CardModel} with the stored amount.
+     * @throws IOException If the input is truncated or malformed.
+     */
+    public static CardModel readCard(DataInput in) throws IOException {
+        CardModel card = readCardKey(in);
+        card.setValue(in.readDouble());
+        card.setAmount(in.readDouble());
+        return card;
+    }
+
+    /**
+     * Writes only the identifying fields of a card: its name, rarity and variant.
+     *
+     * @param out  The output to write to.
+     * @param card The card whose identity is written.
+     * @throws IOException If the output cannot be written.
+     */
+    public static void writeCardKey(DataOutput out, CardModel card) throws IOException {
+        out.writeUTF(card.getName());
+        out.writeByte(card.getRarity().ordinal());
+        out.writeByte(card.getVariant().ordinal());
+    }
+
+    /**
+     * Reads the identifying fields written by {@link #writeCardKey(DataOutput, CardModel)}.
+     *
+     * @param in The input to read from.
+     * @return A new {@link CardModel} carrying the identity, with a zero base value.
+     * @throws IOException If the input is truncated or holds an unknown ordinal.
+     */
+    public static CardModel readCardKey(DataInput in) throws IOException {
+        String name = in.readUTF();
+        Rarity rarity = enumAt(Rarity.values(), in.readUnsignedByte());
+        Variant variant = enumAt(Variant.values(), in.readUnsignedByte());
+        return new CardModel(name, rarity, variant, 0);
+    }
+
+    /**
+     * Writes a binder's name, type and cards.
+     *
+     * @param out    The output to write to.
+     * @param binder The binder to write.
+     * @throws IOException If the output cannot be written.
+     */
+    public static void writeBinder(DataOutput out, BinderModel binder) throws IOException {
+        out.writeUTF(binder.getName());
+        out.writeUTF(binder.getTypeName());
+        writeCards(out, binder.getCards());
+    }
+
+    /**
+     * Reads a binder written by {@link #writeBinder(DataOutput, BinderModel)}, recreating
+     * the binder subclass that matches its stored type name.
+     *
+     * @param in The input to read from.
+     * @return The restored binder.
+     * @throws IOException If the input is truncated or the type name is unknown.
+     */
+    public static BinderModel readBinder(DataInput in) throws IOException {
+        String name = in.readUTF();
+        String typeName = in.readUTF();
+        BinderModel binder;
+        switch (typeName) {
+            case "Non-curated Binder":
+                binder = new BinderModel(name);
+                break;
+            case "Pauper Binder":
+                binder = new PauperBinder(name);
+                break;
+            case "Rares Binder":
+                binder = new RaresBinder(name);
+                break;
+            case "Luxury Binder":
+                binder = new LuxuryBinder(name);
+                break;
+            case "Collector Binder":
+                binder = new CollectorBinder(name);
+                break;
+            default:
+                throw new IOException("Unknown binder type: " + typeName);
+        }
+        readCards(in, binder.getCards());
+        return binder;
+    }
+
+    /**
+     * Writes a deck's name, type and cards.
+     *
+     * @param out  The output to write to.
+     * @param deck The deck to write.
+     * @throws IOException If the output cannot be written.
+     */
+    public static void writeDeck(DataOutput out, DeckModel deck) throws IOException {
+        out.writeUTF(deck.getName());
+        out.writeBoolean(deck.isSellable());
+        writeCards(out, deck.getCards());
+    }
+
+    /**
+     * Reads a deck written by {@link #writeDeck(DataOutput, DeckModel)}.
+     *
+     * @param in The input to read from.
+     * @return The restored deck, a {@link SellableDeckModel} if it was sellable.
+     * @throws IOException If the input is truncated or malformed.
+     */
+    public static DeckModel readDeck(DataInput in) throws IOException {
+        String name = in.readUTF();
+        DeckModel deck = in.readBoolean() ? new SellableDeckModel(name) : new DeckModel(name);
+        readCards(in, deck.getCards());
+        return deck;
+    }
+
+    /**
+     * Writes the whole model: money, collection, binders and decks.
+     *
+     * @param out   The output to write to.
+     * @param model The model to write.
+     * @throws IOException If the output cannot be written.
+     */
+    public static void writeModel(DataOutput out, MainModel model) throws IOException {
+        out.writeDouble(model.getMoney());
+        writeCards(out, model.getCollectionModel().getCards());
+        out.writeInt(model.getBinders().size());
+        for (BinderModel binder : model.getBinders()) {
+            writeBinder(out, binder);
+        }
+        out.writeInt(model.getDecks().size());
+        for (DeckModel deck : model.getDecks()) {
+            writeDeck(out, deck);
+        }
+    }
+
+    /**
+     * Reads a model written by {@link #writeModel(DataOutput, MainModel)} into an empty {@link MainModel}.
+     *
+     * @param in    The input to read from.
+     * @param model The model to populate.
+     * @throws IOException If the input is truncated or malformed.
+     */
+    public static void readModel(DataInput in, MainModel model) throws IOException {
+        model.setMoney(in.readDouble());
+        CollectionModel collection = model.getCollectionModel();
+        int cardCount = in.readInt();
+        for (int i = 0; i < cardCount; i++) {
+            CardModel card = readCard(in);
+            // addCard would increment an existing entry, so restore matching entries by amount instead
+            CardModel existing = collection.getMatchingCard(card);
+            if (existing == null) {
+                collection.putCard(card.getName(), card.getRarity(), card.getVariant(), card.getBaseValue(), card.getAmount());
+            } else {
+                collection.setCardAmount(existing, existing.getAmount() + card.getAmount());
+            }
+        }
+        int binderCount = in.readInt();
+        for (int i = 0; i < binderCount; i++) {
+            model.addBinder(readBinder(in));
+        }
+        int deckCount = in.readInt();
+        for (int i = 0; i < deckCount; i++) {
+            model.addDeck(readDeck(in));
+        }
+    }
+
+    /**
+     * Writes everything in the model except the collection's cards: money, binders and decks.
+     * The cards are stored separately in a {@link ColumnarCardFile}.
+     *
+     * @param out   The output to write to.
+     * @param model The model to write.
+     * @throws IOException If the output cannot be written.
+     */
+    public static void writeHoldings(DataOutput out, MainModel model) throws IOException {
+        out.writeLong(model.getMoneyCents());
+        out.writeInt(model.getBinders().size());
+        for (BinderModel binder : model.getBinders()) {
+            writeBinder(out, binder);
+        }
+        out.writeInt(model.getDecks().size());
+        for (DeckModel deck : model.getDecks()) {
+            writeDeck(out, deck);
+        }
+    }
+
+    /**
+     * Reads the money, binders and decks written by {@link #writeHoldings(DataOutput, MainModel)}.
+     *
+     * @param in    The input to read from.
+     * @param model The model to populate.
+     * @throws IOException If the input is truncated or malformed.
+     */
+    public static void readHoldings(DataInput in, MainModel model) throws IOException {
+        model.setMoneyCents(in.readLong());
+        readBindersAndDecks(in, model);
+    }
+
+    /**
+     * Reads holdings written by earlier versions, which stored the money as a `double` of dollars.
+     *
+     * @param in    The input to read from.
+     * @param model The model to populate.
+     * @throws IOException If the input is truncated or malformed.
+     */
+    public static void readDollarHoldings(DataInput in, MainModel model) throws IOException {
+        model.setMoney(in.readDouble());
+        readBindersAndDecks(in, model);
+    }
+
+    private static void readBindersAndDecks(DataInput in, MainModel model) throws IOException {
+        int binderCount = in.readInt();
+        for (int i = 0; i < binderCount; i++) {
+            model.addBinder(readBinder(in));
+        }
+        int deckCount = in.readInt();
+        for (int i = 0; i < deckCount; i++) {
+            model.addDeck(readDeck(in));
+        }
+    }
+
+    private static void writeCards(DataOutput out, List<CardModel> cards) throws IOException {
+        out.writeInt(cards.size());
+        for (CardModel card : cards) {
+            writeCard(out, card);
+        }
+    }
+
+    private static void readCards(DataInput in, List<CardModel> cards) throws IOException {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            cards.add(readCard(in));
+        }
+    }
+
+    private static <E extends Enum<E>> E enumAt(E[] values, int ordinal) throws IOException {
+        if (ordinal >= values.length) {
+            throw new IOException("Unknown ordinal " + ordinal + " for " + values.getClass().getComponentType().getSimpleName());
+        }
+        return values[ordinal];
+    }
+}
@@ -0,0 +1,643 @@
+package main.java.model.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import main.java.model.MainModel;
+import main.java.model.classes.BinderModel;
+import main.java.model.classes.CardColumns;
+import main.java.model.classes.CardModel;
+import main.java.model.classes.CollectionModel;
+import main.java.model.classes.DeckModel;
+import main.java.model.events.ModelChangeListener;
+import main.java.model.events.TransactionListener;
+import main.java.utilities.Log;
+
+/**
+ * The `PersistenceManager` keeps a {@link MainModel} durable across restarts.
+ * <p>
+ * State is kept in two kinds of files inside a data directory:
+ * <ul>
+ * <li>`inventory.snapshot` - the money, binders and decks at some point, written with
+ * {@link ModelCodec} and tagged with a generation number.</li>
+ * <li>`cards.&lt;generation&gt;` - the collection's cards at the same point, in a
+ * {@link ColumnarCardFile} that is memory-mapped on startup rather than parsed.</li>
+ * <li>`journal.&lt;generation&gt;` - an append-only {@link Journal} of every change made
+ * since the snapshot of that generation was taken.</li>
+ * </ul>
+ * The manager listens to the model's change events and appends one small record per change
+ * (card put/removed, binder or deck put/removed, money set), so an action costs one append rather
+ * than a rewrite of the whole file. Trades, sells and moves, which run as {@link main.java.model.ModelTransaction}s,
+ * are journaled as the card, binder, deck and money changes they cause, gathered into a single
+ * transaction record. A record is checksummed as a whole, so a crash while one is written loses the
+ * whole transaction on replay rather than leaving half a trade or a sale without its money.
+ * <p>
+ * On {@link #open(Path, MainModel)} the snapshot is loaded, the card file is attached to the
+ * collection as cold cards, and the journals of its generation and any later ones are replayed.
+ * If the journals held any records, a new snapshot is written on a background thread. Appends switch
+ * to a fresh journal before the snapshot is taken, so a crash at any point leaves a snapshot
+ * plus journals that replay to the latest state.
+ */
+public class PersistenceManager implements Closeable {
+
+    private static final String SNAPSHOT_FILE = "inventory.snapshot";
+    private static final String SNAPSHOT_TEMP_FILE = "inventory.snapshot.tmp";
+    private static final String JOURNAL_PREFIX = "journal.";
+    private static final String CARDS_PREFIX = "cards.";
+    private static final String CARDS_TEMP_SUFFIX = ".tmp";
+
+    private static final int SNAPSHOT_MAGIC = 0x54434953; // "TCIS"
+    private static final int SNAPSHOT_VERSION = 3;
+
+    /**
+     * Snapshot version that stored the money as a `double` of dollars; still readable.
+     */
+    private static final int SNAPSHOT_VERSION_DOLLARS = 2;
+
+    /**
+     * Snapshot version that stored the cards inline; still readable.
+     */
+    private static final int SNAPSHOT_VERSION_INLINE_CARDS = 1;
+
+    /**
+     * Number of journal records after which a new snapshot is taken in the background.
+     */
+    private static final int COMPACT_THRESHOLD = 50_000;
+
+    /**
+     * Batch size above which a batch of card changes is saved by a snapshot instead of one
+     * synced journal record per card.
+     */
+    private static final int BATCH_SNAPSHOT_THRESHOLD = 1_000;
+
+    // Journal record types
+    private static final byte CARD_PUT = 1;
+    private static final byte CARD_REMOVE = 2;
+    private static final byte MONEY_SET_CENTS = 12;
+
+    /*
+     * The records of one transaction, each as a type byte, a payload length and the payload,
+     * replayed together or, if the record is torn, not at all.
+     */
+    private static final byte TRANSACTION = 13;
+
+    /*
+     * Binders and decks are identified by their names, which the controllers and the server keep
+     * unique, so a record means the same thing however concurrent changes were interleaved.
+     */
+    private static final byte BINDER_SAVE = 8;
+    private static final byte BINDER_DELETE = 9;
+    private static final byte DECK_SAVE = 10;
+    private static final byte DECK_DELETE = 11;
+
+    /*
+     * Binder and deck records written by earlier versions, identified by their position in the
+     * model's lists. Still replayed, with positions outside the lists treated as a corrupt tail.
+     */
+    private static final byte BINDER_PUT = 3;
+    private static final byte BINDER_REMOVE = 4;
+    private static final byte DECK_PUT = 5;
+    private static final byte DECK_REMOVE = 6;
+
+    /*
+     * Balance record written by earlier versions, as a `double` of dollars. Still replayed.
+     */
+    private static final byte MONEY_SET = 7;
+
+    private final Path directory;
+    private final MainModel model;
+    private final ExecutorService snapshotExecutor;
+
+    /*
+     * Set when replay meets a record that cannot apply to the model, after which the rest of
+     * the journals are ignored as a corrupt tail.
+     */
+    private boolean replayStopped;
+
+    private Journal journal;
+    private long generation;
+    private int recordsSinceSnapshot;
+    private Future<?> pendingSnapshot;
+
+    /*
+     * The number of transactions committing, and the records made meanwhile, which are appended
+     * as one transaction record once none is. A snapshot asked for meanwhile waits for it too,
+     * so a snapshot never holds part of a transaction.
+     */
+    private int openTransactions;
+    private ByteArrayOutputStream transactionRecords;
+    private boolean snapshotAfterTransactions;
+
+    private PersistenceManager(Path directory, MainModel model) {
+        this.directory = directory;
+        this.model = model;
+        this.snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tcis-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the data directory to use: the `tcis.data.dir` system property if set,
+     * otherwise `.tcis` in the user's home directory.
+     *
+     * @return The data directory.
+     */
+    public static Path defaultDirectory() {
+        return Paths.get(System.getProperty("tcis.data.dir",
+            Paths.get(System.getProperty("user.home"), ".tcis").toString()));
+    }
+
+    /**
+     * Restores a model from the given data directory and starts journaling its changes.
+     * The model should be newly constructed and empty; it is populated from the snapshot and
+     * journals, after which a new snapshot is written in the background if the journals held changes.
+     *
+     * @param directory The data directory; created if it does not exist.
+     * @param model     The empty model to restore into and keep durable.
+     * @return The manager, which should be closed on exit.
+     * @throws IOException If the directory or its files cannot be read or written.
+     */
+    public static PersistenceManager open(Path directory, MainModel model) throws IOException {
+        Files.createDirectories(directory);
+        PersistenceManager manager = new PersistenceManager(directory, model);
+        boolean upToDate = manager.restore();
+        manager.attachListeners();
+        if (upToDate) {
+            manager.journal = new Journal(directory.resolve(JOURNAL_PREFIX + manager.generation), true);
+        } else {
+            manager.compactInBackground();
+        }
+        return manager;
+    }
+
+    /**
+     * Loads the snapshot and replays every journal at or after its generation.
+     *
+     * @return `true` if the snapshot is current and the journals are empty, so appends can
+     * continue in the latest journal without taking a new snapshot.
+     */
+    private boolean restore() throws IOException {
+        long snapshotGeneration = 0;
+        boolean upToDate = false;
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshot)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+                if (in.readInt() != SNAPSHOT_MAGIC) {
+                    throw new IOException("Unrecognized snapshot file: " + snapshot);
+                }
+                int version = in.readInt();
+                snapshotGeneration = in.readLong();
+                if (version == SNAPSHOT_VERSION) {
+                    model.getCollectionModel().attachColdCards(ColumnarCardFile.map(directory.resolve(in.readUTF())));
+                    ModelCodec.readHoldings(in, model);
+                    upToDate = true;
+                } else if (version == SNAPSHOT_VERSION_DOLLARS) {
+                    model.getCollectionModel().attachColdCards(ColumnarCardFile.map(directory.resolve(in.readUTF())));
+                    ModelCodec.readDollarHoldings(in, model);
+                } else if (version == SNAPSHOT_VERSION_INLINE_CARDS) {
+                    ModelCodec.readModel(in, model);
+                } else {
+                    throw new IOException("Unsupported snapshot version " + version + ": " + snapshot);
+                }
+            }
+        }
+
+        generation = snapshotGeneration;
+        for (Map.Entry<Long, Path> entry : listGenerations(JOURNAL_PREFIX).entrySet()) {
+            if (entry.getKey() >= snapshotGeneration) {
+                // A journal with any bytes, even a torn record, is folded into a new snapshot
+                upToDate &= Files.size(entry.getValue()) == 0;
+                Journal.replay(entry.getValue(), this::apply);
+                generation = entry.getKey();
+                upToDate &= !replayStopped;
+            }
+        }
+        return upToDate;
+    }
+
+    /**
+     * Returns the files in the data directory named with the given prefix followed by a
+     * generation number, ordered by generation.
+     */
+    private TreeMap<Long, Path> listGenerations(String prefix) throws IOException {
+        TreeMap<Long, Path> generations = new TreeMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.startsWith(prefix)) {
+                    try {
+                        generations.put(Long.parseLong(name.substring(prefix.length())), file);
+                    } catch (NumberFormatException e) {
+                        // Not one of ours
+                    }
+                }
+            });
+        }
+        return generations;
+    }
+
+    /**
+     * Applies one journal record to the model during replay.
+     */
+    private void apply(byte type, DataInputStream in) throws IOException {
+        if (replayStopped) {
+            return;
+        }
+        CollectionModel collection = model.getCollectionModel();
+        switch (type) {
+            case CARD_PUT: {
+                CardModel card = ModelCodec.readCard(in);
+                collection.putCard(card.getName(), card.getRarity(), card.getVariant(), card.getBaseValue(), card.getAmount());
+                break;
+            }
+            case CARD_REMOVE: {
+                CardModel existing = collection.getMatchingCard(ModelCodec.readCardKey(in));
+                if (existing != null) {
+                    collection.removeCard(existing);
+                }
+                break;
+            }
+            case BINDER_SAVE: {
+                BinderModel binder = ModelCodec.readBinder(in);
+                int index = indexOfName(model.getBinders(), binder.getName(), BinderModel::getName);
+                model.restoreBinder(index >= 0 ? index : model.getBinders().size(), binder);
+                break;
+            }
+            case BINDER_DELETE: {
+                int index = indexOfName(model.getBinders(), in.readUTF(), BinderModel::getName);
+                if (index >= 0) {
+                    model.removeBinder(model.getBinders().get(index));
+                }
+                break;
+            }
+            case DECK_SAVE: {
+                DeckModel deck = ModelCodec.readDeck(in);
+                int index = indexOfName(model.getDecks(), deck.getName(), DeckModel::getName);
+                model.restoreDeck(index >= 0 ? index : model.getDecks().size(), deck);
+                break;
+            }
+            case DECK_DELETE: {
+                int index = indexOfName(model.getDecks(), in.readUTF(), DeckModel::getName);
+                if (index >= 0) {
+                    model.removeDeck(model.getDecks().get(index));
+                }
+                break;
+            }
+            case BINDER_PUT: {
+                int index = in.readInt();
+                if (checkPosition(index, model.getBinders().size() + 1, "binder")) {
+                    model.restoreBinder(index, ModelCodec.readBinder(in));
+                }
+                break;
+            }
+            case BINDER_REMOVE: {
+                int index = in.readInt();
+                if (checkPosition(index, model.getBinders().size(), "binder")) {
+                    model.removeBinder(model.getBinders().get(index));
+                }
+                break;
+            }
+            case DECK_PUT: {
+                int index = in.readInt();
+                if (checkPosition(index, model.getDecks().size() + 1, "deck")) {
+                    model.restoreDeck(index, ModelCodec.readDeck(in));
+                }
+                break;
+            }
+            case DECK_REMOVE: {
+                int index = in.readInt();
+                if (checkPosition(index, model.getDecks().size(), "deck")) {
+                    model.removeDeck(model.getDecks().get(index));
+                }
+                break;
+            }
+            case MONEY_SET_CENTS:
+                model.setMoneyCents(in.readLong());
+                break;
+            case TRANSACTION:
+                while (in.available() > 0) {
+                    byte recordType = in.readByte();
+                    byte[] payload = new byte[in.readInt()];
+                    in.readFully(payload);
+                    apply(recordType, new DataInputStream(new ByteArrayInputStream(payload)));
+                }
+                break;
+            case MONEY_SET:
+                model.setMoney(in.readDouble());
+                break;
+            default:
+                throw new IOException("Unknown journal record type " + type);
+        }
+    }
+
+    /**
+     * Returns the position of the first item with the given name, or -1 if there is none.
+     */
+    private static <T> int indexOfName(List<T> items, String name, Function<T, String> nameOf) {
+        for (int i = 0; i < items.size(); i++) {
+            if (nameOf.apply(items.get(i)).equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks a position read from an old binder or deck record. A position outside the list can
+     * only come from a damaged journal, so replay stops there rather than change the wrong item.
+     *
+     * @return `true` if the position is within the bound.
+     */
+    private boolean checkPosition(int index, int bound, String kind) {
+        if (index >= 0 && index < bound) {
+            return true;
+        }
+        Log.warn("PersistenceManager", "ignoring the rest of the journal: no {} at position {}.", kind, index);
+        replayStopped = true;
+        return false;
+    }
+
+    /**
+     * Subscribes to the model so that each change is appended to the journal.
+     */
+    private void attachListeners() {
+        model.getCollectionModel().addChangeListener(new ModelChangeListener<CardModel>() {
+            @Override
+            public void added(CardModel card) {
+                record(CARD_PUT, out -> ModelCodec.writeCard(out, card));
+            }
+
+            @Override
+            public void removed(CardModel card) {
+                record(CARD_REMOVE, out -> ModelCodec.writeCardKey(out, card));
+            }
+
+            @Override
+            public void changed(CardModel card) {
+                record(CARD_PUT, out -> ModelCodec.writeCard(out, card));
+            }
+
+            @Override
+            public void batchApplied(List<CardModel> addedCards, List<CardModel> changedCards) {
+                if (addedCards.size() + changedCards.size() < BATCH_SNAPSHOT_THRESHOLD) {
+                    ModelChangeListener.super.batchApplied(addedCards, changedCards);
+                } else {
+                    compactInBackground();
+                }
+            }
+        });
+
+        model.addBinderChangeListener(new ModelChangeListener<BinderModel>() {
+            @Override
+            public void added(BinderModel binder) {
+                changed(binder);
+            }
+
+            @Override
+            public void removed(BinderModel binder) {
+                record(BINDER_DELETE, out -> out.writeUTF(binder.getName()));
+            }
+
+            @Override
+            public void changed(BinderModel binder) {
+                record(BINDER_SAVE, out -> ModelCodec.writeBinder(out, binder));
+            }
+        });
+
+        model.addDeckChangeListener(new ModelChangeListener<DeckModel>() {
+            @Override
+            public void added(DeckModel deck) {
+                changed(deck);
+            }
+
+            @Override
+            public void removed(DeckModel deck) {
+                record(DECK_DELETE, out -> out.writeUTF(deck.getName()));
+            }
+
+            @Override
+            public void changed(DeckModel deck) {
+                record(DECK_SAVE, out -> ModelCodec.writeDeck(out, deck));
+            }
+        });
+
+        model.addMoneyCentsListener(moneyCents -> record(MONEY_SET_CENTS, out -> out.writeLong(moneyCents)));
+
+        model.addTransactionListener(new TransactionListener() {
+            @Override
+            public void transactionStarted() {
+                beginTransaction();
+            }
+
+            @Override
+            public void transactionFinished() {
+                endTransaction();
+            }
+        });
+    }
+
+    /**
+     * Writes the payload of one record.
+     */
+    private interface PayloadWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Encodes and appends one record. Failures are reported but do not interrupt the UI action
+     * that caused the change.
+     */
+    private synchronized void record(byte type, PayloadWriter writer) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            writer.write(out);
+            out.flush();
+            if (openTransactions > 0) {
+                DataOutputStream group = new DataOutputStream(transactionRecords);
+                group.writeByte(type);
+                group.writeInt(bytes.size());
+                bytes.writeTo(group);
+                group.flush();
+                return;
+            }
+            append(type, bytes.toByteArray());
+        } catch (IOException e) {
+            Log.error("PersistenceManager", "failed to journal change: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Appends one record and takes a snapshot once the journal has grown long enough.
+     */
+    private void append(byte type, byte[] payload) throws IOException {
+        journal.append(type, payload);
+        if (++recordsSinceSnapshot >= COMPACT_THRESHOLD) {
+            compactInBackground();
+        }
+    }
+
+    /**
+     * Starts gathering records into a transaction record.
+     */
+    private synchronized void beginTransaction() {
+        if (openTransactions++ == 0) {
+            transactionRecords = new ByteArrayOutputStream(256);
+        }
+    }
+
+    /**
+     * Appends the gathered records as one transaction record once no transaction is committing.
+     */
+    private synchronized void endTransaction() {
+        if (--openTransactions > 0) {
+            return;
+        }
+        ByteArrayOutputStream records = transactionRecords;
+        transactionRecords = null;
+        try {
+            if (records.size() > 0) {
+                append(TRANSACTION, records.toByteArray());
+            }
+        } catch (IOException e) {
+            Log.error("PersistenceManager", "failed to journal transaction: {}", e.getMessage());
+        }
+        if (snapshotAfterTransactions) {
+            snapshotAfterTransactions = false;
+            compactInBackground();
+        }
+    }
+
+    /**
+     * Starts a new journal generation and writes a snapshot of the current model for it on
+     * the background thread. The money, binders, decks and materialized cards are copied on the
+     * calling thread, so the snapshot reflects exactly the changes recorded in earlier journals.
+     * Cold cards are read from their immutable mapping in the background, where the card file
+     * and snapshot are written and the files they supersede are removed. While a transaction is
+     * committing, the snapshot is put off until it finishes.
+     *
+     * @return A future that completes when the snapshot has been written, or when the previous one has
+     * if this one was put off.
+     */
+    public synchronized Future<?> compactInBackground() {
+        if (openTransactions > 0) {
+            snapshotAfterTransactions = true;
+            return pendingSnapshot;
+        }
+        long newGeneration = generation + 1;
+        try {
+            Journal next = new Journal(directory.resolve(JOURNAL_PREFIX + newGeneration), true);
+            if (journal != null) {
+                journal.close();
+            }
+            journal = next;
+            generation = newGeneration;
+            recordsSinceSnapshot = 0;
+
+            String cardsFile = CARDS_PREFIX + newGeneration;
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(newGeneration);
+            out.writeUTF(cardsFile);
+            ModelCodec.writeHoldings(out, model);
+            out.flush();
+            byte[] snapshot = bytes.toByteArray();
+
+            CollectionModel.Contents contents = model.getCollectionModel().snapshotContents();
+            CardColumns coldCards = contents.getColdCards();
+            BitSet promotedRows = contents.getPromotedColdRows();
+            List<CardModel> materialized = contents.getMaterializedCards();
+
+            pendingSnapshot = snapshotExecutor.submit(() -> {
+                try {
+                    Path cardsTemp = directory.resolve(cardsFile + CARDS_TEMP_SUFFIX);
+                    ColumnarCardFile.write(cardsTemp, coldCards, promotedRows, materialized);
+                    Files.move(cardsTemp, directory.resolve(cardsFile), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    writeSnapshot(snapshot, newGeneration);
+                } catch (IOException e) {
+                    Log.error("PersistenceManager", "failed to write snapshot: {}", e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            Log.error("PersistenceManager", "failed to start snapshot: {}", e.getMessage());
+        }
+        return pendingSnapshot;
+    }
+
+    /**
+     * Durably replaces the snapshot file, then deletes the journals and card files it supersedes.
+     */
+    private void writeSnapshot(byte[] snapshot, long snapshotGeneration) throws IOException {
+        Path temp = directory.resolve(SNAPSHOT_TEMP_FILE);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(snapshot);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        for (Map.Entry<Long, Path> entry : listGenerations(JOURNAL_PREFIX).entrySet()) {
+            if (entry.getKey() < snapshotGeneration) {
+                Files.deleteIfExists(entry.getValue());
+            }
+        }
+        for (Map.Entry<Long, Path> entry : listGenerations(CARDS_PREFIX).entrySet()) {
+            if (entry.getKey() < snapshotGeneration) {
+                try {
+                    Files.deleteIfExists(entry.getValue());
+                } catch (IOException e) {
+                    // Still mapped by the running collection on some platforms; removed on a later snapshot
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for any background snapshot to finish and closes the journal.
+     *
+     * @throws IOException If the journal cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        snapshotExecutor.shutdown();
+        try {
+            snapshotExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (journal != null) {
+                journal.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,694 @@
+package main.java.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import main.java.model.BulkSale;
+import main.java.model.MainModel;
+import main.java.model.ModelTransaction;
+import main.java.model.classes.BinderModel;
+import main.java.model.classes.CardKey;
+import main.java.model.classes.CardModel;
+import main.java.model.classes.CollectionModel;
+import main.java.model.classes.CollectorBinder;
+import main.java.model.classes.DeckModel;
+import main.java.model.classes.LuxuryBinder;
+import main.java.model.classes.PauperBinder;
+import main.java.model.classes.RaresBinder;
+import main.java.model.classes.SellableDeckModel;
+import main.java.model.classes.ValueRanking;
+import main.java.model.persistence.CardImporter;
+import main.java.utilities.Log;
+import main.java.utilities.Threads;
+
+/**
+ * The `InventoryServer` serves a {@link MainModel} over a local HTTP/JSON API, so the inventory can run
+ * headless as the backend of point-of-sale terminals. It is started by `Main --headless`.
+ * <p>
+ * The server listens on the loopback address only. Its routes are:
+ * <ul>
+ * <li>`GET /api/collection?from=&amp;limit=` - the collection's totals and cards, by name;
+ *     with `q=` instead, the cards whose names contain it.</li>
+ * <li>`POST /api/collection` - adds copies of a card: `{name, rarity, variant, value, amount}`.</li>
+ * <li>`GET /api/collection/top?limit=`, `GET /api/binders/{name}/top?limit=` - the most valuable holdings
+ *     by total value, with their ranks and the median and 90th percentile holding values.</li>
+ * <li>`GET /api/binders`, `POST /api/binders` - lists binders, or creates one: `{name, type}`.</li>
+ * <li>`POST /api/binders/{name}/cards` - moves a copy of a collection card into the binder.</li>
+ * <li>`POST /api/binders/{name}/trade` - trades `{give: card, receive: card}` like the Trade button.</li>
+ * <li>`GET /api/decks`, `POST /api/decks` - lists decks, or creates one: `{name, sellable}`.</li>
+ * <li>`POST /api/decks/{name}/cards` - moves a copy of a collection card into the deck.</li>
+ * <li>`POST /api/sell` - sells `{cards: [card + quantity], binders: [names], decks: [names]}` as one
+ * {@link BulkSale}; with `"quote": true` only prices it.</li>
+ * <li>`GET /api/money` - the balance and net worth.</li>
+ * <li>`GET /api/metrics` - request counts, throughput and latency percentiles per route.</li>
+ * </ul>
+ * Cards are named by `name`, `rarity` and `variant`, accepted as in a {@link CardImporter} file.
+ * Amounts are in cents in responses. Errors are answered with `{"error": message}` and status 400 for
+ * a malformed request, 404 for an unknown binder, deck or card, and 409 when the model refuses the change.
+ * <p>
+ * Requests are handled concurrently, each on its own virtual thread when the runtime supports them and
+ * the `tcis.server.virtualThreads` system property is not `false`, and on a fixed pool of
+ * `tcis.server.threads` platform threads otherwise. The model is safe for concurrent readers and writers,
+ * and every change that touches more than one part of it goes through a {@link ModelTransaction}, so
+ * two terminals selling the same card cannot both succeed.
+ */
+public class InventoryServer {
+
+    /**
+     * The largest request body accepted, in bytes.
+     */
+    private static final int MAX_BODY_BYTES = 1 << 20;
+
+    /**
+     * The default number of cards returned by `GET /api/collection`.
+     */
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * The first path segment of every route.
+     */
+    private static final Set<String> RESOURCES = Set.of("collection", "binders", "decks", "sell", "money", "metrics");
+
+    /**
+     * A request that cannot be served, and the status to answer it with.
+     */
+    private static final class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private final MainModel mainModel;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final RequestMetrics metrics = new RequestMetrics();
+
+    /**
+     * Held while checking a new binder or deck name is free and adding it, so two terminals
+     * cannot create the same name at once.
+     */
+    private final Object namesLock = new Object();
+
+    /**
+     * Creates a server for the model, bound to the given port on the loopback address.
+     * The server does not accept requests until {@link #start()} is called.
+     *
+     * @param mainModel The model to serve.
+     * @param port      The port to listen on, or 0 for any free port.
+     * @throws IOException If the port cannot be bound.
+     */
+    public InventoryServer(MainModel mainModel, int port) throws IOException {
+        this.mainModel = mainModel;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = createExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+    }
+
+    /**
+     * Creates the executor requests are handled on: a new virtual thread per request if available and not
+     * disabled, otherwise a fixed pool of platform threads.
+     *
+     * @return The request executor.
+     */
+    private static ExecutorService createExecutor() {
+        if (!"false".equalsIgnoreCase(System.getProperty("tcis.server.virtualThreads"))) {
+            ThreadFactory virtual = Threads.virtualThreadFactory();
+            if (virtual != null) {
+                Log.info("InventoryServer", "handling requests on virtual threads.");
+                // A cached pool never queues a task, so every request still gets a thread of its own
+                return Executors.newCachedThreadPool(virtual);
+            }
+            Log.info("InventoryServer", "virtual threads are not available, using a thread pool.");
+        }
+        int threads = Integer.getInteger("tcis.server.threads", Math.max(4, 2 * Runtime.getRuntime().availableProcessors()));
+        return Executors.newFixedThreadPool(threads, Threads.daemonThreadFactory("inventory-server", true));
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+        Log.info("InventoryServer", "listening on http://{}:{}/api/", server.getAddress().getHostString(), getPort());
+    }
+
+    /**
+     * Returns the port the server is bound to.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests and waits briefly for those in progress to finish.
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                Log.warn("InventoryServer", "requests still running at shutdown.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ----- Dispatch -----
+
+    /**
+     * Routes a request, writes its response and records its metrics.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        long start = metrics.started();
+        String route = "unmatched";
+        int status = 500;
+        try {
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+            String body;
+            try {
+                route = routeName(method, path);
+                body = dispatch(exchange, method, path);
+                status = 200;
+            } catch (ApiException e) {
+                status = e.status;
+                body = errorJson(e.getMessage());
+            } catch (IllegalArgumentException e) {
+                status = 400;
+                body = errorJson(e.getMessage());
+            } catch (IllegalStateException e) {
+                status = 409;
+                body = errorJson(e.getMessage());
+            } catch (RuntimeException e) {
+                // The details stay in the log; the exception text could reveal internals to the client
+                Log.error("InventoryServer", method + " " + exchange.getRequestURI() + " failed", e);
+                body = errorJson("Internal error.");
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } finally {
+            exchange.close();
+            metrics.finished(route, start, status >= 400);
+        }
+    }
+
+    /**
+     * Names the route a request matches, with names in the path replaced by placeholders,
+     * so metrics group every binder's trades together. Paths outside the API share one name,
+     * so probing them cannot grow the metrics without bound.
+     */
+    private static String routeName(String method, String[] path) {
+        if (path.length > 3 || !RESOURCES.contains(path[0])) {
+            return "unmatched";
+        }
+        StringBuilder route = new StringBuilder(method).append(" /api");
+        for (int i = 0; i < path.length; i++) {
+            route.append('/').append(i == 1 && !path[0].equals("collection") ? "{name}" : path[i]);
+        }
+        return route.toString();
+    }
+
+    private String dispatch(HttpExchange exchange, String method, String[] path) throws IOException {
+        boolean get = method.equals("GET");
+        boolean post = method.equals("POST");
+        switch (path[0]) {
+            case "collection":
+                if (path.length == 1 && get) {
+                    return listCollection(query(exchange));
+                }
+                if (path.length == 1 && post) {
+                    return addToCollection(body(exchange));
+                }
+                if (path.length == 2 && get && path[1].equals("top")) {
+                    return topHoldings(mainModel.getCollectionModel().getValueRanking(), query(exchange));
+                }
+                break;
+            case "binders":
+                if (path.length == 1 && get) {
+                    return listBinders();
+                }
+                if (path.length == 1 && post) {
+                    return createBinder(body(exchange));
+                }
+                if (path.length == 3 && post && path[2].equals("cards")) {
+                    return addToBinder(findBinder(path[1]), body(exchange));
+                }
+                if (path.length == 3 && post && path[2].equals("trade")) {
+                    return trade(findBinder(path[1]), body(exchange));
+                }
+                if (path.length == 3 && get && path[2].equals("top")) {
+                    return topHoldings(findBinder(path[1]).getValueRanking(), query(exchange));
+                }
+                break;
+            case "decks":
+                if (path.length == 1 && get) {
+                    return listDecks();
+                }
+                if (path.length == 1 && post) {
+                    return createDeck(body(exchange));
+                }
+                if (path.length == 3 && post && path[2].equals("cards")) {
+                    return addToDeck(findDeck(path[1]), body(exchange));
+                }
+                break;
+            case "sell":
+                if (path.length == 1 && post) {
+                    return sell(body(exchange));
+                }
+                break;
+            case "money":
+                if (path.length == 1 && get) {
+                    return money();
+                }
+                break;
+            case "metrics":
+                if (path.length == 1 && get) {
+                    return metrics.toJson();
+                }
+                break;
+            default:
+                break;
+        }
+        throw new ApiException(404, "No route for " + method + " " + exchange.getRequestURI().getPath() + ".");
+    }
+
+    // ----- Collection -----
+
+    private String listCollection(Map<String, String> query) {
+        CollectionModel collection = mainModel.getCollectionModel();
+        String from = query.getOrDefault("from", "");
+        int limit = limit(query);
+        String search = query.getOrDefault("q", "");
+        List<CardModel> page = search.isBlank()
+            ? collection.getCardsSortedByName(from, Math.max(0, limit))
+            : collection.searchByName(search, Math.max(0, limit));
+        StringBuilder out = new StringBuilder();
+        out.append("{\"entries\":").append(collection.getCardCount())
+            .append(",\"copies\":").append(collection.getTotals().getCount())
+            .append(",\"valueCents\":").append(collection.getTotals().getValueCents())
+            .append(",\"cards\":");
+        return appendCards(out, page).append('}').toString();
+    }
+
+    /**
+     * Lists the most valuable holdings of a collection or binder by total value, with their ranks
+     * and the median and 90th percentile holding values.
+     */
+    private static String topHoldings(ValueRanking ranking, Map<String, String> query) {
+        List<CardModel> top = ranking.top(Math.max(0, limit(query)));
+        StringBuilder out = new StringBuilder();
+        out.append("{\"entries\":").append(ranking.size())
+            .append(",\"medianCents\":").append(ranking.valueAtPercentile(50))
+            .append(",\"p90Cents\":").append(ranking.valueAtPercentile(90))
+            .append(",\"cards\":[");
+        for (int i = 0; i < top.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            out.append("{\"rank\":").append(i + 1)
+                .append(",\"totalCents\":").append(top.get(i).getTotalPriceCents())
+                .append(",\"card\":");
+            appendCard(out, top.get(i)).append('}');
+        }
+        return out.append("]}").toString();
+    }
+
+    private static int limit(Map<String, String> query) {
+        if (!query.containsKey("limit")) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        try {
+            return Integer.parseInt(query.get("limit"));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid limit \"" + query.get("limit") + "\".");
+        }
+    }
+
+    private String addToCollection(Map<String, Object> body) {
+        CardModel card = parseCard(body);
+        mainModel.getCollectionModel().addCards(List.of(card));
+        CardModel entry = mainModel.getCollectionModel().getMatchingCard(card);
+        return appendCard(new StringBuilder(), entry == null ? card : entry).toString();
+    }
+
+    // ----- Binders -----
+
+    private String listBinders() {
+        StringBuilder out = new StringBuilder("[");
+        boolean first = true;
+        for (BinderModel binder : mainModel.getBinders()) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            appendBinder(out, binder);
+        }
+        return out.append(']').toString();
+    }
+
+    private String createBinder(Map<String, Object> body) {
+        String name = requireName(body);
+        String type = Json.text(body, "type");
+        BinderModel binder;
+        switch (type == null ? "Non-curated Binder" : type) {
+            case "Non-curated Binder":
+                binder = new BinderModel(name);
+                break;
+            case "Pauper Binder":
+                binder = new PauperBinder(name);
+                break;
+            case "Rares Binder":
+                binder = new RaresBinder(name);
+                break;
+            case "Luxury Binder":
+                binder = new LuxuryBinder(name);
+                break;
+            case "Collector Binder":
+                binder = new CollectorBinder(name);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown binder type \"" + type + "\".");
+        }
+        synchronized (namesLock) {
+            for (BinderModel existing : mainModel.getBinders()) {
+                if (existing.getName().equalsIgnoreCase(name)) {
+                    throw new IllegalStateException("A binder named " + name + " already exists.");
+                }
+            }
+            mainModel.addBinder(binder);
+        }
+        return appendBinder(new StringBuilder(), binder).toString();
+    }
+
+    /**
+     * Moves one copy of a collection card into a binder. Like the binder screen, the collection
+     * entry is kept even when its last copy moves.
+     */
+    private String addToBinder(BinderModel binder, Map<String, Object> body) {
+        CardModel card = findCollectionCard(body);
+        mainModel.beginTransaction()
+            .takeFromCollection(card, 1)
+            .addToBinder(binder, card)
+            .commit();
+        return appendBinder(new StringBuilder(), binder).toString();
+    }
+
+    /**
+     * Trades a card out of a binder for a new one, in the same steps as the Trade button.
+     */
+    private String trade(BinderModel binder, Map<String, Object> body) {
+        if (!binder.isTradeable()) {
+            throw new IllegalStateException("Binder " + binder.getName() + " cannot trade.");
+        }
+        CardKey giveKey = parseKey(Json.object(body, "give"));
+        CardModel give = null;
+        synchronized (binder) {
+            for (CardModel card : binder.getCards()) {
+                if (card.getKey().equals(giveKey)) {
+                    give = card;
+                    break;
+                }
+            }
+        }
+        if (give == null) {
+            throw new ApiException(404, "Binder " + binder.getName() + " has no such card to give.");
+        }
+        CardModel receive = parseCard(Json.object(body, "receive"));
+        receive.setAmount(1);
+
+        ModelTransaction transaction = mainModel.beginTransaction();
+        transaction.removeFromBinder(binder, give);
+        CardModel collectionMatch = mainModel.getCollectionModel().getMatchingCard(give);
+        if (collectionMatch != null) {
+            transaction.removeFromCollection(collectionMatch, Math.min(1, collectionMatch.getAmount()));
+        }
+        transaction.addToBinder(binder, receive);
+        transaction.addToCollection(receive, 0);
+        transaction.commit();
+        return appendBinder(new StringBuilder(), binder).toString();
+    }
+
+    // ----- Decks -----
+
+    private String listDecks() {
+        StringBuilder out = new StringBuilder("[");
+        boolean first = true;
+        for (DeckModel deck : mainModel.getDecks()) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            appendDeck(out, deck);
+        }
+        return out.append(']').toString();
+    }
+
+    private String createDeck(Map<String, Object> body) {
+        String name = requireName(body);
+        DeckModel deck = Boolean.TRUE.equals(body.get("sellable")) ? new SellableDeckModel(name) : new DeckModel(name);
+        synchronized (namesLock) {
+            for (DeckModel existing : mainModel.getDecks()) {
+                if (existing.getName().equalsIgnoreCase(name)) {
+                    throw new IllegalStateException("A deck named " + name + " already exists.");
+                }
+            }
+            mainModel.addDeck(deck);
+        }
+        return appendDeck(new StringBuilder(), deck).toString();
+    }
+
+    /**
+     * Moves one copy of a collection card into a deck, as the Add Card button does. Decks are not
+     * part of {@link ModelTransaction}s, so the move holds the collection's monitor, which transactions
+     * commit under, to keep a concurrent sale from taking the same copy.
+     */
+    private String addToDeck(DeckModel deck, Map<String, Object> body) {
+        CollectionModel collection = mainModel.getCollectionModel();
+        CardModel card = findCollectionCard(body);
+        synchronized (collection) {
+            if (card.getAmount() < 1) {
+                throw new IllegalStateException("The collection has no copies of " + card.getName() + " left.");
+            }
+            if (!deck.addCard(card)) {
+                throw new IllegalStateException("Deck " + deck.getName() + " is full or already holds " + card.getName() + ".");
+            }
+            collection.addCardAmount(card, -1);
+        }
+        mainModel.fireDeckChanged(deck);
+        return appendDeck(new StringBuilder(), deck).toString();
+    }
+
+    // ----- Selling and money -----
+
+    private String sell(Map<String, Object> body) {
+        BulkSale sale = mainModel.beginBulkSale();
+        for (Object item : Json.array(body, "cards")) {
+            if (!(item instanceof Map)) {
+                throw new IllegalArgumentException("Each entry of \"cards\" must be an object.");
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> cardBody = (Map<String, Object>) item;
+            String quantity = Json.text(cardBody, "quantity");
+            double copies;
+            try {
+                copies = quantity == null ? 1 : Integer.parseInt(quantity);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid quantity \"" + quantity + "\".");
+            }
+            sale.addCard(findCollectionCard(cardBody), copies);
+        }
+        for (Object name : Json.array(body, "binders")) {
+            sale.addBinder(findBinder(String.valueOf(name)));
+        }
+        for (Object name : Json.array(body, "decks")) {
+            sale.addDeck(findDeck(String.valueOf(name)));
+        }
+
+        if (Boolean.TRUE.equals(body.get("quote"))) {
+            return "{\"quoteCents\":" + sale.quoteCents() + "}";
+        }
+        BulkSale.Receipt receipt = sale.execute();
+        return "{\"proceedsCents\":" + receipt.getProceedsCents()
+            + ",\"copiesSold\":" + receipt.getCopiesSold()
+            + ",\"bindersSold\":" + receipt.getBindersSold()
+            + ",\"decksSold\":" + receipt.getDecksSold()
+            + ",\"moneyCents\":" + mainModel.getMoneyCents() + "}";
+    }
+
+    private String money() {
+        return "{\"moneyCents\":" + mainModel.getMoneyCents()
+            + ",\"netWorthCents\":" + mainModel.getNetWorthCents() + "}";
+    }
+
+    // ----- Lookups -----
+
+    private BinderModel findBinder(String name) {
+        for (BinderModel binder : mainModel.getBinders()) {
+            if (binder.getName().equalsIgnoreCase(name)) {
+                return binder;
+            }
+        }
+        throw new ApiException(404, "No binder named " + name + ".");
+    }
+
+    private DeckModel findDeck(String name) {
+        for (DeckModel deck : mainModel.getDecks()) {
+            if (deck.getName().equalsIgnoreCase(name)) {
+                return deck;
+            }
+        }
+        throw new ApiException(404, "No deck named " + name + ".");
+    }
+
+    private CardModel findCollectionCard(Map<String, Object> body) {
+        CardKey key = parseKey(body);
+        CardModel card = mainModel.getCollectionModel().getMatchingCard(key);
+        if (card == null) {
+            throw new ApiException(404, "The collection has no " + key + ".");
+        }
+        return card;
+    }
+
+    private static CardModel parseCard(Map<String, Object> body) {
+        return CardImporter.parseCard(Json.text(body, "name"), Json.text(body, "rarity"), Json.text(body, "variant"),
+            Json.text(body, "value"), Json.text(body, "amount"));
+    }
+
+    private static CardKey parseKey(Map<String, Object> body) {
+        // The value is not part of a card's identity, so any valid one will do
+        return CardImporter.parseCard(Json.text(body, "name"), Json.text(body, "rarity"), Json.text(body, "variant"),
+            "1", null).getKey();
+    }
+
+    private static String requireName(Map<String, Object> body) {
+        String name = Json.text(body, "name");
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("A name is required.");
+        }
+        return name.trim();
+    }
+
+    // ----- Request and response bodies -----
+
+    private static Map<String, Object> body(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                bytes.write(buffer, 0, read);
+                if (bytes.size() > MAX_BODY_BYTES) {
+                    throw new ApiException(413, "The request body is larger than " + MAX_BODY_BYTES + " bytes.");
+                }
+            }
+        }
+        return Json.parseObject(bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> query = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return query;
+        }
+        for (String pair : raw.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            query.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static String errorJson(String message) {
+        return Json.string(new StringBuilder("{\"error\":"), message).append('}').toString();
+    }
+
+    private static StringBuilder appendCard(StringBuilder out, CardModel card) {
+        out.append("{\"name\":");
+        Json.string(out, card.getName());
+        out.append(",\"rarity\":");
+        Json.string(out, card.getRarity().toString());
+        out.append(",\"variant\":");
+        Json.string(out, card.getVariant().toString());
+        return out.append(",\"valueCents\":").append(card.getValueCents())
+            .append(",\"amount\":").append((long) card.getAmount())
+            .append('}');
+    }
+
+    private static StringBuilder appendCards(StringBuilder out, List<CardModel> cards) {
+        out.append('[');
+        for (int i = 0; i < cards.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            appendCard(out, cards.get(i));
+        }
+        return out.append(']');
+    }
+
+    private static StringBuilder appendBinder(StringBuilder out, BinderModel binder) {
+        List<CardModel> cards;
+        long sellValueCents;
+        synchronized (binder) {
+            cards = List.copyOf(binder.getCards());
+            sellValueCents = binder.isSellable() ? binder.getSellValueCents() : 0;
+        }
+        out.append("{\"name\":");
+        Json.string(out, binder.getName());
+        out.append(",\"type\":");
+        Json.string(out, binder.getTypeName());
+        out.append(",\"sellable\":").append(binder.isSellable())
+            .append(",\"tradeable\":").append(binder.isTradeable())
+            .append(",\"sellValueCents\":").append(sellValueCents)
+            .append(",\"cards\":");
+        return appendCards(out, cards).append('}');
+    }
+
+    private static StringBuilder appendDeck(StringBuilder out, DeckModel deck) {
+        List<CardModel> cards;
+        long valueCents;
+        synchronized (deck) {
+            cards = List.copyOf(deck.getCards());
+            valueCents = deck.getTotalValueCents();
+        }
+        out.append("{\"name\":");
+        Json.string(out, deck.getName());
+        out.append(",\"type\":");
+        Json.string(out, deck.getTypeName());
+        out.append(",\"sellable\":").append(deck.isSellable())
+            .append(",\"valueCents\":").append(valueCents)
+            .append(",\"cards\":");
+        return appendCards(out, cards).append('}');
+    }
+}
@@ -0,0 +1,308 @@
+package main.java.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A minimal JSON reader and writer for the {@link InventoryServer}'s request and response bodies.
+ * <p>
+ * {@link #parse(String)} turns a document into `Map`s (objects), `List`s (arrays), `String`s,
+ * `BigDecimal`s (numbers, kept exact so amounts and values are not rounded), `Boolean`s and `null`.
+ * Responses are built directly into a `StringBuilder` with {@link #string(StringBuilder, String)}.
+ */
+final class Json {
+
+    private final String text;
+    private int position;
+
+    private Json(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parses a complete JSON document.
+     *
+     * @param text The document.
+     * @return The parsed value.
+     * @throws IllegalArgumentException If the document is malformed.
+     */
+    static Object parse(String text) {
+        Json json = new Json(text);
+        Object value = json.readValue();
+        json.skipWhitespace();
+        if (json.position < text.length()) {
+            throw json.error("unexpected text after the value");
+        }
+        return value;
+    }
+
+    /**
+     * Parses a document that must be a JSON object.
+     *
+     * @param text The document; blank text is read as an empty object.
+     * @return The object's members, in document order.
+     * @throws IllegalArgumentException If the document is malformed or not an object.
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> parseObject(String text) {
+        if (text.isBlank()) {
+            return new LinkedHashMap<>();
+        }
+        Object value = parse(text);
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("The request body must be a JSON object.");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    /**
+     * Returns a scalar member as text, the way {@link main.java.model.persistence.CardImporter#parseCard}
+     * expects its fields.
+     *
+     * @param object The object.
+     * @param name   The member's name.
+     * @return The member as text, or `null` if it is missing or `null`.
+     * @throws IllegalArgumentException If the member is an object or array.
+     */
+    static String text(Map<String, Object> object, String name) {
+        Object value = object.get(name);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        if (value instanceof Map || value instanceof List) {
+            throw new IllegalArgumentException("\"" + name + "\" must be a string or number.");
+        }
+        return value.toString();
+    }
+
+    /**
+     * Returns a member that must be a JSON object.
+     *
+     * @throws IllegalArgumentException If the member is missing or not an object.
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> object(Map<String, Object> object, String name) {
+        Object value = object.get(name);
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("\"" + name + "\" must be an object.");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    /**
+     * Returns a member that must be a JSON array, or an empty list if it is missing.
+     *
+     * @throws IllegalArgumentException If the member is present but not an array.
+     */
+    static List<Object> array(Map<String, Object> object, String name) {
+        Object value = object.get(name);
+        if (value == null) {
+            return new ArrayList<>();
+        }
+        if (!(value instanceof List)) {
+            throw new IllegalArgumentException("\"" + name + "\" must be an array.");
+        }
+        @SuppressWarnings("unchecked")
+        List<Object> list = (List<Object>) value;
+        return list;
+    }
+
+    /**
+     * Appends a string as a quoted, escaped JSON string.
+     *
+     * @param out   The builder to append to.
+     * @param value The string, or `null`.
+     * @return The builder.
+     */
+    static StringBuilder string(StringBuilder out, String value) {
+        if (value == null) {
+            return out.append("null");
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        return out.append('"');
+    }
+
+    // ----- Reading -----
+
+    private Object readValue() {
+        skipWhitespace();
+        if (position >= text.length()) {
+            throw error("expected a value");
+        }
+        char c = text.charAt(position);
+        switch (c) {
+            case '{':
+                return readObject();
+            case '[':
+                return readArray();
+            case '"':
+                return readString();
+            default:
+                return readLiteral();
+        }
+    }
+
+    private Map<String, Object> readObject() {
+        Map<String, Object> object = new LinkedHashMap<>();
+        position++;
+        if (consumeIf('}')) {
+            return object;
+        }
+        do {
+            skipWhitespace();
+            if (position >= text.length() || text.charAt(position) != '"') {
+                throw error("expected a member name");
+            }
+            String name = readString();
+            expect(':');
+            object.put(name, readValue());
+        } while (consumeIf(','));
+        expect('}');
+        return object;
+    }
+
+    private List<Object> readArray() {
+        List<Object> array = new ArrayList<>();
+        position++;
+        if (consumeIf(']')) {
+            return array;
+        }
+        do {
+            array.add(readValue());
+        } while (consumeIf(','));
+        expect(']');
+        return array;
+    }
+
+    private String readString() {
+        position++; // opening quote
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            if (position >= text.length()) {
+                throw error("unterminated string");
+            }
+            char c = text.charAt(position++);
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (position >= text.length()) {
+                throw error("unterminated string");
+            }
+            char escaped = text.charAt(position++);
+            switch (escaped) {
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'u':
+                    if (position + 4 > text.length()) {
+                        throw error("truncated \\u escape");
+                    }
+                    try {
+                        value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("invalid \\u escape");
+                    }
+                    position += 4;
+                    break;
+                default:
+                    value.append(escaped);
+            }
+        }
+    }
+
+    private Object readLiteral() {
+        int start = position;
+        while (position < text.length() && ",}] \t\r\n".indexOf(text.charAt(position)) < 0) {
+            position++;
+        }
+        String literal = text.substring(start, position);
+        switch (literal) {
+            case "true":
+                return Boolean.TRUE;
+            case "false":
+                return Boolean.FALSE;
+            case "null":
+                return null;
+            default:
+                try {
+                    return new BigDecimal(literal);
+                } catch (NumberFormatException e) {
+                    position = start;
+                    throw error("expected a value");
+                }
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private boolean consumeIf(char expected) {
+        skipWhitespace();
+        if (position < text.length() && text.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) {
+        if (!consumeIf(expected)) {
+            throw error("expected '" + expected + "'");
+        }
+    }
+
+    private IllegalArgumentException error(String problem) {
+        return new IllegalArgumentException("Malformed JSON at offset " + position + ": " + problem + ".");
+    }
+}
@@ -0,0 +1,109 @@
+package main.java.service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import main.java.metrics.Counter;
+import main.java.metrics.Metrics;
+import main.java.metrics.Timer;
+
+/**
+ * Throughput and latency figures for the {@link InventoryServer}, kept per route and overall.
+ * <p>
+ * Every request is counted and its latency recorded in a {@link Timer} of the application's metrics,
+ * named `server.requests` overall and `server.<route>` per route, so the figures are also visible
+ * through JMX and in the periodic metrics report. Recording never allocates or locks, and percentiles
+ * are within an eighth of the true value.
+ */
+final class RequestMetrics {
+
+    /**
+     * The counters for one route.
+     */
+    static final class Route {
+        private final Timer latency;
+        private final Counter errors;
+
+        private Route(String name) {
+            latency = Metrics.timer(name);
+            errors = Metrics.counter(name + ".errors");
+        }
+
+        private void record(long nanos, boolean error) {
+            if (error) {
+                errors.increment();
+            }
+            latency.record(nanos);
+        }
+
+        void appendJson(StringBuilder out, double uptimeSeconds) {
+            long count = latency.getCount();
+            out.append("{\"requests\":").append(count)
+                .append(",\"errors\":").append(errors.getCount())
+                .append(",\"requestsPerSecond\":").append(String.format(Locale.ROOT, "%.2f", count / uptimeSeconds))
+                .append(",\"meanMicros\":").append((long) latency.getMean())
+                .append(",\"p50Micros\":").append((long) latency.getP50())
+                .append(",\"p90Micros\":").append((long) latency.getP90())
+                .append(",\"p99Micros\":").append((long) latency.getP99())
+                .append(",\"maxMicros\":").append((long) latency.getMax())
+                .append('}');
+        }
+    }
+
+    private final long startNanos = System.nanoTime();
+    private final Route overall = new Route("server.requests");
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private final AtomicLong inFlight = new AtomicLong();
+
+    /**
+     * Marks the start of a request.
+     *
+     * @return The start time to pass to {@link #finished(String, long, boolean)}.
+     */
+    long started() {
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Records a finished request.
+     *
+     * @param route       The route it matched, such as `GET /api/collection`.
+     * @param startNanos  The value returned by {@link #started()}.
+     * @param error       Whether it was answered with an error status.
+     */
+    void finished(String route, long startNanos, boolean error) {
+        long nanos = System.nanoTime() - startNanos;
+        inFlight.decrementAndGet();
+        overall.record(nanos, error);
+        routes.computeIfAbsent(route, key -> new Route("server." + key)).record(nanos, error);
+    }
+
+    /**
+     * Writes every figure as a JSON object, with the routes in alphabetical order.
+     *
+     * @return The JSON text.
+     */
+    String toJson() {
+        double uptimeSeconds = Math.max(1e-3, (System.nanoTime() - startNanos) / 1e9);
+        StringBuilder out = new StringBuilder();
+        out.append("{\"uptimeSeconds\":").append(String.format(Locale.ROOT, "%.1f", uptimeSeconds))
+            .append(",\"inFlight\":").append(inFlight.get())
+            .append(",\"overall\":");
+        overall.appendJson(out, uptimeSeconds);
+        out.append(",\"routes\":{");
+        boolean first = true;
+        for (Map.Entry<String, Route> entry : new TreeMap<>(routes).entrySet()) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            Json.string(out, entry.getKey()).append(':');
+            entry.getValue().appendJson(out, uptimeSeconds);
+        }
+        return out.append("}}").toString();
+    }
+}
@@ -0,0 +1,347 @@
+package main.java.utilities;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The application's log. Messages are leveled, and those below the level set with `-Dtcis.log.level`
+ * (`DEBUG`, `INFO`, `WARN`, `ERROR` or `OFF`; `INFO` by default) are discarded by a single comparison
+ * against a constant, before anything is formatted.
+ * <p>
+ * Logging never blocks the caller on console output: a message is placed in a bounded ring buffer without
+ * locking, and a background thread formats and prints it, `INFO` and `DEBUG` to standard output and
+ * `WARN` and `ERROR` to standard error:
+ * <pre>
+ * 14:03:52.117 INFO  [main] InventoryServer: listening on http://localhost:8080/
+ * </pre>
+ * Message formats use `{}` for each argument, as in `Log.warn("Main", "invalid port \"{}\".", text)`.
+ * If the buffer is full the message is dropped and counted, and the count is printed once there is room.
+ * Whatever is still buffered is printed when the JVM exits normally.
+ */
+public final class Log {
+
+    /**
+     * The levels of messages, from least to most severe.
+     */
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR, OFF
+    }
+
+    private static final int DEBUG = 0;
+    private static final int INFO = 1;
+    private static final int WARN = 2;
+    private static final int ERROR = 3;
+
+    private static final String[] LABELS = {"DEBUG", "INFO ", "WARN ", "ERROR"};
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    /**
+     * The ordinal of the lowest level printed.
+     */
+    private static final int THRESHOLD = threshold();
+
+    /**
+     * The ring buffer: a power of two of preallocated entries, each with a sequence number telling whose
+     * turn it is. An entry at position `p` may be written when its sequence is `p`, and read when it is `p + 1`.
+     */
+    private static final int CAPACITY = 8192;
+    private static final int MASK = CAPACITY - 1;
+    private static final Entry[] entries = new Entry[CAPACITY];
+    private static final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+    private static final AtomicLong tail = new AtomicLong();
+    private static final LongAdder dropped = new LongAdder();
+
+    /**
+     * The next position to print, and the dropped messages already reported. Guarded by {@link #drainLock},
+     * since the shutdown hook drains alongside the writer thread.
+     */
+    private static final Object drainLock = new Object();
+    private static long head;
+    private static long droppedReported;
+
+    private static final Thread writer;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            entries[i] = new Entry();
+            sequences.set(i, i);
+        }
+        if (THRESHOLD <= ERROR) {
+            writer = Threads.daemonThreadFactory("log-writer", false).newThread(Log::write);
+            writer.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(Log::flush, "log-flush"));
+        } else {
+            writer = null;
+        }
+    }
+
+    private Log() {
+    }
+
+    /**
+     * Returns whether messages of a level are printed, for callers that would otherwise build arguments
+     * for nothing.
+     *
+     * @param level The level.
+     * @return Whether the level is enabled.
+     */
+    public static boolean isEnabled(Level level) {
+        return level.ordinal() >= THRESHOLD;
+    }
+
+    public static void debug(String source, String message) {
+        if (DEBUG >= THRESHOLD) {
+            offer(DEBUG, source, message, null, null, null, null);
+        }
+    }
+
+    public static void debug(String source, String format, Object arg) {
+        if (DEBUG >= THRESHOLD) {
+            offer(DEBUG, source, format, arg, null, null, null);
+        }
+    }
+
+    public static void debug(String source, String format, Object arg1, Object arg2) {
+        if (DEBUG >= THRESHOLD) {
+            offer(DEBUG, source, format, arg1, arg2, null, null);
+        }
+    }
+
+    public static void info(String source, String message) {
+        if (INFO >= THRESHOLD) {
+            offer(INFO, source, message, null, null, null, null);
+        }
+    }
+
+    public static void info(String source, String format, Object arg) {
+        if (INFO >= THRESHOLD) {
+            offer(INFO, source, format, arg, null, null, null);
+        }
+    }
+
+    public static void info(String source, String format, Object arg1, Object arg2) {
+        if (INFO >= THRESHOLD) {
+            offer(INFO, source, format, arg1, arg2, null, null);
+        }
+    }
+
+    public static void info(String source, String format, Object... args) {
+        if (INFO >= THRESHOLD) {
+            offer(INFO, source, format, null, null, args, null);
+        }
+    }
+
+    public static void warn(String source, String message) {
+        if (WARN >= THRESHOLD) {
+            offer(WARN, source, message, null, null, null, null);
+        }
+    }
+
+    public static void warn(String source, String format, Object arg) {
+        if (WARN >= THRESHOLD) {
+            offer(WARN, source, format, arg, null, null, null);
+        }
+    }
+
+    public static void warn(String source, String format, Object arg1, Object arg2) {
+        if (WARN >= THRESHOLD) {
+            offer(WARN, source, format, arg1, arg2, null, null);
+        }
+    }
+
+    public static void error(String source, String message) {
+        if (ERROR >= THRESHOLD) {
+            offer(ERROR, source, message, null, null, null, null);
+        }
+    }
+
+    public static void error(String source, String format, Object arg) {
+        if (ERROR >= THRESHOLD) {
+            offer(ERROR, source, format, arg, null, null, null);
+        }
+    }
+
+    public static void error(String source, String format, Object arg1, Object arg2) {
+        if (ERROR >= THRESHOLD) {
+            offer(ERROR, source, format, arg1, arg2, null, null);
+        }
+    }
+
+    /**
+     * Logs an error with the stack trace of its cause.
+     */
+    public static void error(String source, String message, Throwable thrown) {
+        if (ERROR >= THRESHOLD) {
+            offer(ERROR, source, message, null, null, null, thrown);
+        }
+    }
+
+    /**
+     * Prints every message buffered so far, waiting for nothing else. Called when the JVM exits, and
+     * useful before handing the console to something else.
+     */
+    public static void flush() {
+        if (writer != null) {
+            drain();
+        }
+    }
+
+    /**
+     * Claims the next free entry, fills it and publishes it, or counts the message as dropped if every
+     * entry is waiting to be printed.
+     */
+    private static void offer(int level, String source, String format, Object arg1, Object arg2,
+                              Object[] args, Throwable thrown) {
+        long position = tail.get();
+        int index;
+        while (true) {
+            index = (int) position & MASK;
+            long turn = sequences.get(index) - position;
+            if (turn == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (turn < 0) {
+                dropped.increment();
+                return;
+            } else {
+                position = tail.get();
+            }
+        }
+        Entry entry = entries[index];
+        entry.level = level;
+        entry.millis = System.currentTimeMillis();
+        entry.thread = Thread.currentThread().getName();
+        entry.source = source;
+        entry.format = format;
+        entry.arg1 = arg1;
+        entry.arg2 = arg2;
+        entry.args = args;
+        entry.thrown = thrown;
+        sequences.set(index, position + 1);
+        if (level >= WARN) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * The writer thread: prints whatever is buffered, then sleeps briefly when there is nothing to do.
+     */
+    private static void write() {
+        while (true) {
+            if (!drain()) {
+                LockSupport.parkNanos(10_000_000L);
+            }
+        }
+    }
+
+    /**
+     * Prints every published entry in order and releases it to the producers.
+     *
+     * @return Whether anything was printed.
+     */
+    private static boolean drain() {
+        synchronized (drainLock) {
+            boolean printedOut = false;
+            boolean printedErr = false;
+            StringBuilder line = new StringBuilder(160);
+            while (true) {
+                int index = (int) head & MASK;
+                if (sequences.get(index) != head + 1) {
+                    break;
+                }
+                Entry entry = entries[index];
+                line.setLength(0);
+                entry.appendTo(line);
+                PrintStream stream = entry.level >= WARN ? System.err : System.out;
+                stream.println(line);
+                if (entry.thrown != null) {
+                    entry.thrown.printStackTrace(stream);
+                }
+                printedOut |= entry.level < WARN;
+                printedErr |= entry.level >= WARN;
+                entry.clear();
+                sequences.set(index, head + CAPACITY);
+                head++;
+            }
+            long droppedNow = dropped.sum();
+            if (droppedNow != droppedReported) {
+                System.err.println("Log: " + (droppedNow - droppedReported) + " messages dropped, the buffer was full.");
+                droppedReported = droppedNow;
+                printedErr = true;
+            }
+            if (printedOut) {
+                System.out.flush();
+            }
+            if (printedErr) {
+                System.err.flush();
+            }
+            return printedOut || printedErr;
+        }
+    }
+
+    private static int threshold() {
+        String level = System.getProperty("tcis.log.level", "INFO");
+        try {
+            return Level.valueOf(level.trim().toUpperCase()).ordinal();
+        } catch (IllegalArgumentException e) {
+            System.err.println("Log: unknown level \"" + level + "\", using INFO.");
+            return INFO;
+        }
+    }
+
+    /**
+     * A buffered message, kept unformatted until the writer thread prints it.
+     */
+    private static final class Entry {
+        int level;
+        long millis;
+        String thread;
+        String source;
+        String format;
+        Object arg1;
+        Object arg2;
+        Object[] args;
+        Throwable thrown;
+
+        void appendTo(StringBuilder line) {
+            TIME.formatTo(Instant.ofEpochMilli(millis), line);
+            line.append(' ').append(LABELS[level]).append(" [").append(thread).append("] ")
+                    .append(source).append(": ");
+            int next = 0;
+            int from = 0;
+            int at;
+            while ((at = format.indexOf("{}", from)) >= 0) {
+                line.append(format, from, at);
+                Object arg;
+                if (args != null) {
+                    arg = next < args.length ? args[next] : "{}";
+                } else {
+                    arg = next == 0 ? arg1 : next == 1 ? arg2 : "{}";
+                }
+                line.append(arg);
+                next++;
+                from = at + 2;
+            }
+            line.append(format, from, format.length());
+        }
+
+        void clear() {
+            thread = null;
+            source = null;
+            format = null;
+            arg1 = null;
+            arg2 = null;
+            args = null;
+            thrown = null;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package main.java.utilities;
+
+/**
+ * A utility class for fixed-point money.
+ * Amounts are carried as `long` whole cents, so sums and multipliers are exact;
+ * they are converted to `double` dollars only at the edges (input fields, files that store dollars).
+ */
+public final class Money {
+
+    private Money() {
+    }
+
+    /**
+     * Converts a dollar amount to whole cents, rounding to the nearest cent.
+     *
+     * @param dollars The amount in dollars.
+     * @return The amount in cents.
+     */
+    public static long toCents(double dollars) {
+        return Math.round(dollars * 100);
+    }
+
+    /**
+     * Converts an amount in cents to dollars.
+     *
+     * @param cents The amount in cents.
+     * @return The amount in dollars.
+     */
+    public static double toDollars(long cents) {
+        return cents / 100.0;
+    }
+
+    /**
+     * Multiplies an amount by the exact ratio `numerator / denominator`, rounding half away from zero
+     * to the nearest cent. For example, `scale(cents, 150, 100)` applies a 1.5x multiplier.
+     *
+     * @param cents       The amount in cents.
+     * @param numerator   The numerator of the ratio.
+     * @param denominator The denominator of the ratio; must be positive.
+     * @return The scaled amount in cents.
+     */
+    public static long scale(long cents, long numerator, long denominator) {
+        long product = Math.multiplyExact(cents, numerator);
+        long half = denominator / 2;
+        return product >= 0 ? (product + half) / denominator : -((-product + half) / denominator);
+    }
+
+    /**
+     * Formats an amount as dollars with two decimals, e.g. `$1234.50` or `-$0.05`.
+     *
+     * @param cents The amount in cents.
+     * @return The formatted amount.
+     */
+    public static String format(long cents) {
+        long magnitude = Math.abs(cents);
+        return (cents < 0 ? "-$" : "$") + (magnitude / 100) + "." + (magnitude % 100 < 10 ? "0" : "") + (magnitude % 100);
+    }
+}
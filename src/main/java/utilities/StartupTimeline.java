@@ -0,0 +1,81 @@
+package main.java.utilities;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A utility class recording how long the application takes to start, so regressions show up in the log
+ * of every launch. Each step is marked with the time since the JVM started, and the timeline is printed
+ * once the window has been painted and the controllers are ready:
+ * <pre>
+ * Startup: main 92 ms, window shown 311 ms, first paint 402 ms, interactive 455 ms (since JVM start)
+ * </pre>
+ * If the operating system does not report when the process started, times are measured from the
+ * first mark instead.
+ */
+public final class StartupTimeline {
+
+    /**
+     * The steps after which the application responds to input; whichever comes last is "interactive".
+     */
+    public static final String FIRST_PAINT = "first paint";
+    public static final String READY = "ready";
+
+    private static final long START_MILLIS = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli).orElse(-1L);
+
+    private static final Map<String, Long> marks = new LinkedHashMap<>();
+    private static long firstMarkMillis = -1;
+    private static boolean logged;
+
+    private StartupTimeline() {
+    }
+
+    /**
+     * Records that a step of startup has been reached. Only the first mark of each step counts.
+     *
+     * @param step A short description of the step.
+     */
+    public static synchronized void mark(String step) {
+        long now = System.currentTimeMillis();
+        if (firstMarkMillis < 0) {
+            firstMarkMillis = now;
+        }
+        marks.putIfAbsent(step, now);
+        if (!logged && marks.containsKey(FIRST_PAINT) && marks.containsKey(READY)) {
+            logged = true;
+            Log.info("StartupTimeline", describe());
+        }
+    }
+
+    /**
+     * Returns the milliseconds from the JVM starting, or from the first mark, to a step.
+     *
+     * @param step The step.
+     * @return The elapsed time, or -1 if the step has not been reached.
+     */
+    public static synchronized long elapsedMillis(String step) {
+        Long at = marks.get(step);
+        return at == null ? -1 : at - origin();
+    }
+
+    private static String describe() {
+        StringBuilder line = new StringBuilder("Startup:");
+        long interactive = 0;
+        for (Map.Entry<String, Long> mark : marks.entrySet()) {
+            long elapsed = mark.getValue() - origin();
+            interactive = Math.max(interactive, elapsed);
+            if (!mark.getKey().equals(READY)) {
+                line.append(' ').append(mark.getKey()).append(' ').append(elapsed).append(" ms,");
+            }
+        }
+        line.append(" interactive ").append(interactive).append(" ms");
+        line.append(START_MILLIS >= 0 ? " (since JVM start)" : " (since launch)");
+        return line.toString();
+    }
+
+    private static long origin() {
+        return START_MILLIS >= 0 ? START_MILLIS : firstMarkMillis;
+    }
+}
@@ -0,0 +1,45 @@
+package main.java.utilities;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A utility class for creating the application's background threads.
+ */
+public final class Threads {
+
+    private Threads() {
+    }
+
+    /**
+     * Returns a factory for virtual threads if the runtime supports them. They are looked up
+     * reflectively so the application still builds and runs on Java 17.
+     *
+     * @return The virtual thread factory, or `null` if virtual threads are not available.
+     */
+    public static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns a factory for daemon platform threads named `prefix-1`, `prefix-2` and so on,
+     * or just `prefix` when only one thread is ever created.
+     *
+     * @param prefix   The thread name, or its prefix.
+     * @param numbered Whether to number the threads.
+     * @return The thread factory.
+     */
+    public static ThreadFactory daemonThreadFactory(String prefix, boolean numbered) {
+        AtomicInteger created = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, numbered ? prefix + "-" + created.incrementAndGet() : prefix);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package main.java.view;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics;
+
+import javax.swing.JComponent;
+import javax.swing.JList;
+import javax.swing.ListCellRenderer;
+
+import main.java.model.classes.CardModel;
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
+
+/**
+ * CardCellRenderer paints the cells of the virtualized card grid.
+ * A single {@link CardView} is re-pointed at each visible card in turn, so the number of
+ * Swing components no longer grows with the size of the collection. The renderer paints the
+ * card's cached tile itself rather than laying out the view, so each cell is one image copy.
+ */
+public class CardCellRenderer extends JComponent implements ListCellRenderer<CardModel> {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Space left around each card, matching the gaps of the old `FlowLayout` grid.
+     */
+    public static final int CELL_GAP = 15;
+
+    /*
+     * The one CardView reused for every cell.
+     */
+    private final CardView cardView;
+
+    /**
+     * Constructs a CardCellRenderer with a blank card painted on the given background.
+     *
+     * @param background The background color shown between cards.
+     */
+    public CardCellRenderer(Color background) {
+        setBackground(background);
+        setOpaque(true);
+        cardView = new CardView(new CardModel("", Rarity.COMMON, Variant.INVALID, 0));
+    }
+
+    @Override
+    public Component getListCellRendererComponent(JList<? extends CardModel> list, CardModel card, int index,
+                                                  boolean isSelected, boolean cellHasFocus) {
+        cardView.setCardModel(card);
+        cardView.setSelected(isSelected);
+        return this;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        g.setColor(getBackground());
+        g.fillRect(0, 0, getWidth(), getHeight());
+        cardView.paintTile(g, CELL_GAP / 2, CELL_GAP / 2);
+    }
+}
@@ -0,0 +1,291 @@
+package main.java.view;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.AbstractListModel;
+import javax.swing.SwingUtilities;
+
+import main.java.model.classes.CardModel;
+
+/**
+ * CardListModel is the {@link javax.swing.ListModel} behind the virtualized card grid.
+ * It holds the {@link CardModel} objects to display, in display order, and notifies
+ * its listeners when cards are replaced, inserted, removed or changed so that only
+ * the affected cells are repainted.
+ * <p>
+ * Cards in name order may also be read a page at a time through a {@link PageReader}: the next
+ * page is read once the list asks for a cell near the end of what is loaded, so showing a large
+ * collection costs no more than the pages the user actually scrolls through.
+ */
+public class CardListModel extends AbstractListModel<CardModel> {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of cards read per page, and how close to the end of the loaded cards a
+     * requested cell must be (half a page) before the next page is read.
+     */
+    static final int PAGE_SIZE = 256;
+
+    /**
+     * Reads a page of cards in name order, such as
+     * {@link main.java.model.classes.CollectionModel#getCardsSortedByName(String, int)}.
+     */
+    @FunctionalInterface
+    public interface PageReader {
+        /**
+         * @param fromName The name to start from (inclusive, case-insensitive), or `null` for the first card.
+         * @param limit    The maximum number of cards to return.
+         * @return Up to `limit` cards in name order.
+         */
+        List<CardModel> read(String fromName, int limit);
+    }
+
+    /*
+     * The cards currently shown, in display order.
+     */
+    private final List<CardModel> cards = new ArrayList<>();
+    /*
+     * Where further pages come from, or null when every card to show is loaded.
+     */
+    private PageReader pageReader;
+    /*
+     * Whether a read of the next page is already queued on the event dispatch thread.
+     */
+    private boolean loadScheduled;
+
+    /**
+     * Replaces all cards in the model and notifies listeners that the contents changed.
+     *
+     * @param newCards The cards to display, in display order. May be `null` to clear the model.
+     */
+    public void setCards(List<CardModel> newCards) {
+        pageReader = null;
+        replace(newCards);
+    }
+
+    /**
+     * Replaces all cards in the model with the first page read from `reader`, and reads
+     * further pages as the list scrolls towards the end of the loaded cards.
+     *
+     * @param reader Reads pages of the cards to display, in name order.
+     */
+    public void setPagedCards(PageReader reader) {
+        pageReader = reader;
+        List<CardModel> firstPage = reader.read(null, PAGE_SIZE);
+        replace(firstPage);
+        if (firstPage.size() < PAGE_SIZE) {
+            pageReader = null;
+        }
+    }
+
+    /**
+     * Returns whether every card to show is loaded, rather than only the pages read so far.
+     *
+     * @return `false` while further pages remain to be read.
+     */
+    public boolean isFullyLoaded() {
+        return pageReader == null;
+    }
+
+    /**
+     * Reads the page after the last loaded card and appends it. The read starts at the last
+     * loaded name, so cards sharing that name are returned again and skipped.
+     */
+    void loadNextPage() {
+        PageReader reader = pageReader;
+        if (reader == null) {
+            return;
+        }
+        if (cards.isEmpty()) {
+            setPagedCards(reader);
+            return;
+        }
+        String lastName = cards.get(cards.size() - 1).getName();
+        int sameName = 0;
+        for (int i = cards.size() - 1; i >= 0 && cards.get(i).getName().equalsIgnoreCase(lastName); i--) {
+            sameName++;
+        }
+        int limit = PAGE_SIZE + sameName;
+        List<CardModel> page = reader.read(lastName, limit);
+        int firstNew = cards.size();
+        for (CardModel card : page) {
+            if (!card.getName().equalsIgnoreCase(lastName) || !isLoaded(card, firstNew - sameName, firstNew)) {
+                cards.add(card);
+            }
+        }
+        if (page.size() < limit) {
+            pageReader = null;
+        }
+        if (cards.size() > firstNew) {
+            fireIntervalAdded(this, firstNew, cards.size() - 1);
+        }
+    }
+
+    /*
+     * Whether the card is among cards[from, to), compared by reference.
+     */
+    private boolean isLoaded(CardModel card, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (cards.get(i) == card) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Replaces the loaded cards and notifies listeners.
+     */
+    private void replace(List<CardModel> newCards) {
+        int oldSize = cards.size();
+        cards.clear();
+        if (newCards != null) {
+            cards.addAll(newCards);
+        }
+        if (oldSize > 0) {
+            fireIntervalRemoved(this, 0, oldSize - 1);
+        }
+        if (!cards.isEmpty()) {
+            fireIntervalAdded(this, 0, cards.size() - 1);
+        }
+    }
+
+    /**
+     * Inserts a card at its position in name order (case-insensitive), after any cards
+     * with an equal name, and notifies listeners of the single inserted cell.
+     * This assumes the model already holds its cards in name order. While pages remain to be
+     * read, a card that sorts after the last loaded card is left to arrive with its page.
+     *
+     * @param card The card to insert.
+     * @return The index at which the card was inserted, or -1 if it will arrive with a later page.
+     */
+    public int insertCard(CardModel card) {
+        int index = upperBound(card.getName());
+        if (index == cards.size() && pageReader != null) {
+            return -1;
+        }
+        cards.add(index, card);
+        fireIntervalAdded(this, index, index);
+        return index;
+    }
+
+    /**
+     * Removes a card from the model and notifies listeners of the single removed cell.
+     * If that empties a model read a page at a time, the next page is read in its place.
+     *
+     * @param card The card to remove, compared by reference.
+     * @return The index the card was removed from, or -1 if it was not displayed.
+     */
+    public int removeCard(CardModel card) {
+        int index = indexOf(card);
+        if (index >= 0) {
+            cards.remove(index);
+            fireIntervalRemoved(this, index, index);
+            if (cards.isEmpty()) {
+                // Nothing is left to scroll towards the next page, so read it now
+                loadNextPage();
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Notifies listeners that the given card has changed and its cell should be repainted.
+     *
+     * @param card The card that changed, compared by reference.
+     */
+    public void cardChanged(CardModel card) {
+        int index = indexOf(card);
+        if (index >= 0) {
+            fireCardChanged(index);
+        }
+    }
+
+    /**
+     * Notifies listeners that the card at the given position has changed and should be repainted.
+     *
+     * @param index The position of the changed card.
+     */
+    public void fireCardChanged(int index) {
+        fireContentsChanged(this, index, index);
+    }
+
+    /**
+     * Returns the position of the given card in this model, compared by reference.
+     * Cards are looked up by name first, falling back to a full scan when the model
+     * is not in name order.
+     *
+     * @param card The card to look for.
+     * @return The index of the card, or -1 if it is not displayed.
+     */
+    public int indexOf(CardModel card) {
+        for (int i = lowerBound(card.getName()); i < cards.size()
+                && cards.get(i).getName().equalsIgnoreCase(card.getName()); i++) {
+            if (cards.get(i) == card) {
+                return i;
+            }
+        }
+        for (int i = 0; i < cards.size(); i++) {
+            if (cards.get(i) == card) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /*
+     * Index of the first card whose name is not before `name`, ignoring case.
+     */
+    private int lowerBound(String name) {
+        int low = 0;
+        int high = cards.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (String.CASE_INSENSITIVE_ORDER.compare(cards.get(mid).getName(), name) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /*
+     * Index of the first card whose name is after `name`, ignoring case.
+     */
+    private int upperBound(String name) {
+        int low = 0;
+        int high = cards.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (String.CASE_INSENSITIVE_ORDER.compare(cards.get(mid).getName(), name) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public int getSize() {
+        return cards.size();
+    }
+
+    @Override
+    public CardModel getElementAt(int index) {
+        if (pageReader != null && !loadScheduled && index >= cards.size() - PAGE_SIZE / 2) {
+            // Read on from a fresh event, not while the list is asking for cells
+            loadScheduled = true;
+            PageReader reader = pageReader;
+            SwingUtilities.invokeLater(() -> {
+                loadScheduled = false;
+                if (pageReader == reader) {
+                    loadNextPage();
+                }
+            });
+        }
+        return cards.get(index);
+    }
+}
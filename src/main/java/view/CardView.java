@@ -1,35 +1,34 @@
 package main.java.view;
 
 import main.java.model.classes.CardModel;
+import main.java.utilities.Money;
 
 import javax.swing.*;
-import javax.swing.border.Border;
 import java.awt.*;
 
 /**
  * CardView is a JPanel subclass representing the visual display of a single trading card.
  * It shows the card's name, rarity, variant, amount, and value, and provides visual feedback
  * only for its selection state.
+ * <p>
+ * The card is painted as a single tile by {@link TileRenderer}, so the view holds no child components.
  */
 public class CardView extends JPanel {
     /*
-     * 
+     *
      */
-    private static final Dimension CARD_SIZE = new Dimension(180, 250);
+    public static final Dimension CARD_SIZE = TileStyle.CARD.getSize();
 
-    // Borders for different states
-    /*
-     * 
-     */
-    private final Border defaultBorder;
     /*
-     * 
+     *
      */
-    private final Border selectedBorder;
+    private boolean isSelected = false;
+
     /*
-     * 
+     * The text the tile shows, kept so the view can be re-pointed at another card.
      */
-    private boolean isSelected = false; 
+    private String name;
+    private String[] details;
 
     /**
      * Constructs a CardView for a given CardModel.
@@ -41,70 +40,26 @@ public class CardView extends JPanel {
         setPreferredSize(CARD_SIZE);
         setMinimumSize(CARD_SIZE);
         setMaximumSize(CARD_SIZE);
-        setLayout(new BorderLayout(5, 5));
-        setBackground(new Color(60, 60, 90));
-
-        // --- Border Definitions ---
-        defaultBorder = BorderFactory.createCompoundBorder(
-                            BorderFactory.createLineBorder(new Color(80, 80, 100), 2),
-                            BorderFactory.createEmptyBorder(5, 5, 5, 5)
-                        );
-        selectedBorder = BorderFactory.createCompoundBorder(
-                            BorderFactory.createLineBorder(new Color(30, 144, 255), 3), // Dodger Blue
-                            BorderFactory.createEmptyBorder(4, 4, 4, 4) // Adjust padding for thicker border
-                        );
-
-        setBorder(defaultBorder); // Set initial border
-
-        // --- Card Details (Labels) ---
-        // Name Label (Top)
-        JLabel nameLabel = new JLabel("<html><center>" + cardModel.getName() + "</center></html>", SwingConstants.CENTER);
-        nameLabel.setFont(new Font("Arial", Font.BOLD, 16));
-        nameLabel.setForeground(Color.WHITE);
-        nameLabel.setOpaque(true); // Make it opaque to paint its background
-        nameLabel.setBackground(new Color(70, 70, 100)); // Darker bar for name
-        nameLabel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5)); // Padding
-        add(nameLabel, BorderLayout.NORTH);
-
-        // Details Panel (Center)
-        JPanel detailsPanel = new JPanel();
-        detailsPanel.setLayout(new GridLayout(0, 1, 0, 5));
-        detailsPanel.setOpaque(false);
-        detailsPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10)); // Inner padding
-
-        // Rarity
-        JLabel rarityLabel = new JLabel("Rarity: " + cardModel.getRarity().toString());
-        styleDetailLabel(rarityLabel);
-        detailsPanel.add(rarityLabel);
-
-        // Variant
-        JLabel variantLabel = new JLabel("Variant: " + cardModel.getVariant().toString());
-        styleDetailLabel(variantLabel);
-        detailsPanel.add(variantLabel);
+        setOpaque(true);
 
-        // Amount
-        JLabel amountLabel = new JLabel("Amount: " + (int) cardModel.getAmount());
-        styleDetailLabel(amountLabel);
-        detailsPanel.add(amountLabel);
-
-        // Value (Formatted as currency)
-        JLabel valueLabel = new JLabel(String.format("Value: $%.2f", cardModel.getValue()));
-        styleDetailLabel(valueLabel);
-        detailsPanel.add(valueLabel);
-
-        add(detailsPanel, BorderLayout.CENTER); // Add details to the center
-
-        // Set up the current status based on selection (for initial display)
-        setSelected(false); // Default to not selected
+        setCardModel(cardModel);
     }
 
     /**
-     * Applies common styling to detail labels within the card view.
-     * @param label The JLabel to style.
+     * Updates this CardView to show the given card.
+     * This lets a single CardView be reused to paint many cards, as done by {@link CardCellRenderer}.
+     *
+     * @param cardModel The CardModel whose data will be displayed by this view.
      */
-    private void styleDetailLabel(JLabel label) {
-        label.setFont(new Font("Arial", Font.PLAIN, 14));
-        label.setForeground(Color.LIGHT_GRAY);
+    public void setCardModel(CardModel cardModel) {
+        name = cardModel.getName();
+        details = new String[] {
+                "Rarity: " + cardModel.getRarity().toString(),
+                "Variant: " + cardModel.getVariant().toString(),
+                "Amount: " + (int) cardModel.getAmount(),
+                "Value: " + Money.format(cardModel.getValueCents())
+        };
+        repaint();
     }
 
     /**
@@ -115,12 +70,22 @@ public class CardView extends JPanel {
      */
     public void setSelected(boolean selected) {
         this.isSelected = selected;
-        if (selected) {
-            setBorder(selectedBorder);
-        } else {
-            setBorder(defaultBorder);
-        }
-        repaint(); 
+        repaint();
     }
 
-}
\ No newline at end of file
+    /**
+     * Paints the card tile at the given position, without this view being in a container.
+     *
+     * @param g The graphics to paint with.
+     * @param x The left edge of the tile.
+     * @param y The top edge of the tile.
+     */
+    public void paintTile(Graphics g, int x, int y) {
+        TileRenderer.paint(g, x, y, TileStyle.CARD, name, details, isSelected);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        paintTile(g, 0, 0);
+    }
+}
@@ -4,6 +4,7 @@ import java.awt.BorderLayout;
 import java.awt.CardLayout;
 import java.awt.Color;
 import java.awt.Font;
+import java.awt.Graphics;
 
 import javax.swing.BorderFactory;
 import javax.swing.JFrame;
@@ -16,6 +17,8 @@ import main.java.controller.*;
 import main.java.view.binder_views.ManageBindersView;
 import main.java.view.collection_views.ManageCollectionView;
 import main.java.view.deck_views.ManageDecksView;
+import main.java.utilities.Money;
+import main.java.utilities.StartupTimeline;
 
     /*
      * 
@@ -75,22 +78,23 @@ public class MainView extends JFrame {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(600, 600);
 
-        setVisible(true);
-
-
         cardLayout = new CardLayout();
-        cardPanelContainer = new JPanel(cardLayout);
-        add(cardPanelContainer);
-
+        cardPanelContainer = new JPanel(cardLayout) {
+            private boolean painted;
+
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                if (!painted) {
+                    painted = true;
+                    StartupTimeline.mark(StartupTimeline.FIRST_PAINT);
+                }
+            }
+        };
+
+        // Only the main menu is built up front; the other screens are built when first shown
         mainMenuView = new MainMenuView();
-        manageBindersView = new ManageBindersView();
-        manageDecksView = new ManageDecksView();
-        manageCollectionView = new ManageCollectionView();
-    
         cardPanelContainer.add(mainMenuView, mainMenuViewString);
-        cardPanelContainer.add(manageBindersView, manageBindersViewString);
-        cardPanelContainer.add(manageDecksView, manageDecksViewString);
-        cardPanelContainer.add(manageCollectionView, manageCollectionViewString);
 
         moneyLabel = new JLabel("Money: $0.00", SwingConstants.RIGHT);
         moneyLabel.setFont(new Font("Arial", Font.BOLD, 20));
@@ -103,6 +107,9 @@ public class MainView extends JFrame {
 
         add(cardPanelContainer, BorderLayout.CENTER);
         add(statusBar, BorderLayout.SOUTH);
+
+        setVisible(true);
+        StartupTimeline.mark("window shown");
     }
 
     /*
@@ -140,31 +147,52 @@ public class MainView extends JFrame {
         return mainMenuView;
     }
 
-    /*
-     * 
+    /**
+     * Returns the binders screen, building it on first use.
      */
     public ManageBindersView getManageBindersView() {
+        if (manageBindersView == null) {
+            manageBindersView = new ManageBindersView();
+            cardPanelContainer.add(manageBindersView, manageBindersViewString);
+        }
         return manageBindersView;
     }
 
-    /*
-     * 
+    /**
+     * Returns the decks screen, building it on first use.
      */
     public ManageDecksView getManageDecksView() {
+        if (manageDecksView == null) {
+            manageDecksView = new ManageDecksView();
+            cardPanelContainer.add(manageDecksView, manageDecksViewString);
+        }
         return manageDecksView;
     }
 
-    /*
-     * 
+    /**
+     * Returns the collection screen, building it on first use.
      */
     public ManageCollectionView getManageCollectionView() {
+        if (manageCollectionView == null) {
+            manageCollectionView = new ManageCollectionView();
+            cardPanelContainer.add(manageCollectionView, manageCollectionViewString);
+        }
         return manageCollectionView;
     }
 
-    /*
-     * 
+    /**
+     * Shows a screen, building it first if it has not been shown before.
+     *
+     * @param panelName One of the view strings, such as {@link #getManageBindersViewString()}.
      */
     public void showPanel(String panelName) {
+        if (panelName.equals(manageBindersViewString)) {
+            getManageBindersView();
+        } else if (panelName.equals(manageDecksViewString)) {
+            getManageDecksView();
+        } else if (panelName.equals(manageCollectionViewString)) {
+            getManageCollectionView();
+        }
         cardLayout.show(cardPanelContainer, panelName);
         cardPanelContainer.requestFocusInWindow();
     }
@@ -187,9 +215,9 @@ public class MainView extends JFrame {
 
     /**
      * Updates the displayed player money amount.
-     * @param currentMoney The new money amount to display.
+     * @param currentMoney The new money amount to display, in cents.
      */
-    public void updatePlayerMoneyDisplay(double currentMoney) {
-        moneyLabel.setText("Money: " + String.format("$%.2f", currentMoney));
+    public void updatePlayerMoneyDisplay(long currentMoney) {
+        moneyLabel.setText("Money: " + Money.format(currentMoney));
     }
 }
@@ -0,0 +1,81 @@
+package main.java.view;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.util.function.Consumer;
+
+import javax.swing.BorderFactory;
+import javax.swing.JTextField;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+/**
+ * SearchField is the search-as-you-type box shown above the collection, binder and deck grids.
+ * It shows a grey hint while empty and reports the text to its listener on every keystroke,
+ * so the screen can filter what it shows as the user types.
+ */
+public class SearchField extends JTextField {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The hint painted while the field is empty.
+     */
+    private final String hint;
+
+    /**
+     * Constructs a `SearchField`.
+     *
+     * @param hint The text shown while the field is empty, such as "Search cards...".
+     */
+    public SearchField(String hint) {
+        this.hint = hint;
+        setFont(new Font("Arial", Font.PLAIN, 18));
+        setBackground(new Color(70, 70, 110));
+        setForeground(Color.WHITE);
+        setCaretColor(Color.WHITE);
+        setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(new Color(60, 60, 100), 2),
+            BorderFactory.createEmptyBorder(6, 8, 6, 8)));
+    }
+
+    /**
+     * Sets the listener told the field's text every time it changes.
+     *
+     * @param listener Receives the new text on the event dispatch thread.
+     */
+    public void setQueryListener(Consumer<String> listener) {
+        getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                listener.accept(getText());
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                listener.accept(getText());
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                // Attribute changes do not change the text
+            }
+        });
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (getDocument().getLength() == 0) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setColor(Color.LIGHT_GRAY);
+            g2.setFont(getFont().deriveFont(Font.ITALIC));
+            int baseline = (getHeight() + g2.getFontMetrics().getAscent() - g2.getFontMetrics().getDescent()) / 2;
+            g2.drawString(hint, getInsets().left, baseline);
+            g2.dispose();
+        }
+    }
+}
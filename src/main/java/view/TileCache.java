@@ -0,0 +1,103 @@
+package main.java.view;
+
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * TileCache keeps the most recently painted tile images within a memory budget, evicting the least
+ * recently used first. An image counts as four bytes per pixel; one larger than the whole budget is
+ * never kept. Only used on the event dispatch thread, but synchronized so the budget can be changed
+ * from anywhere.
+ *
+ * @param <K> The key identifying what an image shows.
+ */
+final class TileCache<K> {
+
+    private final LinkedHashMap<K, BufferedImage> images = new LinkedHashMap<>(64, 0.75f, true);
+    private long budgetBytes;
+    private long usedBytes;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param budgetBytes The most memory the cached images may take.
+     */
+    TileCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * Returns the image cached for a key, marking it the most recently used.
+     *
+     * @return The image, or `null` if none is cached.
+     */
+    synchronized BufferedImage get(K key) {
+        BufferedImage image = images.get(key);
+        if (image == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return image;
+    }
+
+    /**
+     * Caches an image, evicting the least recently used ones until the cache is back within budget.
+     */
+    synchronized void put(K key, BufferedImage image) {
+        long bytes = bytes(image);
+        if (bytes > budgetBytes) {
+            return;
+        }
+        BufferedImage previous = images.put(key, image);
+        if (previous != null) {
+            usedBytes -= bytes(previous);
+        }
+        usedBytes += bytes;
+        evict();
+    }
+
+    /**
+     * Changes the budget, evicting images at once if the cache is now over it.
+     *
+     * @param budgetBytes The most memory the cached images may take; 0 disables caching.
+     */
+    synchronized void setBudgetBytes(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        evict();
+    }
+
+    synchronized long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    synchronized int size() {
+        return images.size();
+    }
+
+    synchronized long getHits() {
+        return hits;
+    }
+
+    synchronized long getMisses() {
+        return misses;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<K, BufferedImage>> eldest = images.entrySet().iterator();
+        while (usedBytes > budgetBytes && eldest.hasNext()) {
+            usedBytes -= bytes(eldest.next().getValue());
+            eldest.remove();
+        }
+    }
+
+    private static long bytes(BufferedImage image) {
+        return 4L * image.getWidth() * image.getHeight();
+    }
+}
@@ -0,0 +1,246 @@
+package main.java.view;
+
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Toolkit;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TileRenderer paints the card, binder and deck tiles: a bordered box with a title bar and a few
+ * lines of details, laid out as the old label-based views were.
+ * <p>
+ * A tile is drawn once into an image and then copied from a shared {@link TileCache}, keyed by everything
+ * the tile shows, so repainting a screen full of unchanged tiles costs one image copy each. A tile whose
+ * contents change simply gets a new key; its old image is evicted once it is the least recently used.
+ * The cache holds 32 MB of images unless the `tcis.tileCache.mb` system property says otherwise.
+ * <p>
+ * Only used on the event dispatch thread.
+ */
+public final class TileRenderer {
+
+    private static final int DEFAULT_CACHE_MB = 32;
+
+    /**
+     * The most lines a title wraps onto before it is cut short.
+     */
+    private static final int MAX_TITLE_LINES = 2;
+
+    /**
+     * Space around the title text, and between the title bar and the details.
+     */
+    private static final int TITLE_PADDING = 5;
+    private static final int TITLE_GAP = 5;
+
+    /**
+     * Space left and right of the detail lines.
+     */
+    private static final int DETAIL_SIDE_PADDING = 10;
+
+    private static final TileCache<Tile> CACHE = new TileCache<>(
+            Long.getLong("tcis.tileCache.mb", DEFAULT_CACHE_MB) * 1024 * 1024);
+
+    /**
+     * Everything a tile shows, at the scale it is shown at.
+     */
+    private static final class Tile {
+        private final TileStyle style;
+        private final String title;
+        private final String[] details;
+        private final boolean selected;
+        private final double scale;
+        private final int hash;
+
+        private Tile(TileStyle style, String title, String[] details, boolean selected, double scale) {
+            this.style = style;
+            this.title = title;
+            this.details = details;
+            this.selected = selected;
+            this.scale = scale;
+            this.hash = ((style.hashCode() * 31 + title.hashCode()) * 31 + Arrays.hashCode(details)) * 31
+                    + Boolean.hashCode(selected) * 17 + Double.hashCode(scale);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Tile)) {
+                return false;
+            }
+            Tile tile = (Tile) other;
+            return hash == tile.hash && style == tile.style && selected == tile.selected && scale == tile.scale
+                    && title.equals(tile.title) && Arrays.equals(details, tile.details);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private TileRenderer() {
+    }
+
+    /**
+     * Paints a tile, from the cache when it has been painted before.
+     *
+     * @param g        The graphics to paint with.
+     * @param x        The left edge of the tile.
+     * @param y        The top edge of the tile.
+     * @param style    The kind of tile.
+     * @param title    The text of the title bar.
+     * @param details  The detail lines, top to bottom. Must not be changed afterwards.
+     * @param selected Whether to draw the selected border.
+     */
+    public static void paint(Graphics g, int x, int y, TileStyle style, String title, String[] details, boolean selected) {
+        Graphics2D g2 = (Graphics2D) g;
+        // On a scaled (HiDPI) display, draw the image at device resolution so the text stays sharp
+        double scale = Math.max(1, g2.getTransform().getScaleX());
+        Tile tile = new Tile(style, title, details, selected, scale);
+        BufferedImage image = CACHE.get(tile);
+        if (image == null) {
+            image = render(tile, g2.getDeviceConfiguration());
+            CACHE.put(tile, image);
+        }
+        g2.drawImage(image, x, y, style.getWidth(), style.getHeight(), null);
+    }
+
+    /**
+     * Changes how much memory the cached tile images may take.
+     *
+     * @param megabytes The budget; 0 turns the cache off.
+     */
+    public static void setCacheBudget(long megabytes) {
+        CACHE.setBudgetBytes(megabytes * 1024 * 1024);
+    }
+
+    /**
+     * Returns a summary of the cache, for diagnostics.
+     */
+    public static String describeCache() {
+        return CACHE.size() + " tiles, " + CACHE.getUsedBytes() / 1024 + " of " + CACHE.getBudgetBytes() / 1024
+                + " KB, " + CACHE.getHits() + " hits, " + CACHE.getMisses() + " misses";
+    }
+
+    private static BufferedImage render(Tile tile, GraphicsConfiguration config) {
+        int width = (int) Math.ceil(tile.style.getWidth() * tile.scale);
+        int height = (int) Math.ceil(tile.style.getHeight() * tile.scale);
+        BufferedImage image = config != null
+                ? config.createCompatibleImage(width, height, Transparency.OPAQUE)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.scale(tile.scale, tile.scale);
+            applyTextHints(g);
+            draw(g, tile);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    private static void draw(Graphics2D g, Tile tile) {
+        TileStyle style = tile.style;
+        int width = style.getWidth();
+        int height = style.getHeight();
+        int inset = TileStyle.INSET;
+
+        g.setColor(style.getBackground());
+        g.fillRect(0, 0, width, height);
+
+        // Border
+        g.setColor(tile.selected ? style.getSelectedBorderColor() : TileStyle.BORDER_COLOR);
+        int borderWidth = tile.selected ? TileStyle.SELECTED_BORDER_WIDTH : TileStyle.BORDER_WIDTH;
+        for (int i = 0; i < borderWidth; i++) {
+            g.drawRect(i, i, width - 1 - 2 * i, height - 1 - 2 * i);
+        }
+
+        // Title bar, the name wrapped and centered
+        g.setFont(style.getTitleFont());
+        FontMetrics titleMetrics = g.getFontMetrics();
+        int innerWidth = width - 2 * inset;
+        List<String> titleLines = wrap(tile.title, titleMetrics, innerWidth - 2 * TITLE_PADDING);
+        int titleHeight = titleLines.size() * titleMetrics.getHeight() + 2 * TITLE_PADDING;
+        g.setColor(TileStyle.TITLE_BACKGROUND);
+        g.fillRect(inset, inset, innerWidth, titleHeight);
+        g.setColor(TileStyle.TITLE_COLOR);
+        int baseline = inset + TITLE_PADDING + titleMetrics.getAscent();
+        for (String line : titleLines) {
+            g.drawString(line, inset + (innerWidth - titleMetrics.stringWidth(line)) / 2, baseline);
+            baseline += titleMetrics.getHeight();
+        }
+
+        // Details, one evenly spaced row each
+        if (tile.details.length == 0) {
+            return;
+        }
+        g.setFont(TileStyle.DETAIL_FONT);
+        g.setColor(TileStyle.DETAIL_COLOR);
+        FontMetrics detailMetrics = g.getFontMetrics();
+        int padding = style.getDetailPadding();
+        int left = inset + DETAIL_SIDE_PADDING;
+        int top = inset + titleHeight + TITLE_GAP + padding;
+        int available = height - inset - padding - top;
+        int rowHeight = (available - style.getDetailGap() * (tile.details.length - 1)) / tile.details.length;
+        for (String detail : tile.details) {
+            int rowBaseline = top + (rowHeight - detailMetrics.getHeight()) / 2 + detailMetrics.getAscent();
+            g.drawString(fit(detail, detailMetrics, width - inset - DETAIL_SIDE_PADDING - left), left, rowBaseline);
+            top += rowHeight + style.getDetailGap();
+        }
+    }
+
+    /**
+     * Breaks text into lines no wider than `width` at spaces, cutting the last line short with an
+     * ellipsis when it does not fit in {@link #MAX_TITLE_LINES}.
+     */
+    private static List<String> wrap(String text, FontMetrics metrics, int width) {
+        List<String> lines = new ArrayList<>(MAX_TITLE_LINES);
+        String rest = text.trim();
+        while (!rest.isEmpty() && lines.size() < MAX_TITLE_LINES - 1 && metrics.stringWidth(rest) > width) {
+            int end = rest.length();
+            int space;
+            while ((space = rest.lastIndexOf(' ', end - 1)) > 0 && metrics.stringWidth(rest.substring(0, space)) > width) {
+                end = space;
+            }
+            if (space <= 0) {
+                break; // A single word wider than the tile is cut short instead
+            }
+            lines.add(rest.substring(0, space));
+            rest = rest.substring(space + 1).trim();
+        }
+        lines.add(fit(rest, metrics, width));
+        return lines;
+    }
+
+    /**
+     * Returns text cut short with an ellipsis so it is no wider than `width`.
+     */
+    private static String fit(String text, FontMetrics metrics, int width) {
+        if (metrics.stringWidth(text) <= width) {
+            return text;
+        }
+        int end = text.length();
+        while (end > 0 && metrics.stringWidth(text.substring(0, end) + "...") > width) {
+            end--;
+        }
+        return text.substring(0, end) + "...";
+    }
+
+    /**
+     * Renders text with the desktop's antialiasing settings, as Swing labels do.
+     */
+    private static void applyTextHints(Graphics2D g) {
+        Object hints = Toolkit.getDefaultToolkit().getDesktopProperty("awt.font.desktophints");
+        if (hints instanceof Map) {
+            g.addRenderingHints((Map<?, ?>) hints);
+        } else {
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        }
+    }
+}
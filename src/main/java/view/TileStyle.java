@@ -0,0 +1,94 @@
+package main.java.view;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+
+/**
+ * TileStyle is the shared look of the card, binder and deck tiles drawn by {@link TileRenderer}.
+ * Every font, color and size is built once here, rather than by each tile as it is constructed.
+ */
+public enum TileStyle {
+    CARD(new Dimension(180, 250), new Color(60, 60, 90), new Color(30, 144, 255), // Dodger Blue
+            new Font("Arial", Font.BOLD, 16), 10, 5),
+    BINDER(new Dimension(200, 150), new Color(50, 50, 80), new Color(0, 180, 255), // Light blue for binders
+            new Font("Arial", Font.BOLD, 18), 8, 4),
+    DECK(new Dimension(200, 150), new Color(50, 50, 80), new Color(255, 165, 0), // Orange
+            new Font("Arial", Font.BOLD, 18), 8, 4);
+
+    /**
+     * Colors and fonts common to every tile.
+     */
+    static final Color BORDER_COLOR = new Color(80, 80, 100);
+    static final Color TITLE_BACKGROUND = new Color(70, 70, 100);
+    static final Color TITLE_COLOR = Color.WHITE;
+    static final Color DETAIL_COLOR = Color.LIGHT_GRAY;
+    static final Font DETAIL_FONT = new Font("Arial", Font.PLAIN, 14);
+
+    /**
+     * The width of the border, plus the padding inside it, which together stay the same when the
+     * border thickens for a selected tile.
+     */
+    static final int BORDER_WIDTH = 2;
+    static final int SELECTED_BORDER_WIDTH = 3;
+    static final int INSET = 7;
+
+    private final Dimension size;
+    private final Color background;
+    private final Color selectedBorderColor;
+    private final Font titleFont;
+    private final int detailPadding;
+    private final int detailGap;
+
+    TileStyle(Dimension size, Color background, Color selectedBorderColor, Font titleFont, int detailPadding, int detailGap) {
+        this.size = size;
+        this.background = background;
+        this.selectedBorderColor = selectedBorderColor;
+        this.titleFont = titleFont;
+        this.detailPadding = detailPadding;
+        this.detailGap = detailGap;
+    }
+
+    /**
+     * Returns the size of a tile of this style.
+     *
+     * @return A new `Dimension`, so callers may change it.
+     */
+    public Dimension getSize() {
+        return new Dimension(size);
+    }
+
+    int getWidth() {
+        return size.width;
+    }
+
+    int getHeight() {
+        return size.height;
+    }
+
+    Color getBackground() {
+        return background;
+    }
+
+    Color getSelectedBorderColor() {
+        return selectedBorderColor;
+    }
+
+    Font getTitleFont() {
+        return titleFont;
+    }
+
+    /**
+     * Returns the space between the title bar and the detail lines, and around the detail lines.
+     */
+    int getDetailPadding() {
+        return detailPadding;
+    }
+
+    /**
+     * Returns the space between two detail lines.
+     */
+    int getDetailGap() {
+        return detailGap;
+    }
+}
@@ -13,6 +13,8 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.SwingConstants;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.ArrayList;
 
 import javax.swing.JScrollPane;
@@ -20,6 +22,7 @@ import javax.swing.JScrollPane;
 import main.java.model.classes.BinderModel;
 import main.java.controller.BinderController;
 import main.java.view.BinderView;
+import main.java.view.SearchField;
 import main.java.utilities.ViewUtilities;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
@@ -39,6 +42,14 @@ public class ManageBindersView extends JPanel {
     private JPanel bindersContainerPanel;
     private List<BinderController> binderControllers;
     private BinderModel currentSelectedBinderModel = null;
+    private ActionListener binderSelectionListener;
+    private JLabel noBindersLabel;
+
+    /**
+     * The search box above the binders, and the test a binder must pass to be shown; `null` shows them all.
+     */
+    private SearchField searchField;
+    private Predicate<BinderModel> filter;
 
     public ManageBindersView() {
         this.binderControllers = new ArrayList<>();
@@ -112,41 +123,161 @@ public class ManageBindersView extends JPanel {
         scrollPane.setBackground(new Color(50, 50, 80));
         scrollPane.getViewport().setBackground(new Color(50, 50, 80));
 
-        add(scrollPane, BorderLayout.CENTER);
+        searchField = new SearchField("Search binders by name or card...");
+
+        JPanel gridPanel = new JPanel(new BorderLayout(0, 10));
+        gridPanel.setBackground(new Color(50, 50, 80));
+        gridPanel.add(searchField, BorderLayout.NORTH);
+        gridPanel.add(scrollPane, BorderLayout.CENTER);
+
+        add(gridPanel, BorderLayout.CENTER);
     }
 
     public void displayBinders(List<BinderModel> binders, ActionListener binderSelectionListener) {
+        this.binderSelectionListener = binderSelectionListener;
         bindersContainerPanel.removeAll();
         binderControllers.clear();
         currentSelectedBinderModel = null;
 
         if (binders != null && !binders.isEmpty()) {
             for (BinderModel binder : binders) {
-                BinderView binderView = new BinderView(binder);
-                // Create the controller and pass a wrapper ActionListener
-            ActionListener wrappedListener = new ActionListener() {
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    // Send a new ActionEvent where the source is the BinderView
+                addBinderComponent(binder);
+            }
+        } else {
+            bindersContainerPanel.add(getNoBindersLabel());
+        }
+
+        bindersContainerPanel.revalidate();
+        bindersContainerPanel.repaint();
+    }
+
+    /**
+     * Adds the view of a single new binder, leaving the existing binder views in place.
+     *
+     * @param binder The binder that was added.
+     */
+    public void addBinder(BinderModel binder) {
+        if (binderControllers.isEmpty()) {
+            bindersContainerPanel.remove(getNoBindersLabel());
+        }
+        addBinderComponent(binder);
+        bindersContainerPanel.revalidate();
+        bindersContainerPanel.repaint();
+    }
+
+    /**
+     * Removes the view of a single binder, leaving the other binder views in place.
+     *
+     * @param binder The binder that was removed.
+     */
+    public void removeBinder(BinderModel binder) {
+        BinderController controller = findController(binder);
+        if (controller == null) {
+            return;
+        }
+        binderControllers.remove(controller);
+        bindersContainerPanel.remove(controller.getBinderView());
+        if (binder == currentSelectedBinderModel) {
+            setSelectedBinder(null);
+        }
+        if (binderControllers.isEmpty()) {
+            bindersContainerPanel.add(getNoBindersLabel());
+        }
+        bindersContainerPanel.revalidate();
+        bindersContainerPanel.repaint();
+    }
+
+    /**
+     * Refreshes the labels of a single binder whose contents have changed.
+     *
+     * @param binder The binder that changed.
+     */
+    public void updateBinder(BinderModel binder) {
+        BinderController controller = findController(binder);
+        if (controller != null) {
+            controller.getBinderView().refresh();
+            applyFilter(controller);
+        }
+    }
+
+    /**
+     * Shows only the binders passing a test, hiding the others in place, and deselects the selected binder
+     * if it is hidden.
+     *
+     * @param filter The test, or `null` to show every binder.
+     */
+    public void setFilter(Predicate<BinderModel> filter) {
+        this.filter = filter;
+        for (BinderController controller : binderControllers) {
+            applyFilter(controller);
+        }
+        bindersContainerPanel.revalidate();
+        bindersContainerPanel.repaint();
+    }
+
+    private void applyFilter(BinderController controller) {
+        boolean shown = filter == null || filter.test(controller.getBinderModel());
+        controller.getBinderView().setVisible(shown);
+        if (!shown && controller.getBinderModel() == currentSelectedBinderModel) {
+            setSelectedBinder(null);
+        }
+    }
+
+    /**
+     * Sets the listener told the search text every time the user changes it.
+     *
+     * @param listener Receives the new search text.
+     */
+    public void setSearchListener(Consumer<String> listener) {
+        searchField.setQueryListener(listener);
+    }
+
+    /**
+     * Returns the text currently in the search box.
+     *
+     * @return The search text; empty when every binder is shown.
+     */
+    public String getSearchText() {
+        return searchField.getText();
+    }
+
+    private BinderController findController(BinderModel binder) {
+        for (BinderController controller : binderControllers) {
+            if (controller.getBinderModel() == binder) {
+                return controller;
+            }
+        }
+        return null;
+    }
+
+    private void addBinderComponent(BinderModel binder) {
+        BinderView binderView = new BinderView(binder);
+        // Create the controller and pass a wrapper ActionListener
+        ActionListener wrappedListener = new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                // Send a new ActionEvent where the source is the BinderView
+                if (binderSelectionListener != null) {
                     binderSelectionListener.actionPerformed(
                         new ActionEvent(binderView, ActionEvent.ACTION_PERFORMED, binder.getName())
                     );
                 }
-            };
-
-            BinderController controller = new BinderController(binder, binderView, wrappedListener);
-                binderControllers.add(controller);
-                bindersContainerPanel.add(binderView);
             }
-        } else {
-            JLabel noBindersLabel = new JLabel("No binders in your collection.");
+        };
+
+        BinderController controller = new BinderController(binder, binderView, wrappedListener);
+        binderControllers.add(controller);
+        bindersContainerPanel.add(binderView);
+        applyFilter(controller);
+    }
+
+    private JLabel getNoBindersLabel() {
+        if (noBindersLabel == null) {
+            noBindersLabel = new JLabel("No binders in your collection.");
             noBindersLabel.setForeground(Color.LIGHT_GRAY);
             noBindersLabel.setFont(new Font("Arial", Font.PLAIN, 18));
-            bindersContainerPanel.add(noBindersLabel);
         }
-
-        bindersContainerPanel.revalidate();
-        bindersContainerPanel.repaint();
+        return noBindersLabel;
     }
 
     public void setEnableActionButtons(boolean enabled) {
@@ -177,7 +177,7 @@ public class AddCardView extends JPanel {
      */
     private void updateVariantAvailability() {
         Rarity selectedRarity = (Rarity) rarityComboBox.getSelectedItem();
-        boolean variantAllowed = (selectedRarity == Rarity.RARE || selectedRarity == Rarity.LEGENDARY);
+        boolean variantAllowed = selectedRarity != null && selectedRarity.allowsVariants();
 
         variantComboBox.setEnabled(variantAllowed);
         if (!variantAllowed) {
@@ -7,20 +7,29 @@ import java.awt.Font;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
+import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
+import javax.swing.BorderFactory;
 import javax.swing.JButton;
+import javax.swing.JComboBox;
 import javax.swing.JLabel;
+import javax.swing.JList;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
+import javax.swing.ListSelectionModel;
 import javax.swing.SwingConstants;
 
-import main.java.controller.CardController;
 import main.java.model.classes.CardModel;
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
 import main.java.utilities.ViewUtilities;
+import main.java.view.CardCellRenderer;
+import main.java.view.CardListModel;
 import main.java.view.CardView;
+import main.java.view.SearchField;
 
 /**
  * The `ManageCollectionView` class represents the graphical user interface for managing
@@ -32,7 +41,9 @@ import main.java.view.CardView;
  * <ul>
  * <li>A title label.</li>
  * <li>Action buttons: "Add New Card", "Modify Card Amount", "View Card Details", "Sell Card", "Back to Main Menu".</li>
- * <li>A scrollable panel (`cardsContainerPanel`) to dynamically display individual {@link CardView} components.</li>
+ * <li>A {@link SearchField} that filters the grid by card name as the user types.</li>
+ * <li>A filter bar narrowing the grid by rarity, variant, value range and minimum amount.</li>
+ * <li>A scrollable, virtualized grid (`cardList`) that paints {@link CardView} tiles only for the visible rows.</li>
  * </ul>
  */
 public class ManageCollectionView extends JPanel {
@@ -42,6 +53,10 @@ public class ManageCollectionView extends JPanel {
      * Button to initiate the process of adding a new card to the collection.
      */
     private JButton addCardButton;
+    /**
+     * Button to import many cards at once from a CSV or JSON file.
+     */
+    private JButton importCardsButton;
     /**
      * Button to modify the quantity of a selected card in the collection.
      */
@@ -59,17 +74,55 @@ public class ManageCollectionView extends JPanel {
      */
     private JButton backButton;
 
-    // Panel to display the cards
     /**
-     * A `JPanel` that acts as a container for displaying individual {@link CardView} components.
-     * It uses a `FlowLayout` to arrange cards.
+     * The search box above the grid, filtering the cards shown by name.
+     */
+    private SearchField searchField;
+
+    /**
+     * The variants offered by the filter bar; {@link Variant#INVALID} is never stored.
+     */
+    private static final Variant[] FILTER_VARIANTS = {Variant.NORMAL, Variant.EXTENDED_ART, Variant.FULL_ART, Variant.ALT_ART};
+
+    // Filter bar below the search box
+    /**
+     * Filters the grid by rarity; the first choice shows every rarity.
+     */
+    private JComboBox<String> rarityFilter;
+    /**
+     * Filters the grid by variant; the first choice shows every variant.
+     */
+    private JComboBox<String> variantFilter;
+    /**
+     * The lowest and highest card value, in dollars, and the lowest amount shown; blank for no limit.
+     */
+    private SearchField minValueField;
+    private SearchField maxValueField;
+    private SearchField minAmountField;
+
+    // Grid to display the cards
+    /**
+     * The model holding the cards shown in `cardList`. It notifies the list of changes
+     * so that only affected cells are repainted.
+     */
+    private CardListModel cardListModel;
+    /**
+     * A `JList` laid out as a wrapping grid. Swing only asks its renderer to paint the cells
+     * inside the viewport, so the cost of scrolling and refreshing does not grow with the collection.
+     */
+    private JList<CardModel> cardList;
+    /**
+     * The scroll pane whose viewport shows either `cardList` or `noCardsLabel`.
+     */
+    private JScrollPane scrollPane;
+    /**
+     * Message shown in place of the grid when there are no cards to display.
      */
-    private JPanel cardsContainerPanel;
+    private JLabel noCardsLabel;
     /**
-     * A list of {@link CardController} instances, each managing a `CardView` and its associated `CardModel`.
-     * This list helps in managing the display and selection state of individual cards.
+     * The listener (typically from `ManageCollectionController`) notified when a card is selected.
      */
-    private List<CardController> cardControllers;
+    private ActionListener cardSelectionListener;
     /**
      * Stores the currently selected {@link CardModel} from the displayed collection.
      * This model is used by action buttons that operate on a single selected card.
@@ -82,8 +135,6 @@ public class ManageCollectionView extends JPanel {
      * to arrange all UI elements.
      */
     public ManageCollectionView() {
-        this.cardControllers = new ArrayList<>();
-
         setLayout(new BorderLayout(10, 10));
         setBackground(new Color(50, 50, 80));
 
@@ -116,6 +167,11 @@ public class ManageCollectionView extends JPanel {
         ViewUtilities.styleActionButton(addCardButton);
         buttonPanel.add(addCardButton, gridBagConstraints);
 
+        gridBagConstraints.gridy++;
+        importCardsButton = new JButton("Import Cards");
+        ViewUtilities.styleActionButton(importCardsButton);
+        buttonPanel.add(importCardsButton, gridBagConstraints);
+
         gridBagConstraints.gridy++;
         modifyCardCountButton = new JButton("Modify Card Amount");
         ViewUtilities.styleActionButton(modifyCardCountButton);
@@ -139,23 +195,94 @@ public class ManageCollectionView extends JPanel {
 
         add(buttonPanel, BorderLayout.EAST);
 
-        cardsContainerPanel = new JPanel();
-        cardsContainerPanel.setLayout(new FlowLayout(FlowLayout.LEFT, 15, 15));
-        cardsContainerPanel.setBackground(new Color(50, 50, 80));
+        cardListModel = new CardListModel();
+        cardList = new JList<>(cardListModel);
+        cardList.setLayoutOrientation(JList.HORIZONTAL_WRAP);
+        cardList.setVisibleRowCount(-1); // Wrap to the width of the viewport
+        cardList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        // Fixed cell sizes let the list skip measuring every card
+        cardList.setFixedCellWidth(CardView.CARD_SIZE.width + CardCellRenderer.CELL_GAP);
+        cardList.setFixedCellHeight(CardView.CARD_SIZE.height + CardCellRenderer.CELL_GAP);
+        cardList.setCellRenderer(new CardCellRenderer(new Color(50, 50, 80)));
+        cardList.setBackground(new Color(50, 50, 80));
+        cardList.addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                cardSelected(cardList.getSelectedValue());
+            }
+        });
+
+        noCardsLabel = new JLabel("No cards in your collection. Add some!");
+        noCardsLabel.setForeground(Color.LIGHT_GRAY); // Style for the message
+        noCardsLabel.setFont(new Font("Arial", Font.PLAIN, 18));
+        noCardsLabel.setVerticalAlignment(SwingConstants.TOP);
+        noCardsLabel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
+
         // Scroll Pane for cards (crucial for many cards)
-        JScrollPane scrollPane = new JScrollPane(cardsContainerPanel);
+        scrollPane = new JScrollPane(cardList);
         scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
         scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+        scrollPane.setBorder(null);
         scrollPane.setBackground(new Color(50, 50, 80));
         scrollPane.getViewport().setBackground(new Color(50, 50, 80));
 
-        add(scrollPane, BorderLayout.CENTER); // Add scroll pane to the Center
+        searchField = new SearchField("Search cards by name...");
+
+        JPanel filterPanel = new JPanel(new BorderLayout(0, 8));
+        filterPanel.setBackground(new Color(50, 50, 80));
+        filterPanel.add(searchField, BorderLayout.NORTH);
+        filterPanel.add(createFilterBar(), BorderLayout.CENTER);
+
+        JPanel gridPanel = new JPanel(new BorderLayout(0, 10));
+        gridPanel.setBackground(new Color(50, 50, 80));
+        gridPanel.add(filterPanel, BorderLayout.NORTH);
+        gridPanel.add(scrollPane, BorderLayout.CENTER);
+
+        add(gridPanel, BorderLayout.CENTER); // Add the search box, filter bar and scroll pane to the Center
+    }
+
+    /**
+     * Creates the row of rarity, variant, value and amount filters shown under the search box.
+     *
+     * @return The filter bar.
+     */
+    private JPanel createFilterBar() {
+        String[] rarityChoices = new String[Rarity.values().length + 1];
+        rarityChoices[0] = "Any rarity";
+        for (Rarity rarity : Rarity.values()) {
+            rarityChoices[rarity.ordinal() + 1] = rarity.toString();
+        }
+        rarityFilter = new JComboBox<>(rarityChoices);
+        ViewUtilities.styleComboBox(rarityFilter);
+
+        String[] variantChoices = new String[FILTER_VARIANTS.length + 1];
+        variantChoices[0] = "Any variant";
+        for (int i = 0; i < FILTER_VARIANTS.length; i++) {
+            variantChoices[i + 1] = FILTER_VARIANTS[i].toString();
+        }
+        variantFilter = new JComboBox<>(variantChoices);
+        ViewUtilities.styleComboBox(variantFilter);
+
+        minValueField = new SearchField("Min $");
+        maxValueField = new SearchField("Max $");
+        minAmountField = new SearchField("Min qty");
+        for (SearchField field : new SearchField[] {minValueField, maxValueField, minAmountField}) {
+            field.setColumns(6);
+        }
+
+        JPanel filterBar = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        filterBar.setBackground(new Color(50, 50, 80));
+        filterBar.add(rarityFilter);
+        filterBar.add(variantFilter);
+        filterBar.add(minValueField);
+        filterBar.add(maxValueField);
+        filterBar.add(minAmountField);
+        return filterBar;
     }
 
     /**
      * Enables or disables the action buttons related to modifying, viewing, or selling cards.
-     * The "Add New Card" and "Back to Main Menu" buttons are always enabled regardless of collection state.
+     * The "Add New Card", "Import Cards" and "Back to Main Menu" buttons are always enabled regardless of collection state.
      *
      * @param enable `true` to enable the buttons, `false` to disable them.
      */
@@ -163,7 +290,7 @@ public class ManageCollectionView extends JPanel {
         modifyCardCountButton.setEnabled(enable);
         viewCardDetailsButton.setEnabled(enable);
         sellCardButton.setEnabled(enable);
-        // addCardButton and backButton are always enabled
+        // addCardButton, importCardsButton and backButton are always enabled
     }
 
     /**
@@ -175,6 +302,15 @@ public class ManageCollectionView extends JPanel {
         addCardButton.addActionListener(listener);
     }
 
+    /**
+     * Sets the `ActionListener` for the "Import Cards" button.
+     *
+     * @param listener The `ActionListener` to be registered for button clicks.
+     */
+    public void setImportCardsButtonActionListener(ActionListener listener) {
+        importCardsButton.addActionListener(listener);
+    }
+
     /**
      * Sets the `ActionListener` for the "Modify Card Amount" button.
      *
@@ -202,6 +338,93 @@ public class ManageCollectionView extends JPanel {
         sellCardButton.addActionListener(listener);
     }
 
+    /**
+     * Sets the listener told the search text every time the user changes it.
+     *
+     * @param listener Receives the new search text.
+     */
+    public void setSearchListener(Consumer<String> listener) {
+        searchField.setQueryListener(listener);
+    }
+
+    /**
+     * Sets the listener told every time the user changes one of the filters below the search box.
+     *
+     * @param listener Run on the event dispatch thread after each change.
+     */
+    public void setFilterListener(Runnable listener) {
+        rarityFilter.addActionListener(e -> listener.run());
+        variantFilter.addActionListener(e -> listener.run());
+        for (SearchField field : new SearchField[] {minValueField, maxValueField, minAmountField}) {
+            field.setQueryListener(text -> listener.run());
+        }
+    }
+
+    /**
+     * Returns the rarity chosen in the filter bar.
+     *
+     * @return The {@link Rarity}, or `null` if any rarity is shown.
+     */
+    public Rarity getRarityFilter() {
+        int index = rarityFilter.getSelectedIndex();
+        return index <= 0 ? null : Rarity.values()[index - 1];
+    }
+
+    /**
+     * Returns the variant chosen in the filter bar.
+     *
+     * @return The {@link Variant}, or `null` if any variant is shown.
+     */
+    public Variant getVariantFilter() {
+        int index = variantFilter.getSelectedIndex();
+        return index <= 0 ? null : FILTER_VARIANTS[index - 1];
+    }
+
+    /**
+     * Returns the text of the lowest card value filter, in dollars.
+     *
+     * @return The text; empty when there is no lower bound.
+     */
+    public String getMinValueText() {
+        return minValueField.getText();
+    }
+
+    /**
+     * Returns the text of the highest card value filter, in dollars.
+     *
+     * @return The text; empty when there is no upper bound.
+     */
+    public String getMaxValueText() {
+        return maxValueField.getText();
+    }
+
+    /**
+     * Returns the text of the lowest amount filter.
+     *
+     * @return The text; empty when there is no lower bound.
+     */
+    public String getMinAmountText() {
+        return minAmountField.getText();
+    }
+
+    /**
+     * Returns the text currently in the search box.
+     *
+     * @return The search text; empty when the grid is not filtered.
+     */
+    public String getSearchText() {
+        return searchField.getText();
+    }
+
+    /**
+     * Sets the message shown in place of the grid when there are no cards to display.
+     *
+     * @param message The message, such as a note that no card matches the search.
+     */
+    public void setNoCardsMessage(String message) {
+        noCardsLabel.setText(message);
+    }
+
     /**
      * Sets the `ActionListener` for the "Back to Main Menu" button.
      *
@@ -212,56 +435,129 @@ public class ManageCollectionView extends JPanel {
     }
 
     /**
-     * Displays a list of `CardModel` objects by creating and adding
-     * {@link CardView} and {@link CardController} instances for each.
-     * This method clears any existing cards displayed and repopulates the panel.
+     * Displays a list of `CardModel` objects in the virtualized card grid.
+     * The grid's model is replaced in one step; no per-card components are created,
+     * as a single shared {@link CardView} paints whichever cells are visible.
      * If the `cards` list is empty, a message indicating an empty collection is displayed.
      *
      * @param cards The `List` of {@link CardModel} objects to display.
      * @param cardSelectionListener The `ActionListener` (typically from `ManageCollectionController`)
-     * that will be notified when an individual `CardView` is clicked for selection.
+     * that will be notified when an individual card is clicked for selection.
      */
     public void displayCards(List<CardModel> cards, ActionListener cardSelectionListener) {
-        cardsContainerPanel.removeAll(); // Clear existing card panels
-        cardControllers.clear();       // Clear existing controllers
+        this.cardSelectionListener = cardSelectionListener;
         currentSelectedCardModel = null; // Clear previous selection
+        cardList.clearSelection();
 
-        if (cards != null && !cards.isEmpty()) {
-            for (CardModel card : cards) {
-                CardView cardView = new CardView(card);
+        cardListModel.setCards(cards);
+        showGridOrMessage();
+    }
 
-                CardController cardController = new CardController(card, cardView, cardSelectionListener);
+    /**
+     * Displays cards in name order in the virtualized card grid, reading them a page at a time
+     * as the grid scrolls, so a large collection is never loaded in full just to be shown.
+     * If there are no cards, a message indicating an empty collection is displayed.
+     *
+     * @param reader Reads pages of the cards to display, in name order.
+     * @param cardSelectionListener The `ActionListener` (typically from `ManageCollectionController`)
+     * that will be notified when an individual card is clicked for selection.
+     */
+    public void displayCardPages(CardListModel.PageReader reader, ActionListener cardSelectionListener) {
+        this.cardSelectionListener = cardSelectionListener;
+        currentSelectedCardModel = null; // Clear previous selection
+        cardList.clearSelection();
 
-                cardControllers.add(cardController);
+        cardListModel.setPagedCards(reader);
+        showGridOrMessage();
+    }
 
-                cardsContainerPanel.add(cardView);
+    /*
+     * Shows the grid if it has cards, or the no-cards message if not.
+     */
+    private void showGridOrMessage() {
+        if (cardListModel.getSize() > 0) {
+            if (scrollPane.getViewport().getView() != cardList) {
+                scrollPane.setViewportView(cardList);
             }
         } else {
             // Display a message if there are no cards
-            JLabel noCardsLabel = new JLabel("No cards in your collection. Add some!");
-            noCardsLabel.setForeground(Color.LIGHT_GRAY); // Style for the message
-            noCardsLabel.setFont(new Font("Arial", Font.PLAIN, 18));
-            cardsContainerPanel.add(noCardsLabel);
+            scrollPane.setViewportView(noCardsLabel);
         }
+    }
+
+    /**
+     * Adds a single card to the grid at its place in name order, without rebuilding the grid.
+     * A card past the pages read so far is left for its page to bring in.
+     *
+     * @param card The {@link CardModel} that was added to the collection.
+     */
+    public void insertCard(CardModel card) {
+        cardListModel.insertCard(card);
+        showGridOrMessage();
+    }
 
-        // Revalidate and repaint to ensure the new components are displayed correctly
-        cardsContainerPanel.revalidate();
-        cardsContainerPanel.repaint();
+    /**
+     * Removes a single card from the grid, clearing the selection if it was the selected card.
+     *
+     * @param card The {@link CardModel} that was removed from the collection.
+     */
+    public void removeCard(CardModel card) {
+        if (card == currentSelectedCardModel) {
+            currentSelectedCardModel = null;
+        }
+        cardListModel.removeCard(card);
+        showGridOrMessage();
+    }
+
+    /**
+     * Repaints the cell of a single card whose details (such as its amount) have changed.
+     *
+     * @param card The {@link CardModel} that changed.
+     */
+    public void updateCard(CardModel card) {
+        cardListModel.cardChanged(card);
+    }
+
+    /**
+     * Returns the number of cards currently shown in the grid. While the grid is read a page at a
+     * time, this counts only the pages read so far.
+     *
+     * @return The number of displayed cards.
+     */
+    public int getDisplayedCardCount() {
+        return cardListModel.getSize();
+    }
+
+    /**
+     * Forwards a selection made in the grid to the registered card selection listener,
+     * using the selected {@link CardModel} as the event source.
+     *
+     * @param card The card that was selected, or `null` if the selection was cleared.
+     */
+    private void cardSelected(CardModel card) {
+        if (card == null || card == currentSelectedCardModel || cardSelectionListener == null) {
+            return;
+        }
+        cardSelectionListener.actionPerformed(
+            new ActionEvent(card, ActionEvent.ACTION_PERFORMED, card.getName())
+        );
     }
 
     /**
-     * Updates the selection state across all displayed {@link CardView} components.
+     * Updates the selection state of the card grid.
      * This method is called by the `ManageCollectionController` whenever a card's selection changes.
-     * It highlights the `CardView` corresponding to the `selectedModel` and unhighlights others.
+     * It highlights the cell corresponding to the `selectedModel` and unhighlights others.
      *
      * @param selectedModel The {@link CardModel} that is currently selected (or `null` if no card is selected).
      */
     public void setSelectedCard(CardModel selectedModel) {
         this.currentSelectedCardModel = selectedModel;
 
-        for (CardController controller : cardControllers) {
-            // Set the selected state for each CardView based on whether its model matches the selectedModel
-            controller.setSelected(controller.getCardModel().equals(selectedModel));
+        int index = selectedModel == null ? -1 : cardListModel.indexOf(selectedModel);
+        if (index < 0) {
+            cardList.clearSelection();
+        } else if (cardList.getSelectedIndex() != index) {
+            cardList.setSelectedIndex(index);
         }
     }
 
@@ -10,6 +10,8 @@ import java.awt.Insets;
 import java.awt.event.ActionListener;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import javax.swing.JButton;
 import javax.swing.JLabel;
@@ -21,6 +23,7 @@ import main.java.controller.DeckController;
 import main.java.model.classes.DeckModel;
 import main.java.utilities.ViewUtilities;
 import main.java.view.DeckView;
+import main.java.view.SearchField;
 
 public class ManageDecksView extends JPanel {
 
@@ -34,6 +37,14 @@ public class ManageDecksView extends JPanel {
     private JPanel decksContainerPanel;
     private List<DeckController> deckControllers;
     private DeckModel currentSelectedDeckModel = null;
+    private ActionListener deckSelectionListener;
+    private JLabel noDecksLabel;
+
+    /**
+     * The search box above the decks, and the test a deck must pass to be shown; `null` shows them all.
+     */
+    private SearchField searchField;
+    private Predicate<DeckModel> filter;
 
     public ManageDecksView() {
         this.deckControllers = new ArrayList<>();
@@ -102,32 +113,154 @@ public class ManageDecksView extends JPanel {
         scrollPane.setBackground(new Color(50, 50, 80));
         scrollPane.getViewport().setBackground(new Color(50, 50, 80));
 
-        add(scrollPane, BorderLayout.CENTER);
+        searchField = new SearchField("Search decks by name or card...");
+
+        JPanel gridPanel = new JPanel(new BorderLayout(0, 10));
+        gridPanel.setBackground(new Color(50, 50, 80));
+        gridPanel.add(searchField, BorderLayout.NORTH);
+        gridPanel.add(scrollPane, BorderLayout.CENTER);
+
+        add(gridPanel, BorderLayout.CENTER);
     }
 
     public void displayDecks(List<DeckModel> decks, ActionListener deckSelectionListener) {
+        this.deckSelectionListener = deckSelectionListener;
         decksContainerPanel.removeAll();
         deckControllers.clear();
         currentSelectedDeckModel = null;
 
         if (decks != null && !decks.isEmpty()) {
             for (DeckModel deck : decks) {
-                DeckView deckView = new DeckView(deck);
-                DeckController controller = new DeckController(deck, deckView, deckSelectionListener);
-                deckControllers.add(controller);
-                decksContainerPanel.add(deckView);
+                addDeckComponent(deck);
             }
         } else {
-            JLabel noDecksLabel = new JLabel("No decks in your collection.");
-            noDecksLabel.setForeground(Color.LIGHT_GRAY);
-            noDecksLabel.setFont(new Font("Arial", Font.PLAIN, 18));
-            decksContainerPanel.add(noDecksLabel);
+            decksContainerPanel.add(getNoDecksLabel());
+        }
+
+        decksContainerPanel.revalidate();
+        decksContainerPanel.repaint();
+    }
+
+    /**
+     * Adds the view of a single new deck without rebuilding the others.
+     *
+     * @param deck The deck that was added.
+     */
+    public void addDeck(DeckModel deck) {
+        if (deckControllers.isEmpty()) {
+            decksContainerPanel.remove(getNoDecksLabel());
+        }
+        addDeckComponent(deck);
+        decksContainerPanel.revalidate();
+        decksContainerPanel.repaint();
+    }
+
+    /**
+     * Removes the view of a single deck without rebuilding the others.
+     *
+     * @param deck The deck that was removed.
+     */
+    public void removeDeck(DeckModel deck) {
+        DeckController controller = findController(deck);
+        if (controller == null) {
+            return;
+        }
+        deckControllers.remove(controller);
+        decksContainerPanel.remove(controller.getDeckView());
+        if (deck == currentSelectedDeckModel) {
+            setSelectedDeck(null);
+        }
+        if (deckControllers.isEmpty()) {
+            decksContainerPanel.add(getNoDecksLabel());
+        }
+        decksContainerPanel.revalidate();
+        decksContainerPanel.repaint();
+    }
+
+    /**
+     * Refreshes the labels of a single deck whose cards have changed.
+     *
+     * @param deck The deck that changed.
+     */
+    public void updateDeck(DeckModel deck) {
+        DeckController controller = findController(deck);
+        if (controller != null) {
+            controller.getDeckView().refresh();
+            applyFilter(controller);
         }
+    }
 
+    /**
+     * Shows only the decks passing a test, hiding the others in place, and deselects the selected deck
+     * if it is hidden.
+     *
+     * @param filter The test, or `null` to show every deck.
+     */
+    public void setFilter(Predicate<DeckModel> filter) {
+        this.filter = filter;
+        for (DeckController controller : deckControllers) {
+            applyFilter(controller);
+        }
         decksContainerPanel.revalidate();
         decksContainerPanel.repaint();
     }
 
+    private void applyFilter(DeckController controller) {
+        boolean shown = filter == null || filter.test(controller.getDeckModel());
+        controller.getDeckView().setVisible(shown);
+        if (!shown && controller.getDeckModel() == currentSelectedDeckModel) {
+            setSelectedDeck(null);
+        }
+    }
+
+    /**
+     * Sets the listener told the search text every time the user changes it.
+     *
+     * @param listener Receives the new search text.
+     */
+    public void setSearchListener(Consumer<String> listener) {
+        searchField.setQueryListener(listener);
+    }
+
+    /**
+     * Returns the text currently in the search box.
+     *
+     * @return The search text; empty when every deck is shown.
+     */
+    public String getSearchText() {
+        return searchField.getText();
+    }
+
+    private DeckController findController(DeckModel deck) {
+        for (DeckController controller : deckControllers) {
+            if (controller.getDeckModel() == deck) {
+                return controller;
+            }
+        }
+        return null;
+    }
+
+    private void addDeckComponent(DeckModel deck) {
+        DeckView deckView = new DeckView(deck);
+        DeckController controller = new DeckController(deck, deckView, e -> {
+            if (deckSelectionListener != null) {
+                deckSelectionListener.actionPerformed(e);
+            }
+        });
+        deckControllers.add(controller);
+        decksContainerPanel.add(deckView);
+        applyFilter(controller);
+    }
+
+    private JLabel getNoDecksLabel() {
+        if (noDecksLabel == null) {
+            noDecksLabel = new JLabel("No decks in your collection.");
+            noDecksLabel.setForeground(Color.LIGHT_GRAY);
+            noDecksLabel.setFont(new Font("Arial", Font.PLAIN, 18));
+        }
+        return noDecksLabel;
+    }
+
     public void setEnableActionButtons(boolean enabled) {
         deleteDeckButton.setEnabled(enabled);
         addRemoveCardButton.setEnabled(enabled);
@@ -0,0 +1,193 @@
+package main.java.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import main.java.model.classes.BinderModel;
+import main.java.model.classes.CardModel;
+import main.java.model.classes.CollectionModel;
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
+
+class ModelTransactionTest {
+
+    private static CardModel card(String name) {
+        return new CardModel(name, Rarity.COMMON, Variant.INVALID, 2.0);
+    }
+
+    @Test
+    void commitAppliesEveryStagedChange() {
+        MainModel model = new MainModel();
+        CollectionModel collection = model.getCollectionModel();
+        CardModel goblin = collection.putCard("Goblin", Rarity.COMMON, Variant.INVALID, 2.0, 3);
+        BinderModel binder = new BinderModel("Trade");
+        model.addBinder(binder);
+        model.setMoneyCents(1_000);
+
+        model.beginTransaction()
+                .removeFromCollection(goblin, 2)
+                .addToBinder(binder, goblin)
+                .addToBinder(binder, goblin)
+                .addMoney(-400)
+                .commit();
+
+        assertEquals(1, goblin.getAmount());
+        assertEquals(2, binder.getTotalCardCount());
+        assertEquals(600, model.getMoneyCents());
+    }
+
+    @Test
+    void takingTheLastCopyKeepsTheEntry() {
+        MainModel model = new MainModel();
+        CollectionModel collection = model.getCollectionModel();
+        CardModel goblin = collection.putCard("Goblin", Rarity.COMMON, Variant.INVALID, 2.0, 1);
+        BinderModel binder = new BinderModel("Trade");
+        model.addBinder(binder);
+
+        model.beginTransaction().takeFromCollection(goblin, 1).addToBinder(binder, goblin).commit();
+
+        assertSame(goblin, collection.getMatchingCard(goblin));
+        assertEquals(0, goblin.getAmount());
+        assertEquals(1, binder.getTotalCardCount());
+        assertThrows(IllegalStateException.class, model.beginTransaction().takeFromCollection(goblin, 1)::commit);
+    }
+
+    @Test
+    void failedValidationChangesNothing() {
+        MainModel model = new MainModel();
+        CollectionModel collection = model.getCollectionModel();
+        CardModel goblin = collection.putCard("Goblin", Rarity.COMMON, Variant.INVALID, 2.0, 1);
+        model.setMoneyCents(100);
+
+        ModelTransaction transaction = model.beginTransaction()
+                .removeFromCollection(goblin, 1)
+                .addMoney(-500);
+        assertThrows(IllegalStateException.class, transaction::commit);
+
+        assertEquals(1, goblin.getAmount());
+        assertEquals(100, model.getMoneyCents());
+    }
+
+    @Test
+    void failureWhileApplyingRollsBackTheAppliedSteps() {
+        MainModel model = new MainModel();
+        CollectionModel collection = model.getCollectionModel();
+        CardModel goblin = collection.putCard("Goblin", Rarity.COMMON, Variant.INVALID, 2.0, 1);
+        CardModel elf = collection.putCard("Elf", Rarity.COMMON, Variant.INVALID, 1.0, 1);
+        BinderModel refusing = new BinderModel("Refusing") {
+            @Override
+            public synchronized boolean addCardB(CardModel card) {
+                return false;
+            }
+        };
+        model.addBinder(refusing);
+        model.setMoneyCents(1_000);
+
+        ModelTransaction transaction = model.beginTransaction()
+                .removeFromCollection(goblin, 1)
+                .addToCollection(card("Dragon"), 2)
+                .addToBinder(refusing, goblin)
+                .addMoney(250);
+        assertThrows(IllegalStateException.class, transaction::commit);
+
+        assertSame(goblin, collection.getMatchingCard(goblin), "the emptied entry comes back as the same instance");
+        assertEquals(List.of(goblin, elf), collection.getCards());
+        assertEquals(1, goblin.getAmount());
+        assertNull(collection.getMatchingCard(card("Dragon")));
+        assertEquals(0, refusing.getTotalCardCount());
+        assertEquals(1_000, model.getMoneyCents());
+    }
+
+    @Test
+    void addingAnUnknownCardTwiceInOneTransactionCreatesOneEntry() {
+        MainModel model = new MainModel();
+        CollectionModel collection = model.getCollectionModel();
+
+        model.beginTransaction()
+                .addToCollection(card("Dragon"), 2)
+                .addToCollection(card("DRAGON"), 3)
+                .commit();
+
+        assertEquals(1, collection.getCardCount());
+        assertEquals(5, collection.getMatchingCard(card("Dragon")).getAmount());
+    }
+
+    @Test
+    void writersWaitForTheCommitBetweenValidationAndApplication() throws InterruptedException {
+        MainModel model = new MainModel();
+        CollectionModel collection = model.getCollectionModel();
+        CardModel goblin = collection.putCard("Goblin", Rarity.COMMON, Variant.INVALID, 2.0, 2);
+        CountDownLatch writerStarted = new CountDownLatch(1);
+        Thread.State[] writerDuringCommit = new Thread.State[1];
+        Thread writer = new Thread(() -> {
+            writerStarted.countDown();
+            collection.setCardAmount(goblin, 0);
+        });
+        // The binder is checked during validation, so it can start a competing writer at that point
+        BinderModel binder = new BinderModel("Trade") {
+            @Override
+            public boolean isCardAllowed(CardModel card) {
+                writer.start();
+                try {
+                    writerStarted.await();
+                    writer.join(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                writerDuringCommit[0] = writer.getState();
+                return true;
+            }
+        };
+        model.addBinder(binder);
+
+        model.beginTransaction()
+                .removeFromCollection(goblin, 2)
+                .addToBinder(binder, goblin)
+                .commit();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertEquals(Thread.State.BLOCKED, writerDuringCommit[0]);
+        assertFalse(writer.isAlive());
+        assertEquals(1, binder.getTotalCardCount());
+        assertNull(collection.getMatchingCard(goblin), "the validated removal took the last copies");
+    }
+
+    @Test
+    void sharedCardIsSpentOnlyOnceByConcurrentTransactions() throws InterruptedException {
+        MainModel model = new MainModel();
+        CollectionModel collection = model.getCollectionModel();
+        CardModel goblin = collection.putCard("Goblin", Rarity.COMMON, Variant.INVALID, 2.0, 100);
+        int[] committed = new int[1];
+        Runnable spender = () -> {
+            for (int i = 0; i < 100; i++) {
+                try {
+                    model.beginTransaction().removeFromCollection(goblin, 1).addMoney(200).commit();
+                    synchronized (committed) {
+                        committed[0]++;
+                    }
+                } catch (IllegalStateException e) {
+                    // Nothing left to spend
+                }
+            }
+        };
+        Thread first = new Thread(spender);
+        Thread second = new Thread(spender);
+        first.start();
+        second.start();
+        first.join();
+        second.join();
+
+        assertEquals(100, committed[0]);
+        assertEquals(100 * 200, model.getMoneyCents());
+        assertNull(collection.getMatchingCard(goblin));
+    }
+}
@@ -0,0 +1,93 @@
+package main.java.model.classes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
+
+class CardStoreTest {
+
+    @Test
+    void rowsAndNamesStayBoundedAcrossAddRemoveCycles() {
+        CardStore store = new CardStore();
+        int live = store.add("Kept", Rarity.COMMON, Variant.INVALID, 100, 1);
+        for (int i = 0; i < 100_000; i++) {
+            StoredCardModel view = new StoredCardModel(store, store.add("Card " + i, Rarity.RARE, Variant.FULL_ART, i, 2));
+            store.release(view.detach());
+        }
+        assertEquals(2, store.capacityUsed());
+        assertEquals(1, store.size());
+        assertEquals(1, store.nameCount());
+        assertEquals("Kept", store.getName(live));
+    }
+
+    @Test
+    void collectionReusesRowsOfRemovedCards() {
+        CollectionModel collection = new CollectionModel();
+        for (int i = 0; i < 10_000; i++) {
+            CardModel card = collection.putCard("Card " + i, Rarity.COMMON, Variant.INVALID, 1.0, 1);
+            collection.removeCard(card);
+        }
+        CardModel last = collection.putCard("Last", Rarity.COMMON, Variant.INVALID, 1.0, 1);
+        assertEquals(1, collection.getCardCount());
+        assertEquals("Last", last.getName());
+    }
+
+    @Test
+    void detachedViewKeepsItsCardAfterTheRowIsReused() {
+        CardStore store = new CardStore();
+        int row = store.add("Old", Rarity.RARE, Variant.ALT_ART, 250, 3);
+        StoredCardModel old = new StoredCardModel(store, row);
+        store.release(old.detach());
+        int reused = store.add("New", Rarity.COMMON, Variant.INVALID, 5, 7);
+
+        assertEquals(row, reused);
+        assertEquals("Old", old.getName());
+        assertEquals(Rarity.RARE, old.getRarity());
+        assertEquals(Variant.ALT_ART, old.getVariant());
+        assertEquals(250, old.getBaseValueCents());
+        assertEquals(3, old.getAmount());
+        assertEquals("New", new StoredCardModel(store, reused).getName());
+    }
+
+    @Test
+    void readersNeverSeeAnotherCardWhileRowsAreReused() throws InterruptedException {
+        CardStore store = new CardStore();
+        AtomicReference<StoredCardModel> published = new AtomicReference<>(
+                new StoredCardModel(store, store.add("Card 0", Rarity.COMMON, Variant.INVALID, 0, 0)));
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                StoredCardModel view = published.get();
+                // Each card's value and amount are derived from its name, so a mix of two cards shows
+                long value = view.getBaseValueCents();
+                double amount = view.getAmount();
+                String name = view.getName();
+                long number = Long.parseLong(name.substring("Card ".length()));
+                if (value != number || amount != number % 1000) {
+                    failure.compareAndSet(null, name + " read as value " + value + ", amount " + amount);
+                }
+            }
+        });
+        reader.start();
+        try {
+            for (int i = 1; i < 200_000; i++) {
+                StoredCardModel previous = published.get();
+                published.set(new StoredCardModel(store, store.add("Card " + i, Rarity.COMMON, Variant.INVALID, i, i % 1000)));
+                store.release(previous.detach());
+            }
+        } finally {
+            done.set(true);
+            reader.join();
+        }
+        assertEquals(null, failure.get());
+        assertTrue(store.capacityUsed() <= 2);
+    }
+}
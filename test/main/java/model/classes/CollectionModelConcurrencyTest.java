@@ -0,0 +1,192 @@
+package main.java.model.classes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
+import main.java.model.events.ModelChangeListener;
+
+class CollectionModelConcurrencyTest {
+
+    private static final int THREADS = 4;
+
+    /**
+     * Runs `task(thread)` on several threads started together, failing the test with the first error thrown.
+     */
+    private static void onThreads(int count, ThreadTask task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < count; t++) {
+            int index = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    task.run(index);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(failure.get(), () -> "a thread failed: " + failure.get());
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+
+    @Test
+    void concurrentAmountChangesAreNeverLost() throws InterruptedException {
+        CollectionModel collection = new CollectionModel();
+        List<CardModel> cards = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            cards.add(collection.putCard("Card " + i, Rarity.COMMON, Variant.INVALID, 1.0, 0));
+        }
+
+        onThreads(THREADS, thread -> {
+            for (int i = 0; i < 10_000; i++) {
+                collection.addCardAmount(cards.get(i % cards.size()), 1);
+            }
+        });
+
+        for (CardModel card : cards) {
+            assertEquals(THREADS * 10_000 / cards.size(), card.getAmount());
+        }
+        assertEquals(THREADS * 10_000, collection.getTotals().getCount());
+        assertEquals(THREADS * 10_000 * 100L, collection.getTotals().getValueCents());
+    }
+
+    @Test
+    void readersSeeAConsistentIndexWhileCardsComeAndGo() throws InterruptedException {
+        CollectionModel collection = new CollectionModel();
+        for (int i = 0; i < 500; i++) {
+            collection.putCard("Kept " + i, Rarity.COMMON, Variant.INVALID, 1.0, 1);
+        }
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        onThreads(THREADS, thread -> {
+            if (thread == 0) {
+                try {
+                    for (int i = 0; i < 5_000; i++) {
+                        CardModel card = collection.putCard("Passing " + i, Rarity.RARE, Variant.NORMAL, 2.0, 1);
+                        collection.removeCard(card);
+                    }
+                } finally {
+                    writing.set(false);
+                }
+                return;
+            }
+            while (writing.get()) {
+                List<CardModel> sorted = collection.getCardsSortedByName();
+                for (int i = 1; i < sorted.size(); i++) {
+                    assertTrue(String.CASE_INSENSITIVE_ORDER.compare(sorted.get(i - 1).getName(), sorted.get(i).getName()) <= 0);
+                }
+                assertTrue(sorted.size() >= 500);
+                assertEquals("Kept 42", CollectionModel.findCardInCollection(collection, "kept 42").getName());
+                assertFalse(collection.searchByName("Kept 1", 10).isEmpty());
+            }
+        });
+
+        assertEquals(500, collection.getCardCount());
+        assertEquals(500, collection.getTotals().getCount());
+    }
+
+    @Test
+    void concurrentAddsOfTheSameCardMakeOneEntry() throws InterruptedException {
+        CollectionModel collection = new CollectionModel();
+
+        onThreads(THREADS, thread -> {
+            for (int i = 0; i < 1_000; i++) {
+                CardModel copy = new CardModel("Goblin", Rarity.COMMON, Variant.INVALID, 1.0);
+                copy.setAmount(1);
+                collection.addCard(copy);
+            }
+        });
+
+        assertEquals(1, collection.getCardCount());
+        assertEquals(THREADS * 1_000, collection.getCards().get(0).getAmount());
+    }
+
+    @Test
+    void batchRemovalNeverTakesMoreThanIsThere() throws InterruptedException {
+        CollectionModel collection = new CollectionModel();
+        CardModel goblin = collection.putCard("Goblin", Rarity.COMMON, Variant.INVALID, 1.0, 1_000);
+        AtomicInteger taken = new AtomicInteger();
+
+        onThreads(THREADS, thread -> {
+            while (true) {
+                try {
+                    collection.removeCards(Map.of(goblin.getKey(), 1.0));
+                    taken.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    // Empty, or already removed by another thread
+                    return;
+                }
+            }
+        });
+
+        assertEquals(1_000, taken.get());
+        assertNull(collection.getMatchingCard(goblin));
+        assertEquals(0, collection.getTotals().getCount());
+    }
+
+    @Test
+    void everyChangeReachesListenersOnceAndInOrderPerCard() throws InterruptedException {
+        CollectionModel collection = new CollectionModel();
+        Map<String, List<String>> events = new ConcurrentHashMap<>();
+        collection.addChangeListener(new ModelChangeListener<CardModel>() {
+            private void note(CardModel card, String event) {
+                events.computeIfAbsent(card.getName(), name -> new ArrayList<>()).add(event);
+            }
+
+            @Override
+            public void added(CardModel card) {
+                note(card, "added");
+            }
+
+            @Override
+            public void removed(CardModel card) {
+                note(card, "removed");
+            }
+
+            @Override
+            public void changed(CardModel card) {
+                note(card, "changed");
+            }
+        });
+
+        onThreads(THREADS, thread -> {
+            for (int i = 0; i < 200; i++) {
+                CardModel card = collection.putCard("Card " + thread + "-" + i, Rarity.COMMON, Variant.INVALID, 1.0, 1);
+                collection.setCardAmount(card, 2);
+                collection.removeCard(card);
+            }
+        });
+
+        assertEquals(THREADS * 200, events.size());
+        for (List<String> cardEvents : events.values()) {
+            assertEquals(List.of("added", "changed", "removed"), cardEvents);
+        }
+    }
+}
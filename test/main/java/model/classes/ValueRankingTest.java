@@ -0,0 +1,137 @@
+package main.java.model.classes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
+
+class ValueRankingTest {
+
+    private static CardModel card(int i, double value, int amount) {
+        CardModel card = new CardModel("Card " + i, Rarity.COMMON, Variant.INVALID, value);
+        card.setAmount(amount);
+        return card;
+    }
+
+    /**
+     * The ranking a sort gives: most valuable first, equal values in the order first added.
+     */
+    private static List<CardModel> expected(Map<CardModel, Long> added) {
+        List<CardModel> cards = new ArrayList<>(added.keySet());
+        cards.sort(Comparator.comparingLong((CardModel card) -> -card.getTotalPriceCents())
+                .thenComparingLong(added::get));
+        return cards;
+    }
+
+    private static void assertMatches(List<CardModel> expected, ValueRanking ranking) {
+        assertEquals(expected.size(), ranking.size());
+        assertEquals(expected, ranking.top(Integer.MAX_VALUE));
+        assertEquals(expected.subList(0, Math.min(5, expected.size())), ranking.top(5));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, ranking.rankOf(expected.get(i)));
+            assertEquals(expected.get(i), ranking.atRank(i + 1));
+        }
+        assertNull(ranking.atRank(0));
+        assertNull(ranking.atRank(expected.size() + 1));
+    }
+
+    @Test
+    void randomChangesKeepTheSortedOrder() {
+        Random random = new Random(20);
+        ValueRanking ranking = new ValueRanking();
+        Map<CardModel, Long> added = new LinkedHashMap<>();
+        List<CardModel> pool = new ArrayList<>();
+        long sequence = 0;
+        for (int i = 0; i < 200; i++) {
+            // Few distinct values, so many entries tie
+            pool.add(card(i, 1 + random.nextInt(10), 1 + random.nextInt(3)));
+        }
+        for (int step = 0; step < 5_000; step++) {
+            CardModel card = pool.get(random.nextInt(pool.size()));
+            switch (random.nextInt(3)) {
+                case 0:
+                    ranking.remove(card);
+                    added.remove(card);
+                    break;
+                case 1:
+                    card.setAmount(1 + random.nextInt(3));
+                    // fall through: the owner repositions a changed entry
+                default:
+                    ranking.update(card);
+                    if (!added.containsKey(card)) {
+                        added.put(card, sequence++);
+                    }
+            }
+            if (step % 250 == 0) {
+                assertMatches(expected(added), ranking);
+            }
+        }
+        assertMatches(expected(added), ranking);
+    }
+
+    @Test
+    void rebuildRanksLikeAddingOneByOne() {
+        Random random = new Random(7);
+        List<CardModel> cards = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            cards.add(card(i, 1 + random.nextInt(50), 1 + random.nextInt(4)));
+        }
+        ValueRanking incremental = new ValueRanking();
+        cards.forEach(incremental::update);
+        ValueRanking rebuilt = new ValueRanking();
+        rebuilt.rebuild(cards);
+
+        assertEquals(incremental.top(Integer.MAX_VALUE), rebuilt.top(Integer.MAX_VALUE));
+        CardModel moved = cards.get(500);
+        moved.setAmount(1_000);
+        rebuilt.update(moved);
+        assertEquals(1, rebuilt.rankOf(moved));
+    }
+
+    @Test
+    void percentilesUseTheNearestRank() {
+        ValueRanking ranking = new ValueRanking();
+        List<CardModel> cards = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            CardModel card = card(i, i, 1);
+            cards.add(card);
+            ranking.update(card);
+        }
+        assertEquals(100, ranking.valueAtPercentile(0));
+        assertEquals(5_000, ranking.valueAtPercentile(50));
+        assertEquals(10_000, ranking.valueAtPercentile(100));
+        assertEquals(99.0, ranking.percentileOf(cards.get(99)));
+        assertEquals(0.0, ranking.percentileOf(cards.get(0)));
+        assertEquals(-1.0, ranking.percentileOf(card(0, 1, 1)));
+        assertEquals(-1, ranking.rankOf(card(0, 1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> ranking.valueAtPercentile(101));
+        assertEquals(0, new ValueRanking().valueAtPercentile(50));
+    }
+
+    @Test
+    void collectionRankingFollowsAmountChanges() {
+        CollectionModel collection = new CollectionModel();
+        CardModel cheap = collection.putCard("Cheap", Rarity.COMMON, Variant.INVALID, 1.0, 1);
+        CardModel dear = collection.putCard("Dear", Rarity.COMMON, Variant.INVALID, 5.0, 1);
+        ValueRanking ranking = collection.getValueRanking();
+        assertEquals(List.of(dear, cheap), ranking.top(10));
+
+        collection.setCardAmount(cheap, 10);
+        assertEquals(List.of(cheap, dear), ranking.top(10));
+
+        collection.removeCard(cheap);
+        assertEquals(List.of(dear), ranking.top(10));
+        assertEquals(-1, ranking.rankOf(cheap));
+    }
+}
@@ -0,0 +1,159 @@
+package main.java.model.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import main.java.model.classes.CardModel;
+import main.java.model.classes.CollectionModel;
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
+
+class CardImporterTest {
+
+    @TempDir
+    Path directory;
+
+    private static CardImporter.Result csv(String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        return CardImporter.importCsv(new ByteArrayInputStream(bytes), bytes.length, null);
+    }
+
+    private static CardImporter.Result json(String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        return CardImporter.importJson(new ByteArrayInputStream(bytes), bytes.length, null);
+    }
+
+    @Test
+    void csvColumnsMayComeInAnyOrderWithQuotedFields() throws IOException {
+        CardImporter.Result result = csv("\uFEFFValue,Name,Rarity,Variant,Amount\r\n"
+                + "2.50,\"Goblin, \"\"the\"\" Brave\",common,,3\r\n"
+                + "\r\n"
+                + "10,\"Two\nLines\",LEGENDARY,full art,\r\n");
+
+        assertEquals(2, result.getRowsRead());
+        assertEquals(0, result.getRowsRejected());
+        CardModel goblin = result.getCards().get(0);
+        assertEquals("Goblin, \"the\" Brave", goblin.getName());
+        assertEquals(Rarity.COMMON, goblin.getRarity());
+        assertEquals(Variant.INVALID, goblin.getVariant());
+        assertEquals(250, goblin.getBaseValueCents());
+        assertEquals(3, goblin.getAmount());
+        CardModel legend = result.getCards().get(1);
+        assertEquals("Two\nLines", legend.getName());
+        assertEquals(Variant.FULL_ART, legend.getVariant());
+        assertEquals(1, legend.getAmount());
+    }
+
+    @Test
+    void invalidRowsAreRejectedWithTheirReasons() throws IOException {
+        CardImporter.Result result = csv("name,rarity,variant,value,amount\n"
+                + ",Common,,1,1\n"
+                + "Goblin,Mythic,,1,1\n"
+                + "Goblin,Common,Full Art,1,1\n"
+                + "Goblin,Rare,Shiny,1,1\n"
+                + "Goblin,Common,,-1,1\n"
+                + "Goblin,Common,,abc,1\n"
+                + "Goblin,Common,,1,0\n"
+                + "Goblin,Common,,1,\n");
+
+        assertEquals(8, result.getRowsRead());
+        assertEquals(7, result.getRowsRejected());
+        assertEquals(1, result.getCards().size());
+        assertEquals(7, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).startsWith("Row 1: "));
+        assertTrue(result.getErrors().get(2).contains("cannot have a variant"));
+    }
+
+    @Test
+    void rowsForTheSameCardAreMergedKeepingTheFirstValue() throws IOException {
+        CardImporter.Result result = csv("name,rarity,variant,value,amount\n"
+                + "Dragon,Rare,Normal,5,1\n"
+                + "DRAGON,rare,NORMAL,9,2\n"
+                + "Dragon,Rare,Alt Art,5,1\n");
+
+        assertEquals(2, result.getCards().size());
+        assertEquals(1, result.getRowsMerged());
+        CardModel dragon = result.getCards().get(0);
+        assertEquals(3, dragon.getAmount());
+        assertEquals(500, dragon.getBaseValueCents());
+    }
+
+    @Test
+    void headerWithoutARequiredColumnFails() {
+        IOException e = assertThrows(IOException.class, () -> csv("name,value\nGoblin,1\n"));
+        assertTrue(e.getMessage().contains("rarity"));
+        assertThrows(IOException.class, () -> csv(""));
+    }
+
+    @Test
+    void jsonArrayOfObjectsIsRead() throws IOException {
+        CardImporter.Result result = json("[ {\"Name\": \"Elf \\\"Scout\\\"\", \"rarity\": \"Uncommon\", \"value\": 1.25, \"amount\": 2},\n"
+                + "  {\"name\": \"Angel\\u0021\", \"rarity\": \"rare\", \"variant\": null, \"value\": \"4\"},\n"
+                + "  {\"name\": \"\", \"rarity\": \"rare\", \"value\": 1} ]");
+
+        assertEquals(3, result.getRowsRead());
+        assertEquals(1, result.getRowsRejected());
+        assertEquals("Elf \"Scout\"", result.getCards().get(0).getName());
+        assertEquals(2, result.getCards().get(0).getAmount());
+        CardModel angel = result.getCards().get(1);
+        assertEquals("Angel!", angel.getName());
+        assertEquals(Variant.NORMAL, angel.getVariant());
+        assertEquals(400, angel.getBaseValueCents());
+        assertEquals(0, json("[]").getCards().size());
+    }
+
+    @Test
+    void malformedJsonFails() {
+        assertThrows(IOException.class, () -> json("{\"name\": \"Elf\"}"));
+        assertThrows(IOException.class, () -> json("[{\"name\": \"Elf}]"));
+        assertThrows(IOException.class, () -> json("[{\"name\": \"Elf\", }]"));
+    }
+
+    @Test
+    void largeFileIsReportedInChunksAndAddedAsOneBatch() throws IOException {
+        int rows = CardImporter.CHUNK_SIZE * 2 + 10;
+        StringBuilder text = new StringBuilder("name,rarity,value\n");
+        for (int i = 0; i < rows; i++) {
+            text.append("Card ").append(i % (rows - 5)).append(",Common,1\n");
+        }
+        Path file = directory.resolve("cards.csv");
+        Files.writeString(file, text);
+
+        List<Long> reports = new ArrayList<>();
+        long[] lastBytes = new long[2];
+        CardImporter.Result result = CardImporter.importFile(file, (rowsRead, bytesRead, totalBytes) -> {
+            reports.add(rowsRead);
+            lastBytes[0] = bytesRead;
+            lastBytes[1] = totalBytes;
+        });
+
+        assertEquals(List.of((long) CardImporter.CHUNK_SIZE, 2L * CardImporter.CHUNK_SIZE, (long) rows), reports);
+        assertEquals(Files.size(file), lastBytes[0]);
+        assertEquals(Files.size(file), lastBytes[1]);
+        assertEquals(5, result.getRowsMerged());
+
+        CollectionModel collection = new CollectionModel();
+        collection.putCard("Card 0", Rarity.COMMON, Variant.INVALID, 1.0, 4);
+        assertEquals(rows - 6, collection.addCards(result.getCards()));
+        assertEquals(6, collection.getMatchingCard(result.getCards().get(0)).getAmount());
+    }
+
+    @Test
+    void parseCardExplainsTheProblem() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> CardImporter.parseCard("Goblin", "Common", null, "0", null));
+        assertEquals("Value must be a positive number.", e.getMessage());
+    }
+}
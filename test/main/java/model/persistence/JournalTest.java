@@ -0,0 +1,140 @@
+package main.java.model.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JournalTest {
+
+    @TempDir
+    Path directory;
+
+    private static byte[] intPayload(int value) {
+        return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+    }
+
+    @Test
+    void groupSyncedAppendsFromManyThreadsAllReplay() throws Exception {
+        Path path = directory.resolve("journal.0");
+        int threads = 4;
+        int perThread = 2_000;
+        try (Journal journal = new Journal(path, true)) {
+            List<Thread> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int first = t * perThread;
+                Thread writer = new Thread(() -> {
+                    for (int i = first; i < first + perThread; i++) {
+                        try {
+                            journal.append((byte) 1, intPayload(i));
+                        } catch (IOException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                });
+                writers.add(writer);
+                writer.start();
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        int count = Journal.replay(path, (type, payload) -> seen.add(payload.readInt()));
+        assertEquals(threads * perThread, count);
+        assertEquals(threads * perThread, seen.size());
+    }
+
+    /**
+     * Writes records holding 0, 1, ... `count - 1` to a new journal and returns its path.
+     */
+    private Path journalOf(int count) throws IOException {
+        Path path = directory.resolve("journal.1");
+        try (Journal journal = new Journal(path, false)) {
+            for (int i = 0; i < count; i++) {
+                journal.append((byte) 1, intPayload(i));
+            }
+        }
+        return path;
+    }
+
+    private static List<Integer> replayed(Path path) throws IOException {
+        List<Integer> values = new ArrayList<>();
+        Journal.replay(path, (type, payload) -> values.add(payload.readInt()));
+        return values;
+    }
+
+    @Test
+    void missingJournalHasNoRecords() throws IOException {
+        assertEquals(0, Journal.replay(directory.resolve("journal.7"), (type, payload) -> { }));
+    }
+
+    @Test
+    void recordsReplayInOrderWithTheirTypes() throws IOException {
+        Path path = directory.resolve("journal.1");
+        try (Journal journal = new Journal(path, false)) {
+            journal.append((byte) 3, intPayload(30));
+            journal.append((byte) 4, new byte[0]);
+            journal.append((byte) 5, intPayload(50));
+        }
+        List<String> records = new ArrayList<>();
+        Journal.replay(path, (type, payload) -> records.add(type + ":" + payload.available()));
+        assertEquals(List.of("3:4", "4:0", "5:4"), records);
+    }
+
+    @Test
+    void tornTailIsIgnoredAtEveryCutPoint() throws IOException {
+        Path path = journalOf(3);
+        long full = Files.size(path);
+        long lastRecord = full / 3;
+        for (long cut = 1; cut < lastRecord; cut++) {
+            Path torn = directory.resolve("torn." + cut);
+            Files.copy(path, torn);
+            try (FileChannel channel = FileChannel.open(torn, StandardOpenOption.WRITE)) {
+                channel.truncate(full - cut);
+            }
+            assertEquals(List.of(0, 1), replayed(torn), "cut " + cut + " bytes");
+        }
+    }
+
+    @Test
+    void replayStopsAtACorruptRecord() throws IOException {
+        Path path = journalOf(3);
+        byte[] bytes = Files.readAllBytes(path);
+        int recordLength = bytes.length / 3;
+        // Flip a payload byte of the second record
+        bytes[recordLength + Integer.BYTES + 1 + 2] ^= 0x40;
+        Files.write(path, bytes);
+        assertEquals(List.of(0), replayed(path));
+    }
+
+    @Test
+    void implausibleLengthEndsReplay() throws IOException {
+        Path path = journalOf(2);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(-5).flip());
+        }
+        assertEquals(List.of(0, 1), replayed(path));
+    }
+
+    @Test
+    void appendsAfterReopeningFollowTheExistingRecords() throws IOException {
+        Path path = journalOf(2);
+        try (Journal journal = new Journal(path, true)) {
+            journal.append((byte) 1, intPayload(2));
+        }
+        assertEquals(List.of(0, 1, 2), replayed(path));
+    }
+}
@@ -0,0 +1,152 @@
+package main.java.model.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import main.java.model.MainModel;
+import main.java.model.classes.BinderModel;
+import main.java.model.classes.CardModel;
+import main.java.model.classes.CollectionModel;
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
+
+class PersistenceManagerTest {
+
+    @TempDir
+    Path directory;
+
+    private MainModel reopen() throws IOException {
+        MainModel model = new MainModel();
+        PersistenceManager.open(directory, model).close();
+        return model;
+    }
+
+    @Test
+    void journaledBalanceKeepsEveryCent() throws IOException {
+        // One more than the largest count of cents a double holds exactly
+        long cents = (1L << 53) + 1;
+        MainModel model = new MainModel();
+        try (PersistenceManager manager = PersistenceManager.open(directory, model)) {
+            model.setMoneyCents(cents);
+        }
+        assertEquals(cents, reopen().getMoneyCents());
+    }
+
+    @Test
+    void snapshotBalanceKeepsEveryCent() throws Exception {
+        long cents = (1L << 53) + 1;
+        MainModel model = new MainModel();
+        try (PersistenceManager manager = PersistenceManager.open(directory, model)) {
+            model.setMoneyCents(cents);
+            manager.compactInBackground().get();
+        }
+        assertEquals(cents, reopen().getMoneyCents());
+    }
+
+    /**
+     * Sells a card from a binder: the card leaves the binder and the collection and the money is paid.
+     */
+    private static void sellFromBinder(MainModel model, CardModel card, BinderModel binder) {
+        model.beginTransaction()
+                .removeFromBinder(binder, card)
+                .removeFromCollection(card, 1)
+                .addMoney(500)
+                .commit();
+    }
+
+    private Path latestJournal() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("journal."))
+                    .max((a, b) -> Long.compare(generationOf(a), generationOf(b)))
+                    .orElseThrow();
+        }
+    }
+
+    private static long generationOf(Path journal) {
+        return Long.parseLong(journal.getFileName().toString().substring("journal.".length()));
+    }
+
+    @Test
+    void transactionIsJournaledAsOneRecord() throws IOException {
+        MainModel model = new MainModel();
+        try (PersistenceManager manager = PersistenceManager.open(directory, model)) {
+            CardModel goblin = model.getCollectionModel().putCard("Goblin", Rarity.COMMON, Variant.INVALID, 5.0, 1);
+            BinderModel binder = new BinderModel("Trade");
+            binder.addCardB(goblin);
+            model.addBinder(binder);
+            int before = Journal.replay(latestJournal(), (type, payload) -> { });
+            sellFromBinder(model, goblin, binder);
+            assertEquals(before + 1, Journal.replay(latestJournal(), (type, payload) -> { }));
+        }
+
+        MainModel restored = reopen();
+        assertNull(restored.getCollectionModel().getMatchingCard(new CardModel("Goblin", Rarity.COMMON, Variant.INVALID, 0)));
+        assertEquals(0, restored.getBinders().get(0).getTotalCardCount());
+        assertEquals(500, restored.getMoneyCents());
+    }
+
+    @Test
+    void tornTransactionIsDroppedWhole() throws IOException {
+        MainModel model = new MainModel();
+        try (PersistenceManager manager = PersistenceManager.open(directory, model)) {
+            CollectionModel collection = model.getCollectionModel();
+            CardModel goblin = collection.putCard("Goblin", Rarity.COMMON, Variant.INVALID, 5.0, 1);
+            BinderModel binder = new BinderModel("Trade");
+            binder.addCardB(goblin);
+            model.addBinder(binder);
+            model.setMoneyCents(1_000);
+            sellFromBinder(model, goblin, binder);
+        }
+        // A crash while the transaction record was written leaves a torn tail
+        Path journal = latestJournal();
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        MainModel restored = reopen();
+        CardModel goblin = restored.getCollectionModel().getMatchingCard(new CardModel("Goblin", Rarity.COMMON, Variant.INVALID, 0));
+        assertEquals(1, goblin.getAmount());
+        assertEquals(1, restored.getBinders().get(0).getTotalCardCount());
+        assertEquals(1_000, restored.getMoneyCents());
+    }
+
+    @Test
+    void changesSurviveARestartWithoutASnapshot() throws IOException {
+        MainModel model = new MainModel();
+        try (PersistenceManager manager = PersistenceManager.open(directory, model)) {
+            CollectionModel collection = model.getCollectionModel();
+            collection.putCard("Goblin", Rarity.COMMON, Variant.INVALID, 5.0, 3);
+            CardModel elf = collection.putCard("Elf", Rarity.RARE, Variant.INVALID, 7.5, 1);
+            collection.removeCard(elf);
+            model.addBinder(new BinderModel("Trade"));
+        }
+
+        MainModel restored = reopen();
+        CollectionModel collection = restored.getCollectionModel();
+        assertEquals(1, collection.getCardCount());
+        CardModel goblin = collection.getMatchingCard(new CardModel("Goblin", Rarity.COMMON, Variant.INVALID, 0));
+        assertEquals(3, goblin.getAmount());
+        assertEquals(500, goblin.getBaseValueCents());
+        assertEquals("Trade", restored.getBinders().get(0).getName());
+    }
+
+    @Test
+    void balanceRecordsOfEarlierVersionsStillReplay() throws IOException {
+        try (Journal journal = new Journal(directory.resolve("journal.0"), false)) {
+            // MONEY_SET, a double of dollars
+            journal.append((byte) 7, ByteBuffer.allocate(Double.BYTES).putDouble(12.34).array());
+        }
+        assertEquals(1_234, reopen().getMoneyCents());
+    }
+}
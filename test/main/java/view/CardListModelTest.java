@@ -0,0 +1,164 @@
+package main.java.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.SwingUtilities;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+import org.junit.jupiter.api.Test;
+
+import main.java.model.classes.CardModel;
+import main.java.model.classes.CollectionModel;
+import main.java.model.enums.Rarity;
+import main.java.model.enums.Variant;
+
+class CardListModelTest {
+
+    private static final int PAGE = CardListModel.PAGE_SIZE;
+
+    private static List<CardModel> shown(CardListModel model) {
+        List<CardModel> cards = new ArrayList<>();
+        for (int i = 0; i < model.getSize(); i++) {
+            cards.add(model.getElementAt(i));
+        }
+        return cards;
+    }
+
+    private static CardListModel loadAll(CardListModel model) {
+        while (!model.isFullyLoaded()) {
+            model.loadNextPage();
+        }
+        return model;
+    }
+
+    /**
+     * Reads pages from a list in name order, as the collection's paged read does.
+     */
+    private static CardListModel.PageReader readerOf(List<CardModel> sorted) {
+        return (fromName, limit) -> {
+            int from = 0;
+            while (fromName != null && from < sorted.size()
+                    && String.CASE_INSENSITIVE_ORDER.compare(sorted.get(from).getName(), fromName) < 0) {
+                from++;
+            }
+            return new ArrayList<>(sorted.subList(from, Math.min(sorted.size(), from + limit)));
+        };
+    }
+
+    private static CardModel card(String name) {
+        return new CardModel(name, Rarity.COMMON, Variant.INVALID, 1.0);
+    }
+
+    @Test
+    void pagesOfTheCollectionAddUpToEveryCardOnce() {
+        CollectionModel collection = new CollectionModel();
+        for (int i = 0; i < 3 * PAGE + 17; i++) {
+            collection.putCard(String.format("Card %05d", i), Rarity.COMMON, Variant.INVALID, 1.0, 1);
+        }
+        // Cards sharing a name across the first page boundary
+        collection.putCard(String.format("Card %05d", PAGE - 1), Rarity.UNCOMMON, Variant.INVALID, 1.0, 1);
+        collection.putCard(String.format("Card %05d", PAGE - 1), Rarity.RARE, Variant.NORMAL, 1.0, 1);
+        collection.putCard(String.format("Card %05d", PAGE - 1), Rarity.RARE, Variant.FULL_ART, 1.0, 1);
+
+        CardListModel model = new CardListModel();
+        model.setPagedCards(collection::getCardsSortedByName);
+        assertEquals(PAGE, model.getSize());
+        assertFalse(model.isFullyLoaded());
+
+        assertEquals(collection.getCardsSortedByName(), shown(loadAll(model)));
+    }
+
+    @Test
+    void nameGroupLargerThanAPageIsReadWhole() {
+        List<CardModel> sorted = new ArrayList<>();
+        sorted.add(card("Aardvark"));
+        for (int i = 0; i < PAGE + 40; i++) {
+            sorted.add(card("Goblin"));
+        }
+        sorted.add(card("Zombie"));
+
+        CardListModel model = new CardListModel();
+        model.setPagedCards(readerOf(sorted));
+
+        assertEquals(sorted, shown(loadAll(model)));
+    }
+
+    @Test
+    void scrollingNearTheEndReadsTheNextPageOnTheEventThread() throws Exception {
+        List<CardModel> sorted = new ArrayList<>();
+        for (int i = 0; i < 2 * PAGE; i++) {
+            sorted.add(card(String.format("Card %05d", i)));
+        }
+        CardListModel model = new CardListModel();
+        int[] added = new int[1];
+        model.addListDataListener(new ListDataListener() {
+            @Override
+            public void intervalAdded(ListDataEvent e) {
+                added[0] += e.getIndex1() - e.getIndex0() + 1;
+            }
+
+            @Override
+            public void intervalRemoved(ListDataEvent e) {
+            }
+
+            @Override
+            public void contentsChanged(ListDataEvent e) {
+            }
+        });
+        SwingUtilities.invokeAndWait(() -> model.setPagedCards(readerOf(sorted)));
+
+        SwingUtilities.invokeAndWait(() -> model.getElementAt(PAGE / 4));
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(PAGE, model.getSize());
+
+        SwingUtilities.invokeAndWait(() -> model.getElementAt(PAGE - 1));
+        // The read was queued behind the request for the cell
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(2 * PAGE, model.getSize());
+        assertEquals(2 * PAGE, added[0]);
+    }
+
+    @Test
+    void insertingPastTheLoadedPagesWaitsForThePage() {
+        List<CardModel> sorted = new ArrayList<>();
+        for (int i = 0; i < PAGE + 10; i++) {
+            sorted.add(card(String.format("Card %05d", i * 2)));
+        }
+        CardListModel model = new CardListModel();
+        model.setPagedCards(readerOf(sorted));
+
+        assertEquals(1, model.insertCard(card("Card 00001")));
+        assertEquals(-1, model.insertCard(card("Zebra")));
+        assertEquals(PAGE + 1, model.getSize());
+
+        CardListModel whole = new CardListModel();
+        whole.setCards(new ArrayList<>(sorted.subList(0, 3)));
+        assertEquals(3, whole.insertCard(card("Zebra")));
+    }
+
+    @Test
+    void removingTheLastLoadedCardReadsTheNextPage() {
+        List<CardModel> sorted = new ArrayList<>();
+        for (int i = 0; i < PAGE + 1; i++) {
+            sorted.add(card(String.format("Card %05d", i)));
+        }
+        List<CardModel> remaining = new ArrayList<>(sorted);
+        CardListModel model = new CardListModel();
+        model.setPagedCards(readerOf(remaining));
+
+        for (CardModel card : sorted.subList(0, PAGE)) {
+            remaining.remove(card);
+            assertTrue(model.removeCard(card) >= 0);
+        }
+
+        assertEquals(List.of(sorted.get(PAGE)), shown(model));
+        assertTrue(model.isFullyLoaded());
+        assertEquals(-1, model.removeCard(card("Missing")));
+    }
+}